@@ -30,7 +30,7 @@ public class CaffeineCacheManagerFactory implements CacheManagerFactory {
         return cacheManager;
     }
 
-    private Caffeine<Object, Object> caffeineCacheBuilder(CacheProperties cacheProperties) {
+    static Caffeine<Object, Object> caffeineCacheBuilder(CacheProperties cacheProperties) {
         return Caffeine.newBuilder()
                 .initialCapacity(cacheProperties.getInitialCapacity())
                 .maximumSize(cacheProperties.getMaximumSize())
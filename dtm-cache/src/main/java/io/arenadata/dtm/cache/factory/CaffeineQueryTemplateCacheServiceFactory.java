@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.cache.factory;
+
+import io.arenadata.dtm.cache.configuration.CacheProperties;
+import io.arenadata.dtm.cache.service.CaffeineQueryTemplateCacheService;
+import io.arenadata.dtm.cache.service.QueryTemplateCacheService;
+import io.arenadata.dtm.common.cache.QueryTemplateKey;
+
+public class CaffeineQueryTemplateCacheServiceFactory<V> implements CacheServiceFactory<QueryTemplateKey, V> {
+
+    private final CacheProperties cacheProperties;
+
+    public CaffeineQueryTemplateCacheServiceFactory(CacheProperties cacheProperties) {
+        this.cacheProperties = cacheProperties;
+    }
+
+    @Override
+    public QueryTemplateCacheService<V> create(String cacheConfiguration) {
+        return new CaffeineQueryTemplateCacheService<>(cacheConfiguration,
+                CaffeineCacheManagerFactory.caffeineCacheBuilder(cacheProperties));
+    }
+}
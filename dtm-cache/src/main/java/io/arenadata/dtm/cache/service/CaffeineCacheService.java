@@ -37,6 +37,12 @@ public class CaffeineCacheService<K, V> implements CacheService<K, V> {
         this.cache = Objects.requireNonNull(cacheManager.getCache(cacheConfiguration));
     }
 
+    protected CaffeineCacheService(String cacheConfiguration, CacheManager cacheManager, Cache cache) {
+        this.cacheConfiguration = cacheConfiguration;
+        this.cacheManager = cacheManager;
+        this.cache = cache;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public V get(K key) {
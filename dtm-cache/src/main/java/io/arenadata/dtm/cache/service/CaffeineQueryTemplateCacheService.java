@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.cache.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CacheWriter;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.arenadata.dtm.common.cache.QueryTemplateKey;
+import io.arenadata.dtm.query.execution.model.metadata.Datamart;
+import lombok.Value;
+import lombok.val;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caffeine cache of query templates with the reverse index (datamart, entity) → template keys.
+ * <p>
+ * The index is changed by the writer of the cache atomically with the entry, so it's cleaned up
+ * on the eviction and expiration too, and the removal by datamart or entity costs time proportional
+ * to the number of the removed templates.
+ */
+public class CaffeineQueryTemplateCacheService<V> extends CaffeineCacheService<QueryTemplateKey, V>
+        implements QueryTemplateCacheService<V> {
+    private final Map<QueryTemplateKey, Set<IndexKey>> indexKeysByTemplate;
+    private final Map<IndexKey, Set<QueryTemplateKey>> templatesByIndexKey;
+
+    public CaffeineQueryTemplateCacheService(String cacheConfiguration, Caffeine<Object, Object> cacheBuilder) {
+        this(cacheConfiguration, cacheBuilder, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    private CaffeineQueryTemplateCacheService(String cacheConfiguration,
+                                              Caffeine<Object, Object> cacheBuilder,
+                                              Map<QueryTemplateKey, Set<IndexKey>> indexKeysByTemplate,
+                                              Map<IndexKey, Set<QueryTemplateKey>> templatesByIndexKey) {
+        super(cacheConfiguration, null, new CaffeineCache(cacheConfiguration, cacheBuilder
+                .writer(new IndexWriter(indexKeysByTemplate, templatesByIndexKey))
+                .build()));
+        this.indexKeysByTemplate = indexKeysByTemplate;
+        this.templatesByIndexKey = templatesByIndexKey;
+    }
+
+    @Override
+    public void removeByDatamart(String datamartName) {
+        removeByIndexKey(new IndexKey(datamartName, null));
+    }
+
+    @Override
+    public void removeByEntity(String datamartName, String entityName) {
+        removeByIndexKey(new IndexKey(datamartName, entityName));
+    }
+
+    private void removeByIndexKey(IndexKey indexKey) {
+        val templates = templatesByIndexKey.get(indexKey);
+        if (templates != null) {
+            new ArrayList<>(templates).forEach(this::remove);
+        }
+    }
+
+    int getIndexSize() {
+        return indexKeysByTemplate.size();
+    }
+
+    @Value
+    private static class IndexKey {
+        String datamart;
+        String entity;
+    }
+
+    private static class IndexWriter implements CacheWriter<Object, Object> {
+        private final Map<QueryTemplateKey, Set<IndexKey>> indexKeysByTemplate;
+        private final Map<IndexKey, Set<QueryTemplateKey>> templatesByIndexKey;
+
+        private IndexWriter(Map<QueryTemplateKey, Set<IndexKey>> indexKeysByTemplate,
+                            Map<IndexKey, Set<QueryTemplateKey>> templatesByIndexKey) {
+            this.indexKeysByTemplate = indexKeysByTemplate;
+            this.templatesByIndexKey = templatesByIndexKey;
+        }
+
+        @Override
+        public void write(Object key, Object value) {
+            val template = (QueryTemplateKey) key;
+            val indexKeys = getIndexKeys(template);
+            indexKeysByTemplate.merge(template, indexKeys, (oldKeys, newKeys) -> {
+                val merged = new HashSet<>(oldKeys);
+                merged.addAll(newKeys);
+                return merged;
+            });
+            indexKeys.forEach(indexKey -> templatesByIndexKey.compute(indexKey, (k, templates) -> {
+                val result = templates == null ? ConcurrentHashMap.<QueryTemplateKey>newKeySet() : templates;
+                result.add(template);
+                return result;
+            }));
+        }
+
+        @Override
+        public void delete(Object key, Object value, RemovalCause cause) {
+            val template = (QueryTemplateKey) key;
+            val indexKeys = indexKeysByTemplate.remove(template);
+            if (indexKeys == null) {
+                return;
+            }
+            indexKeys.forEach(indexKey -> templatesByIndexKey.computeIfPresent(indexKey, (k, templates) -> {
+                templates.remove(template);
+                return templates.isEmpty() ? null : templates;
+            }));
+        }
+
+        private Set<IndexKey> getIndexKeys(QueryTemplateKey template) {
+            val indexKeys = new HashSet<IndexKey>();
+            if (template.getLogicalSchema() == null) {
+                return indexKeys;
+            }
+            for (Datamart datamart : template.getLogicalSchema()) {
+                indexKeys.add(new IndexKey(datamart.getMnemonic(), null));
+                if (datamart.getEntities() != null) {
+                    datamart.getEntities()
+                            .forEach(entity -> indexKeys.add(new IndexKey(datamart.getMnemonic(), entity.getName())));
+                }
+            }
+            return indexKeys;
+        }
+    }
+}
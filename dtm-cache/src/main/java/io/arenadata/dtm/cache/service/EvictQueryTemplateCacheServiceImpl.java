@@ -21,6 +21,7 @@ import io.arenadata.dtm.common.cache.SourceQueryTemplateValue;
 import io.arenadata.dtm.query.execution.model.metadata.Datamart;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public class EvictQueryTemplateCacheServiceImpl implements EvictQueryTemplateCacheService {
@@ -35,21 +36,37 @@ public class EvictQueryTemplateCacheServiceImpl implements EvictQueryTemplateCac
 
     @Override
     public void evictByDatamartName(String datamartName) {
-        remove(datamart -> datamart.getMnemonic().equals(datamartName));
+        remove(indexedCache -> indexedCache.removeByDatamart(datamartName),
+                datamart -> datamart.getMnemonic().equals(datamartName));
     }
 
     @Override
     public void evictByEntityName(String datamartName, String entityName) {
-        remove(datamart -> datamart.getMnemonic().equals(datamartName)
-                && datamart.getEntities().stream()
-                .anyMatch(dmEntity -> dmEntity.getName().equals(entityName)));
+        remove(indexedCache -> indexedCache.removeByEntity(datamartName, entityName),
+                datamart -> datamart.getMnemonic().equals(datamartName)
+                        && datamart.getEntities().stream()
+                        .anyMatch(dmEntity -> dmEntity.getName().equals(entityName)));
     }
 
-    private void remove(Predicate<Datamart> predicate) {
+    /**
+     * Removes the templates through the index of {@link QueryTemplateCacheService},
+     * other caches are scanned by the predicate
+     */
+    private void remove(Consumer<QueryTemplateCacheService<?>> indexedRemoval, Predicate<Datamart> predicate) {
         Predicate<QueryTemplateKey> templatePredicate = queryTemplateKey ->
                 queryTemplateKey.getLogicalSchema().stream()
                         .anyMatch(predicate);
-        cacheService.removeIf(templatePredicate);
-        cacheServiceList.forEach(pluginCacheService -> pluginCacheService.removeIf(templatePredicate));
+        remove(cacheService, indexedRemoval, templatePredicate);
+        cacheServiceList.forEach(pluginCacheService -> remove(pluginCacheService, indexedRemoval, templatePredicate));
+    }
+
+    private void remove(CacheService<QueryTemplateKey, ?> cache,
+                        Consumer<QueryTemplateCacheService<?>> indexedRemoval,
+                        Predicate<QueryTemplateKey> templatePredicate) {
+        if (cache instanceof QueryTemplateCacheService) {
+            indexedRemoval.accept((QueryTemplateCacheService<?>) cache);
+        } else {
+            cache.removeIf(templatePredicate);
+        }
     }
 }
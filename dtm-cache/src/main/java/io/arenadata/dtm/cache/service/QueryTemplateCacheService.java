@@ -0,0 +1,28 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.cache.service;
+
+import io.arenadata.dtm.common.cache.QueryTemplateKey;
+
+/**
+ * Cache of query templates, which removes the templates by the datamarts and entities of their logical schema
+ */
+public interface QueryTemplateCacheService<V> extends CacheService<QueryTemplateKey, V> {
+
+    void removeByDatamart(String datamartName);
+
+    void removeByEntity(String datamartName, String entityName);
+}
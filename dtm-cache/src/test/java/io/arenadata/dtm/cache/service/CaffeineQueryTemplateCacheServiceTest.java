@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.cache.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.arenadata.dtm.common.cache.QueryTemplateKey;
+import io.arenadata.dtm.common.model.ddl.Entity;
+import io.arenadata.dtm.common.model.ddl.EntityType;
+import io.arenadata.dtm.query.execution.model.metadata.Datamart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaffeineQueryTemplateCacheServiceTest {
+    private static final String USED_SCHEMA = "used_schema";
+    private static final String USED_SCHEMA_TABLE = "used_schema_table";
+    private static final String USED_SCHEMA_VIEW = "used_schema_view";
+    private static final QueryTemplateKey TEMPLATE_1 = getTemplate("template_1", USED_SCHEMA,
+            Collections.singletonList(getEntity(USED_SCHEMA_TABLE, USED_SCHEMA, EntityType.TABLE)));
+    private static final QueryTemplateKey TEMPLATE_2 = getTemplate("template_2", USED_SCHEMA,
+            Collections.singletonList(getEntity("table_1", USED_SCHEMA, EntityType.TABLE)));
+    private static final QueryTemplateKey TEMPLATE_3 = getTemplate("template_3", USED_SCHEMA,
+            Arrays.asList(getEntity(USED_SCHEMA_VIEW, USED_SCHEMA, EntityType.VIEW),
+                    getEntity(USED_SCHEMA_TABLE, USED_SCHEMA, EntityType.TABLE)));
+    private static final QueryTemplateKey TEMPLATE_4 = getTemplate("template_4", "not_used_schema",
+            Collections.singletonList(getEntity(USED_SCHEMA_TABLE, "not_used_schema", EntityType.TABLE)));
+    private static final List<QueryTemplateKey> TEMPLATES = Arrays.asList(TEMPLATE_1, TEMPLATE_2, TEMPLATE_3, TEMPLATE_4);
+
+    private CaffeineQueryTemplateCacheService<String> cacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheService = new CaffeineQueryTemplateCacheService<>("queryTemplateCache", Caffeine.newBuilder());
+        TEMPLATES.forEach(template -> cacheService.put(template, template.getSourceQueryTemplate()));
+    }
+
+    @Test
+    void testRemoveByDatamart() {
+        cacheService.removeByDatamart(USED_SCHEMA);
+        assertCached(TEMPLATE_4);
+        assertEquals(1, cacheService.getIndexSize());
+    }
+
+    @Test
+    void testRemoveByEntity() {
+        cacheService.removeByEntity(USED_SCHEMA, USED_SCHEMA_TABLE);
+        assertCached(TEMPLATE_2, TEMPLATE_4);
+        assertEquals(2, cacheService.getIndexSize());
+    }
+
+    @Test
+    void testRemoveByWrongName() {
+        cacheService.removeByDatamart("wrong_name");
+        cacheService.removeByEntity(USED_SCHEMA, "wrong_name");
+        assertCached(TEMPLATE_1, TEMPLATE_2, TEMPLATE_3, TEMPLATE_4);
+    }
+
+    @Test
+    void testIndexCleanedUpOnRemoval() {
+        cacheService.remove(TEMPLATE_1);
+        cacheService.clear();
+        assertEquals(0, cacheService.getIndexSize());
+        cacheService.put(TEMPLATE_1, TEMPLATE_1.getSourceQueryTemplate());
+        cacheService.removeByEntity(USED_SCHEMA, USED_SCHEMA_TABLE);
+        assertNull(cacheService.get(TEMPLATE_1));
+    }
+
+    private void assertCached(QueryTemplateKey... expected) {
+        List<QueryTemplateKey> expectedTemplates = Arrays.asList(expected);
+        TEMPLATES.forEach(template -> {
+            if (expectedTemplates.contains(template)) {
+                assertEquals(template.getSourceQueryTemplate(), cacheService.get(template));
+            } else {
+                assertNull(cacheService.get(template));
+            }
+        });
+    }
+
+    private static QueryTemplateKey getTemplate(String template, String datamart, List<Entity> entities) {
+        return QueryTemplateKey
+                .builder()
+                .sourceQueryTemplate(template)
+                .logicalSchema(Collections.singletonList(new Datamart(datamart, false, entities)))
+                .build();
+    }
+
+    private static Entity getEntity(String name, String schema, EntityType type) {
+        return Entity.builder()
+                .name(name)
+                .entityType(type)
+                .schema(schema)
+                .fields(Collections.emptyList())
+                .build();
+    }
+}
@@ -15,6 +15,8 @@
  */
 package io.arenadata.dtm.query.calcite.core.factory.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.query.calcite.core.factory.SchemaFactory;
@@ -23,25 +25,43 @@ import io.arenadata.dtm.query.calcite.core.schema.QueryableSchema;
 import io.arenadata.dtm.query.execution.model.metadata.Datamart;
 import org.apache.calcite.schema.SchemaPlus;
 
+/**
+ * Factory of calcite schemas of datamarts. The built schema with its tables is immutable and shared
+ * by every context querying the same version of the datamart, so it is rebuilt only after the
+ * datamart metadata has been changed.
+ */
 public abstract class CalciteSchemaFactory {
+    private static final long SCHEMA_CACHE_SIZE = 1000;
     private final SchemaFactory schemaFactory;
+    private final Cache<Datamart, QueryableSchema> schemaCache = CacheBuilder.newBuilder()
+            .maximumSize(SCHEMA_CACHE_SIZE)
+            .build();
 
     public CalciteSchemaFactory(SchemaFactory schemaFactory) {
         this.schemaFactory = schemaFactory;
     }
 
     public SchemaPlus addSchema(SchemaPlus parent, Datamart root) {
+        QueryableSchema dtmSchema = schemaCache.getIfPresent(root);
+        if (dtmSchema == null) {
+            Datamart snapshot = root.copy();
+            dtmSchema = createSchema(parent, snapshot);
+            schemaCache.put(snapshot, dtmSchema);
+        }
+        return parent.add(root.getMnemonic(), dtmSchema);
+    }
+
+    private QueryableSchema createSchema(SchemaPlus parent, Datamart root) {
         QueryableSchema dtmSchema = schemaFactory.create(parent, root);
-        SchemaPlus schemaPlus = parent.add(root.getMnemonic(), dtmSchema);
         root.getEntities().forEach(it -> {
             try {
                 DtmTable table = createTable(dtmSchema, it);
-                schemaPlus.add(it.getName(), table);
+                dtmSchema.addTable(it.getName(), table);
             } catch (Exception e) {
                 throw new DtmException("Table initialization error $metaTable", e);
             }
         });
-        return schemaPlus;
+        return dtmSchema;
     }
 
     protected abstract DtmTable createTable(QueryableSchema schema, Entity entity);
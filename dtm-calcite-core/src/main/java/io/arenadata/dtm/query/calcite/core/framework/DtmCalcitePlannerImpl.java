@@ -175,6 +175,19 @@ public class DtmCalcitePlannerImpl implements Planner, RelOptTable.ViewExpander
 
     }
 
+    /**
+     * Takes the tree parsed before by the same grammar instead of parsing the query text again,
+     * the tree is rewritten by the validation
+     */
+    public SqlNode parse(SqlNode sqlNode) {
+        if (this.state == State.STATE_0_CLOSED || this.state == State.STATE_1_RESET) {
+            this.ready();
+        }
+        this.ensure(DtmCalcitePlannerImpl.State.STATE_2_READY);
+        this.state = DtmCalcitePlannerImpl.State.STATE_3_PARSED;
+        return sqlNode;
+    }
+
     public SqlNode validate(SqlNode sqlNode) throws ValidationException {
         this.ensure(DtmCalcitePlannerImpl.State.STATE_3_PARSED);
         this.validator = this.createSqlValidator(this.createCatalogReader());
@@ -39,6 +39,11 @@ public abstract class CalciteContextProvider {
     protected final RuleSet prepareRules;
     protected final SqlParser.Config configParser;
     protected final CalciteSchemaFactory calciteSchemaFactory;
+    private final Program program;
+    private final SqlToRelConverter.Config toRelConverterConfig = SqlToRelConverter.configBuilder()
+            .withExpand(false)
+            .withInSubQueryThreshold(65536)
+            .build();
 
     public CalciteContextProvider(SqlParser.Config configParser,
                                   CalciteSchemaFactory calciteSchemaFactory) {
@@ -51,8 +56,13 @@ public abstract class CalciteContextProvider {
         traitDefs.add(ConventionTraitDef.INSTANCE);
         traitDefs.add(RelCollationTraitDef.INSTANCE);
         this.calciteSchemaFactory = calciteSchemaFactory;
+        this.program = Programs.of(prepareRules);
     }
 
+    /**
+     * Creates the context with a new root schema and planner. Schemas of the datamarts are taken from
+     * {@link CalciteSchemaFactory}, which shares them between contexts until the datamart metadata is changed.
+     */
     public CalciteContext context(List<Datamart> schemas) {
         final SchemaPlus rootSchema = DtmCalciteFramework.createRootSchema(true);
         Datamart defaultDatamart = null;
@@ -70,15 +80,10 @@ public abstract class CalciteContextProvider {
 
         final SchemaPlus defaultSchema = defaultDatamart == null ?
                 rootSchema : calciteSchemaFactory.addSchema(rootSchema, defaultDatamart);
-
-        SqlToRelConverter.Config toRelConverterConfig = SqlToRelConverter.configBuilder()
-                .withExpand(false)
-                .withInSubQueryThreshold(65536)
-                .build();
         FrameworkConfig config = DtmCalciteFramework.newConfigBuilder()
                 .parserConfig(configParser)
                 .defaultSchema(defaultSchema)
-                .traitDefs(traitDefs).programs(Programs.of(prepareRules))
+                .traitDefs(traitDefs).programs(program)
                 .sqlToRelConverterConfig(toRelConverterConfig)
                 .build();
         Planner planner = DtmCalciteFramework.getPlanner(config);
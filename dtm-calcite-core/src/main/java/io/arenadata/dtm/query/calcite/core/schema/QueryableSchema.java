@@ -18,15 +18,29 @@ package io.arenadata.dtm.query.calcite.core.schema;
 import io.arenadata.dtm.query.calcite.core.schema.dialect.DtmConvention;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.apache.calcite.schema.Table;
 import org.apache.calcite.schema.impl.AbstractSchema;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class QueryableSchema extends AbstractSchema {
 
     private final DtmConvention convention;
+    private final Map<String, Table> tables = new LinkedHashMap<>();
 
     public QueryableSchema(DtmConvention convention) {
         this.convention = convention;
     }
+
+    public void addTable(String name, Table table) {
+        tables.put(name, table);
+    }
+
+    @Override
+    protected Map<String, Table> getTableMap() {
+        return tables;
+    }
 }
@@ -19,15 +19,21 @@ import io.arenadata.dtm.common.dto.QueryParserRequest;
 import io.arenadata.dtm.common.dto.QueryParserResponse;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.query.calcite.core.dialect.LimitSqlDialect;
+import io.arenadata.dtm.query.calcite.core.framework.DtmCalcitePlannerImpl;
 import io.arenadata.dtm.query.calcite.core.provider.CalciteContextProvider;
 import io.arenadata.dtm.query.calcite.core.service.QueryParserService;
+import io.arenadata.dtm.query.calcite.core.util.SqlNodeUtil;
 import io.arenadata.dtm.query.execution.model.metadata.Datamart;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.calcite.sql.SqlDialect;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.dialect.CalciteSqlDialect;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.tools.Planner;
 import org.springframework.core.NestedExceptionUtils;
 
 import java.util.List;
@@ -49,8 +55,7 @@ public abstract class CalciteDMLQueryParserService implements QueryParserService
         return Future.future(promise -> vertx.executeBlocking(it -> {
             try {
                 val context = contextProvider.context(extendSchemes(request.getSchema()));
-                val sql = request.getQuery().toSqlString(getSqlDialect()).getSql();
-                val parse = context.getPlanner().parse(sql);
+                val parse = parseQuery(context.getPlanner(), request.getQuery());
                 val validatedQuery = context.getPlanner().validate(parse);
                 val relQuery = context.getPlanner().rel(validatedQuery);
                 it.complete(new QueryParserResponse(
@@ -72,6 +77,24 @@ public abstract class CalciteDMLQueryParserService implements QueryParserService
         }));
     }
 
+    /**
+     * The query parsed by the core grammar is validated as a copy, because the validation rewrites the tree
+     * and the core keeps using it. The query is printed and parsed again only for the other grammar.
+     */
+    private SqlNode parseQuery(Planner planner, SqlNode query) throws SqlParseException {
+        if (isCoreGrammar() && query.isA(SqlKind.QUERY) && planner instanceof DtmCalcitePlannerImpl) {
+            return ((DtmCalcitePlannerImpl) planner).parse(SqlNodeUtil.copy(query));
+        }
+        return planner.parse(query.toSqlString(getSqlDialect()).getSql());
+    }
+
+    /**
+     * @return false, when the context parses queries by the grammar other than the core one
+     */
+    protected boolean isCoreGrammar() {
+        return true;
+    }
+
     protected SqlDialect getSqlDialect() {
         return SQL_DIALECT;
     }
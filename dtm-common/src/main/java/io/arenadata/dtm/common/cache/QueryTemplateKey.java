@@ -22,6 +22,10 @@ import lombok.Data;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * Key of the query template caches. Keys are equal by the template only, so a lookup costs
+ * O(template length); the logical schema is kept to evict the templates of the changed datamarts and entities.
+ */
 @Data
 @Builder
 public class QueryTemplateKey {
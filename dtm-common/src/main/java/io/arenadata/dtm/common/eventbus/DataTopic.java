@@ -16,8 +16,7 @@
 package io.arenadata.dtm.common.eventbus;
 
 public enum DataTopic {
-    STATUS_EVENT_PUBLISH("status.event.publish"),
-    START_WORKER_TASK("start.worker.task");
+    STATUS_EVENT_PUBLISH("status.event.publish");
 
     private final String value;
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.reader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.common.model.ddl.SystemMetadata;
+import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.arenadata.dtm.common.reader.BinaryQueryResultFormat.*;
+
+/**
+ * Reads query result written by {@link BinaryQueryResultEncoder}, rows are read one by one as arrays of values
+ * in metadata order.
+ */
+public final class BinaryQueryResultDecoder {
+    private final DataInputStream input;
+    private final ObjectMapper objectMapper;
+    private String requestId;
+    private String cursorId;
+    private List<ColumnMetadata> metadata;
+    private int columnCount;
+    private int blockRowsLeft;
+    private boolean ended;
+
+    public BinaryQueryResultDecoder(InputStream input, ObjectMapper objectMapper) throws IOException {
+        this.input = new DataInputStream(input);
+        this.objectMapper = objectMapper;
+        readHeader();
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getCursorId() {
+        return cursorId;
+    }
+
+    public List<ColumnMetadata> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @return values of the next row or null if there are no more rows
+     */
+    public Object[] readRow() throws IOException {
+        if (blockRowsLeft == 0) {
+            if (ended) {
+                return null;
+            }
+            blockRowsLeft = input.readInt();
+            if (blockRowsLeft == 0) {
+                ended = true;
+                return null;
+            }
+        }
+        Object[] row = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            row[i] = readValue();
+        }
+        blockRowsLeft--;
+        return row;
+    }
+
+    private void readHeader() throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Unexpected format of query result");
+        }
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of query result format: " + version);
+        }
+        requestId = readString();
+        cursorId = readString();
+        int size = input.readInt();
+        if (size < 0) {
+            metadata = null;
+            return;
+        }
+        metadata = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ColumnMetadata column = new ColumnMetadata();
+            column.setName(readString());
+            String systemMetadata = readString();
+            column.setSystemMetadata(systemMetadata == null ? null : SystemMetadata.valueOf(systemMetadata));
+            String type = readString();
+            column.setType(type == null ? null : ColumnType.valueOf(type));
+            column.setSize(input.readBoolean() ? input.readInt() : null);
+            column.setNullable(input.readBoolean());
+            metadata.add(column);
+        }
+        columnCount = size;
+    }
+
+    private Object readValue() throws IOException {
+        byte tag = input.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+                return input.readInt();
+            case LONG:
+                return input.readLong();
+            case DOUBLE:
+                return input.readDouble();
+            case STRING:
+                return new String(readBytes(), StandardCharsets.UTF_8);
+            case BIG_INTEGER:
+                return new BigInteger(new String(readBytes(), StandardCharsets.US_ASCII));
+            case JSON:
+                return objectMapper.readValue(readBytes(), Object.class);
+            default:
+                throw new IOException("Unexpected value tag: " + tag);
+        }
+    }
+
+    private String readString() throws IOException {
+        return input.readBoolean() ? new String(readBytes(), StandardCharsets.UTF_8) : null;
+    }
+
+    private byte[] readBytes() throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.reader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.arenadata.dtm.common.reader.BinaryQueryResultFormat.*;
+
+/**
+ * Writes query result in {@link BinaryQueryResultFormat}.
+ * Values are written so that the decoder returns the same java types as json deserialization does,
+ * values without binary representation are written as json.
+ */
+public final class BinaryQueryResultEncoder {
+    private final DataOutputStream output;
+    private final ObjectMapper objectMapper;
+    private String[] columnNames;
+    private ColumnIndex lastColumnIndex;
+    private int[] lastPositions;
+
+    public BinaryQueryResultEncoder(OutputStream output, ObjectMapper objectMapper) {
+        this.output = new DataOutputStream(output);
+        this.objectMapper = objectMapper;
+    }
+
+    public void writeHeader(UUID requestId, UUID cursorId, List<ColumnMetadata> metadata) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        writeString(requestId == null ? null : requestId.toString());
+        writeString(cursorId == null ? null : cursorId.toString());
+        if (metadata == null) {
+            output.writeInt(-1);
+            columnNames = new String[0];
+            return;
+        }
+        output.writeInt(metadata.size());
+        columnNames = new String[metadata.size()];
+        for (int i = 0; i < metadata.size(); i++) {
+            ColumnMetadata column = metadata.get(i);
+            columnNames[i] = column.getName();
+            writeString(column.getName());
+            writeString(column.getSystemMetadata() == null ? null : column.getSystemMetadata().name());
+            writeString(column.getType() == null ? null : column.getType().name());
+            output.writeBoolean(column.getSize() != null);
+            if (column.getSize() != null) {
+                output.writeInt(column.getSize());
+            }
+            output.writeBoolean(column.isNullable());
+        }
+    }
+
+    public void writeRows(List<Map<String, Object>> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        output.writeInt(rows.size());
+        for (Map<String, Object> row : rows) {
+            if (row instanceof IndexedRow) {
+                writeRow((IndexedRow) row);
+            } else {
+                for (String columnName : columnNames) {
+                    writeValue(row.get(columnName));
+                }
+            }
+        }
+    }
+
+    public void writeEnd() throws IOException {
+        output.writeInt(0);
+        output.flush();
+    }
+
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    private void writeRow(IndexedRow row) throws IOException {
+        int[] positions = getPositions(row.getColumns());
+        for (int position : positions) {
+            writeValue(position < 0 ? null : row.getValue(position));
+        }
+    }
+
+    private int[] getPositions(ColumnIndex columnIndex) {
+        if (columnIndex != lastColumnIndex) {
+            lastPositions = new int[columnNames.length];
+            for (int i = 0; i < columnNames.length; i++) {
+                lastPositions[i] = columnIndex.getPosition(columnNames[i]);
+            }
+            lastColumnIndex = columnIndex;
+        }
+        return lastPositions;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String) {
+            output.writeByte(STRING);
+            writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeIntegral(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            writeFloating((Number) value);
+        } else if (value instanceof BigInteger) {
+            writeBigInteger((BigInteger) value);
+        } else {
+            output.writeByte(JSON);
+            writeBytes(objectMapper.writeValueAsBytes(value));
+        }
+    }
+
+    private void writeIntegral(long value) throws IOException {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            output.writeByte(INT);
+            output.writeInt((int) value);
+        } else {
+            output.writeByte(LONG);
+            output.writeLong(value);
+        }
+    }
+
+    private void writeFloating(Number value) throws IOException {
+        double doubleValue = value.doubleValue();
+        if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+            output.writeByte(JSON);
+            writeBytes(objectMapper.writeValueAsBytes(value));
+            return;
+        }
+        output.writeByte(DOUBLE);
+        // float is written to json by its shortest decimal form, so it's read back as that double
+        output.writeDouble(value instanceof Float ? Double.parseDouble(value.toString()) : doubleValue);
+    }
+
+    private void writeBigInteger(BigInteger value) throws IOException {
+        if (value.bitLength() < Long.SIZE) {
+            writeIntegral(value.longValue());
+        } else {
+            output.writeByte(BIG_INTEGER);
+            writeBytes(value.toString().getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
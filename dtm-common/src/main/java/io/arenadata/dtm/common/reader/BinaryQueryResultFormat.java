@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.reader;
+
+/**
+ * Binary format of query result, which is used between the jdbc driver and the query endpoint
+ * instead of json, when the client accepts {@link #CONTENT_TYPE}.
+ * <p>
+ * Layout: magic, version, request id, cursor id, column metadata, then blocks of rows, each prefixed by row count,
+ * zero row count ends the result. Row values are written in metadata order, each prefixed by value tag.
+ */
+public final class BinaryQueryResultFormat {
+    public static final String CONTENT_TYPE = "application/vnd.dtm.query-result+binary";
+    static final int MAGIC = 0x44544D52;
+    static final byte VERSION = 2;
+    static final byte NULL = 0;
+    static final byte TRUE = 1;
+    static final byte FALSE = 2;
+    static final byte INT = 3;
+    static final byte LONG = 4;
+    static final byte DOUBLE = 5;
+    static final byte STRING = 6;
+    static final byte BIG_INTEGER = 7;
+    static final byte JSON = 8;
+
+    private BinaryQueryResultFormat() {
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.reader;
+
+import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Positions of result columns, shared by all rows of the result.
+ * If a name is repeated, the last column with this name is visible by name as it was in row maps.
+ */
+public final class ColumnIndex {
+    private final String[] names;
+    private final Map<String, Integer> positions;
+    private final int[] visiblePositions;
+
+    private ColumnIndex(String[] names) {
+        this.names = names;
+        this.positions = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            positions.put(names[i], i);
+        }
+        List<Integer> visible = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            if (positions.get(names[i]) == i) {
+                visible.add(i);
+            }
+        }
+        this.visiblePositions = visible.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static ColumnIndex of(List<ColumnMetadata> metadata) {
+        String[] names = new String[metadata.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = metadata.get(i).getName();
+        }
+        return new ColumnIndex(names);
+    }
+
+    public static ColumnIndex ofNames(List<String> names) {
+        return new ColumnIndex(names.toArray(new String[0]));
+    }
+
+    /**
+     * @return count of columns
+     */
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int position) {
+        return names[position];
+    }
+
+    /**
+     * @return position of the column or -1 if there is no column with such name
+     */
+    public int getPosition(Object name) {
+        Integer position = positions.get(name);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * @return positions of the columns, which are visible by name, in result order
+     */
+    public int[] getVisiblePositions() {
+        return visiblePositions;
+    }
+
+    /**
+     * Creates empty row
+     */
+    public IndexedRow newRow() {
+        return new IndexedRow(this, new Object[names.length]);
+    }
+}
@@ -13,21 +13,30 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.arenadata.dtm.query.execution.plugin.adb.query.service.verticle;
+package io.arenadata.dtm.common.reader;
 
-import io.arenadata.dtm.common.plugin.sql.PreparedStatementRequest;
-import io.arenadata.dtm.common.reader.QueryParameters;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
-import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
-@Builder
+/**
+ * Page of the query result read by server-side cursor
+ */
 @Getter
-public class AdbExecutorTask {
-    private final String sql;
-    private final QueryParameters params;
-    private final List<ColumnMetadata> metadata;
-    private final List<PreparedStatementRequest> preparedStatementRequests;
+@EqualsAndHashCode(callSuper = true)
+public class CursorQueryResult extends QueryResult {
+    /**
+     * Cursor id to fetch the next page, null if this page is the last one
+     */
+    private final UUID cursorId;
+
+    public CursorQueryResult(UUID requestId, List<Map<String, Object>> result, List<ColumnMetadata> metadata,
+                             UUID cursorId) {
+        super(requestId, result, metadata);
+        this.cursorId = cursorId;
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.reader;
+
+import io.vertx.core.Future;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stream, which calls the finish handler once, when the delegate is read to the end, failed or closed
+ */
+class FinishHandlingQueryResultStream implements QueryResultStream {
+    private final QueryResultStream delegate;
+    private final Runnable finishHandler;
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    FinishHandlingQueryResultStream(QueryResultStream delegate, Runnable finishHandler) {
+        this.delegate = delegate;
+        this.finishHandler = finishHandler;
+    }
+
+    @Override
+    public Future<List<Map<String, Object>>> next() {
+        return delegate.next()
+                .onComplete(ar -> {
+                    if (ar.failed() || !delegate.hasMore()) {
+                        finish();
+                    }
+                });
+    }
+
+    @Override
+    public boolean hasMore() {
+        return delegate.hasMore();
+    }
+
+    @Override
+    public Future<Void> close() {
+        return delegate.close()
+                .onComplete(ar -> finish());
+    }
+
+    private void finish() {
+        if (finished.compareAndSet(false, true)) {
+            finishHandler.run();
+        }
+    }
+}
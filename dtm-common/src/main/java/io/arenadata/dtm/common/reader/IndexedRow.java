@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.reader;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Result row backed by array of values, which are addressed by column position.
+ * Column names are held once by {@link ColumnIndex} of the result, the row is available as read-write
+ * map by column name for compatibility, but new keys can't be added to it.
+ */
+public final class IndexedRow extends AbstractMap<String, Object> {
+    private final ColumnIndex columns;
+    private final Object[] values;
+
+    IndexedRow(ColumnIndex columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    public ColumnIndex getColumns() {
+        return columns;
+    }
+
+    public Object getValue(int position) {
+        return values[position];
+    }
+
+    public void setValue(int position, Object value) {
+        values[position] = value;
+    }
+
+    @Override
+    public int size() {
+        return columns.getVisiblePositions().length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return columns.getPosition(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int position = columns.getPosition(key);
+        return position < 0 ? null : values[position];
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int position = columns.getPosition(key);
+        if (position < 0) {
+            throw new IllegalArgumentException(String.format("Column [%s] doesn't exist in the row", key));
+        }
+        Object previous = values[position];
+        values[position] = value;
+        return previous;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return IndexedRow.this.size();
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private final int[] positions = columns.getVisiblePositions();
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+            return next < positions.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int position = positions[next++];
+            return new SimpleEntry<String, Object>(columns.getName(position), values[position]) {
+                @Override
+                public Object setValue(Object value) {
+                    values[position] = value;
+                    return super.setValue(value);
+                }
+            };
+        }
+    }
+}
@@ -20,6 +20,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -56,14 +58,34 @@ public class InputQueryRequest {
      */
     private boolean isExecutable = true;
 
+    /**
+     * Count of rows read from the data source at once (optional)
+     */
+    private Integer fetchSize;
+
+    /**
+     * Read result by pages of fetchSize rows through server-side cursor
+     */
+    private boolean useCursor;
+
+    /**
+     * Parameter sets of the batch, the query is executed once for all of them (optional)
+     */
+    private List<QueryParameters> batchParameters;
+
     public InputQueryRequest copy() {
         InputQueryRequest newQueryRequest = new InputQueryRequest();
         newQueryRequest.setSql(sql);
         newQueryRequest.setDatamartMnemonic(datamartMnemonic);
         newQueryRequest.setRequestId(requestId);
+        newQueryRequest.setFetchSize(fetchSize);
+        newQueryRequest.setUseCursor(useCursor);
         if (parameters != null) {
             newQueryRequest.setParameters(parameters.copy());
         }
+        if (batchParameters != null) {
+            newQueryRequest.setBatchParameters(new ArrayList<>(batchParameters));
+        }
         return newQueryRequest;
     }
 
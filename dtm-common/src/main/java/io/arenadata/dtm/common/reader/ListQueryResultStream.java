@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.reader;
+
+import io.vertx.core.Future;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stream of rows, which are already held in memory
+ */
+class ListQueryResultStream implements QueryResultStream {
+    private final List<Map<String, Object>> rows;
+    private final int batchSize;
+    private int position;
+
+    ListQueryResultStream(List<Map<String, Object>> rows, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.rows = rows == null ? Collections.emptyList() : rows;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Future<List<Map<String, Object>>> next() {
+        int from = position;
+        position = Math.min(rows.size(), position + batchSize);
+        return Future.succeededFuture(rows.subList(from, position));
+    }
+
+    @Override
+    public boolean hasMore() {
+        return position < rows.size();
+    }
+
+    @Override
+    public Future<Void> close() {
+        position = rows.size();
+        return Future.succeededFuture();
+    }
+}
@@ -59,9 +59,20 @@ public class QueryRequest {
      */
     private QueryParameters parameters;
 
+    /**
+     * Count of rows read from the data source at once (optional)
+     */
+    private Integer fetchSize;
+
+    /**
+     * Parameter sets of the batch, the query is executed once for all of them (optional)
+     */
+    private List<QueryParameters> batchParameters;
+
     public QueryRequest copy() {
         return toBuilder()
                 .parameters(parameters != null ? parameters.copy() : null)
+                .batchParameters(batchParameters != null ? new ArrayList<>(batchParameters) : null)
                 .build();
     }
 
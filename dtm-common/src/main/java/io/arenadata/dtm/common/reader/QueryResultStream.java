@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.reader;
+
+import io.vertx.core.Future;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull-based stream of query result rows, which are read by batches.
+ * The consumer must close the stream if it was not read to the end.
+ */
+public interface QueryResultStream {
+
+    /**
+     * Reads next batch of rows
+     *
+     * @return future with the next batch, empty batch if there are no more rows
+     */
+    Future<List<Map<String, Object>>> next();
+
+    /**
+     * @return true if the stream can return more rows
+     */
+    boolean hasMore();
+
+    /**
+     * Closes the stream and releases resources of the data source
+     *
+     * @return future object
+     */
+    Future<Void> close();
+
+    /**
+     * Creates stream over already read rows
+     *
+     * @param rows      rows
+     * @param batchSize size of batch
+     * @return stream of rows
+     */
+    static QueryResultStream of(List<Map<String, Object>> rows, int batchSize) {
+        return new ListQueryResultStream(rows, batchSize);
+    }
+}
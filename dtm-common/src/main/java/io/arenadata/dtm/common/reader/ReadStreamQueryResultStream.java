@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.reader;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Adapter of push-based {@link ReadStream} to {@link QueryResultStream}.
+ * The source is kept paused and only the rows of the requested batch are fetched from it.
+ * Resources are released by close action when the source ends, fails or when the stream is closed.
+ *
+ * @param <T> type of source item
+ */
+public class ReadStreamQueryResultStream<T> implements QueryResultStream {
+    private final ReadStream<T> source;
+    private final int batchSize;
+    private final Function<T, Map<String, Object>> rowConverter;
+    private final Supplier<Future<Void>> closeAction;
+    private final List<Map<String, Object>> buffer = new ArrayList<>();
+    private Promise<List<Map<String, Object>>> batchPromise;
+    private Future<Void> closeFuture;
+    private Throwable failure;
+    private boolean ended;
+    private boolean closed;
+
+    public ReadStreamQueryResultStream(ReadStream<T> source,
+                                       int batchSize,
+                                       Function<T, Map<String, Object>> rowConverter,
+                                       Supplier<Future<Void>> closeAction) {
+        this.source = source;
+        this.batchSize = batchSize;
+        this.rowConverter = rowConverter;
+        this.closeAction = closeAction;
+        source.pause();
+        source.handler(this::handleItem);
+        source.endHandler(v -> handleEnd());
+        source.exceptionHandler(this::handleError);
+    }
+
+    @Override
+    public synchronized Future<List<Map<String, Object>>> next() {
+        if (failure != null) {
+            return Future.failedFuture(failure);
+        }
+        if (batchPromise != null) {
+            return Future.failedFuture(new IllegalStateException("Previous batch is not read yet"));
+        }
+        if (ended || buffer.size() >= batchSize) {
+            return Future.succeededFuture(takeBatch());
+        }
+        batchPromise = Promise.promise();
+        Future<List<Map<String, Object>>> result = batchPromise.future();
+        source.fetch(batchSize - buffer.size());
+        return result;
+    }
+
+    @Override
+    public synchronized boolean hasMore() {
+        return failure == null && (!ended || !buffer.isEmpty());
+    }
+
+    @Override
+    public synchronized Future<Void> close() {
+        closed = true;
+        ended = true;
+        buffer.clear();
+        if (batchPromise != null) {
+            Promise<List<Map<String, Object>>> promise = batchPromise;
+            batchPromise = null;
+            promise.fail(new IllegalStateException("Stream is closed"));
+        }
+        return releaseResources();
+    }
+
+    private Future<Void> releaseResources() {
+        if (closeFuture == null) {
+            closeFuture = closeAction.get();
+        }
+        return closeFuture;
+    }
+
+    private synchronized void handleItem(T item) {
+        if (closed) {
+            return;
+        }
+        try {
+            buffer.add(rowConverter.apply(item));
+        } catch (Exception e) {
+            handleError(e);
+            return;
+        }
+        if (batchPromise != null && buffer.size() >= batchSize) {
+            completeBatch();
+        }
+    }
+
+    private synchronized void handleEnd() {
+        ended = true;
+        if (batchPromise != null) {
+            completeBatch();
+        }
+        releaseResources();
+    }
+
+    private synchronized void handleError(Throwable error) {
+        failure = error;
+        if (batchPromise != null) {
+            Promise<List<Map<String, Object>>> promise = batchPromise;
+            batchPromise = null;
+            promise.fail(error);
+        }
+        buffer.clear();
+        releaseResources();
+    }
+
+    private void completeBatch() {
+        Promise<List<Map<String, Object>>> promise = batchPromise;
+        batchPromise = null;
+        promise.complete(takeBatch());
+    }
+
+    private List<Map<String, Object>> takeBatch() {
+        List<Map<String, Object>> batchSource = buffer.subList(0, Math.min(batchSize, buffer.size()));
+        List<Map<String, Object>> batch = new ArrayList<>(batchSource);
+        batchSource.clear();
+        return batch;
+    }
+}
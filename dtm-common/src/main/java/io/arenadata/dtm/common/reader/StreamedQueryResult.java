@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.reader;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Query result, which rows are not held in memory, but read from the data source by the consumer.
+ * Rows are read through {@link #getStream()}, {@link #getResult()} is empty unless the rows are set explicitly.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class StreamedQueryResult extends QueryResult {
+    @JsonIgnore
+    private transient QueryResultStream stream;
+
+    public StreamedQueryResult(UUID requestId, List<ColumnMetadata> metadata, QueryResultStream stream) {
+        super(requestId, Collections.emptyList(), metadata);
+        this.stream = stream;
+    }
+
+    /**
+     * Closes the current stream and replaces it with the stream over the given rows
+     */
+    @Override
+    public void setResult(List<Map<String, Object>> result) {
+        super.setResult(result);
+        if (stream != null) {
+            stream.close();
+        }
+        stream = QueryResultStream.of(result, Math.max(1, result == null ? 1 : result.size()));
+    }
+
+    /**
+     * Creates result over the same rows, which calls the handler once, when the rows are read to the end,
+     * failed or closed, so resources held for the result can be released
+     *
+     * @param finishHandler finish handler
+     * @return streamed result
+     */
+    public StreamedQueryResult onFinish(Runnable finishHandler) {
+        return new StreamedQueryResult(getRequestId(), getMetadata(), new FinishHandlingQueryResultStream(stream, finishHandler));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !stream.hasMore();
+    }
+}
@@ -22,15 +22,29 @@ import io.arenadata.dtm.jdbc.model.TableInfo;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface QueryExecutor {
 
     void execute(Query query, QueryParameters parameters, ResultHandler resultHandler);
 
+    void execute(Query query, QueryParameters parameters, int fetchSize, ResultHandler resultHandler);
+
     void execute(List<Query> queries, List<QueryParameters> parametersList, ResultHandler resultHandler);
 
     void prepareQuery(Query query, ResultHandler resultHandler);
 
+    /**
+     * Executes the INSERT/UPSERT ... VALUES query for all parameter sets by one request
+     *
+     * @param query          query
+     * @param parametersList parameter sets of the batch
+     * @return update counts of the parameter sets, {@link java.sql.Statement#SUCCESS_NO_INFO} when the count is unknown
+     */
+    int[] executeBatch(Query query, List<QueryParameters> parametersList) throws SQLException;
+
+    <T> CompletableFuture<T> executeAsync(SqlCallable<T> action);
+
     List<Query> createQuery(String sql) throws SQLException;
 
     List<SchemaInfo> getSchemas();
@@ -20,19 +20,24 @@ import io.arenadata.dtm.jdbc.model.ColumnInfo;
 import io.arenadata.dtm.jdbc.model.SchemaInfo;
 import io.arenadata.dtm.jdbc.model.TableInfo;
 import io.arenadata.dtm.jdbc.protocol.Protocol;
+import io.arenadata.dtm.jdbc.protocol.http.HttpClientPool;
+import io.arenadata.dtm.jdbc.protocol.http.HttpClientSettings;
 import io.arenadata.dtm.jdbc.protocol.http.HttpReaderService;
 import io.arenadata.dtm.jdbc.util.DriverInfo;
 import io.arenadata.dtm.jdbc.util.DtmSqlException;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
+import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.IntStream;
 
 public class QueryExecutorImpl implements QueryExecutor {
@@ -55,9 +60,17 @@ public class QueryExecutorImpl implements QueryExecutor {
      */
     private String url;
     /**
-     * Http client for rest
+     * Http client for rest, shared by connections with the same settings
      */
     private CloseableHttpClient client;
+    /**
+     * Executor of async requests, shared with the http client and sized to its connection pool
+     */
+    private final ExecutorService asyncExecutor;
+    /**
+     * Settings of http client
+     */
+    private final HttpClientSettings clientSettings;
     /**
      * Chain of accumulated warnings
      */
@@ -68,25 +81,43 @@ public class QueryExecutorImpl implements QueryExecutor {
     protected Protocol protocol;
 
 
-    public QueryExecutorImpl(String host, String user, String schema) {
+    public QueryExecutorImpl(String host, String user, String schema, Properties info) throws SQLException {
         this.host = host;
         this.user = user;
         this.schema = schema;
-        this.client = HttpClients.createDefault();
-        this.protocol = new HttpReaderService(this.client, this.host);
+        this.clientSettings = HttpClientSettings.of(info);
+        this.client = HttpClientPool.acquire(clientSettings);
+        this.asyncExecutor = HttpClientPool.executor(clientSettings);
+        this.protocol = new HttpReaderService(this.client, this.host, clientSettings.isCompression());
     }
 
     @Override
     public void execute(Query query, QueryParameters parameters, ResultHandler resultHandler) {
-        executeInternal(query, parameters, resultHandler);
+        executeInternal(query, parameters, 0, resultHandler);
+    }
+
+    @Override
+    public void execute(Query query, QueryParameters parameters, int fetchSize, ResultHandler resultHandler) {
+        executeInternal(query, parameters, fetchSize, resultHandler);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(SqlCallable<T> action) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return action.call();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, asyncExecutor);
     }
 
     @Override
     public void execute(List<Query> queries, List<QueryParameters> parametersList, ResultHandler resultHandler) {
         try {
             for (int i = 0; i < queries.size(); i++) {
-                QueryParameters parameters = parametersList.isEmpty() ? null : parametersList.get(i);
-                executeInternal(queries.get(i), parameters, resultHandler);
+                QueryParameters parameters = parametersList == null || parametersList.isEmpty() ? null : parametersList.get(i);
+                executeInternal(queries.get(i), parameters, 0, resultHandler);
             }
         } catch (Exception e) {
             resultHandler.handleError(new SQLException("Error executing queries", e));
@@ -103,44 +134,71 @@ public class QueryExecutorImpl implements QueryExecutor {
         }
     }
 
-    private void executeInternal(Query query, QueryParameters parameters, ResultHandler resultHandler) {
+    @Override
+    public int[] executeBatch(Query query, List<QueryParameters> parametersList) throws SQLException {
+        QueryRequest queryRequest = prepareQueryRequest(query.getNativeSql(), null);
+        queryRequest.setBatchParameters(parametersList);
+        this.protocol.executeBatch(queryRequest);
+        // server doesn't return the count of written rows, VALUES can hold several rows for every parameter set
+        int[] updateCounts = new int[parametersList.size()];
+        Arrays.fill(updateCounts, Statement.SUCCESS_NO_INFO);
+        return updateCounts;
+    }
+
+    private void executeInternal(Query query, QueryParameters parameters, int fetchSize, ResultHandler resultHandler) {
         try {
             final QueryResult queryResult;
             QueryRequest queryRequest = prepareQueryRequest(query.getNativeSql(), parameters);
+            if (fetchSize > 0) {
+                queryRequest.setFetchSize(fetchSize);
+                queryRequest.setUseCursor(true);
+            }
             queryResult = this.protocol.executeQuery(queryRequest);
-            if (queryResult.getResult() != null) {
-                setUsedSchemaIfExists(queryResult);
-                List<Map<String, Object>> rows = queryResult.getResult();
+            if (queryResult.getResult() != null || queryResult.getTuples() != null) {
                 List<ColumnMetadata> metadata = queryResult.getMetadata() == null ?
                         Collections.emptyList() : queryResult.getMetadata();
+                final List<Tuple> tuples = getTuples(queryResult, metadata);
+                setUsedSchemaIfExists(queryResult, tuples);
                 final Field[] fields = new Field[metadata.size()];
-                final List<Tuple> tuples = new ArrayList<>();
                 IntStream.range(0, metadata.size()).forEach(n -> {
                     ColumnMetadata md = metadata.get(n);
                     fields[n] = new Field(md.getName(), md.getSize(), md.getType(), null);
                 });
-                rows.forEach(row -> {
-                    Tuple tuple = new Tuple(metadata.size());
-                    IntStream.range(0, queryResult.getMetadata().size()).forEach(key -> {
-                        String columnName = queryResult.getMetadata().get(key).getName();
-                        tuple.set(key, row.get(columnName));
-                    });
-                    tuples.add(tuple);
-                });
-                resultHandler.handleResultRows(query, fields, tuples);
+                if (queryResult.getCursorId() != null) {
+                    resultHandler.handleResultRows(query, fields, tuples,
+                            new HttpResultCursor(queryResult.getCursorId(), metadata));
+                } else {
+                    resultHandler.handleResultRows(query, fields, tuples);
+                }
             }
         } catch (SQLException e) {
             resultHandler.handleError(e);
         }
     }
 
-    private void setUsedSchemaIfExists(QueryResult result) throws DtmSqlException {
+    private List<Tuple> getTuples(QueryResult queryResult, List<ColumnMetadata> metadata) {
+        if (queryResult.getTuples() != null) {
+            return queryResult.getTuples();
+        }
+        final List<Tuple> tuples = new ArrayList<>(queryResult.getResult().size());
+        queryResult.getResult().forEach(row -> {
+            Tuple tuple = new Tuple(metadata.size());
+            IntStream.range(0, metadata.size()).forEach(key -> {
+                String columnName = metadata.get(key).getName();
+                tuple.set(key, row.get(columnName));
+            });
+            tuples.add(tuple);
+        });
+        return tuples;
+    }
+
+    private void setUsedSchemaIfExists(QueryResult result, List<Tuple> tuples) throws DtmSqlException {
         if (result.getMetadata() != null && result.getMetadata().size() == 1
                 && SystemMetadata.SCHEMA == result.getMetadata().get(0).getSystemMetadata()) {
-            if (!result.isEmpty()) {
-                final Optional<Object> schemaOptional = result.getResult().get(0).values().stream().findFirst();
-                if (schemaOptional.isPresent()) {
-                    this.schema = schemaOptional.get().toString();
+            if (!tuples.isEmpty()) {
+                final Object schema = tuples.get(0).get(0);
+                if (schema != null) {
+                    this.schema = schema.toString();
                 } else {
                     throw new DtmSqlException("Schema value not found!");
                 }
@@ -209,10 +267,13 @@ public class QueryExecutorImpl implements QueryExecutor {
 
     @Override
     public void close() {
+        if (client == null) {
+            return;
+        }
         try {
-            client.close();
             client = null;
             protocol = null;
+            HttpClientPool.release(clientSettings);
         } catch (IOException e) {
             LOGGER.error("Error in closing client connection", e);
         }
@@ -221,4 +282,38 @@ public class QueryExecutorImpl implements QueryExecutor {
     private QueryRequest prepareQueryRequest(String sql, QueryParameters parameters) {
         return new QueryRequest(UUID.randomUUID(), this.schema, sql, parameters);
     }
+
+    private final class HttpResultCursor implements ResultCursor {
+        private final List<ColumnMetadata> metadata;
+        private String cursorId;
+
+        private HttpResultCursor(String cursorId, List<ColumnMetadata> metadata) {
+            this.cursorId = cursorId;
+            this.metadata = metadata;
+        }
+
+        @Override
+        public boolean hasMore() {
+            return cursorId != null;
+        }
+
+        @Override
+        public List<Tuple> fetch() throws SQLException {
+            if (cursorId == null) {
+                return Collections.emptyList();
+            }
+            QueryResult page = protocol.fetchCursor(cursorId);
+            cursorId = page.getCursorId();
+            return getTuples(page, metadata);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (cursorId != null && protocol != null) {
+                String closedCursorId = cursorId;
+                cursorId = null;
+                protocol.closeCursor(closedCursorId);
+            }
+        }
+    }
 }
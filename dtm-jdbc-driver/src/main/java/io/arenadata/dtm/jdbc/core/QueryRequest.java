@@ -49,6 +49,18 @@ public class QueryRequest {
      * query parameters
      */
     private QueryParameters parameters;
+    /**
+     * Count of rows in page of the result, read by server-side cursor if set
+     */
+    private Integer fetchSize;
+    /**
+     * Read result through server-side cursor
+     */
+    private boolean useCursor;
+    /**
+     * Parameter sets of the batch, the query is executed once for all of them
+     */
+    private List<QueryParameters> batchParameters;
 
     public QueryRequest(UUID requestId,
                         @NonNull String datamartMnemonic,
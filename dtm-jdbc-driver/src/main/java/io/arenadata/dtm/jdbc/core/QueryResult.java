@@ -15,6 +15,7 @@
  */
 package io.arenadata.dtm.jdbc.core;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import lombok.Data;
 
@@ -30,10 +31,19 @@ public class QueryResult {
      * Request identifier
      */
     private String requestId;
+    /**
+     * Server-side cursor identifier, set if there are more pages of the result
+     */
+    private String cursorId;
     /**
      * Query result List<Map<ColumnName, ColumnValue>>
      */
     private List<Map<String, Object>> result;
+    /**
+     * Query result rows in metadata order, set instead of result when it's received in binary format
+     */
+    @JsonIgnore
+    private List<Tuple> tuples;
     /**
      * Is query result empty
      */
@@ -13,22 +13,30 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.arenadata.dtm.query.execution.core.metrics.factory;
+package io.arenadata.dtm.jdbc.core;
 
-import io.vertx.core.json.jackson.DatabindCodec;
-import lombok.SneakyThrows;
+import java.sql.SQLException;
+import java.util.List;
 
-public abstract class AbstractMetricsEventFactory<IN> implements MetricsEventFactory<IN> {
+/**
+ * Server-side cursor of the query result, which is read by pages
+ */
+public interface ResultCursor {
 
-    private final Class<IN> inClass;
+    /**
+     * @return true if the next page can be fetched
+     */
+    boolean hasMore();
 
-    public AbstractMetricsEventFactory(Class<IN> inClass) {
-        this.inClass = inClass;
-    }
+    /**
+     * Fetches the next page of rows
+     *
+     * @return rows of the page
+     */
+    List<Tuple> fetch() throws SQLException;
 
-    @SneakyThrows
-    @Override
-    public IN create(String eventData) {
-        return DatabindCodec.mapper().readValue(eventData, inClass);
-    }
+    /**
+     * Closes the cursor on the server before all pages are fetched
+     */
+    void close() throws SQLException;
 }
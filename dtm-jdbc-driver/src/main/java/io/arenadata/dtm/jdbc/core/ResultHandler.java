@@ -23,6 +23,8 @@ public interface ResultHandler {
 
     void handleResultRows(Query query, Field[] fields, List<Tuple> tuples);
 
+    void handleResultRows(Query query, Field[] fields, List<Tuple> tuples, ResultCursor cursor);
+
     void handleWarning(SQLWarning sqlWarning);
 
     void handleError(SQLException sqlException);
@@ -17,14 +17,14 @@ package io.arenadata.dtm.jdbc.core;
 
 import io.arenadata.dtm.jdbc.ext.DtmResultSet;
 
+import java.sql.Statement;
+
 public class ResultSetWrapper {
     private final DtmResultSet resultSet;
-    private final long updateCount;
     private ResultSetWrapper next;
 
     public ResultSetWrapper(DtmResultSet resultSet) {
         this.resultSet = resultSet;
-        this.updateCount = resultSet.getRowsSize();
     }
 
     public DtmResultSet getResultSet() {
@@ -43,7 +43,11 @@ public class ResultSetWrapper {
         tail.next = newResult;
     }
 
+    /**
+     * @return count of rows of all the pages, {@link Statement#SUCCESS_NO_INFO} while the pages of the cursor
+     * are not read to the end
+     */
     public long getUpdateCount() {
-        return updateCount;
+        return resultSet.hasMorePages() ? Statement.SUCCESS_NO_INFO : resultSet.getReadRowsCount();
     }
 }
@@ -13,11 +13,15 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.arenadata.dtm.query.execution.core.metrics.service;
+package io.arenadata.dtm.jdbc.core;
 
-import io.vertx.core.eventbus.Message;
+import java.sql.SQLException;
 
-public interface MetricsConsumer {
+/**
+ * Action executed asynchronously by {@link QueryExecutor#executeAsync(SqlCallable)}
+ */
+@FunctionalInterface
+public interface SqlCallable<T> {
 
-    void consume(Message<String> message);
+    T call() throws SQLException;
 }
@@ -35,16 +35,22 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static java.sql.Types.*;
 
 @Slf4j
 public class DtmPreparedStatement extends DtmStatement implements PreparedStatement {
+    private static final Pattern VALUES_INSERT_PATTERN =
+            Pattern.compile("\\s*(INSERT|UPSERT)\\s+INTO\\s.+\\bVALUES\\s*\\(", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
     protected final ParameterList parameters;
     private final String sql;
+    private List<QueryParameters> batchParameters;
 
     public DtmPreparedStatement(BaseConnection c, int rsType, int rsConcurrency, String sql) throws SQLException {
         super(c, rsType, rsConcurrency);
@@ -72,6 +78,15 @@ public class DtmPreparedStatement extends DtmStatement implements PreparedStatem
         return result.getResultSet();
     }
 
+    /**
+     * Executes query in the driver thread pool, the statement must not be used until the future is completed
+     *
+     * @return future with the result set
+     */
+    public CompletableFuture<ResultSet> executeQueryAsync() {
+        return connection.getQueryExecutor().executeAsync(this::executeQuery);
+    }
+
     @Override
     public int executeUpdate() throws SQLException {
         return super.executeUpdate(sql);
@@ -219,12 +234,56 @@ public class DtmPreparedStatement extends DtmStatement implements PreparedStatem
     @Override
     public void addBatch() throws SQLException {
         checkClosed();
-        ArrayList<Query> batchStatements = this.batchStatements;
-        if (batchStatements == null) {
-            this.batchStatements = batchStatements = new ArrayList<>();
+        if (batchParameters == null) {
+            batchParameters = new ArrayList<>();
+        }
+        ParameterList batchEntry = parameters.copy();
+        batchParameters.add(new QueryParameters(batchEntry.getValues(), batchEntry.getTypes()));
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        super.clearBatch();
+        if (batchParameters != null) {
+            batchParameters.clear();
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        checkClosed();
+        closeResults();
+        if (batchParameters == null || batchParameters.isEmpty()) {
+            return super.executeBatch();
         }
         List<Query> queries = connection.getQueryExecutor().createQuery(sql);
-        batchStatements.addAll(queries);
+        try {
+            int[] parameterCounts = queries.size() == 1 && VALUES_INSERT_PATTERN.matcher(sql).lookingAt()
+                    ? connection.getQueryExecutor().executeBatch(queries.get(0), batchParameters)
+                    : executeBatchByParameterSets(queries);
+            int[] statementCounts = super.executeBatch();
+            int[] updateCounts = Arrays.copyOf(parameterCounts, parameterCounts.length + statementCounts.length);
+            System.arraycopy(statementCounts, 0, updateCounts, parameterCounts.length, statementCounts.length);
+            return updateCounts;
+        } finally {
+            clearBatch();
+        }
+    }
+
+    /**
+     * Executes the queries for every parameter set one by one, other queries than INSERT/UPSERT ... VALUES
+     * can't be written by one request
+     */
+    private int[] executeBatchByParameterSets(List<Query> queries) throws SQLException {
+        List<Query> batchQueries = new ArrayList<>(queries.size() * batchParameters.size());
+        List<QueryParameters> batchQueryParameters = new ArrayList<>(queries.size() * batchParameters.size());
+        for (QueryParameters parameterSet : batchParameters) {
+            for (Query query : queries) {
+                batchQueries.add(query);
+                batchQueryParameters.add(parameterSet);
+            }
+        }
+        return executeBatch(batchQueries, batchQueryParameters);
     }
 
     @Override
@@ -20,6 +20,7 @@ import io.arenadata.dtm.common.model.ddl.ColumnType;
 import io.arenadata.dtm.jdbc.core.BaseConnection;
 import io.arenadata.dtm.jdbc.core.BaseStatement;
 import io.arenadata.dtm.jdbc.core.Field;
+import io.arenadata.dtm.jdbc.core.ResultCursor;
 import io.arenadata.dtm.jdbc.core.Tuple;
 import io.arenadata.dtm.jdbc.util.DtmSqlException;
 import lombok.SneakyThrows;
@@ -47,12 +48,28 @@ public class DtmResultSet extends AbstractResultSet {
     private Tuple thisRow;
     private ResultSetMetaData rsMetaData;
     private Map<String, Integer> columnNameIndexMap;
+    /**
+     * Cursor to fetch the next pages of rows, null if all rows are read
+     */
+    private ResultCursor cursor;
+    private boolean firstPage = true;
+    /**
+     * Count of rows of all the pages read so far
+     */
+    private long readRowsCount;
 
     public DtmResultSet(BaseConnection connection, BaseStatement statement, Field[] fields, List<Tuple> tuples) {
+        this(connection, statement, fields, tuples, null);
+    }
+
+    public DtmResultSet(BaseConnection connection, BaseStatement statement, Field[] fields, List<Tuple> tuples,
+                        ResultCursor cursor) {
         this.connection = connection;
         this.statement = statement;
         this.fields = fields;
         this.rows = tuples;
+        this.cursor = cursor;
+        this.readRowsCount = tuples == null ? 0 : tuples.size();
         this.thisRow = (tuples == null || tuples.isEmpty()) ?
                 new Tuple(0) : tuples.get(0);
     }
@@ -67,17 +84,19 @@ public class DtmResultSet extends AbstractResultSet {
     @Override
     @SneakyThrows
     public boolean next() {
-        if (currentRow + 1 >= rows.size()) {
+        if (currentRow + 1 >= rows.size() && !fetchNextPage()) {
             return false;
-        } else {
-            currentRow++;
         }
+        currentRow++;
         initRowBuffer();
         return true;
     }
 
     @Override
     public boolean first() throws SQLException {
+        if (!firstPage) {
+            throw new DtmSqlException("Operation requires a scrollable ResultSet, but rows are read through cursor.");
+        }
         if (rows.isEmpty()) {
             return false;
         }
@@ -169,6 +188,11 @@ public class DtmResultSet extends AbstractResultSet {
     @Override
     public void close() throws SQLException {
         rows = null;
+        if (cursor != null) {
+            ResultCursor closedCursor = cursor;
+            cursor = null;
+            closedCursor.close();
+        }
     }
 
     @Override
@@ -505,6 +529,34 @@ public class DtmResultSet extends AbstractResultSet {
         return rows.size();
     }
 
+    /**
+     * @return count of rows of all the pages read so far
+     */
+    public long getReadRowsCount() {
+        return readRowsCount;
+    }
+
+    /**
+     * @return true if not all the pages of the cursor are read yet
+     */
+    public boolean hasMorePages() {
+        return cursor != null && cursor.hasMore();
+    }
+
+    private boolean fetchNextPage() throws SQLException {
+        while (cursor != null && cursor.hasMore()) {
+            rows = cursor.fetch();
+            readRowsCount += rows.size();
+            currentRow = -1;
+            firstPage = false;
+            if (!rows.isEmpty()) {
+                return true;
+            }
+        }
+        cursor = null;
+        return false;
+    }
+
     private void initRowBuffer() {
         thisRow = rows.get(currentRow);
     }
@@ -16,12 +16,14 @@
 package io.arenadata.dtm.jdbc.ext;
 
 import io.arenadata.dtm.jdbc.core.*;
+import io.arenadata.dtm.jdbc.util.DriverConstants;
 import io.arenadata.dtm.jdbc.util.DtmSqlException;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 public class DtmStatement implements BaseStatement {
@@ -102,10 +104,11 @@ public class DtmStatement implements BaseStatement {
 
     private boolean executeInternal(String sql, QueryParameters parameters, int fetchSize, int noGeneratedKeys) throws SQLException {
         log.debug("executeInternal: {}", sql);
+        closeResults();
         List<Query> queries = this.connection.getQueryExecutor().createQuery(sql);
         DtmResultHandler resultHandler = new DtmResultHandler();
         if (queries.size() == 1) {
-            this.connection.getQueryExecutor().execute(queries.get(0), parameters, resultHandler);
+            this.connection.getQueryExecutor().execute(queries.get(0), parameters, fetchSize, resultHandler);
         } else {
             this.connection.getQueryExecutor().execute(queries, null, resultHandler);
         }
@@ -129,6 +132,16 @@ public class DtmStatement implements BaseStatement {
         }
     }
 
+    /**
+     * Executes query in the driver thread pool, the statement must not be used until the future is completed
+     *
+     * @param sql sql query
+     * @return future with the result set
+     */
+    public CompletableFuture<ResultSet> executeQueryAsync(String sql) {
+        return connection.getQueryExecutor().executeAsync(() -> executeQuery(sql));
+    }
+
     @Override
     public int executeUpdate(String sql) throws SQLException {
         log.debug("executeUpdate: {}", sql);
@@ -138,7 +151,28 @@ public class DtmStatement implements BaseStatement {
 
     @Override
     public void close() throws SQLException {
-        this.isClosed = true;
+        if (this.isClosed) {
+            return;
+        }
+        try {
+            closeResults();
+        } finally {
+            this.isClosed = true;
+        }
+    }
+
+    /**
+     * Closes the result sets of the previous execution, which releases their cursors on the server
+     */
+    protected void closeResults() throws SQLException {
+        ResultSetWrapper currentResult = this.result;
+        this.result = null;
+        while (currentResult != null) {
+            if (currentResult.getResultSet() != null) {
+                currentResult.getResultSet().close();
+            }
+            currentResult = currentResult.getNext();
+        }
     }
 
     @Override
@@ -254,8 +288,8 @@ public class DtmStatement implements BaseStatement {
         if (rows < 0 && rows != Integer.MIN_VALUE) {
             throw new SQLException(String.format("Incorrect %d value for block size", rows));
         } else if (rows == Integer.MIN_VALUE) {
-            //for compatibility Integer.MIN_VALUE is transform to 0 => streaming
-            this.fetchSize = 1;
+            //for compatibility Integer.MIN_VALUE means streaming, rows are read through cursor by default pages
+            this.fetchSize = DriverConstants.DEFAULT_FETCH_SIZE;
             return;
         }
         this.fetchSize = rows;
@@ -293,14 +327,28 @@ public class DtmStatement implements BaseStatement {
     @Override
     public int[] executeBatch() throws SQLException {
         checkClosed();
-        List<Long> updateCounts = new ArrayList<>();
-
+        closeResults();
         if (batchStatements == null || batchStatements.isEmpty()) {
             return new int[0];
         }
 
+        return executeBatch(batchStatements, null);
+    }
+
+    /**
+     * Executes the queries one by one
+     *
+     * @param queries        queries
+     * @param parametersList parameters of every query, null if the queries have no parameters
+     * @return update counts of the queries
+     */
+    protected int[] executeBatch(List<Query> queries, List<QueryParameters> parametersList) throws SQLException {
+        List<Long> updateCounts = new ArrayList<>();
         DtmResultHandler resultHandler = new DtmResultHandler();
-        connection.getQueryExecutor().execute(batchStatements, null, resultHandler);
+        connection.getQueryExecutor().execute(queries, parametersList, resultHandler);
+        if (resultHandler.getException() != null) {
+            throw new SQLException(resultHandler.getException());
+        }
 
         ResultSetWrapper currentResult = resultHandler.getResult();
         while (currentResult != null) {
@@ -429,6 +477,10 @@ public class DtmStatement implements BaseStatement {
         return new DtmResultSet(this.connection, this, fields, tuples);
     }
 
+    private DtmResultSet createResultSet(Field[] fields, List<Tuple> tuples, ResultCursor cursor) {
+        return new DtmResultSet(this.connection, this, fields, tuples, cursor);
+    }
+
     public class DtmResultHandler extends ResultHandlerBase {
         private ResultSetWrapper results;
         private ResultSetWrapper lastResult;
@@ -454,5 +506,15 @@ public class DtmStatement implements BaseStatement {
                 this.handleError(new SQLException(e));
             }
         }
+
+        @Override
+        public void handleResultRows(Query query, Field[] fields, List<Tuple> tuples, ResultCursor cursor) {
+            try {
+                DtmResultSet rs = createResultSet(fields, tuples, cursor);
+                this.append(new ResultSetWrapper(rs));
+            } catch (Exception e) {
+                this.handleError(new SQLException(e));
+            }
+        }
     }
 }
@@ -60,4 +60,27 @@ public interface Protocol {
      * @throws SQLException
      */
     QueryResult prepareQuery(QueryRequest request) throws SQLException;
+
+    /**
+     * execute query once for all parameter sets of the batch
+     * @param request query request with batch parameters
+     * @return query result
+     * @throws SQLException
+     */
+    QueryResult executeBatch(QueryRequest request) throws SQLException;
+
+    /**
+     * fetch the next page of server-side cursor
+     * @param cursorId cursor id
+     * @return query result with the page rows
+     * @throws SQLException
+     */
+    QueryResult fetchCursor(String cursorId) throws SQLException;
+
+    /**
+     * close server-side cursor
+     * @param cursorId cursor id
+     * @throws SQLException
+     */
+    void closeCursor(String cursorId) throws SQLException;
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.jdbc.protocol.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Driver-wide http clients with pooled keep-alive connections. Jdbc connections with equal
+ * {@link HttpClientSettings} share one client, which is closed when the last of them is closed.
+ * Each client has the executor of async requests with {@link HttpClientSettings#getMaxConnections()} threads,
+ * more requests couldn't run concurrently anyway, the others wait in its queue.
+ */
+@Slf4j
+public final class HttpClientPool {
+    private static final Map<HttpClientSettings, SharedClient> CLIENTS = new HashMap<>();
+
+    private HttpClientPool() {
+    }
+
+    public static synchronized CloseableHttpClient acquire(HttpClientSettings settings) {
+        SharedClient client = CLIENTS.computeIfAbsent(settings, key -> new SharedClient(createClient(key), createExecutor(key)));
+        client.references++;
+        return client.client;
+    }
+
+    /**
+     * Returns the executor of async requests of the acquired client
+     */
+    public static synchronized ExecutorService executor(HttpClientSettings settings) {
+        SharedClient client = CLIENTS.get(settings);
+        if (client == null) {
+            throw new IllegalStateException("Http client is not acquired");
+        }
+        return client.executor;
+    }
+
+    public static synchronized void release(HttpClientSettings settings) throws IOException {
+        SharedClient client = CLIENTS.get(settings);
+        if (client == null) {
+            return;
+        }
+        if (--client.references == 0) {
+            CLIENTS.remove(settings);
+            client.executor.shutdown();
+            client.client.close();
+        }
+    }
+
+    private static CloseableHttpClient createClient(HttpClientSettings settings) {
+        log.debug("Creating http client {}", settings);
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                settings.getKeepAliveMs(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(settings.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(settings.getMaxConnectionsPerRoute());
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> settings.getKeepAliveMs())
+                .evictExpiredConnections()
+                .evictIdleConnections(settings.getKeepAliveMs(), TimeUnit.MILLISECONDS)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(settings.getConnectTimeoutMs())
+                        .setSocketTimeout(settings.getSocketTimeoutMs())
+                        .build());
+        if (!settings.isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
+    private static ExecutorService createExecutor(HttpClientSettings settings) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(settings.getMaxConnections(), settings.getMaxConnections(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new AsyncThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static final class SharedClient {
+        private final CloseableHttpClient client;
+        private final ExecutorService executor;
+        private int references;
+
+        private SharedClient(CloseableHttpClient client, ExecutorService executor) {
+            this.client = client;
+            this.executor = executor;
+        }
+    }
+
+    private static final class AsyncThreadFactory implements ThreadFactory {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "dtm-jdbc-async-" + COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.jdbc.protocol.http;
+
+import io.arenadata.dtm.jdbc.util.DtmSqlException;
+import lombok.Value;
+
+import java.util.Properties;
+
+import static io.arenadata.dtm.jdbc.util.DriverConstants.*;
+
+/**
+ * Settings of http client, connections with equal settings share the same client
+ */
+@Value
+public class HttpClientSettings {
+    private static final int DEFAULT_MAX_CONNECTIONS = 50;
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    private static final int DEFAULT_KEEP_ALIVE_MS = 60000;
+    private static final int DEFAULT_CONNECT_TIMEOUT_MS = 10000;
+    private static final int DEFAULT_SOCKET_TIMEOUT_MS = 0;
+    int maxConnections;
+    int maxConnectionsPerRoute;
+    int keepAliveMs;
+    int connectTimeoutMs;
+    int socketTimeoutMs;
+    boolean compression;
+
+    public static HttpClientSettings of(Properties info) throws DtmSqlException {
+        if (info == null) {
+            info = new Properties();
+        }
+        return new HttpClientSettings(
+                getInt(info, HTTP_MAX_CONNECTIONS_PROPERTY, DEFAULT_MAX_CONNECTIONS, 1),
+                getInt(info, HTTP_MAX_CONNECTIONS_PER_ROUTE_PROPERTY, DEFAULT_MAX_CONNECTIONS_PER_ROUTE, 1),
+                getInt(info, HTTP_KEEP_ALIVE_MS_PROPERTY, DEFAULT_KEEP_ALIVE_MS, 0),
+                getInt(info, HTTP_CONNECT_TIMEOUT_MS_PROPERTY, DEFAULT_CONNECT_TIMEOUT_MS, 0),
+                getInt(info, HTTP_SOCKET_TIMEOUT_MS_PROPERTY, DEFAULT_SOCKET_TIMEOUT_MS, 0),
+                Boolean.parseBoolean(info.getProperty(HTTP_COMPRESSION_PROPERTY, "false")));
+    }
+
+    private static int getInt(Properties info, String property, int defaultValue, int minValue) throws DtmSqlException {
+        String value = info.getProperty(property);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            int result = Integer.parseInt(value);
+            if (result < minValue) {
+                throw new NumberFormatException();
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            throw new DtmSqlException(String.format("Incorrect value '%s' of parameter '%s'", value, property));
+        }
+    }
+}
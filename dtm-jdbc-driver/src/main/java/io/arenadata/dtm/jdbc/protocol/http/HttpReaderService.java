@@ -17,8 +17,11 @@ package io.arenadata.dtm.jdbc.protocol.http;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.arenadata.dtm.common.reader.BinaryQueryResultDecoder;
+import io.arenadata.dtm.common.reader.BinaryQueryResultFormat;
 import io.arenadata.dtm.jdbc.core.QueryRequest;
 import io.arenadata.dtm.jdbc.core.QueryResult;
+import io.arenadata.dtm.jdbc.core.Tuple;
 import io.arenadata.dtm.jdbc.model.ColumnInfo;
 import io.arenadata.dtm.jdbc.model.SchemaInfo;
 import io.arenadata.dtm.jdbc.model.TableInfo;
@@ -27,17 +30,21 @@ import io.arenadata.dtm.jdbc.util.DtmSqlException;
 import io.arenadata.dtm.jdbc.util.ResponseException;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
+import org.apache.http.client.entity.GzipCompressingEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -59,17 +66,26 @@ public class HttpReaderService implements Protocol {
     private static final String GET_META_URL = "/meta";
     private static final String GET_ENTITIES_URL = "/meta/%s/entities";
     private static final String GET_ATTRIBUTES_URL = "/meta/%s/entity/%s/attributes";
+    private static final String CURSOR_ID_FIELD = "cursorId";
+    private static final String QUERY_RESULT_ACCEPT = BinaryQueryResultFormat.CONTENT_TYPE + ", "
+            + ContentType.APPLICATION_JSON.getMimeType() + ";q=0.9";
     private static final ObjectMapper MAPPER = configureMapper();
     private final CloseableHttpClient client;
     private final String backendHostUrl;
+    private final boolean compression;
 
-    @SneakyThrows
     public HttpReaderService(CloseableHttpClient client, String dbHost) {
+        this(client, dbHost, false);
+    }
+
+    @SneakyThrows
+    public HttpReaderService(CloseableHttpClient client, String dbHost, boolean compression) {
         if (isEmpty(dbHost)) {
             throw new DtmSqlException(String.format("Unable to create connection because parameter '%s' is not specified", HOST_PROPERTY));
         }
         this.backendHostUrl = "http://" + dbHost;
         this.client = client;
+        this.compression = compression;
     }
 
     @Override
@@ -148,19 +164,85 @@ public class HttpReaderService implements Protocol {
         }
     }
 
-    private QueryResult executeRequest(QueryRequest queryRequest, HttpPost httpPost) throws IOException, DtmSqlException {
-        String queryRequestJson = MAPPER.writeValueAsString(queryRequest);
-        log.debug("Preparing the query [{}]", queryRequestJson);
-        httpPost.setEntity(new StringEntity(queryRequestJson, ContentType.APPLICATION_JSON));
+    @Override
+    public QueryResult executeBatch(QueryRequest request) throws SQLException {
+        try {
+            HttpPost httpPost = new HttpPost(backendHostUrl + "/query/batch");
+            return executeRequest(request, httpPost);
+        } catch (Exception e) {
+            String errMsg = String.format("Error executing batch [%s]: %s", request.getSql(), e.getMessage());
+            log.error(errMsg, e);
+            throw new SQLException(errMsg, e);
+        }
+    }
+
+    @Override
+    public QueryResult fetchCursor(String cursorId) throws SQLException {
+        try {
+            HttpPost httpPost = new HttpPost(backendHostUrl + "/query/fetch");
+            return executeRequest(Collections.singletonMap(CURSOR_ID_FIELD, cursorId), httpPost);
+        } catch (Exception e) {
+            String errMsg = String.format("Error fetching cursor [%s]", cursorId);
+            log.error(errMsg, e);
+            throw new SQLException(errMsg, e);
+        }
+    }
+
+    @Override
+    public void closeCursor(String cursorId) throws SQLException {
+        try {
+            HttpPost httpPost = new HttpPost(backendHostUrl + "/query/close");
+            httpPost.setEntity(createEntity(Collections.singletonMap(CURSOR_ID_FIELD, cursorId)));
+            try (CloseableHttpResponse response = client.execute(httpPost)) {
+                checkResponseStatus(response);
+            }
+        } catch (Exception e) {
+            String errMsg = String.format("Error closing cursor [%s]", cursorId);
+            log.error(errMsg, e);
+            throw new SQLException(errMsg, e);
+        }
+    }
+
+    private QueryResult executeRequest(Object queryRequest, HttpPost httpPost) throws IOException, DtmSqlException {
+        log.debug("Preparing the query [{}]", queryRequest);
+        httpPost.setEntity(createEntity(queryRequest));
+        httpPost.setHeader(HttpHeaders.ACCEPT, QUERY_RESULT_ACCEPT);
         try (CloseableHttpResponse response = client.execute(httpPost)) {
             checkResponseStatus(response);
             InputStream content = response.getEntity().getContent();
-            QueryResult result = MAPPER.readValue(content, QueryResult.class);
-            log.info("Request received response {}", result);
+            QueryResult result = isBinaryResult(response) ? readBinaryResult(content)
+                    : MAPPER.readValue(content, QueryResult.class);
+            log.debug("Request [{}] received response", result.getRequestId());
             return result;
         }
     }
 
+    private HttpEntity createEntity(Object value) {
+        JsonEntity entity = new JsonEntity(MAPPER, value);
+        return compression ? new GzipCompressingEntity(entity) : entity;
+    }
+
+    private boolean isBinaryResult(CloseableHttpResponse response) {
+        Header contentType = response.getEntity().getContentType();
+        return contentType != null && contentType.getValue().startsWith(BinaryQueryResultFormat.CONTENT_TYPE);
+    }
+
+    private QueryResult readBinaryResult(InputStream content) throws IOException {
+        BinaryQueryResultDecoder decoder = new BinaryQueryResultDecoder(content, MAPPER);
+        List<Tuple> tuples = new ArrayList<>();
+        Object[] row;
+        while ((row = decoder.readRow()) != null) {
+            tuples.add(new Tuple(row));
+        }
+        QueryResult result = new QueryResult();
+        result.setRequestId(decoder.getRequestId());
+        result.setCursorId(decoder.getCursorId());
+        result.setMetadata(decoder.getMetadata());
+        result.setTuples(tuples);
+        result.setEmpty(tuples.isEmpty());
+        return result;
+    }
+
     @SneakyThrows
     private void checkResponseStatus(CloseableHttpResponse response) {
         if (HttpStatus.SC_OK != response.getStatusLine().getStatusCode()) {
@@ -22,6 +22,17 @@ public class DriverConstants {
     public static final String SCHEMA_PROPERTY = "schema";
     public static final String HOST_PROPERTY = "dbHost";
     public static final String USER_PROPERTY = "user";
+    public static final String HTTP_MAX_CONNECTIONS_PROPERTY = "httpMaxConnections";
+    public static final String HTTP_MAX_CONNECTIONS_PER_ROUTE_PROPERTY = "httpMaxConnectionsPerRoute";
+    public static final String HTTP_KEEP_ALIVE_MS_PROPERTY = "httpKeepAliveMs";
+    public static final String HTTP_CONNECT_TIMEOUT_MS_PROPERTY = "httpConnectTimeoutMs";
+    public static final String HTTP_SOCKET_TIMEOUT_MS_PROPERTY = "httpSocketTimeoutMs";
+    public static final String HTTP_COMPRESSION_PROPERTY = "httpCompression";
+
+    /**
+     * Page size of the cursor, when the streaming is requested by fetch size {@link Integer#MIN_VALUE}
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
 
     //System columns names
     public static final String CATALOG_NAME_COLUMN = "TABLE_CAT";
@@ -17,19 +17,23 @@ package io.arenadata.dtm.jdbc.ext;
 
 import io.arenadata.dtm.common.util.DateTimeUtils;
 import io.arenadata.dtm.jdbc.core.BaseConnection;
+import io.arenadata.dtm.jdbc.core.Query;
 import io.arenadata.dtm.jdbc.core.QueryExecutor;
+import io.arenadata.dtm.jdbc.core.QueryParameters;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.Date;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.LocalDate;
@@ -430,4 +434,81 @@ class DtmPreparedStatementTest {
                 Matchers.is(LocalDateTime.of(123, 11, 20, 23, 23, 50, 123_456_000))
         ));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSendAllBatchParameterSetsByOneRequest() throws SQLException {
+        // arrange
+        String sql = "INSERT INTO accounts VALUES (?)";
+        Query query = new Query(sql, false);
+        when(queryExecutor.createQuery(Mockito.any())).thenReturn(Collections.singletonList(query));
+        when(queryExecutor.executeBatch(Mockito.eq(query), Mockito.anyList()))
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+        DtmPreparedStatement statement = new DtmPreparedStatement(baseConnection, 1, 1, sql);
+
+        // act
+        statement.setInt(1, 1);
+        statement.addBatch();
+        statement.setInt(1, 2);
+        statement.addBatch();
+        int[] updateCounts = statement.executeBatch();
+
+        // assert
+        ArgumentCaptor<List<QueryParameters>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(queryExecutor).executeBatch(Mockito.eq(query), captor.capture());
+        assertThat(captor.getValue().stream().map(parameters -> parameters.getValues()[0])
+                .collect(Collectors.toList()), contains(1, 2));
+        assertThat(Arrays.stream(updateCounts).boxed().collect(Collectors.toList()),
+                contains(Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO));
+        assertThat(statement.executeBatch().length, Matchers.is(0));
+    }
+
+    @Test
+    void shouldSendBatchByOneRequestWhenValuesNotSeparatedBySpace() throws SQLException {
+        // arrange
+        String sql = "INSERT INTO accounts(id)values(?)";
+        Query query = new Query(sql, false);
+        when(queryExecutor.createQuery(Mockito.any())).thenReturn(Collections.singletonList(query));
+        when(queryExecutor.executeBatch(Mockito.eq(query), Mockito.anyList()))
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+        DtmPreparedStatement statement = new DtmPreparedStatement(baseConnection, 1, 1, sql);
+
+        // act
+        statement.setInt(1, 1);
+        statement.addBatch();
+        statement.setInt(1, 2);
+        statement.addBatch();
+        statement.executeBatch();
+
+        // assert
+        ArgumentCaptor<List<QueryParameters>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(queryExecutor).executeBatch(Mockito.eq(query), captor.capture());
+        Mockito.verify(queryExecutor, Mockito.never()).execute(Mockito.anyList(), Mockito.anyList(), Mockito.any());
+        assertThat(captor.getValue().stream().map(parameters -> parameters.getValues()[0])
+                .collect(Collectors.toList()), contains(1, 2));
+    }
+
+    @Test
+    void shouldExecuteBatchOfOtherQueryForEveryParameterSet() throws SQLException {
+        // arrange
+        String sql = "DELETE FROM accounts WHERE id = ?";
+        Query query = new Query(sql, false);
+        when(queryExecutor.createQuery(Mockito.any())).thenReturn(Collections.singletonList(query));
+        DtmPreparedStatement statement = new DtmPreparedStatement(baseConnection, 1, 1, sql);
+
+        // act
+        statement.setInt(1, 1);
+        statement.addBatch();
+        statement.setInt(1, 2);
+        statement.addBatch();
+        statement.executeBatch();
+
+        // assert
+        ArgumentCaptor<List<Query>> queriesCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<QueryParameters>> parametersCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(queryExecutor).execute(queriesCaptor.capture(), parametersCaptor.capture(), Mockito.any());
+        Mockito.verify(queryExecutor, Mockito.never()).executeBatch(Mockito.any(), Mockito.anyList());
+        assertThat(queriesCaptor.getValue(), contains(query, query));
+        assertThat(parametersCaptor.getValue().stream().map(parameters -> parameters.getValues()[0])
+                .collect(Collectors.toList()), contains(1, 2));
+    }
+}
@@ -42,8 +42,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class DtmResultSetTest {
     private final BaseConnection connection = mock(DtmConnectionImpl.class);
@@ -1443,6 +1442,62 @@ class DtmResultSetTest {
         }
     }
 
+    @Test
+    void shouldFetchPagesThroughCursor() throws SQLException {
+        // arrange
+        ResultCursor cursor = mock(ResultCursor.class);
+        when(cursor.hasMore()).thenReturn(true, true, false);
+        when(cursor.fetch()).thenReturn(Collections.singletonList(createTuple(2L)), Collections.emptyList());
+        resultSet = new DtmResultSet(connection, statement, new Field[]{new Field("id", ColumnType.BIGINT)},
+                Collections.singletonList(createTuple(1L)), cursor);
+
+        // act
+        List<Long> ids = new ArrayList<>();
+        while (resultSet.next()) {
+            ids.add(resultSet.getLong(1));
+        }
+
+        // assert
+        assertThat(ids, contains(1L, 2L));
+        verify(cursor, times(2)).fetch();
+        assertThrows(SQLException.class, () -> resultSet.first());
+    }
+
+    @Test
+    void shouldCountRowsOfAllPages() throws SQLException {
+        // arrange
+        ResultCursor cursor = mock(ResultCursor.class);
+        when(cursor.hasMore()).thenReturn(true, true, true, false);
+        when(cursor.fetch()).thenReturn(Arrays.asList(createTuple(2L), createTuple(3L)), Collections.emptyList());
+        DtmResultSet dtmResultSet = new DtmResultSet(connection, statement, new Field[]{new Field("id", ColumnType.BIGINT)},
+                Collections.singletonList(createTuple(1L)), cursor);
+        ResultSetWrapper wrapper = new ResultSetWrapper(dtmResultSet);
+
+        // act
+        long countBeforeRead = wrapper.getUpdateCount();
+        while (dtmResultSet.next()) {
+            dtmResultSet.getLong(1);
+        }
+
+        // assert
+        assertEquals(Statement.SUCCESS_NO_INFO, countBeforeRead);
+        assertEquals(3, wrapper.getUpdateCount());
+    }
+
+    @Test
+    void shouldCloseCursorWhenClosedBeforeLastPage() throws SQLException {
+        // arrange
+        ResultCursor cursor = mock(ResultCursor.class);
+        resultSet = new DtmResultSet(connection, statement, new Field[]{new Field("id", ColumnType.BIGINT)},
+                Collections.singletonList(createTuple(1L)), cursor);
+
+        // act
+        resultSet.close();
+
+        // assert
+        verify(cursor).close();
+    }
+
     private void prepareResultSet(List<Field> fields, List<Tuple> tuples) {
         Field[] fieldsArray = fields.toArray(new Field[0]);
 
@@ -15,19 +15,27 @@
  */
 package io.arenadata.dtm.jdbc.ext;
 
-import io.arenadata.dtm.jdbc.core.BaseConnection;
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.jdbc.core.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 class DtmStatementTest {
 
+    private static final String SQL = "SELECT * FROM accounts";
     private final BaseConnection connection = mock(DtmConnectionImpl.class);
+    private final QueryExecutor queryExecutor = mock(QueryExecutor.class);
     private Statement statement;
 
     @BeforeEach
@@ -48,4 +56,54 @@ class DtmStatementTest {
         assertTrue(statement.isWrapperFor(DtmStatement.class));
         assertFalse(statement.isWrapperFor(null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCloseCursorOfPreviousResultOnExecute() throws SQLException {
+        // arrange
+        ResultCursor firstCursor = mock(ResultCursor.class);
+        ResultCursor secondCursor = mock(ResultCursor.class);
+        mockQueryResult(firstCursor, secondCursor);
+        ResultSet firstResultSet = statement.executeQuery(SQL);
+
+        // act
+        ResultSet secondResultSet = statement.executeQuery(SQL);
+
+        // assert
+        verify(firstCursor).close();
+        verify(secondCursor, never()).close();
+        assertNotSame(firstResultSet, secondResultSet);
+    }
+
+    @Test
+    void shouldCloseCursorOfResultOnClose() throws SQLException {
+        // arrange
+        ResultCursor cursor = mock(ResultCursor.class);
+        mockQueryResult(cursor);
+        statement.executeQuery(SQL);
+
+        // act
+        statement.close();
+        statement.close();
+
+        // assert
+        verify(cursor).close();
+        assertTrue(statement.isClosed());
+    }
+
+    private void mockQueryResult(ResultCursor cursor, ResultCursor... nextCursors) throws SQLException {
+        Query query = new Query(SQL, false);
+        Field[] fields = {new Field("id", ColumnType.BIGINT)};
+        when(connection.getQueryExecutor()).thenReturn(queryExecutor);
+        when(queryExecutor.createQuery(anyString())).thenReturn(Collections.singletonList(query));
+        doAnswer(invocation -> {
+            ResultHandler resultHandler = invocation.getArgument(3);
+            resultHandler.handleResultRows(query, fields, Collections.singletonList(new Tuple(new Object[]{1L})), cursor);
+            return null;
+        }).doAnswer(invocation -> {
+            ResultHandler resultHandler = invocation.getArgument(3);
+            resultHandler.handleResultRows(query, fields, Collections.singletonList(new Tuple(new Object[]{2L})),
+                    nextCursors.length > 0 ? nextCursors[0] : null);
+            return null;
+        }).when(queryExecutor).execute(any(Query.class), any(), anyInt(), any(ResultHandler.class));
+    }
+}
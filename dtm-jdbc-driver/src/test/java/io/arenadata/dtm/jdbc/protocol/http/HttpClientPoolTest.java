@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.jdbc.protocol.http;
+
+import io.arenadata.dtm.jdbc.util.DtmSqlException;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static io.arenadata.dtm.jdbc.util.DriverConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientPoolTest {
+
+    @Test
+    void shouldShareClientForEqualSettings() throws Exception {
+        HttpClientSettings settings = HttpClientSettings.of(new Properties());
+        Properties otherInfo = new Properties();
+        otherInfo.setProperty(HTTP_MAX_CONNECTIONS_PROPERTY, "5");
+        HttpClientSettings otherSettings = HttpClientSettings.of(otherInfo);
+
+        CloseableHttpClient first = HttpClientPool.acquire(settings);
+        CloseableHttpClient second = HttpClientPool.acquire(HttpClientSettings.of(new Properties()));
+        CloseableHttpClient other = HttpClientPool.acquire(otherSettings);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+
+        HttpClientPool.release(settings);
+        assertSame(first, HttpClientPool.acquire(settings));
+
+        HttpClientPool.release(settings);
+        HttpClientPool.release(settings);
+        HttpClientPool.release(otherSettings);
+        assertNotSame(first, HttpClientPool.acquire(settings));
+        HttpClientPool.release(settings);
+    }
+
+    @Test
+    void shouldLimitAsyncExecutorByConnections() throws Exception {
+        Properties info = new Properties();
+        info.setProperty(HTTP_MAX_CONNECTIONS_PROPERTY, "3");
+        HttpClientSettings settings = HttpClientSettings.of(info);
+
+        HttpClientPool.acquire(settings);
+        ExecutorService executor = HttpClientPool.executor(settings);
+        Thread thread = executor.submit(Thread::currentThread).get();
+
+        assertEquals(3, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+        assertTrue(thread.isDaemon());
+        assertTrue(thread.getName().startsWith("dtm-jdbc-async-"));
+
+        HttpClientPool.release(settings);
+        assertTrue(executor.isShutdown());
+        assertThrows(IllegalStateException.class, () -> HttpClientPool.executor(settings));
+    }
+
+    @Test
+    void shouldFailOnIncorrectSetting() {
+        Properties info = new Properties();
+        info.setProperty(HTTP_MAX_CONNECTIONS_PROPERTY, "many");
+
+        assertThrows(DtmSqlException.class, () -> HttpClientSettings.of(info));
+    }
+
+    @Test
+    void shouldFailOnNonPositiveMaxConnections() {
+        Properties zero = new Properties();
+        zero.setProperty(HTTP_MAX_CONNECTIONS_PROPERTY, "0");
+        Properties negative = new Properties();
+        negative.setProperty(HTTP_MAX_CONNECTIONS_PROPERTY, "-1");
+        Properties zeroPerRoute = new Properties();
+        zeroPerRoute.setProperty(HTTP_MAX_CONNECTIONS_PER_ROUTE_PROPERTY, "0");
+
+        assertThrows(DtmSqlException.class, () -> HttpClientSettings.of(zero));
+        assertThrows(DtmSqlException.class, () -> HttpClientSettings.of(negative));
+        assertThrows(DtmSqlException.class, () -> HttpClientSettings.of(zeroPerRoute));
+    }
+
+    @Test
+    void shouldFailOnNegativeTimeouts() throws Exception {
+        Properties negativeConnectTimeout = new Properties();
+        negativeConnectTimeout.setProperty(HTTP_CONNECT_TIMEOUT_MS_PROPERTY, "-1");
+        Properties negativeSocketTimeout = new Properties();
+        negativeSocketTimeout.setProperty(HTTP_SOCKET_TIMEOUT_MS_PROPERTY, "-1");
+        Properties negativeKeepAlive = new Properties();
+        negativeKeepAlive.setProperty(HTTP_KEEP_ALIVE_MS_PROPERTY, "-1");
+        Properties zeroTimeouts = new Properties();
+        zeroTimeouts.setProperty(HTTP_CONNECT_TIMEOUT_MS_PROPERTY, "0");
+        zeroTimeouts.setProperty(HTTP_SOCKET_TIMEOUT_MS_PROPERTY, "0");
+
+        assertThrows(DtmSqlException.class, () -> HttpClientSettings.of(negativeConnectTimeout));
+        assertThrows(DtmSqlException.class, () -> HttpClientSettings.of(negativeSocketTimeout));
+        assertThrows(DtmSqlException.class, () -> HttpClientSettings.of(negativeKeepAlive));
+        HttpClientSettings settings = HttpClientSettings.of(zeroTimeouts);
+        assertEquals(0, settings.getConnectTimeoutMs());
+        assertEquals(0, settings.getSocketTimeoutMs());
+    }
+}
@@ -15,16 +15,23 @@
  */
 package io.arenadata.dtm.query.execution.core.base.configuration;
 
+import io.arenadata.dtm.cache.configuration.CacheProperties;
 import io.arenadata.dtm.cache.factory.CaffeineCacheServiceFactory;
+import io.arenadata.dtm.cache.factory.CaffeineQueryTemplateCacheServiceFactory;
 import io.arenadata.dtm.cache.service.CacheService;
 import io.arenadata.dtm.cache.service.EvictQueryTemplateCacheService;
 import io.arenadata.dtm.cache.service.EvictQueryTemplateCacheServiceImpl;
+import io.arenadata.dtm.cache.service.QueryTemplateCacheService;
 import io.arenadata.dtm.common.cache.*;
 import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.query.execution.core.base.dto.cache.EntityKey;
 import io.arenadata.dtm.query.execution.core.base.dto.cache.MaterializedViewCacheValue;
+import io.arenadata.dtm.query.execution.core.check.service.CheckDataChecksumCacheService;
+import io.arenadata.dtm.query.execution.core.check.service.impl.ChecksumEvictingQueryTemplateCacheService;
 import io.arenadata.dtm.query.execution.core.delta.dto.HotDelta;
 import io.arenadata.dtm.query.execution.core.delta.dto.OkDelta;
+import io.arenadata.dtm.query.execution.core.dml.service.LlrResultCacheService;
+import io.arenadata.dtm.query.execution.core.dml.service.impl.LlrResultEvictingQueryTemplateCacheService;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -73,9 +80,8 @@ public class CacheConfiguration {
     }
 
     @Bean("coreQueryTemplateCacheService")
-    public CacheService<QueryTemplateKey, SourceQueryTemplateValue> queryCacheService(@Qualifier("caffeineCacheManager")
-                                                                                              CacheManager cacheManager) {
-        return new CaffeineCacheServiceFactory<QueryTemplateKey, SourceQueryTemplateValue>(cacheManager)
+    public QueryTemplateCacheService<SourceQueryTemplateValue> queryCacheService(@Qualifier("cacheProperties") CacheProperties cacheProperties) {
+        return new CaffeineQueryTemplateCacheServiceFactory<SourceQueryTemplateValue>(cacheProperties)
                 .create(CORE_QUERY_TEMPLATE_CACHE);
     }
 
@@ -89,7 +95,12 @@ public class CacheConfiguration {
     @Bean("evictQueryTemplateCacheServiceImpl")
     public EvictQueryTemplateCacheService evictQueryTemplateCacheService(
             CacheService<QueryTemplateKey, SourceQueryTemplateValue> cacheService,
-            List<CacheService<QueryTemplateKey, QueryTemplateValue>> cacheServiceList) {
-        return new EvictQueryTemplateCacheServiceImpl(cacheService, cacheServiceList);
+            List<CacheService<QueryTemplateKey, QueryTemplateValue>> cacheServiceList,
+            LlrResultCacheService llrResultCacheService,
+            CheckDataChecksumCacheService checksumCacheService) {
+        return new ChecksumEvictingQueryTemplateCacheService(
+                new LlrResultEvictingQueryTemplateCacheService(
+                        new EvictQueryTemplateCacheServiceImpl(cacheService, cacheServiceList), llrResultCacheService),
+                checksumCacheService);
     }
 }
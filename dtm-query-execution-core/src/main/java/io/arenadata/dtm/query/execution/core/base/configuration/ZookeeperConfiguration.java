@@ -20,6 +20,7 @@ import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperCon
 import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperExecutor;
 import io.arenadata.dtm.query.execution.core.base.service.zookeeper.impl.ZookeeperConnectionProviderImpl;
 import io.arenadata.dtm.query.execution.core.base.service.zookeeper.impl.ZookeeperExecutorImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Vertx;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -37,8 +38,10 @@ public class ZookeeperConfiguration {
     }
 
     @Bean
-    public ZookeeperExecutor zookeeperExecutor(ZookeeperConnectionProvider connectionManager, Vertx vertx) {
-        return new ZookeeperExecutorImpl(connectionManager, vertx);
+    public ZookeeperExecutor zookeeperExecutor(ZookeeperConnectionProvider connectionManager,
+                                               Vertx vertx,
+                                               MeterRegistry meterRegistry) {
+        return new ZookeeperExecutorImpl(connectionManager, vertx, meterRegistry);
     }
 
 
@@ -13,18 +13,20 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.arenadata.dtm.query.execution.core.metrics.factory.impl;
+package io.arenadata.dtm.query.execution.core.base.configuration.properties;
 
-import io.arenadata.dtm.common.metrics.RequestMetrics;
-import io.arenadata.dtm.query.execution.core.metrics.factory.AbstractMetricsEventFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 @Component
-public class OperationMetricsEventFactory extends AbstractMetricsEventFactory<RequestMetrics> {
-
-    @Autowired
-    public OperationMetricsEventFactory() {
-        super(RequestMetrics.class);
-    }
+@Data
+@ConfigurationProperties("core.check.data")
+public class CheckDataProperties {
+    /**
+     * Count of the deltas checked at once
+     */
+    private int parallelism = 4;
+    private boolean checksumCacheEnabled = true;
+    private long checksumCacheMaximumSize = 100000;
 }
@@ -26,5 +26,9 @@ public class CoreHttpProperties {
     private boolean tcpNoDelay = true;
     private boolean tcpFastOpen = true;
     private boolean tcpQuickAck = true;
+    private boolean compressionSupported = true;
     private int port = 9090;
+    private boolean streamingResponse = true;
+    private int responseChunkSize = 1000;
+    private long cursorIdleTimeoutMs = 60000;
 }
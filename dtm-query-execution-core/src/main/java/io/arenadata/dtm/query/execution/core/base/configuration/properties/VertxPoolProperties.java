@@ -26,6 +26,4 @@ import org.springframework.stereotype.Component;
 public class VertxPoolProperties {
     private Integer workerPool = 20;
     private Integer eventLoopPool = 20;
-    private Integer taskPool = 10;
-    private Long taskTimeout = 864_00_000L;
 }
@@ -18,20 +18,25 @@ package io.arenadata.dtm.query.execution.core.base.repository.zookeeper.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.MapperFeature;
 import io.arenadata.dtm.async.AsyncUtils;
+import io.arenadata.dtm.cache.service.CacheService;
+import io.arenadata.dtm.cache.service.EvictQueryTemplateCacheService;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.query.execution.core.base.configuration.CacheConfiguration;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
+import io.arenadata.dtm.query.execution.core.base.dto.cache.EntityKey;
 import io.arenadata.dtm.query.execution.core.base.dto.metadata.DatamartEntity;
 import io.arenadata.dtm.query.execution.core.base.exception.datamart.DatamartNotExistsException;
 import io.arenadata.dtm.query.execution.core.base.exception.entity.EntityAlreadyExistsException;
 import io.arenadata.dtm.query.execution.core.base.exception.entity.EntityNotExistsException;
+import io.arenadata.dtm.query.execution.core.base.service.zookeeper.CacheEvictingWatcher;
 import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperExecutor;
 import io.vertx.core.Future;
 import io.vertx.core.json.jackson.DatabindCodec;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.zookeeper.KeeperException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -45,10 +50,17 @@ import java.util.stream.Collectors;
 @Repository
 public class EntityDaoImpl implements EntityDao {
     private final ZookeeperExecutor executor;
+    private final CacheService<EntityKey, Entity> entityCacheService;
+    private final EvictQueryTemplateCacheService evictQueryTemplateCacheService;
     private final String envPath;
 
-    public EntityDaoImpl(ZookeeperExecutor executor, @Value("${core.env.name}") String systemName) {
+    public EntityDaoImpl(ZookeeperExecutor executor,
+                         @Qualifier("entityCacheService") CacheService<EntityKey, Entity> entityCacheService,
+                         EvictQueryTemplateCacheService evictQueryTemplateCacheService,
+                         @Value("${core.env.name}") String systemName) {
         this.executor = executor;
+        this.entityCacheService = entityCacheService;
+        this.evictQueryTemplateCacheService = evictQueryTemplateCacheService;
         envPath = "/" + systemName;
     }
 
@@ -142,7 +154,11 @@ public class EntityDaoImpl implements EntityDao {
     )
     public Future<Entity> getEntity(String datamartMnemonic, String entityName) {
         val nameWithSchema = getNameWithSchema(datamartMnemonic, entityName);
-        return executor.getData(getTargetPath(datamartMnemonic, entityName))
+        val watcher = new CacheEvictingWatcher(nameWithSchema, () -> {
+            entityCacheService.remove(new EntityKey(datamartMnemonic, entityName));
+            evictQueryTemplateCacheService.evictByEntityName(datamartMnemonic, entityName);
+        });
+        return executor.getDataWithWatch(getTargetPath(datamartMnemonic, entityName), watcher)
                 .map(entityData -> {
                     try {
                         return DatabindCodec.mapper().enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS).readValue(entityData, Entity.class);
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.service.zookeeper;
+
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
+
+/**
+ * One-time watcher of the znode, which evicts the value cached from it, when the znode is created, changed
+ * or deleted by any core instance. The value is evicted on connection loss too, because the watch
+ * may be lost together with the session.
+ * <p>
+ * Watchers with the same cached name evict the same values, so they are equal: zookeeper registers
+ * them on the znode once and equal reads in flight are shared.
+ */
+@Slf4j
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class CacheEvictingWatcher implements Watcher {
+    @EqualsAndHashCode.Include
+    private final String cachedName;
+    private final Runnable eviction;
+
+    public CacheEvictingWatcher(String cachedName, Runnable eviction) {
+        this.cachedName = cachedName;
+        this.eviction = eviction;
+    }
+
+    @Override
+    public void process(WatchedEvent event) {
+        if (event.getType() == Event.EventType.None && event.getState() == Event.KeeperState.SyncConnected) {
+            return;
+        }
+        log.debug("Evicting cached [{}] by zookeeper event [{}]", cachedName, event);
+        try {
+            eviction.run();
+        } catch (Exception e) {
+            log.error("Error in evicting cached [{}]", cachedName, e);
+        }
+    }
+}
@@ -17,9 +17,16 @@ package io.arenadata.dtm.query.execution.core.base.service.zookeeper;
 
 import org.apache.zookeeper.ZooKeeper;
 
+import java.util.Optional;
+
 public interface ZookeeperConnectionProvider {
 
     ZooKeeper getOrConnect();
 
+    /**
+     * Returns the current connection without blocking, when it is established
+     */
+    Optional<ZooKeeper> getIfConnected();
+
     void close();
 }
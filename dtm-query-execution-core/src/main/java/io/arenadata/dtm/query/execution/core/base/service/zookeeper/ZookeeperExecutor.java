@@ -85,6 +85,35 @@ public interface ZookeeperExecutor {
                            Watcher watcher,
                            Stat stat);
 
+    /**
+     * Return the data of the node of the given path and leave the watch on it.
+     * <p>
+     * Unlike {@link #getData(String, Watcher, Stat)} the watch is left on the absent node too,
+     * so the watcher is triggered, when the node is created, changed or deleted.
+     * <p>
+     * A KeeperException with error code KeeperException.NoNode will be thrown
+     * if no node with the given path exists.
+     *
+     * @param path    the given path
+     * @param watcher explicit watcher
+     * @return the data of the node
+     */
+    Future<byte[]> getDataWithWatch(String path,
+                                    Watcher watcher);
+
+    /**
+     * Return the data and the stat of the node of the given path and leave the watch on it,
+     * see {@link #getDataWithWatch(String, Watcher)}.
+     *
+     * @param path    the given path
+     * @param watcher explicit watcher
+     * @param stat    the stat of the node
+     * @return the data of the node
+     */
+    Future<byte[]> getDataWithWatch(String path,
+                                    Watcher watcher,
+                                    Stat stat);
+
     /**
      * Return the list of the children of the node of the given path.
      * <p>
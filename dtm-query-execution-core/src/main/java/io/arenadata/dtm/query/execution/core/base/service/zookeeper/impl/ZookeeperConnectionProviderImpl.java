@@ -26,6 +26,7 @@ import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.ZooDefs;
 import org.apache.zookeeper.ZooKeeper;
 
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -34,8 +35,8 @@ import static org.apache.zookeeper.Watcher.Event.KeeperState.SyncConnected;
 @Slf4j
 public class ZookeeperConnectionProviderImpl implements ZookeeperConnectionProvider {
     private final ServiceDbZookeeperProperties properties;
-    private ZooKeeper connection;
-    private boolean synConnected;
+    private volatile ZooKeeper connection;
+    private volatile boolean synConnected;
 
     public ZookeeperConnectionProviderImpl(ServiceDbZookeeperProperties properties, String envName) {
         this.properties = properties;
@@ -78,6 +79,13 @@ public class ZookeeperConnectionProviderImpl implements ZookeeperConnectionProvi
         return synConnected && connection.getState().isConnected() ? connection : connect(getConnectionStringWithChroot());
     }
 
+    @Override
+    public Optional<ZooKeeper> getIfConnected() {
+        val current = connection;
+        return synConnected && current != null && current.getState().isConnected()
+                ? Optional.of(current) : Optional.empty();
+    }
+
     private String getConnectionStringWithChroot() {
         return properties.getConnectionString() + properties.getChroot();
     }
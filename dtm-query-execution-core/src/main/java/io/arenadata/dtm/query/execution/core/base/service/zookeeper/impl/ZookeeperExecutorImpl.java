@@ -19,19 +19,65 @@ import io.arenadata.dtm.common.util.ThrowableConsumer;
 import io.arenadata.dtm.common.util.ThrowableFunction;
 import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperConnectionProvider;
 import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.val;
 import org.apache.zookeeper.*;
 import org.apache.zookeeper.data.ACL;
 import org.apache.zookeeper.data.Stat;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-@RequiredArgsConstructor
+/**
+ * Executor over the asynchronous API of {@link ZooKeeper}: no worker thread is held during a round trip.
+ * Identical reads of the same node in flight at the same time are sent to the server once.
+ * <p>
+ * The sharing is safe for the writes of the asynchronous API, because the server answers the requests of a session
+ * in order and their callbacks are run in the same order: a read, which was sent before a write, is completed
+ * before the write, so it's never joined by a read issued after the write.
+ * <p>
+ * The reply of the synchronous API wakes the caller before the callbacks of the earlier reads are run,
+ * so the blocking calls of {@link #execute} and {@link #executeVoid} forget the reads in flight before they
+ * are completed. Blocking calls are ordered on the caller context, so the writes of the context are applied
+ * in the order they were issued.
+ */
 public class ZookeeperExecutorImpl implements ZookeeperExecutor {
+    private static final String GET_DATA = "getData";
+    private static final String GET_CHILDREN = "getChildren";
+    private static final String EXISTS = "exists";
     private final ZookeeperConnectionProvider connectionManager;
     private final Vertx vertx;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, OperationMetrics> operationMetrics = new ConcurrentHashMap<>();
+    private final Map<ReadKey, Future<?>> readsInFlight = new ConcurrentHashMap<>();
+    private Future<ZooKeeper> connecting;
+
+    public ZookeeperExecutorImpl(ZookeeperConnectionProvider connectionManager, Vertx vertx) {
+        this(connectionManager, vertx, new SimpleMeterRegistry());
+    }
+
+    /**
+     * @param meterRegistry registry of latency and in flight metrics per operation
+     */
+    public ZookeeperExecutorImpl(ZookeeperConnectionProvider connectionManager,
+                                 Vertx vertx,
+                                 MeterRegistry meterRegistry) {
+        this.connectionManager = connectionManager;
+        this.vertx = vertx;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
     public Future<byte[]> getData(String path) {
@@ -40,12 +86,43 @@ public class ZookeeperExecutorImpl implements ZookeeperExecutor {
 
     @Override
     public Future<byte[]> getData(String path, boolean watch, Stat stat) {
-        return execute(zk -> zk.getData(path, watch, stat));
+        return readData(new ReadKey(GET_DATA, path, watch ? Boolean.TRUE : null), stat,
+                (zk, promise) -> zk.getData(path, watch, dataCallback(promise), null));
     }
 
     @Override
     public Future<byte[]> getData(String path, Watcher watcher, Stat stat) {
-        return execute(zk -> zk.getData(path, watcher, stat));
+        return readData(new ReadKey(GET_DATA, path, watcher), stat,
+                (zk, promise) -> zk.getData(path, watcher, dataCallback(promise), null));
+    }
+
+    @Override
+    public Future<byte[]> getDataWithWatch(String path, Watcher watcher) {
+        return getDataWithWatch(path, watcher, null);
+    }
+
+    @Override
+    public Future<byte[]> getDataWithWatch(String path, Watcher watcher, Stat stat) {
+        return readData(new ReadKey("getDataWithWatch", path, watcher), stat,
+                (zk, promise) -> getDataWithWatch(zk, path, watcher, promise));
+    }
+
+    private void getDataWithWatch(ZooKeeper zk, String path, Watcher watcher, Promise<NodeData> promise) {
+        zk.getData(path, watcher, (rc, p, ctx, data, stat) -> {
+            if (rc != KeeperException.Code.NONODE.intValue()) {
+                completeData(promise, rc, path, data, stat);
+                return;
+            }
+            zk.exists(path, watcher, (existsRc, existsPath, existsCtx, existsStat) -> {
+                if (existsRc == KeeperException.Code.NONODE.intValue()) {
+                    promise.fail(KeeperException.create(KeeperException.Code.NONODE, path));
+                } else if (existsRc != KeeperException.Code.OK.intValue()) {
+                    promise.fail(KeeperException.create(KeeperException.Code.get(existsRc), path));
+                } else {
+                    getDataWithWatch(zk, path, watcher, promise);
+                }
+            }, null);
+        }, null);
     }
 
     @Override
@@ -55,12 +132,14 @@ public class ZookeeperExecutorImpl implements ZookeeperExecutor {
 
     @Override
     public Future<List<String>> getChildren(String path, Watcher watcher) {
-        return execute(zk -> zk.getChildren(path, watcher));
+        return singleFlight(new ReadKey(GET_CHILDREN, path, watcher),
+                () -> call(GET_CHILDREN, (zk, promise) -> zk.getChildren(path, watcher, childrenCallback(promise), null)));
     }
 
     @Override
     public Future<List<String>> getChildren(String path, boolean watch) {
-        return execute(zk -> zk.getChildren(path, watch));
+        return singleFlight(new ReadKey(GET_CHILDREN, path, watch ? Boolean.TRUE : null),
+                () -> call(GET_CHILDREN, (zk, promise) -> zk.getChildren(path, watch, childrenCallback(promise), null)));
     }
 
     @Override
@@ -83,14 +162,20 @@ public class ZookeeperExecutorImpl implements ZookeeperExecutor {
                                  byte[] data,
                                  List<ACL> acl,
                                  CreateMode createMode) {
-        return execute(zk -> zk.create(path, data, acl, createMode));
+        return onCallerContext(call("create", (zk, promise) -> zk.create(path, data, acl, createMode,
+                (rc, p, ctx, name) -> complete(promise, rc, path, name), null)));
     }
 
     @Override
     public Future<Stat> setData(String path, byte[] data, int version) {
-        return execute(zk -> zk.setData(path, data, version));
+        return onCallerContext(call("setData", (zk, promise) -> zk.setData(path, data, version,
+                (rc, p, ctx, stat) -> complete(promise, rc, path, stat), null)));
     }
 
+    /**
+     * Multi is executed by the synchronous API, because only it fills the results of the failed operations,
+     * see {@link KeeperException#getResults()}
+     */
     @Override
     public Future<List<OpResult>> multi(Iterable<Op> ops) {
         return execute(zk -> zk.multi(ops));
@@ -98,7 +183,8 @@ public class ZookeeperExecutorImpl implements ZookeeperExecutor {
 
     @Override
     public Future<Void> delete(String path, int version) {
-        return executeVoid(zk -> zk.delete(path, version));
+        return onCallerContext(call("delete", (zk, promise) -> zk.delete(path, version,
+                (rc, p, ctx) -> complete(promise, rc, path, null), null)));
     }
 
     @Override
@@ -108,29 +194,233 @@ public class ZookeeperExecutorImpl implements ZookeeperExecutor {
 
     @Override
     public <T> Future<T> execute(ThrowableFunction<ZooKeeper, T> function) {
-        return Future.future(promise -> vertx.executeBlocking(blockingPromise -> {
+        val metrics = getOperationMetrics("execute");
+        val startTime = metrics.acquire();
+        return Future.<T>future(promise -> vertx.executeBlocking(blockingPromise -> {
+            T result;
             try {
-                blockingPromise.complete(function.apply(connectionManager.getOrConnect()));
+                result = function.apply(connectionManager.getOrConnect());
             } catch (Exception e) {
+                readsInFlight.clear();
                 blockingPromise.fail(e);
+                return;
             }
-        }, false, promise));
+            readsInFlight.clear();
+            blockingPromise.complete(result);
+        }, true, promise))
+                .onComplete(ar -> metrics.release(startTime));
     }
 
     @Override
     public Future<Boolean> exists(String path) {
-        return execute(zk -> zk.exists(path, false) != null);
+        return singleFlight(new ReadKey(EXISTS, path, null),
+                () -> call(EXISTS, (zk, promise) -> zk.exists(path, false, (rc, p, ctx, stat) -> {
+                    if (rc == KeeperException.Code.NONODE.intValue()) {
+                        promise.complete(false);
+                    } else {
+                        complete(promise, rc, path, stat != null);
+                    }
+                }, null)));
     }
 
     @Override
     public Future<Void> executeVoid(ThrowableConsumer<ZooKeeper> consumer) {
-        return Future.future(promise -> vertx.executeBlocking(blockingPromise -> {
+        val metrics = getOperationMetrics("execute");
+        val startTime = metrics.acquire();
+        return Future.<Void>future(promise -> vertx.executeBlocking(blockingPromise -> {
             try {
                 consumer.accept(connectionManager.getOrConnect());
-                blockingPromise.complete();
             } catch (Exception e) {
+                readsInFlight.clear();
                 blockingPromise.fail(e);
+                return;
             }
-        }, promise));
+            readsInFlight.clear();
+            blockingPromise.complete();
+        }, true, promise))
+                .onComplete(ar -> metrics.release(startTime));
+    }
+
+    private Future<byte[]> readData(ReadKey key, Stat stat, AsyncCall<NodeData> dataCall) {
+        return singleFlight(key, () -> call(key.operation, dataCall))
+                .map(nodeData -> {
+                    if (stat != null) {
+                        copyStat(nodeData.stat, stat);
+                    }
+                    return nodeData.data;
+                });
+    }
+
+    /**
+     * Joins the read in flight with the same key or starts the new one,
+     * the result is dispatched to the context of each caller
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Future<T> singleFlight(ReadKey key, CallStarter<T> read) {
+        Promise<T> promise = Promise.promise();
+        val inFlight = (Future<T>) readsInFlight.putIfAbsent(key, promise.future());
+        if (inFlight != null) {
+            getOperationMetrics(key.operation).coalesced.increment();
+            return onCallerContext(inFlight);
+        }
+        val result = onCallerContext(promise.future());
+        read.start().onComplete(ar -> {
+            readsInFlight.remove(key, promise.future());
+            promise.handle(ar);
+        });
+        return result;
+    }
+
+    /**
+     * Sends the call through the established connection, the returned future is completed by the zookeeper thread
+     */
+    private <T> Future<T> call(String operation, AsyncCall<T> asyncCall) {
+        val metrics = getOperationMetrics(operation);
+        val startTime = metrics.acquire();
+        Promise<T> promise = Promise.promise();
+        connection().onComplete(ar -> {
+            if (ar.failed()) {
+                promise.fail(ar.cause());
+                return;
+            }
+            try {
+                asyncCall.call(ar.result(), promise);
+            } catch (Exception e) {
+                promise.tryFail(e);
+            }
+        });
+        return promise.future()
+                .onComplete(ar -> metrics.release(startTime));
+    }
+
+    private <T> Future<T> onCallerContext(Future<T> future) {
+        val context = vertx.getOrCreateContext();
+        Promise<T> promise = Promise.promise();
+        future.onComplete(ar -> context.runOnContext(v -> promise.handle(ar)));
+        return promise.future();
+    }
+
+    private Future<ZooKeeper> connection() {
+        return connectionManager.getIfConnected()
+                .map(Future::succeededFuture)
+                .orElseGet(this::reconnect);
+    }
+
+    /**
+     * The connection is established by the blocking call, concurrent callers wait for the same attempt
+     */
+    private synchronized Future<ZooKeeper> reconnect() {
+        if (connecting == null) {
+            val attempt = vertx.<ZooKeeper>executeBlocking(promise -> {
+                try {
+                    promise.complete(connectionManager.getOrConnect());
+                } catch (Exception e) {
+                    promise.fail(e);
+                }
+            }, false);
+            connecting = attempt;
+            attempt.onComplete(ar -> resetConnecting(attempt));
+        }
+        return connecting;
+    }
+
+    private synchronized void resetConnecting(Future<ZooKeeper> attempt) {
+        if (connecting == attempt) {
+            connecting = null;
+        }
+    }
+
+    private OperationMetrics getOperationMetrics(String operation) {
+        return operationMetrics.computeIfAbsent(operation, op -> new OperationMetrics(op, meterRegistry));
+    }
+
+    private static AsyncCallback.DataCallback dataCallback(Promise<NodeData> promise) {
+        return (rc, path, ctx, data, stat) -> completeData(promise, rc, path, data, stat);
+    }
+
+    private static AsyncCallback.ChildrenCallback childrenCallback(Promise<List<String>> promise) {
+        return (rc, path, ctx, children) -> complete(promise, rc, path, children);
+    }
+
+    private static void completeData(Promise<NodeData> promise, int rc, String path, byte[] data, Stat stat) {
+        complete(promise, rc, path, rc == KeeperException.Code.OK.intValue() ? new NodeData(data, stat) : null);
+    }
+
+    private static <T> void complete(Promise<T> promise, int rc, String path, T result) {
+        if (rc == KeeperException.Code.OK.intValue()) {
+            promise.complete(result);
+        } else {
+            promise.fail(KeeperException.create(KeeperException.Code.get(rc), path));
+        }
+    }
+
+    private static void copyStat(Stat from, Stat to) {
+        to.setCzxid(from.getCzxid());
+        to.setMzxid(from.getMzxid());
+        to.setCtime(from.getCtime());
+        to.setMtime(from.getMtime());
+        to.setVersion(from.getVersion());
+        to.setCversion(from.getCversion());
+        to.setAversion(from.getAversion());
+        to.setEphemeralOwner(from.getEphemeralOwner());
+        to.setDataLength(from.getDataLength());
+        to.setNumChildren(from.getNumChildren());
+        to.setPzxid(from.getPzxid());
+    }
+
+    @FunctionalInterface
+    private interface AsyncCall<T> {
+        void call(ZooKeeper zk, Promise<T> promise) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface CallStarter<T> {
+        Future<T> start();
+    }
+
+    @AllArgsConstructor
+    private static class NodeData {
+        private final byte[] data;
+        private final Stat stat;
+    }
+
+    /**
+     * Reads are shared only with the same watch: watchers equal by {@link Object#equals} are registered once
+     * by zookeeper too
+     */
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class ReadKey {
+        private final String operation;
+        private final String path;
+        private final Object watch;
+    }
+
+    private static class OperationMetrics {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Timer latency;
+        private final Counter coalesced;
+
+        private OperationMetrics(String operation, MeterRegistry meterRegistry) {
+            Gauge.builder("zookeeper.operation.in.flight", inFlight, AtomicInteger::get)
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+            this.latency = Timer.builder("zookeeper.operation.latency")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+            this.coalesced = Counter.builder("zookeeper.operation.coalesced")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+        }
+
+        private long acquire() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        private void release(long startTime) {
+            inFlight.decrementAndGet();
+            latency.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
     }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.check.dto;
+
+import io.arenadata.dtm.common.model.ddl.EntityField;
+import io.arenadata.dtm.common.reader.SourceType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Key of the checksum of the entity data in the closed delta
+ */
+@Value
+@Builder
+public class CheckDataChecksumKey {
+    String datamartMnemonic;
+    String entityName;
+    /**
+     * Fields of the entity, so the changed entity doesn't match the checksums of the previous one
+     */
+    List<EntityField> fields;
+    SourceType sourceType;
+    long deltaNum;
+    long cnFrom;
+    long cnTo;
+    /**
+     * Null for the check by count
+     */
+    Set<String> columns;
+    Long normalization;
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.check.service;
+
+import io.arenadata.dtm.query.execution.core.check.dto.CheckDataChecksumKey;
+import io.vertx.core.Future;
+
+import java.util.function.Supplier;
+
+/**
+ * Cache of checksums of the closed deltas, which data can't change
+ */
+public interface CheckDataChecksumCacheService {
+
+    /**
+     * Returns the cached checksum or calculates it and caches the result
+     *
+     * @param key        key of the checksum
+     * @param calculator calculator of the checksum in the plugin
+     * @return checksum
+     */
+    Future<Long> getOrCalculate(CheckDataChecksumKey key, Supplier<Future<Long>> calculator);
+
+    void evictByDatamartName(String datamartName);
+
+    void evictByEntityName(String datamartName, String entityName);
+}
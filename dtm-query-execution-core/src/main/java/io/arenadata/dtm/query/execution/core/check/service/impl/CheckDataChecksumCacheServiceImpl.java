@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.check.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CheckDataProperties;
+import io.arenadata.dtm.query.execution.core.check.dto.CheckDataChecksumKey;
+import io.arenadata.dtm.query.execution.core.check.service.CheckDataChecksumCacheService;
+import io.vertx.core.Future;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Memo of the checksums of closed deltas with the index datamart → entity → keys,
+ * so the eviction by datamart or entity doesn't scan the whole cache
+ */
+@Slf4j
+@Service
+public class CheckDataChecksumCacheServiceImpl implements CheckDataChecksumCacheService {
+    private final CheckDataProperties properties;
+    private final Cache<CheckDataChecksumKey, Long> cache;
+    private final Map<String, Map<String, Set<CheckDataChecksumKey>>> keysByDatamart = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CheckDataChecksumCacheServiceImpl(CheckDataProperties properties) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getChecksumCacheMaximumSize())
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    @Override
+    public Future<Long> getOrCalculate(CheckDataChecksumKey key, Supplier<Future<Long>> calculator) {
+        if (!properties.isChecksumCacheEnabled()) {
+            return calculator.get();
+        }
+        val checksum = cache.getIfPresent(key);
+        if (checksum != null) {
+            log.debug("Found checksum in cache for [{}.{}] in delta [{}] of [{}]",
+                    key.getDatamartMnemonic(), key.getEntityName(), key.getDeltaNum(), key.getSourceType());
+            return Future.succeededFuture(checksum);
+        }
+        return calculator.get()
+                .onSuccess(result -> {
+                    if (result != null) {
+                        index(key);
+                        cache.put(key, result);
+                    }
+                });
+    }
+
+    @Override
+    public void evictByDatamartName(String datamartName) {
+        val keysByEntity = keysByDatamart.remove(datamartName.toLowerCase());
+        if (keysByEntity != null) {
+            keysByEntity.values().forEach(cache::invalidateAll);
+        }
+    }
+
+    @Override
+    public void evictByEntityName(String datamartName, String entityName) {
+        val keysByEntity = keysByDatamart.get(datamartName.toLowerCase());
+        if (keysByEntity == null) {
+            return;
+        }
+        val keys = keysByEntity.remove(entityName.toLowerCase());
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    private void index(CheckDataChecksumKey key) {
+        keysByDatamart.computeIfAbsent(key.getDatamartMnemonic().toLowerCase(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key.getEntityName().toLowerCase(), k -> ConcurrentHashMap.newKeySet())
+                .add(key);
+    }
+
+    private void onRemoval(CheckDataChecksumKey key, Long checksum, RemovalCause cause) {
+        if (key == null || !cause.wasEvicted()) {
+            return;
+        }
+        val keysByEntity = keysByDatamart.get(key.getDatamartMnemonic().toLowerCase());
+        if (keysByEntity != null) {
+            keysByEntity.computeIfPresent(key.getEntityName().toLowerCase(), (entity, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+        if (cache.asMap().containsKey(key)) {
+            // the same key was put again while it was evicted
+            index(key);
+        }
+    }
+
+    long getIndexSize() {
+        return keysByDatamart.values().stream()
+                .flatMap(keysByEntity -> keysByEntity.values().stream())
+                .mapToLong(Set::size)
+                .sum();
+    }
+}
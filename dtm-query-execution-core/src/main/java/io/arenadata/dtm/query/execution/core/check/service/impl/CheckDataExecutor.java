@@ -23,11 +23,14 @@ import io.arenadata.dtm.common.reader.QueryResult;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.calcite.core.extension.check.CheckType;
 import io.arenadata.dtm.query.calcite.core.extension.check.SqlCheckData;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CheckDataProperties;
 import io.arenadata.dtm.query.execution.core.base.exception.entity.EntityNotExistsException;
 import io.arenadata.dtm.query.execution.core.base.exception.table.ColumnsNotExistsException;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
 import io.arenadata.dtm.query.execution.core.check.dto.CheckContext;
+import io.arenadata.dtm.query.execution.core.check.dto.CheckDataChecksumKey;
 import io.arenadata.dtm.query.execution.core.check.factory.CheckQueryResultFactory;
+import io.arenadata.dtm.query.execution.core.check.service.CheckDataChecksumCacheService;
 import io.arenadata.dtm.query.execution.core.check.service.CheckExecutor;
 import io.arenadata.dtm.query.execution.core.delta.dto.OkDelta;
 import io.arenadata.dtm.query.execution.core.delta.exception.DeltaNotExistException;
@@ -35,8 +38,10 @@ import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaSer
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByCountRequest;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByHashInt32Request;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.val;
@@ -45,8 +50,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service("checkDataExecutor")
@@ -55,16 +63,22 @@ public class CheckDataExecutor implements CheckExecutor {
     private final DeltaServiceDao deltaDao;
     private final EntityDao entityDao;
     private final CheckQueryResultFactory resultFactory;
+    private final CheckDataChecksumCacheService checksumCacheService;
+    private final CheckDataProperties checkDataProperties;
 
     @Autowired
     public CheckDataExecutor(DataSourcePluginService pluginService,
                              DeltaServiceDao deltaDao,
                              EntityDao entityDao,
-                             CheckQueryResultFactory resultFactory) {
+                             CheckQueryResultFactory resultFactory,
+                             CheckDataChecksumCacheService checksumCacheService,
+                             CheckDataProperties checkDataProperties) {
         this.pluginService = pluginService;
         this.deltaDao = deltaDao;
         this.entityDao = entityDao;
         this.resultFactory = resultFactory;
+        this.checksumCacheService = checksumCacheService;
+        this.checkDataProperties = checkDataProperties;
     }
 
     @Override
@@ -105,17 +119,9 @@ public class CheckDataExecutor implements CheckExecutor {
     }
 
     private String mapCheckResultToString(List<CheckResult> checkResults) {
-        val sortedResult = checkResults.stream()
-                .sorted((c1, c2) -> Long.compare(c2.getDeltaNum(), c1.getDeltaNum()))
-                .collect(Collectors.toList());
-        List<String> result = new ArrayList<>();
-        for (CheckResult checkResult : sortedResult) {
-            result.add(checkResult.getResult());
-            if (!checkResult.isSucceeded()) {
-                break;
-            }
-        }
-        return String.join("\n", result);
+        return checkResults.stream()
+                .map(CheckResult::getResult)
+                .collect(Collectors.joining("\n"));
     }
 
     private Future<List<CheckResult>> checkDeltas(Long deltaOkNum, String datamart, Entity entity, SqlCheckData sqlCheckData, CheckContext context) {
@@ -123,12 +129,9 @@ public class CheckDataExecutor implements CheckExecutor {
         if (deltaOkNum < deltaNum) {
             throw new DeltaNotExistException();
         }
-        List<Future> checkList = new ArrayList<>();
-        for (Long curDeltaNum = deltaOkNum; curDeltaNum >= deltaNum; curDeltaNum--) {
-            checkList.add(checkCurrentDeltaNum(datamart, curDeltaNum, entity, sqlCheckData, context));
-        }
-        return CompositeFuture.join(checkList)
-                .map(CompositeFuture::list);
+        return new DeltaWalk(deltaOkNum, deltaNum,
+                curDeltaNum -> checkCurrentDeltaNum(datamart, curDeltaNum, entity, sqlCheckData, context))
+                .start();
     }
 
     private Future<CheckResult> checkCurrentDeltaNum(String datamart,
@@ -143,8 +146,9 @@ public class CheckDataExecutor implements CheckExecutor {
 
     private Future<CheckResult> checkDeltaInPlugins(Entity entity, SqlCheckData sqlCheckData, CheckContext context, OkDelta delta) {
         return CompositeFuture.join(entity.getDestination().stream()
-                .map(sourceType -> getCheckFunc(entity, sqlCheckData, context)
-                        .apply(sourceType, delta.getCnFrom(), delta.getCnTo())
+                .map(sourceType -> checksumCacheService.getOrCalculate(createChecksumKey(entity, sqlCheckData, sourceType, delta),
+                        () -> getCheckFunc(entity, sqlCheckData, context)
+                                .apply(sourceType, delta.getCnFrom(), delta.getCnTo()))
                         .map(value -> new Pair<>(sourceType, value)))
                 .collect(Collectors.toList()))
                 .map(result -> {
@@ -170,6 +174,21 @@ public class CheckDataExecutor implements CheckExecutor {
                 });
     }
 
+    private CheckDataChecksumKey createChecksumKey(Entity entity, SqlCheckData sqlCheckData, SourceType sourceType, OkDelta delta) {
+        val columns = sqlCheckData.getColumns();
+        return CheckDataChecksumKey.builder()
+                .datamartMnemonic(entity.getSchema())
+                .entityName(entity.getName())
+                .fields(entity.getFields())
+                .sourceType(sourceType)
+                .deltaNum(delta.getDeltaNum())
+                .cnFrom(delta.getCnFrom())
+                .cnTo(delta.getCnTo())
+                .columns(columns == null || columns.isEmpty() ? null : columns)
+                .normalization(sqlCheckData.getNormalization())
+                .build();
+    }
+
     private TriFunction<SourceType, Long, Long, Future<Long>> getCheckFunc(Entity entity, SqlCheckData sqlCheckData, CheckContext context) {
         val normalization = sqlCheckData.getNormalization();
         val columns = sqlCheckData.getColumns();
@@ -223,6 +242,75 @@ public class CheckDataExecutor implements CheckExecutor {
         return CheckType.DATA;
     }
 
+    /**
+     * Checks deltas from the newest to the oldest, at most {@link CheckDataProperties#getParallelism()} at once,
+     * and stops at the first mismatch
+     */
+    private final class DeltaWalk {
+        private final long oldestDeltaNum;
+        private final Function<Long, Future<CheckResult>> check;
+        private final Map<Long, CheckResult> completed = new HashMap<>();
+        private final List<CheckResult> results = new ArrayList<>();
+        private final Promise<List<CheckResult>> promise = Promise.promise();
+        private long nextToCheck;
+        private long nextToCollect;
+        private int running;
+        private boolean scheduling;
+        private boolean finished;
+
+        private DeltaWalk(long newestDeltaNum, long oldestDeltaNum, Function<Long, Future<CheckResult>> check) {
+            this.oldestDeltaNum = oldestDeltaNum;
+            this.check = check;
+            this.nextToCheck = newestDeltaNum;
+            this.nextToCollect = newestDeltaNum;
+        }
+
+        private synchronized Future<List<CheckResult>> start() {
+            schedule();
+            return promise.future();
+        }
+
+        private void schedule() {
+            if (scheduling) {
+                return;
+            }
+            scheduling = true;
+            try {
+                while (!finished && running < Math.max(1, checkDataProperties.getParallelism())
+                        && nextToCheck >= oldestDeltaNum) {
+                    long deltaNum = nextToCheck--;
+                    running++;
+                    check.apply(deltaNum).onComplete(ar -> onComplete(deltaNum, ar));
+                }
+            } finally {
+                scheduling = false;
+            }
+        }
+
+        private synchronized void onComplete(long deltaNum, AsyncResult<CheckResult> ar) {
+            running--;
+            if (finished) {
+                return;
+            }
+            if (ar.failed()) {
+                finished = true;
+                promise.fail(ar.cause());
+                return;
+            }
+            completed.put(deltaNum, ar.result());
+            while (completed.containsKey(nextToCollect)) {
+                CheckResult checkResult = completed.remove(nextToCollect--);
+                results.add(checkResult);
+                if (!checkResult.isSucceeded() || nextToCollect < oldestDeltaNum) {
+                    finished = true;
+                    promise.complete(results);
+                    return;
+                }
+            }
+            schedule();
+        }
+    }
+
     @Getter
     @AllArgsConstructor
     private static class CheckResult {
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.check.service.impl;
+
+import io.arenadata.dtm.cache.service.EvictQueryTemplateCacheService;
+import io.arenadata.dtm.query.execution.core.check.service.CheckDataChecksumCacheService;
+
+/**
+ * Evicts cached checksums together with the query templates of the entity.
+ * Checksums of closed deltas don't change on delta operations and uploads, which evict the templates
+ * of the whole datamart, so they are kept then.
+ */
+public class ChecksumEvictingQueryTemplateCacheService implements EvictQueryTemplateCacheService {
+    private final EvictQueryTemplateCacheService queryTemplateCacheService;
+    private final CheckDataChecksumCacheService checksumCacheService;
+
+    public ChecksumEvictingQueryTemplateCacheService(EvictQueryTemplateCacheService queryTemplateCacheService,
+                                                     CheckDataChecksumCacheService checksumCacheService) {
+        this.queryTemplateCacheService = queryTemplateCacheService;
+        this.checksumCacheService = checksumCacheService;
+    }
+
+    @Override
+    public void evictByDatamartName(String datamartName) {
+        queryTemplateCacheService.evictByDatamartName(datamartName);
+    }
+
+    @Override
+    public void evictByEntityName(String datamartName, String entityName) {
+        queryTemplateCacheService.evictByEntityName(datamartName, entityName);
+        checksumCacheService.evictByEntityName(datamartName, entityName);
+    }
+}
@@ -28,6 +28,7 @@ import io.arenadata.dtm.query.execution.core.base.exception.datamart.DatamartNot
 import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DatamartDao;
 import io.arenadata.dtm.query.execution.core.base.service.metadata.MetadataExecutor;
+import io.arenadata.dtm.query.execution.core.check.service.CheckDataChecksumCacheService;
 import io.arenadata.dtm.query.execution.core.ddl.dto.DdlRequestContext;
 import io.arenadata.dtm.query.execution.core.ddl.service.QueryResultDdlExecutor;
 import io.arenadata.dtm.query.execution.core.delta.dto.HotDelta;
@@ -50,6 +51,7 @@ public class DropSchemaExecutor extends QueryResultDdlExecutor {
     private final CacheService<EntityKey, MaterializedViewCacheValue> materializedViewCacheService;
     private final DatamartDao datamartDao;
     private final EvictQueryTemplateCacheService evictQueryTemplateCacheService;
+    private final CheckDataChecksumCacheService checksumCacheService;
 
     @Autowired
     public DropSchemaExecutor(MetadataExecutor<DdlRequestContext> metadataExecutor,
@@ -58,7 +60,8 @@ public class DropSchemaExecutor extends QueryResultDdlExecutor {
                               @Qualifier("entityCacheService") CacheService<EntityKey, Entity> entityCacheService,
                               @Qualifier("materializedViewCacheService") CacheService<EntityKey, MaterializedViewCacheValue> materializedViewCacheService,
                               ServiceDbFacade serviceDbFacade,
-                              EvictQueryTemplateCacheService evictQueryTemplateCacheService) {
+                              EvictQueryTemplateCacheService evictQueryTemplateCacheService,
+                              CheckDataChecksumCacheService checksumCacheService) {
         super(metadataExecutor, serviceDbFacade);
         this.hotDeltaCacheService = hotDeltaCacheService;
         this.okDeltaCacheService = okDeltaCacheService;
@@ -66,6 +69,7 @@ public class DropSchemaExecutor extends QueryResultDdlExecutor {
         this.materializedViewCacheService = materializedViewCacheService;
         datamartDao = serviceDbFacade.getServiceDbDao().getDatamartDao();
         this.evictQueryTemplateCacheService = evictQueryTemplateCacheService;
+        this.checksumCacheService = checksumCacheService;
     }
 
     @Override
@@ -105,6 +109,7 @@ public class DropSchemaExecutor extends QueryResultDdlExecutor {
         }));
         hotDeltaCacheService.remove(schemaName);
         okDeltaCacheService.remove(schemaName);
+        checksumCacheService.evictByDatamartName(schemaName);
     }
 
     private Future<Void> getNotExistsDatamartFuture(String schemaName) {
@@ -24,9 +24,11 @@ import io.arenadata.dtm.query.execution.core.base.exception.entity.EntityNotExis
 import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
 import io.arenadata.dtm.query.execution.core.base.service.metadata.MetadataExecutor;
+import io.arenadata.dtm.query.execution.core.check.service.CheckDataChecksumCacheService;
 import io.arenadata.dtm.query.execution.core.ddl.dto.DdlRequestContext;
 import io.arenadata.dtm.query.execution.core.ddl.service.QueryResultDdlExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
+import io.arenadata.dtm.query.execution.core.dml.service.LlrResultCacheService;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
 import io.arenadata.dtm.query.execution.plugin.api.dto.TruncateHistoryRequest;
 import io.vertx.core.CompositeFuture;
@@ -48,15 +50,21 @@ public class TruncateExecutor extends QueryResultDdlExecutor {
     private final DataSourcePluginService dataSourcePluginService;
     private final EntityDao entityDao;
     private final DeltaServiceDao deltaServiceDao;
+    private final CheckDataChecksumCacheService checksumCacheService;
+    private final LlrResultCacheService llrResultCacheService;
 
     @Autowired
     public TruncateExecutor(DataSourcePluginService dataSourcePluginService,
                             DeltaServiceDao deltaServiceDao,
                             MetadataExecutor<DdlRequestContext> metadataExecutor,
-                            ServiceDbFacade serviceDbFacade) {
+                            ServiceDbFacade serviceDbFacade,
+                            CheckDataChecksumCacheService checksumCacheService,
+                            LlrResultCacheService llrResultCacheService) {
         super(metadataExecutor, serviceDbFacade);
         this.dataSourcePluginService = dataSourcePluginService;
         this.deltaServiceDao = deltaServiceDao;
+        this.checksumCacheService = checksumCacheService;
+        this.llrResultCacheService = llrResultCacheService;
         this.entityDao = serviceDbFacade.getServiceDbDao().getEntityDao();
     }
 
@@ -69,6 +77,10 @@ public class TruncateExecutor extends QueryResultDdlExecutor {
             val sqlTruncateHistory = (SqlTruncateHistory) context.getSqlCall();
             CompositeFuture.join(getTableEntity(schema, table), calcSysCn(schema, sqlTruncateHistory))
                     .compose(entitySysCn -> CompositeFuture.join(executeTruncate(entitySysCn, context, sqlTruncateHistory)))
+                    .onComplete(ar -> {
+                        checksumCacheService.evictByEntityName(schema, table);
+                        llrResultCacheService.evictByEntityName(schema, table);
+                    })
                     .onSuccess(success -> promise.complete(QueryResult.emptyResult()))
                     .onFailure(promise::fail);
         });
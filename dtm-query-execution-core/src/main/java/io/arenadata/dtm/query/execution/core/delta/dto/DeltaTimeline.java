@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.delta.dto;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Immutable timeline of the committed deltas of the datamart. Deltas are ordered by number,
+ * their dates grow with numbers too, so both lookups are binary searches.
+ * The last delta of the timeline is the actual delta ok.
+ */
+public final class DeltaTimeline {
+    private static final OkDelta[] EMPTY = new OkDelta[0];
+    private final long deltaNodeCzxid;
+    private final OkDelta[] deltas;
+
+    private DeltaTimeline(long deltaNodeCzxid, OkDelta[] deltas) {
+        this.deltaNodeCzxid = deltaNodeCzxid;
+        this.deltas = deltas;
+    }
+
+    /**
+     * @param deltaNodeCzxid zxid of the delta node creation, which identifies the datamart instance
+     * @param deltas         committed deltas in any order
+     */
+    public static DeltaTimeline of(long deltaNodeCzxid, Collection<OkDelta> deltas) {
+        OkDelta[] sorted = deltas.toArray(EMPTY);
+        Arrays.sort(sorted, Comparator.comparingLong(OkDelta::getDeltaNum));
+        return new DeltaTimeline(deltaNodeCzxid, sorted);
+    }
+
+    /**
+     * @param deltas deltas, which were committed after the last delta of the timeline
+     * @return new timeline
+     */
+    public DeltaTimeline append(Collection<OkDelta> deltas) {
+        OkDelta[] added = deltas.toArray(EMPTY);
+        Arrays.sort(added, Comparator.comparingLong(OkDelta::getDeltaNum));
+        OkDelta[] result = Arrays.copyOf(this.deltas, this.deltas.length + added.length);
+        System.arraycopy(added, 0, result, this.deltas.length, added.length);
+        return new DeltaTimeline(deltaNodeCzxid, result);
+    }
+
+    public long getDeltaNodeCzxid() {
+        return deltaNodeCzxid;
+    }
+
+    /**
+     * @return actual delta ok or null, when there are no committed deltas
+     */
+    public OkDelta getLatest() {
+        return deltas.length == 0 ? null : deltas[deltas.length - 1];
+    }
+
+    /**
+     * @return delta with the number or null, when it's not found
+     */
+    public OkDelta findByNum(long deltaNum) {
+        int low = 0;
+        int high = deltas.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midNum = deltas[mid].getDeltaNum();
+            if (midNum < deltaNum) {
+                low = mid + 1;
+            } else if (midNum > deltaNum) {
+                high = mid - 1;
+            } else {
+                return deltas[mid];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the last delta committed at or before the date time. Dates of the previous deltas are compared
+     * with second precision, as they are stored in the delta date nodes.
+     *
+     * @return found delta or null, when it's not found
+     */
+    public OkDelta findByDateTime(LocalDateTime dateTime) {
+        OkDelta latest = getLatest();
+        if (latest == null || !latest.getDeltaDate().isAfter(dateTime)) {
+            return latest;
+        }
+        OkDelta found = null;
+        int low = 0;
+        int high = deltas.length - 2;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (deltas[mid].getDeltaDate().withNano(0).isAfter(dateTime)) {
+                high = mid - 1;
+            } else {
+                found = deltas[mid];
+                low = mid + 1;
+            }
+        }
+        return found;
+    }
+}
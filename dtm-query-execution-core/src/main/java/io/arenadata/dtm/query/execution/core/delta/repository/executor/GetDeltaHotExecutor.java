@@ -25,6 +25,7 @@ import io.vertx.core.Promise;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.Watcher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -38,8 +39,17 @@ public class GetDeltaHotExecutor extends DeltaServiceDaoExecutorHelper implement
     }
 
     public Future<HotDelta> execute(String datamart) {
+        return execute(datamart, null);
+    }
+
+    /**
+     * Reads delta hot of the datamart and leaves the watcher on the delta node, when it is not null
+     */
+    public Future<HotDelta> execute(String datamart, Watcher watcher) {
         Promise<HotDelta> resultPromise = Promise.promise();
-        executor.getData(getDeltaPath(datamart))
+        val deltaData = watcher == null ? executor.getData(getDeltaPath(datamart))
+                : executor.getDataWithWatch(getDeltaPath(datamart), watcher);
+        deltaData
             .map(this::deserializedDelta)
             .map(Delta::getHot)
             .onSuccess(r -> {
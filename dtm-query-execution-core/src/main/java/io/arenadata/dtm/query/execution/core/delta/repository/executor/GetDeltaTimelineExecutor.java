@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.delta.repository.executor;
+
+import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperExecutor;
+import io.arenadata.dtm.query.execution.core.delta.dto.Delta;
+import io.arenadata.dtm.query.execution.core.delta.dto.DeltaTimeline;
+import io.arenadata.dtm.query.execution.core.delta.dto.OkDelta;
+import io.arenadata.dtm.query.execution.core.delta.exception.DeltaException;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.data.Stat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@Slf4j
+@Component
+public class GetDeltaTimelineExecutor extends DeltaServiceDaoExecutorHelper implements DeltaDaoExecutor {
+
+    @Autowired
+    public GetDeltaTimelineExecutor(ZookeeperExecutor executor,
+                                    @Value("${core.env.name}") String envName) {
+        super(executor, envName);
+    }
+
+    /**
+     * Reads the actual delta ok and leaves the watcher on the delta node. The known timeline is extended
+     * by the deltas committed after it, the whole timeline is read only when the known one is absent
+     * or belongs to the dropped datamart.
+     *
+     * @param datamart datamart
+     * @param known    previously read timeline of the datamart, may be null
+     * @param watcher  watcher of the delta node
+     * @return actual timeline
+     */
+    public Future<DeltaTimeline> execute(String datamart, DeltaTimeline known, Watcher watcher) {
+        val deltaStat = new Stat();
+        return executor.getDataWithWatch(getDeltaPath(datamart), watcher, deltaStat)
+                .map(bytes -> bytes == null ? new Delta() : deserializedDelta(bytes))
+                .compose(delta -> {
+                    val okDelta = delta.getOk();
+                    if (okDelta == null) {
+                        return Future.succeededFuture(DeltaTimeline.of(deltaStat.getCzxid(), Collections.emptyList()));
+                    }
+                    val knownLatest = known == null || known.getDeltaNodeCzxid() != deltaStat.getCzxid()
+                            ? null : known.getLatest();
+                    if (knownLatest == null || knownLatest.getDeltaNum() > okDelta.getDeltaNum()) {
+                        return getPreviousDeltaNums(datamart, okDelta.getDeltaNum())
+                                .compose(nums -> getDeltasByNums(datamart, nums))
+                                .map(deltas -> DeltaTimeline.of(deltaStat.getCzxid(), withActual(deltas, okDelta)));
+                    } else if (knownLatest.getDeltaNum() == okDelta.getDeltaNum()) {
+                        return Future.succeededFuture(known);
+                    } else {
+                        val nums = LongStream.range(knownLatest.getDeltaNum() + 1, okDelta.getDeltaNum())
+                                .boxed()
+                                .collect(Collectors.toList());
+                        return getDeltasByNums(datamart, nums)
+                                .map(deltas -> known.append(withActual(deltas, okDelta)));
+                    }
+                })
+                .onSuccess(timeline -> log.debug("Get delta timeline by datamart[{}] completed successfully, actual delta: [{}]",
+                        datamart, timeline.getLatest()))
+                .recover(error -> {
+                    if (error instanceof KeeperException.NoNodeException || error instanceof DeltaException) {
+                        return Future.failedFuture(error);
+                    }
+                    return Future.failedFuture(new DeltaException(
+                            String.format("Can't get delta timeline on datamart[%s]", datamart), error));
+                });
+    }
+
+    private Future<List<Long>> getPreviousDeltaNums(String datamart, long actualDeltaNum) {
+        return executor.getChildren(getDeltaPath(datamart) + "/num")
+                .map(nums -> nums.stream()
+                        .map(Long::valueOf)
+                        .filter(num -> num < actualDeltaNum)
+                        .collect(Collectors.toList()));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Future<List<OkDelta>> getDeltasByNums(String datamart, List<Long> nums) {
+        if (nums.isEmpty()) {
+            return Future.succeededFuture(Collections.emptyList());
+        }
+        List<Future> futures = nums.stream()
+                .map(num -> executor.getData(getDeltaNumPath(datamart, num))
+                        .map(this::deserializedOkDelta)
+                        .otherwise(error -> {
+                            if (error instanceof KeeperException.NoNodeException) {
+                                return null;
+                            }
+                            throw new DeltaException(String.format("Can't get delta ok on datamart[%s], deltaNum[%d]",
+                                    datamart, num), error);
+                        }))
+                .collect(Collectors.toList());
+        return CompositeFuture.join(futures)
+                .map(result -> result.<OkDelta>list().stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+    private List<OkDelta> withActual(List<OkDelta> deltas, OkDelta actual) {
+        List<OkDelta> result = new ArrayList<>(deltas.size() + 1);
+        result.addAll(deltas);
+        result.add(actual);
+        return result;
+    }
+
+    @Override
+    public Class<? extends DeltaDaoExecutor> getExecutorInterface() {
+        return GetDeltaTimelineExecutor.class;
+    }
+}
@@ -17,17 +17,22 @@ package io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.impl;
 
 import io.arenadata.dtm.cache.service.CacheService;
 import io.arenadata.dtm.query.execution.core.base.configuration.CacheConfiguration;
+import io.arenadata.dtm.query.execution.core.base.exception.datamart.DatamartNotExistsException;
+import io.arenadata.dtm.query.execution.core.base.service.zookeeper.CacheEvictingWatcher;
 import io.arenadata.dtm.query.execution.core.delta.dto.DeltaWriteOp;
+import io.arenadata.dtm.query.execution.core.delta.dto.DeltaTimeline;
 import io.arenadata.dtm.query.execution.core.delta.dto.DeltaWriteOpRequest;
 import io.arenadata.dtm.query.execution.core.delta.dto.HotDelta;
 import io.arenadata.dtm.query.execution.core.delta.dto.OkDelta;
+import io.arenadata.dtm.query.execution.core.delta.exception.DeltaNotExistException;
+import io.arenadata.dtm.query.execution.core.delta.exception.DeltaNotFoundException;
+import io.arenadata.dtm.query.execution.core.delta.exception.NegativeDeltaNumberException;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.DeltaDaoExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.DeleteDeltaHotExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.DeleteWriteOperationExecutor;
-import io.arenadata.dtm.query.execution.core.delta.repository.executor.GetDeltaByDateTimeExecutor;
-import io.arenadata.dtm.query.execution.core.delta.repository.executor.GetDeltaByNumExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.GetDeltaHotExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.GetDeltaOkExecutor;
+import io.arenadata.dtm.query.execution.core.delta.repository.executor.GetDeltaTimelineExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.GetDeltaWriteOperationsExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.WriteDeltaErrorExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.WriteDeltaHotSuccessExecutor;
@@ -38,7 +43,10 @@ import io.arenadata.dtm.query.execution.core.delta.repository.executor.WriteOper
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaDaoExecutorRepository;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.zookeeper.KeeperException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
@@ -48,6 +56,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
@@ -55,6 +64,8 @@ public class DeltaServiceDaoImpl implements DeltaServiceDao, DeltaDaoExecutorRep
     private final Map<Class<? extends DeltaDaoExecutor>, DeltaDaoExecutor> executorMap;
     private final CacheService<String, HotDelta> hotDeltaCacheService;
     private final CacheService<String, OkDelta> okDeltaCacheService;
+    private final Map<String, Future<DeltaTimeline>> actualTimelines = new ConcurrentHashMap<>();
+    private final Map<String, DeltaTimeline> knownTimelines = new ConcurrentHashMap<>();
 
     @Autowired
     public DeltaServiceDaoImpl(@Qualifier("hotDeltaCacheService") CacheService<String, HotDelta> hotDeltaCacheService,
@@ -172,24 +183,52 @@ public class DeltaServiceDaoImpl implements DeltaServiceDao, DeltaDaoExecutorRep
 
     @Override
     public Future<OkDelta> getDeltaByNum(String datamart, long num) {
-        return getExecutor(GetDeltaByNumExecutor.class).execute(datamart, num);
+        if (num < 0) {
+            return Future.failedFuture(new NegativeDeltaNumberException());
+        }
+        return getDeltaTimeline(datamart)
+                .map(timeline -> {
+                    val latest = timeline.getLatest();
+                    if (latest == null || latest.getDeltaNum() < num) {
+                        throw new DeltaNotExistException();
+                    }
+                    val okDelta = timeline.findByNum(num);
+                    if (okDelta == null) {
+                        throw new DeltaNotFoundException();
+                    }
+                    return okDelta;
+                })
+                .recover(error -> Future.failedFuture(error instanceof KeeperException.NoNodeException
+                        ? new DeltaNotFoundException(error) : error));
     }
 
     @Override
     public Future<OkDelta> getDeltaByDateTime(String datamart, LocalDateTime dateTime) {
-        return getExecutor(GetDeltaByDateTimeExecutor.class).execute(datamart, dateTime);
+        return getDeltaTimeline(datamart)
+                .map(timeline -> {
+                    if (timeline.getLatest() == null) {
+                        throw new DeltaNotExistException();
+                    }
+                    val okDelta = timeline.findByDateTime(dateTime);
+                    if (okDelta == null) {
+                        throw new DeltaNotFoundException();
+                    }
+                    return okDelta;
+                })
+                .recover(error -> Future.failedFuture(error instanceof KeeperException.NoNodeException
+                        ? new DatamartNotExistsException(datamart) : error));
     }
 
     @Override
     @Cacheable(value = CacheConfiguration.OK_DELTA_CACHE, key = "#datamart")
     public Future<OkDelta> getDeltaOk(String datamart) {
-        return getExecutor(GetDeltaOkExecutor.class).execute(datamart);
+        return getExecutor(GetDeltaOkExecutor.class).execute(datamart, createDeltaCachesWatcher(datamart));
     }
 
     @Override
     @Cacheable(value = CacheConfiguration.HOT_DELTA_CACHE, key = "#datamart")
     public Future<HotDelta> getDeltaHot(String datamart) {
-        return getExecutor(GetDeltaHotExecutor.class).execute(datamart);
+        return getExecutor(GetDeltaHotExecutor.class).execute(datamart, createDeltaCachesWatcher(datamart));
     }
 
     @Override
@@ -208,9 +247,40 @@ public class DeltaServiceDaoImpl implements DeltaServiceDao, DeltaDaoExecutorRep
         executorMap.put(executor.getExecutorInterface(), executor);
     }
 
+    /**
+     * Returns timeline of the committed deltas, it's read again only after the delta node is changed
+     */
+    private Future<DeltaTimeline> getDeltaTimeline(String datamart) {
+        val actual = actualTimelines.get(datamart);
+        if (actual != null) {
+            return actual;
+        }
+        Promise<DeltaTimeline> promise = Promise.promise();
+        val concurrent = actualTimelines.putIfAbsent(datamart, promise.future());
+        if (concurrent != null) {
+            return concurrent;
+        }
+        val watcher = new CacheEvictingWatcher("delta timeline of " + datamart, () -> actualTimelines.remove(datamart));
+        getExecutor(GetDeltaTimelineExecutor.class).execute(datamart, knownTimelines.get(datamart), watcher)
+                .onSuccess(timeline -> knownTimelines.put(datamart, timeline))
+                .onFailure(error -> {
+                    actualTimelines.remove(datamart, promise.future());
+                    if (error instanceof KeeperException.NoNodeException) {
+                        knownTimelines.remove(datamart);
+                    }
+                })
+                .onComplete(promise);
+        return promise.future();
+    }
+
+    private CacheEvictingWatcher createDeltaCachesWatcher(String datamart) {
+        return new CacheEvictingWatcher("delta of " + datamart, () -> evictDeltaCaches(datamart));
+    }
+
     private void evictDeltaCaches(String datamart) {
         hotDeltaCacheService.remove(datamart);
         okDeltaCacheService.remove(datamart);
+        actualTimelines.remove(datamart);
     }
 
 }
@@ -16,7 +16,10 @@
 package io.arenadata.dtm.query.execution.core.delta.service;
 
 import io.arenadata.dtm.cache.service.EvictQueryTemplateCacheService;
+import io.arenadata.dtm.common.configuration.core.CoreConstants;
 import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.metrics.RequestMetrics;
+import io.arenadata.dtm.common.model.RequestStatus;
 import io.arenadata.dtm.common.reader.QueryResult;
 import io.arenadata.dtm.common.status.StatusEventCode;
 import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
@@ -28,15 +31,21 @@ import io.arenadata.dtm.query.execution.core.delta.dto.query.DeltaQuery;
 import io.arenadata.dtm.query.execution.core.delta.factory.DeltaQueryResultFactory;
 import io.arenadata.dtm.query.execution.core.delta.service.DeltaService;
 import io.arenadata.dtm.query.execution.core.delta.service.StatusEventPublisher;
+import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.plugin.api.dto.CommitDeltaRequest;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static io.arenadata.dtm.query.execution.core.delta.dto.query.DeltaAction.COMMIT_DELTA;
 
@@ -49,16 +58,22 @@ public class CommitDeltaService implements DeltaService, StatusEventPublisher {
     private final DeltaServiceDao deltaServiceDao;
     private final DeltaQueryResultFactory deltaQueryResultFactory;
     private final EvictQueryTemplateCacheService evictQueryTemplateCacheService;
+    private final DataSourcePluginService dataSourcePluginService;
+    private final String envName;
 
     @Autowired
     public CommitDeltaService(ServiceDbFacade serviceDbFacade,
                               @Qualifier("commitDeltaQueryResultFactory") DeltaQueryResultFactory deltaQueryResultFactory,
                               @Qualifier("coreVertx") Vertx vertx,
-                              EvictQueryTemplateCacheService evictQueryTemplateCacheService) {
+                              EvictQueryTemplateCacheService evictQueryTemplateCacheService,
+                              DataSourcePluginService dataSourcePluginService,
+                              @Value("${core.env.name}") String envName) {
         this.deltaServiceDao = serviceDbFacade.getDeltaServiceDao();
         this.vertx = vertx;
         this.deltaQueryResultFactory = deltaQueryResultFactory;
         this.evictQueryTemplateCacheService = evictQueryTemplateCacheService;
+        this.dataSourcePluginService = dataSourcePluginService;
+        this.envName = envName;
     }
 
     @Override
@@ -69,14 +84,33 @@ public class CommitDeltaService implements DeltaService, StatusEventPublisher {
     private Future<QueryResult> commitDelta(DeltaQuery deltaQuery) {
         return Future.future(promise -> {
             val commitDeltaQuery = (CommitDeltaQuery) deltaQuery;
-            if (commitDeltaQuery.getDeltaDate() == null) {
-                writeDeltaHot(commitDeltaQuery).onComplete(promise);
-            } else {
-                writeDeltaHotByDate(commitDeltaQuery).onComplete(promise);
-            }
+            commitDeltaInPlugins(commitDeltaQuery)
+                    .compose(ignored -> commitDeltaQuery.getDeltaDate() == null
+                            ? writeDeltaHot(commitDeltaQuery)
+                            : writeDeltaHotByDate(commitDeltaQuery))
+                    .onComplete(promise);
         });
     }
 
+    private Future<Void> commitDeltaInPlugins(CommitDeltaQuery commitDeltaQuery) {
+        val requestId = commitDeltaQuery.getRequest().getRequestId();
+        val request = CommitDeltaRequest.builder()
+                .requestId(requestId)
+                .envName(envName)
+                .datamartMnemonic(commitDeltaQuery.getDatamart())
+                .build();
+        val metrics = RequestMetrics.builder()
+                .startTime(LocalDateTime.now(CoreConstants.CORE_ZONE_ID))
+                .requestId(requestId)
+                .status(RequestStatus.IN_PROCESS)
+                .isActive(true)
+                .build();
+        List<Future> futures = new ArrayList<>();
+        dataSourcePluginService.getSourceTypes().forEach(sourceType ->
+                futures.add(dataSourcePluginService.commitDelta(sourceType, metrics, request)));
+        return CompositeFuture.join(futures).mapEmpty();
+    }
+
     private Future<QueryResult> writeDeltaHotByDate(CommitDeltaQuery commitDeltaQuery) {
         return Future.future(promise -> {
             try {
@@ -13,21 +13,29 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.arenadata.dtm.query.execution.plugin.adp.db.verticle;
+package io.arenadata.dtm.query.execution.core.dml.dto;
 
-import io.arenadata.dtm.common.plugin.sql.PreparedStatementRequest;
-import io.arenadata.dtm.common.reader.QueryParameters;
-import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
+import io.arenadata.dtm.common.reader.SourceType;
 import lombok.Builder;
-import lombok.Getter;
+import lombok.Value;
 
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Key of the cached LLR result: the query template with its parameters and the sys_cn values
+ * the snapshots of the queried entities are resolved to
+ */
+@Value
 @Builder
-@Getter
-public class AdpExecutorTask {
-    private final String sql;
-    private final QueryParameters params;
-    private final List<ColumnMetadata> metadata;
-    private final List<PreparedStatementRequest> preparedStatementRequests;
+public class LlrResultCacheKey {
+    SourceType sourceType;
+    String datamartMnemonic;
+    String template;
+    List<Object> parameters;
+    List<String> deltas;
+    /**
+     * Queried entities as datamart.entity
+     */
+    Set<String> entities;
 }
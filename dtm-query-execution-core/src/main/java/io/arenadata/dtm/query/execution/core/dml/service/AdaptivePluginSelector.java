@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import io.vertx.core.Future;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Chooses the plugin for the execution of the query template by recent latency and load of the plugins,
+ * the most suitable plugin of the template category is used as a prior
+ */
+public interface AdaptivePluginSelector {
+
+    /**
+     * @param template           query template
+     * @param mostSuitablePlugin plugin chosen by the category of the template, may be null
+     * @param acceptablePlugins  plugins, which contain all entities of the query
+     * @return plugin for the execution
+     */
+    SourceType select(String template, SourceType mostSuitablePlugin, Set<SourceType> acceptablePlugins);
+
+    /**
+     * Executes the query in the plugin, counting it as in flight and recording its latency
+     */
+    <T> Future<T> track(String template, SourceType sourceType, Supplier<Future<T>> execution);
+}
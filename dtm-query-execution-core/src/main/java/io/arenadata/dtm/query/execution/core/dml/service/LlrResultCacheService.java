@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service;
+
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
+import io.vertx.core.Future;
+
+import java.util.function.Supplier;
+
+/**
+ * Cache of LLR results read from committed deltas, which data can't change
+ */
+public interface LlrResultCacheService {
+
+    /**
+     * Returns the cached result of the request or executes it and caches the result
+     * when all the queried snapshots are pinned to committed deltas
+     *
+     * @param sourceType source type the request is executed on
+     * @param request    llr request with resolved delta informations
+     * @param executor   executor of the request
+     * @return query result
+     */
+    Future<QueryResult> getOrExecute(SourceType sourceType, LlrRequest request, Supplier<Future<QueryResult>> executor);
+
+    void evictByDatamartName(String datamartName);
+
+    void evictByEntityName(String datamartName, String entityName);
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.dml.service.AdaptivePluginSelector;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.AdaptivePluginSelectionProperties;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cost of the plugin is the moving average of the template latency in the plugin
+ * multiplied by the count of queries in flight in the plugin plus one.
+ * The most suitable plugin is kept until it has no latency yet or other plugin is cheaper
+ * by {@link AdaptivePluginSelectionProperties#getSwitchThreshold()}.
+ * Every {@link AdaptivePluginSelectionProperties#getExplorationInterval()} execution of the template
+ * goes to the plugin with the oldest latency, so a recovered plugin gets the load back.
+ * <p>
+ * Latency is measured until the plugin answers, the query of {@link StreamedQueryResult} is counted in flight
+ * until its rows are read to the end or closed, because it holds the plugin connection all that time.
+ * A failed execution is counted as the latency of at least {@link AdaptivePluginSelectionProperties#getFailurePenaltyMs()},
+ * so a plugin failing fast doesn't look cheap.
+ */
+@Slf4j
+@Component
+public class AdaptivePluginSelectorImpl implements AdaptivePluginSelector {
+    private static final SourceType[] SOURCE_TYPES = SourceType.values();
+    private final AdaptivePluginSelectionProperties properties;
+    private final Cache<String, TemplateStats> templateStats;
+    private final Map<SourceType, AtomicInteger> inFlight = new EnumMap<>(SourceType.class);
+
+    @Autowired
+    public AdaptivePluginSelectorImpl(AdaptivePluginSelectionProperties properties) {
+        this.properties = properties;
+        this.templateStats = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumTemplates())
+                .expireAfterAccess(properties.getExpireAfterAccessMinutes(), TimeUnit.MINUTES)
+                .build();
+        for (SourceType sourceType : SOURCE_TYPES) {
+            inFlight.put(sourceType, new AtomicInteger());
+        }
+    }
+
+    @Override
+    public SourceType select(String template, SourceType mostSuitablePlugin, Set<SourceType> acceptablePlugins) {
+        if (!properties.isEnabled() || mostSuitablePlugin == null
+                || acceptablePlugins == null || acceptablePlugins.size() < 2) {
+            return mostSuitablePlugin;
+        }
+        TemplateStats stats = templateStats.get(template, key -> new TemplateStats());
+        SourceType selected = selectByCost(stats, mostSuitablePlugin, acceptablePlugins);
+        int explorationInterval = properties.getExplorationInterval();
+        if (explorationInterval > 0 && stats.executions.incrementAndGet() % explorationInterval == 0) {
+            selected = selectOldestSampled(stats, selected, acceptablePlugins);
+        }
+        if (selected != mostSuitablePlugin) {
+            log.debug("Plugin [{}] is selected instead of [{}] for template [{}]", selected, mostSuitablePlugin, template);
+        }
+        return selected;
+    }
+
+    private SourceType selectByCost(TemplateStats stats, SourceType mostSuitablePlugin, Set<SourceType> acceptablePlugins) {
+        double mostSuitableCost = getCost(stats, mostSuitablePlugin);
+        if (Double.isNaN(mostSuitableCost)) {
+            return mostSuitablePlugin;
+        }
+        SourceType selected = mostSuitablePlugin;
+        double selectedCost = mostSuitableCost * properties.getSwitchThreshold();
+        for (SourceType sourceType : SOURCE_TYPES) {
+            if (sourceType == mostSuitablePlugin || !acceptablePlugins.contains(sourceType)) {
+                continue;
+            }
+            double cost = getCost(stats, sourceType);
+            if (cost < selectedCost) {
+                selected = sourceType;
+                selectedCost = cost;
+            }
+        }
+        return selected;
+    }
+
+    private SourceType selectOldestSampled(TemplateStats stats, SourceType selected, Set<SourceType> acceptablePlugins) {
+        SourceType oldest = selected;
+        long oldestSampleTime = Long.MAX_VALUE;
+        for (SourceType sourceType : SOURCE_TYPES) {
+            if (sourceType == selected || !acceptablePlugins.contains(sourceType)) {
+                continue;
+            }
+            long sampleTime = stats.latencies.get(sourceType).sampleTime;
+            if (sampleTime < oldestSampleTime) {
+                oldest = sourceType;
+                oldestSampleTime = sampleTime;
+            }
+        }
+        return oldest;
+    }
+
+    private double getCost(TemplateStats stats, SourceType sourceType) {
+        return stats.latencies.get(sourceType).value * (inFlight.get(sourceType).get() + 1);
+    }
+
+    @Override
+    public <T> Future<T> track(String template, SourceType sourceType, Supplier<Future<T>> execution) {
+        if (!properties.isEnabled() || sourceType == null) {
+            return execution.get();
+        }
+        AtomicInteger sourceInFlight = inFlight.get(sourceType);
+        sourceInFlight.incrementAndGet();
+        long start = System.nanoTime();
+        Future<T> result;
+        try {
+            result = execution.get();
+        } catch (RuntimeException e) {
+            sourceInFlight.decrementAndGet();
+            throw e;
+        }
+        Promise<T> promise = Promise.promise();
+        result.onComplete(ar -> {
+            long latency = System.nanoTime() - start;
+            if (ar.failed()) {
+                latency = Math.max(latency, TimeUnit.MILLISECONDS.toNanos(properties.getFailurePenaltyMs()));
+            }
+            templateStats.get(template, key -> new TemplateStats()).latencies.get(sourceType)
+                    .update(latency, properties.getEwmaAlpha());
+            if (ar.failed()) {
+                sourceInFlight.decrementAndGet();
+                promise.fail(ar.cause());
+            } else if (ar.result() instanceof StreamedQueryResult) {
+                promise.complete(onFinish(ar.result(), sourceInFlight::decrementAndGet));
+            } else {
+                sourceInFlight.decrementAndGet();
+                promise.complete(ar.result());
+            }
+        });
+        return promise.future();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T onFinish(T result, Runnable finishHandler) {
+        return (T) ((StreamedQueryResult) result).onFinish(finishHandler);
+    }
+
+    private static final class TemplateStats {
+        private final AtomicLong executions = new AtomicLong();
+        private final Map<SourceType, LatencyAverage> latencies = new EnumMap<>(SourceType.class);
+
+        private TemplateStats() {
+            for (SourceType sourceType : SOURCE_TYPES) {
+                latencies.put(sourceType, new LatencyAverage());
+            }
+        }
+    }
+
+    private static final class LatencyAverage {
+        private volatile double value = Double.NaN;
+        private volatile long sampleTime = Long.MIN_VALUE;
+
+        private synchronized void update(long latency, double alpha) {
+            value = Double.isNaN(value) ? latency : value + alpha * (latency - value);
+            sampleTime = System.nanoTime();
+        }
+    }
+}
@@ -42,6 +42,8 @@ import io.arenadata.dtm.query.execution.core.dml.service.view.ViewReplacerServic
 import io.arenadata.dtm.query.execution.core.metrics.service.MetricsService;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
 import io.arenadata.dtm.query.execution.core.query.exception.QueriedEntityIsMissingException;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStage;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
 import io.vertx.core.Future;
 import lombok.extern.slf4j.Slf4j;
@@ -52,7 +54,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 
 @Component
 @Slf4j
@@ -74,6 +78,9 @@ public class LlrDmlExecutor implements DmlExecutor<QueryResult> {
     private final SuitablePluginSelector suitablePluginSelector;
     private final SqlDialect sqlDialect;
     private final SqlParametersTypeExtractor parametersTypeExtractor;
+    private final LlrResultCacheService llrResultCacheService;
+    private final QueryStageMetrics queryStageMetrics;
+    private final AdaptivePluginSelector adaptivePluginSelector;
 
     @Autowired
     public LlrDmlExecutor(DataSourcePluginService dataSourcePluginService,
@@ -91,7 +98,10 @@ public class LlrDmlExecutor implements DmlExecutor<QueryResult> {
                           ShardingCategoryQualifier shardingCategoryQualifier,
                           SuitablePluginSelector suitablePluginSelector,
                           @Qualifier("coreSqlDialect") SqlDialect sqlDialect,
-                          SqlParametersTypeExtractor parametersTypeExtractor) {
+                          SqlParametersTypeExtractor parametersTypeExtractor,
+                          LlrResultCacheService llrResultCacheService,
+                          QueryStageMetrics queryStageMetrics,
+                          AdaptivePluginSelector adaptivePluginSelector) {
         this.dataSourcePluginService = dataSourcePluginService;
         this.acceptableSourceTypesService = acceptableSourceTypesService;
         this.deltaQueryPreprocessor = deltaQueryPreprocessor;
@@ -108,6 +118,9 @@ public class LlrDmlExecutor implements DmlExecutor<QueryResult> {
         this.suitablePluginSelector = suitablePluginSelector;
         this.sqlDialect = sqlDialect;
         this.parametersTypeExtractor = parametersTypeExtractor;
+        this.llrResultCacheService = llrResultCacheService;
+        this.queryStageMetrics = queryStageMetrics;
+        this.adaptivePluginSelector = adaptivePluginSelector;
     }
 
     @Override
@@ -117,7 +130,8 @@ public class LlrDmlExecutor implements DmlExecutor<QueryResult> {
         if (queryRequest.isPrepare()) {
             return prepareQuery(context, queryRequest);
         } else {
-            return AsyncUtils.measureMs(replaceViews(queryRequest, sqlNode),
+            return AsyncUtils.measureMs(queryStageMetrics.measure(QueryStage.VIEW_REPLACEMENT,
+                            () -> replaceViews(queryRequest, sqlNode)),
                     duration -> log.debug("Replaced views in request [{}] in [{}]ms", queryRequest.getSql(), duration))
                     .map(sqlNodeWithoutViews -> {
                         queryRequest.setSql(sqlNodeWithoutViews.toSqlString(sqlDialect).toString());
@@ -170,7 +184,8 @@ public class LlrDmlExecutor implements DmlExecutor<QueryResult> {
         val estimate = figureOutEstimate(context.getSqlNode());
         context.setSqlNode(withoutViewsQuery);
 
-        return AsyncUtils.measureMs(deltaQueryPreprocessor.process(context.getSqlNode()),
+        return AsyncUtils.measureMs(queryStageMetrics.measure(QueryStage.DELTA_PREPROCESSING,
+                        () -> deltaQueryPreprocessor.process(context.getSqlNode())),
                 duration -> log.debug("Extracted deltas from query [{}] in [{}]ms",
                         context.getRequest().getQueryRequest().getSql(), duration))
                 .compose(deltaResponse -> {
@@ -237,14 +252,26 @@ public class LlrDmlExecutor implements DmlExecutor<QueryResult> {
                         duration -> log.debug("Initialized query type for query [{}] in [{}]ms",
                                 llrContext.getQueryTemplateValue().getSql(), duration)))
                 .compose(llrRequestContext -> {
+                    val sourceType = selectSourceType(llrRequestContext);
+                    val llrRequest = createLlrRequest(llrRequestContext);
                     if (!estimate) {
-                        return dataSourcePluginService.llr(defineSourceType(llrRequestContext),
-                                llrRequestContext.getDmlRequestContext().getMetrics(),
-                                createLlrRequest(llrRequestContext));
+                        return llrResultCacheService.getOrExecute(sourceType, llrRequest,
+                                () -> queryStageMetrics.measure(QueryStage.PLUGIN_EXECUTION,
+                                        sourceType,
+                                        llrRequest.getSelectCategory(),
+                                        () -> adaptivePluginSelector.track(getTemplate(llrRequestContext),
+                                                sourceType,
+                                                () -> dataSourcePluginService.llr(sourceType,
+                                                        defineAcceptableSourceTypes(llrRequestContext, sourceType),
+                                                        llrRequestContext.getDmlRequestContext().getMetrics(),
+                                                        llrRequest))));
                     } else {
-                        return dataSourcePluginService.llrEstimate(defineSourceType(llrRequestContext),
-                                llrRequestContext.getDmlRequestContext().getMetrics(),
-                                createLlrRequest(llrRequestContext));
+                        return queryStageMetrics.measure(QueryStage.PLUGIN_EXECUTION,
+                                sourceType,
+                                llrRequest.getSelectCategory(),
+                                () -> dataSourcePluginService.llrEstimate(sourceType,
+                                        llrRequestContext.getDmlRequestContext().getMetrics(),
+                                        llrRequest));
                     }
                 });
     }
@@ -254,9 +281,14 @@ public class LlrDmlExecutor implements DmlExecutor<QueryResult> {
                                                               SqlNode originalQuery,
                                                               DmlRequestContext context) {
         val templateResult = createQueryTemplateResult(withoutViewsQuery);
+        long lookupStart = System.nanoTime();
         val queryTemplateValue = queryCacheService.get(QueryTemplateKey.builder()
                 .sourceQueryTemplate(templateResult.getTemplate())
                 .build());
+        queryStageMetrics.recordTemplateCacheLookup(null,
+                queryTemplateValue == null ? null : queryTemplateValue.getSelectCategory(),
+                queryTemplateValue != null,
+                System.nanoTime() - lookupStart);
         if (queryTemplateValue != null) {
             log.debug("Found query template cache value by key [{}]", templateResult.getTemplate());
             return deltaQueryPreprocessor.process(templateResult.getTemplateNode())
@@ -360,6 +392,31 @@ public class LlrDmlExecutor implements DmlExecutor<QueryResult> {
         newQueryTemplateValue.setParameterTypes(parametersTypeExtractor.extract(llrRequestContext.getRelNode().rel));
     }
 
+    private SourceType selectSourceType(LlrRequestContext llrRequestContext) {
+        if (llrRequestContext.getSourceRequest().getSourceType() != null) {
+            return defineSourceType(llrRequestContext);
+        }
+        val queryTemplateValue = llrRequestContext.getQueryTemplateValue();
+        SourceType sourceType = adaptivePluginSelector.select(getTemplate(llrRequestContext),
+                queryTemplateValue.getMostSuitablePlugin(),
+                queryTemplateValue.getAvailableSourceTypes());
+        log.debug("Selected source type [{}] for query [{}]",
+                sourceType,
+                llrRequestContext.getDmlRequestContext().getRequest().getQueryRequest().getSql());
+        return sourceType;
+    }
+
+    private Set<SourceType> defineAcceptableSourceTypes(LlrRequestContext llrRequestContext, SourceType sourceType) {
+        if (llrRequestContext.getSourceRequest().getSourceType() != null) {
+            return Collections.singleton(sourceType);
+        }
+        return llrRequestContext.getQueryTemplateValue().getAvailableSourceTypes();
+    }
+
+    private String getTemplate(LlrRequestContext llrRequestContext) {
+        return llrRequestContext.getSourceRequest().getQueryTemplate().getTemplate();
+    }
+
     private SourceType defineSourceType(LlrRequestContext llrRequestContext) {
         SourceType sourceType = llrRequestContext.getSourceRequest().getSourceType() == null ?
                 llrRequestContext.getQueryTemplateValue().getMostSuitablePlugin() :
@@ -385,6 +442,8 @@ public class LlrDmlExecutor implements DmlExecutor<QueryResult> {
                 .deltaInformations(context.getDeltaInformations())
                 .originalQuery(context.getOriginalQuery())
                 .requestId(queryRequest.getRequestId())
+                .fetchSize(queryRequest.getFetchSize())
+                .selectCategory(context.getQueryTemplateValue().getSelectCategory())
                 .build();
     }
 
@@ -0,0 +1,265 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.arenadata.dtm.common.delta.DeltaInformation;
+import io.arenadata.dtm.common.delta.DeltaType;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.LlrResultCacheProperties;
+import io.arenadata.dtm.query.execution.core.dml.dto.LlrResultCacheKey;
+import io.arenadata.dtm.query.execution.core.dml.service.LlrResultCacheService;
+import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
+import io.vertx.core.Future;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches results of the requests with pinned deltas. Rows of a streamed result are collected while the consumer
+ * reads them and are cached only when the stream is read to the end. Cached rows are copied both on put and on get,
+ * so consumers can't change them. Keys are indexed by datamart and entity for eviction.
+ */
+@Slf4j
+@Service
+public class LlrResultCacheServiceImpl implements LlrResultCacheService {
+    private static final EnumSet<DeltaType> PINNED_DELTA_TYPES =
+            EnumSet.of(DeltaType.NUM, DeltaType.DATETIME, DeltaType.STARTED_IN, DeltaType.FINISHED_IN);
+    private static final int ROW_WEIGHT = 48;
+    private static final int VALUE_WEIGHT = 24;
+    private final LlrResultCacheProperties properties;
+    private final Cache<LlrResultCacheKey, QueryResult> cache;
+    private final Map<String, Set<LlrResultCacheKey>> keysByDatamart = new ConcurrentHashMap<>();
+    private final Map<String, Set<LlrResultCacheKey>> keysByEntity = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LlrResultCacheServiceImpl(LlrResultCacheProperties properties) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeightBytes())
+                .weigher(LlrResultCacheServiceImpl::weigh)
+                .expireAfterAccess(properties.getExpireAfterAccessMinutes(), TimeUnit.MINUTES)
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    @Override
+    public Future<QueryResult> getOrExecute(SourceType sourceType, LlrRequest request, Supplier<Future<QueryResult>> executor) {
+        if (!properties.isEnabled() || request.isEstimate()) {
+            return executor.get();
+        }
+        val key = createKey(sourceType, request);
+        if (key == null) {
+            return executor.get();
+        }
+        val cachedResult = cache.getIfPresent(key);
+        if (cachedResult != null) {
+            log.debug("Found llr result in cache for request [{}]", request.getRequestId());
+            return Future.succeededFuture(copy(request.getRequestId(), cachedResult));
+        }
+        return executor.get()
+                .map(result -> {
+                    if (result instanceof StreamedQueryResult) {
+                        val streamedResult = (StreamedQueryResult) result;
+                        return (QueryResult) new StreamedQueryResult(result.getRequestId(), result.getMetadata(),
+                                new CachingQueryResultStream(key, streamedResult));
+                    }
+                    if (result.getClass() == QueryResult.class && result.getResult().size() <= properties.getMaximumRows()) {
+                        put(key, result);
+                    }
+                    return result;
+                });
+    }
+
+    @Override
+    public void evictByDatamartName(String datamartName) {
+        invalidate(keysByDatamart.remove(datamartName.toLowerCase()));
+    }
+
+    @Override
+    public void evictByEntityName(String datamartName, String entityName) {
+        invalidate(keysByEntity.remove(datamartName.toLowerCase() + "." + entityName.toLowerCase()));
+    }
+
+    private void put(LlrResultCacheKey key, QueryResult result) {
+        index(key);
+        cache.put(key, copy(null, result));
+    }
+
+    private void invalidate(Set<LlrResultCacheKey> keys) {
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    private void index(LlrResultCacheKey key) {
+        for (String entity : key.getEntities()) {
+            keysByDatamart.computeIfAbsent(entity.substring(0, entity.indexOf('.')), k -> ConcurrentHashMap.newKeySet()).add(key);
+            keysByEntity.computeIfAbsent(entity, k -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    private void onRemoval(LlrResultCacheKey key, QueryResult result, RemovalCause cause) {
+        if (key == null || !cause.wasEvicted()) {
+            return;
+        }
+        for (String entity : key.getEntities()) {
+            unindex(keysByDatamart, entity.substring(0, entity.indexOf('.')), key);
+            unindex(keysByEntity, entity, key);
+        }
+        if (cache.asMap().containsKey(key)) {
+            // the same key was put again while it was evicted
+            index(key);
+        }
+    }
+
+    private static void unindex(Map<String, Set<LlrResultCacheKey>> index, String name, LlrResultCacheKey key) {
+        index.computeIfPresent(name, (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private LlrResultCacheKey createKey(SourceType sourceType, LlrRequest request) {
+        val deltaInformations = request.getDeltaInformations();
+        if (deltaInformations == null || deltaInformations.isEmpty()) {
+            return null;
+        }
+        val deltas = new ArrayList<String>(deltaInformations.size());
+        val entities = new HashSet<String>();
+        for (DeltaInformation deltaInformation : deltaInformations) {
+            if (deltaInformation.isLatestUncommittedDelta()
+                    || !PINNED_DELTA_TYPES.contains(deltaInformation.getType())
+                    || deltaInformation.getSchemaName() == null) {
+                return null;
+            }
+            val entity = deltaInformation.getSchemaName().toLowerCase() + "." + deltaInformation.getTableName().toLowerCase();
+            entities.add(entity);
+            deltas.add(entity + ":" + (deltaInformation.getSelectOnInterval() != null
+                    ? deltaInformation.getSelectOnInterval().getIntervalStr()
+                    : deltaInformation.getSelectOnNum()));
+        }
+        val templateResult = request.getSourceQueryTemplateResult();
+        val parameters = new ArrayList<Object>();
+        if (templateResult.getParams() != null) {
+            templateResult.getParams().forEach(param -> parameters.add(param.toString()));
+        }
+        if (request.getParameters() != null && request.getParameters().getValues() != null) {
+            parameters.addAll(request.getParameters().getValues());
+        }
+        return LlrResultCacheKey.builder()
+                .sourceType(sourceType)
+                .datamartMnemonic(request.getDatamartMnemonic())
+                .template(templateResult.getTemplate())
+                .parameters(parameters)
+                .deltas(deltas)
+                .entities(entities)
+                .build();
+    }
+
+    private static QueryResult copy(UUID requestId, QueryResult result) {
+        val rows = new ArrayList<Map<String, Object>>(result.getResult().size());
+        for (Map<String, Object> row : result.getResult()) {
+            rows.add(new LinkedHashMap<>(row));
+        }
+        return QueryResult.builder()
+                .requestId(requestId)
+                .result(rows)
+                .metadata(result.getMetadata() == null ? null : new ArrayList<>(result.getMetadata()))
+                .build();
+    }
+
+    private static int weigh(LlrResultCacheKey key, QueryResult result) {
+        long weight = key.getTemplate().length() * 2L;
+        for (Map<String, Object> row : result.getResult()) {
+            weight += ROW_WEIGHT;
+            for (Object value : row.values()) {
+                weight += weighValue(value);
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private static long weighValue(Object value) {
+        if (value instanceof CharSequence) {
+            return VALUE_WEIGHT + 2L * ((CharSequence) value).length();
+        }
+        if (value instanceof byte[]) {
+            return VALUE_WEIGHT + ((byte[]) value).length;
+        }
+        return VALUE_WEIGHT;
+    }
+
+    /**
+     * Collects rows of the stream while they are read and caches them when the stream is read to the end
+     */
+    private class CachingQueryResultStream implements QueryResultStream {
+        private final LlrResultCacheKey key;
+        private final StreamedQueryResult result;
+        private List<Map<String, Object>> rows = new ArrayList<>();
+
+        private CachingQueryResultStream(LlrResultCacheKey key, StreamedQueryResult result) {
+            this.key = key;
+            this.result = result;
+        }
+
+        @Override
+        public Future<List<Map<String, Object>>> next() {
+            return result.getStream().next()
+                    .onSuccess(this::collect);
+        }
+
+        @Override
+        public boolean hasMore() {
+            return result.getStream().hasMore();
+        }
+
+        @Override
+        public Future<Void> close() {
+            synchronized (this) {
+                rows = null;
+            }
+            return result.getStream().close();
+        }
+
+        private synchronized void collect(List<Map<String, Object>> batch) {
+            if (rows == null) {
+                return;
+            }
+            if (rows.size() + batch.size() > properties.getMaximumRows()) {
+                rows = null;
+                return;
+            }
+            batch.forEach(row -> rows.add(new LinkedHashMap<>(row)));
+            if (!hasMore()) {
+                put(key, new QueryResult(null, rows, result.getMetadata()));
+                rows = null;
+            }
+        }
+    }
+}
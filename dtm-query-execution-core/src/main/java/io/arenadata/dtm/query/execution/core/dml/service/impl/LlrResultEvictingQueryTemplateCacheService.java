@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service.impl;
+
+import io.arenadata.dtm.cache.service.EvictQueryTemplateCacheService;
+import io.arenadata.dtm.query.execution.core.dml.service.LlrResultCacheService;
+
+/**
+ * Evicts cached LLR results together with the query templates of the datamart or entity
+ */
+public class LlrResultEvictingQueryTemplateCacheService implements EvictQueryTemplateCacheService {
+    private final EvictQueryTemplateCacheService queryTemplateCacheService;
+    private final LlrResultCacheService llrResultCacheService;
+
+    public LlrResultEvictingQueryTemplateCacheService(EvictQueryTemplateCacheService queryTemplateCacheService,
+                                                      LlrResultCacheService llrResultCacheService) {
+        this.queryTemplateCacheService = queryTemplateCacheService;
+        this.llrResultCacheService = llrResultCacheService;
+    }
+
+    @Override
+    public void evictByDatamartName(String datamartName) {
+        queryTemplateCacheService.evictByDatamartName(datamartName);
+        llrResultCacheService.evictByDatamartName(datamartName);
+    }
+
+    @Override
+    public void evictByEntityName(String datamartName, String entityName) {
+        queryTemplateCacheService.evictByEntityName(datamartName, entityName);
+        llrResultCacheService.evictByEntityName(datamartName, entityName);
+    }
+}
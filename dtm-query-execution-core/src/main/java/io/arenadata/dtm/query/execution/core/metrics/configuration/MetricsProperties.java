@@ -24,4 +24,8 @@ import org.springframework.stereotype.Component;
 @ConfigurationProperties("core.metrics")
 public class MetricsProperties {
     private boolean enabled;
+    /**
+     * Publish request metrics to the event bus for remote consumers, they are recorded in process anyway
+     */
+    private boolean publishToEventBus;
 }
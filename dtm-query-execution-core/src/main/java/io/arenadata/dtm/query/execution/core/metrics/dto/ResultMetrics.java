@@ -27,4 +27,5 @@ import java.util.List;
 public class ResultMetrics {
     private Boolean isMetricsEnabled;
     private List<RequestStats> statistics;
+    private List<StageStats> stages;
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.metrics.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latency of the query execution stage for the data source and query category.
+ * Times are fractional, since most of the stages take less than a millisecond.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+public class StageStats {
+    private String stage;
+    private String datasource;
+    private String category;
+    private Long count;
+    private Double totalTimeMs;
+    private Double meanTimeMs;
+    private Double maxTimeMs;
+    private Double p50TimeMs;
+    private Double p95TimeMs;
+    private Double p99TimeMs;
+}
@@ -25,16 +25,25 @@ import io.arenadata.dtm.query.execution.core.metrics.configuration.MetricsProper
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
 
+/**
+ * Records request metrics in process and then publishes them for remote consumers.
+ * Errors of the metrics are only logged, so they never affect the request.
+ */
+@Slf4j
 public abstract class AbstractMetricsService<T extends RequestMetrics> implements MetricsService<T> {
 
+    private final MetricsProcessingService<T> metricsProcessingService;
     private final MetricsProducer metricsProducer;
     private final MetricsProperties metricsProperties;
 
-    public AbstractMetricsService(MetricsProducer metricsProducer,
+    public AbstractMetricsService(MetricsProcessingService<T> metricsProcessingService,
+                                  MetricsProducer metricsProducer,
                                   MetricsProperties metricsProperties) {
+        this.metricsProcessingService = metricsProcessingService;
         this.metricsProducer = metricsProducer;
         this.metricsProperties = metricsProperties;
     }
@@ -54,14 +63,16 @@ public abstract class AbstractMetricsService<T extends RequestMetrics> implement
             };
         } else {
             return ar -> {
-                updateMetrics(type, actionType, requestMetrics);
+                try {
+                    updateMetrics(type, actionType, requestMetrics);
+                    requestMetrics.setStatus(ar.succeeded() ? RequestStatus.SUCCESS : RequestStatus.ERROR);
+                    publish(requestMetrics);
+                } catch (Exception e) {
+                    log.error("Error sending metrics of request [{}]", requestMetrics.getRequestId(), e);
+                }
                 if (ar.succeeded()) {
-                    requestMetrics.setStatus(RequestStatus.SUCCESS);
-                    metricsProducer.publish(MetricsTopic.ALL_EVENTS, requestMetrics);
                     handler.handle(Future.succeededFuture(ar.result()));
                 } else {
-                    requestMetrics.setStatus(RequestStatus.ERROR);
-                    metricsProducer.publish(MetricsTopic.ALL_EVENTS, requestMetrics);
                     handler.handle(Future.failedFuture(ar.cause()));
                 }
             };
@@ -77,14 +88,23 @@ public abstract class AbstractMetricsService<T extends RequestMetrics> implement
             return Future.succeededFuture();
         } else {
             return Future.future(promise -> {
-                requestMetrics.setSourceType(type);
-                requestMetrics.setActionType(actionType);
-                metricsProducer.publish(MetricsTopic.ALL_EVENTS, requestMetrics);
+                try {
+                    requestMetrics.setSourceType(type);
+                    requestMetrics.setActionType(actionType);
+                    publish(requestMetrics);
+                } catch (Exception e) {
+                    log.error("Error sending metrics of request [{}]", requestMetrics.getRequestId(), e);
+                }
                 promise.complete();
             });
         }
     }
 
+    private void publish(T requestMetrics) {
+        metricsProcessingService.process(requestMetrics);
+        metricsProducer.publish(MetricsTopic.ALL_EVENTS, requestMetrics);
+    }
+
     private void updateMetrics(SourceType type, SqlProcessingType actionType, RequestMetrics metrics) {
         metrics.setActive(false);
         metrics.setEndTime(LocalDateTime.now(CoreConstants.CORE_ZONE_ID));
@@ -23,9 +23,11 @@ import io.arenadata.dtm.query.execution.core.metrics.configuration.MetricsProper
 import io.arenadata.dtm.query.execution.core.metrics.dto.*;
 import io.arenadata.dtm.query.execution.core.metrics.repository.ActiveRequestsRepository;
 import io.arenadata.dtm.query.execution.core.metrics.service.MetricsProvider;
-import io.micrometer.core.instrument.Counter;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
@@ -36,30 +38,62 @@ import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import static io.arenadata.dtm.query.execution.core.metrics.utils.MetricsUtil.*;
-
 @Component
 public class MetricsProviderImpl implements MetricsProvider {
 
     private final MeterRegistry meterRegistry;
     private final ActiveRequestsRepository<RequestMetrics> activeRequestsRepository;
     private final MetricsProperties metricsProperties;
+    private final RequestMeters requestMeters;
 
     @Autowired
     public MetricsProviderImpl(MeterRegistry meterRegistry,
                                @Qualifier("mapActiveRequestsRepository")
                                        ActiveRequestsRepository<RequestMetrics> activeRequestsRepository,
-                               MetricsProperties metricsProperties) {
+                               MetricsProperties metricsProperties,
+                               RequestMeters requestMeters) {
         this.meterRegistry = meterRegistry;
         this.activeRequestsRepository = activeRequestsRepository;
         this.metricsProperties = metricsProperties;
-        initRequestsCounters(REQUESTS_AMOUNT);
-        initRequestsTimers(REQUESTS_TIME);
+        this.requestMeters = requestMeters;
     }
 
     @Override
     public ResultMetrics get() {
-        return new ResultMetrics(metricsProperties.isEnabled(), getRequestsAmountStats());
+        return new ResultMetrics(metricsProperties.isEnabled(), getRequestsAmountStats(), getStageStats());
+    }
+
+    private List<StageStats> getStageStats() {
+        return meterRegistry.find(QueryStageMetrics.QUERY_STAGE_TIME)
+                .timers().stream()
+                .map(this::createStageStats)
+                .sorted(Comparator.comparing(StageStats::getStage)
+                        .thenComparing(StageStats::getDatasource)
+                        .thenComparing(StageStats::getCategory))
+                .collect(Collectors.toList());
+    }
+
+    private StageStats createStageStats(Timer timer) {
+        final HistogramSnapshot snapshot = timer.takeSnapshot();
+        final StageStats.StageStatsBuilder builder = StageStats.builder()
+                .stage(timer.getId().getTag(QueryStageMetrics.STAGE))
+                .datasource(timer.getId().getTag(QueryStageMetrics.DATASOURCE))
+                .category(timer.getId().getTag(QueryStageMetrics.CATEGORY))
+                .count(snapshot.count())
+                .totalTimeMs(snapshot.total(TimeUnit.MILLISECONDS))
+                .meanTimeMs(snapshot.mean(TimeUnit.MILLISECONDS))
+                .maxTimeMs(snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            final double value = percentile.value(TimeUnit.MILLISECONDS);
+            if (percentile.percentile() == 0.5) {
+                builder.p50TimeMs(value);
+            } else if (percentile.percentile() == 0.95) {
+                builder.p95TimeMs(value);
+            } else if (percentile.percentile() == 0.99) {
+                builder.p99TimeMs(value);
+            }
+        }
+        return builder.build();
     }
 
     private List<RequestStats> getRequestsAmountStats() {
@@ -74,22 +108,13 @@ public class MetricsProviderImpl implements MetricsProvider {
     }
 
     private RequestsAllMetrics createRequestAmountMetrics(SqlProcessingType st) {
-        return new RequestsAllMetrics(meterRegistry
-                .find(REQUESTS_AMOUNT)
-                .tag(ACTION_TYPE, st.name())
-                .counters().stream()
-                .mapToLong(c -> (long) c.count())
-                .reduce(0, Long::sum),
+        return new RequestsAllMetrics(Arrays.stream(SourceType.values())
+                .mapToLong(s -> requestMeters.get(st, s).getAmount())
+                .sum(),
                 Arrays.stream(SourceType.values()).map(s -> {
-                    final Timer timer = meterRegistry
-                            .find(REQUESTS_TIME)
-                            .tags(ACTION_TYPE, st.name(), SOURCE_TYPE, s.name())
-                            .timer();
-                    final Counter counter = Objects.requireNonNull(meterRegistry
-                            .find(REQUESTS_AMOUNT)
-                            .tags(ACTION_TYPE, st.name(), SOURCE_TYPE, s.name())
-                            .counter());
-                    return new AllStats(s, new CountMetrics((long) counter.count()),
+                    final RequestMeters.RequestMeter requestMeter = requestMeters.get(st, s);
+                    final Timer timer = requestMeter.getTime();
+                    return new AllStats(s, new CountMetrics(requestMeter.getAmount()),
                             new TimeMetrics(timer.count(),
                                     (long) timer.totalTime(TimeUnit.MILLISECONDS),
                                     (long) timer.mean(TimeUnit.MILLISECONDS),
@@ -131,37 +156,11 @@ public class MetricsProviderImpl implements MetricsProvider {
         return requestMetrics == null ? Collections.emptyList() : requestMetrics;
     }
 
-    private void initRequestsCounters(String counterName) {
-        Arrays.stream(SqlProcessingType.values()).forEach(actionType -> {
-            Arrays.stream(SourceType.values()).forEach(st ->
-                    meterRegistry.counter(
-                            counterName,
-                            ACTION_TYPE,
-                            actionType.name(),
-                            SOURCE_TYPE,
-                            st.name())
-            );
-        });
-    }
-
-    private void initRequestsTimers(String timerName) {
-        Arrays.stream(SqlProcessingType.values()).forEach(actionType -> {
-            Arrays.stream(SourceType.values()).forEach(st ->
-                    meterRegistry.timer(timerName,
-                            ACTION_TYPE,
-                            actionType.name(),
-                            SOURCE_TYPE,
-                            st.name())
-            );
-        });
-    }
-
     @Override
     public void clear() {
         activeRequestsRepository.deleteAll();
         meterRegistry.clear();
-        initRequestsCounters(REQUESTS_AMOUNT);
-        initRequestsTimers(REQUESTS_TIME);
+        requestMeters.register();
     }
 
 }
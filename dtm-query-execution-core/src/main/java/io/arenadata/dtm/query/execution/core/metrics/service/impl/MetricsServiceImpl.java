@@ -18,6 +18,7 @@ package io.arenadata.dtm.query.execution.core.metrics.service.impl;
 import io.arenadata.dtm.common.metrics.RequestMetrics;
 import io.arenadata.dtm.query.execution.core.metrics.configuration.MetricsProperties;
 import io.arenadata.dtm.query.execution.core.metrics.service.AbstractMetricsService;
+import io.arenadata.dtm.query.execution.core.metrics.service.MetricsProcessingService;
 import io.arenadata.dtm.query.execution.core.metrics.service.MetricsProducer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -26,7 +27,9 @@ import org.springframework.stereotype.Service;
 public class MetricsServiceImpl extends AbstractMetricsService<RequestMetrics> {
 
     @Autowired
-    public MetricsServiceImpl(MetricsProducer metricsProducer, MetricsProperties metricsProperties) {
-        super(metricsProducer, metricsProperties);
+    public MetricsServiceImpl(MetricsProcessingService<RequestMetrics> metricsProcessingService,
+                              MetricsProducer metricsProducer,
+                              MetricsProperties metricsProperties) {
+        super(metricsProcessingService, metricsProducer, metricsProperties);
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.metrics.service.impl;
+
+import io.arenadata.dtm.common.model.SqlProcessingType;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.arenadata.dtm.query.execution.core.metrics.utils.MetricsUtil.*;
+
+/**
+ * Meters of finished requests, registered once for every action and source type,
+ * so recording of the request does not look meters up in the registry.
+ * Amount of requests is kept in {@link LongAdder} and exposed as a function counter.
+ */
+@Component
+public class RequestMeters {
+
+    private final MeterRegistry meterRegistry;
+    private volatile Map<SqlProcessingType, Map<SourceType, RequestMeter>> meters;
+
+    @Autowired
+    public RequestMeters(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        register();
+    }
+
+    public RequestMeter get(SqlProcessingType actionType, SourceType sourceType) {
+        return meters.get(actionType).get(sourceType);
+    }
+
+    /**
+     * Registers new meters, must be called after the registry is cleared
+     */
+    public void register() {
+        Map<SqlProcessingType, Map<SourceType, RequestMeter>> newMeters = new EnumMap<>(SqlProcessingType.class);
+        for (SqlProcessingType actionType : SqlProcessingType.values()) {
+            Map<SourceType, RequestMeter> sourceMeters = new EnumMap<>(SourceType.class);
+            for (SourceType sourceType : SourceType.values()) {
+                sourceMeters.put(sourceType, new RequestMeter(actionType, sourceType));
+            }
+            newMeters.put(actionType, sourceMeters);
+        }
+        meters = newMeters;
+    }
+
+    public final class RequestMeter {
+        private final LongAdder amount = new LongAdder();
+        private final Timer time;
+
+        private RequestMeter(SqlProcessingType actionType, SourceType sourceType) {
+            FunctionCounter.builder(REQUESTS_AMOUNT, amount, LongAdder::doubleValue)
+                    .tags(ACTION_TYPE, actionType.name(), SOURCE_TYPE, sourceType.name())
+                    .register(meterRegistry);
+            time = Timer.builder(REQUESTS_TIME)
+                    .tags(ACTION_TYPE, actionType.name(), SOURCE_TYPE, sourceType.name())
+                    .register(meterRegistry);
+        }
+
+        public void record(long durationNanos) {
+            amount.increment();
+            time.record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public long getAmount() {
+            return amount.sum();
+        }
+
+        public Timer getTime() {
+            return time;
+        }
+    }
+}
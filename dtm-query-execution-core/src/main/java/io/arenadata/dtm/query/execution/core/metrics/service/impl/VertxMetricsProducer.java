@@ -18,6 +18,7 @@ package io.arenadata.dtm.query.execution.core.metrics.service.impl;
 import io.arenadata.dtm.common.metrics.MetricsEventCode;
 import io.arenadata.dtm.common.metrics.MetricsHeader;
 import io.arenadata.dtm.common.metrics.MetricsTopic;
+import io.arenadata.dtm.query.execution.core.metrics.configuration.MetricsProperties;
 import io.arenadata.dtm.query.execution.core.metrics.service.MetricsProducer;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
@@ -27,22 +28,31 @@ import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+/**
+ * Publishes metrics to the event bus for remote consumers only when it is enabled,
+ * no reply is expected.
+ */
 @Service
 public class VertxMetricsProducer implements MetricsProducer {
 
     private final Vertx vertx;
+    private final MetricsProperties metricsProperties;
+    private final DeliveryOptions options = new DeliveryOptions()
+            .addHeader(MetricsHeader.METRICS_EVENT_CODE.getValue(), MetricsEventCode.ALL.getValue());
 
     @Autowired
-    public VertxMetricsProducer(Vertx vertx) {
+    public VertxMetricsProducer(Vertx vertx, MetricsProperties metricsProperties) {
         this.vertx = vertx;
+        this.metricsProperties = metricsProperties;
     }
 
     @SneakyThrows
     @Override
     public void publish(MetricsTopic metricsTopic, Object value) {
+        if (!metricsProperties.isPublishToEventBus()) {
+            return;
+        }
         val message = DatabindCodec.mapper().writeValueAsString(value);
-        val options = new DeliveryOptions();
-        options.addHeader(MetricsHeader.METRICS_EVENT_CODE.getValue(), MetricsEventCode.ALL.getValue());
-        vertx.eventBus().request(metricsTopic.getValue(), message, options);
+        vertx.eventBus().publish(metricsTopic.getValue(), message, options);
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@ConfigurationProperties("core.plugins.adaptive")
+public class AdaptivePluginSelectionProperties {
+    private boolean enabled = false;
+    /**
+     * Weight of the latest latency in the moving average
+     */
+    private double ewmaAlpha = 0.2;
+    /**
+     * Other plugin is chosen only when its cost is less than the cost of the most suitable plugin multiplied by it
+     */
+    private double switchThreshold = 0.7;
+    /**
+     * Every n-th execution of the template goes to the plugin, which was not chosen, to refresh its latency
+     */
+    private int explorationInterval = 100;
+    /**
+     * Failed execution is counted in the moving average as the latency of at least this value
+     */
+    private long failurePenaltyMs = 10_000;
+    private long maximumTemplates = 10000;
+    private long expireAfterAccessMinutes = 60;
+}
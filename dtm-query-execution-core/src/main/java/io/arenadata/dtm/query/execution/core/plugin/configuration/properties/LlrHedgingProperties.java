@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@ConfigurationProperties("core.plugins.hedging")
+public class LlrHedgingProperties {
+    private boolean enabled = false;
+    /**
+     * Percentile of the primary plugin latency, after which the request is sent to the other plugin
+     */
+    private double percentile = 0.95;
+    private long minDelayMs = 10;
+    /**
+     * Count of the primary plugin executions, which are required before the first hedged request
+     */
+    private long minSamples = 100;
+    /**
+     * Share of the requests, which may be hedged
+     */
+    private double budgetRatio = 0.05;
+    /**
+     * Count of the hedged requests, which may be sent at once after a quiet period
+     */
+    private double maxBudget = 10;
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.configuration.properties;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@Data
+@ConfigurationProperties("core.plugins.bulkhead")
+public class PluginBulkheadProperties {
+    /**
+     * Count of the requests, which are executed in one plugin at once
+     */
+    private int maxConcurrentRequests = 100;
+    /**
+     * Count of the requests, which wait for the plugin, the next requests are rejected
+     */
+    private int maxQueuedRequests = 1000;
+    /**
+     * Time of waiting and execution of the request in the plugin
+     */
+    private long timeoutMs = 86_400_000L;
+    /**
+     * Overrides {@link #maxConcurrentRequests} for the plugin
+     */
+    private Map<SourceType, Integer> datasourceConcurrentRequests = new EnumMap<>(SourceType.class);
+
+    public int getMaxConcurrentRequests(SourceType sourceType) {
+        return datasourceConcurrentRequests.getOrDefault(sourceType, maxConcurrentRequests);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.exception;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.reader.SourceType;
+
+public class PluginOverloadedException extends DtmException {
+
+    public PluginOverloadedException(SourceType sourceType, int maxQueuedRequests) {
+        super(String.format("Plugin %s is overloaded, %d requests are already waiting", sourceType, maxQueuedRequests));
+    }
+}
@@ -13,18 +13,14 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.arenadata.dtm.query.execution.plugin.adg.db.verticle;
+package io.arenadata.dtm.query.execution.core.plugin.exception;
 
-public enum AdgExecutorTopic {
-    CALL_QUERY("adgCallQuery");
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.reader.SourceType;
 
-    private final String topic;
+public class PluginTimeoutException extends DtmException {
 
-    AdgExecutorTopic(String topic) {
-        this.topic = topic;
-    }
-
-    public String getTopic() {
-        return topic;
+    public PluginTimeoutException(SourceType sourceType, long timeoutMs) {
+        super(String.format("Plugin %s didn't complete the request in %d ms", sourceType, timeoutMs));
     }
 }
@@ -25,6 +25,7 @@ import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByCountRequest
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByHashInt32Request;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckTableRequest;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckVersionRequest;
+import io.arenadata.dtm.query.execution.plugin.api.dto.CommitDeltaRequest;
 import io.arenadata.dtm.query.execution.plugin.api.dto.RollbackRequest;
 import io.arenadata.dtm.query.execution.plugin.api.dto.TruncateHistoryRequest;
 import io.arenadata.dtm.query.execution.plugin.api.mppr.MpprRequest;
@@ -74,6 +75,20 @@ public interface DataSourcePluginService {
      */
     Future<QueryResult> llr(SourceType sourceType, RequestMetrics metrics, LlrRequest llrRequest);
 
+    /**
+     * <p>execute Low Latency Reading request, hedging it to the other acceptable data source when enabled</p>
+     *
+     * @param sourceType            Data source type
+     * @param acceptableSourceTypes Data source types, which are able to execute the request
+     * @param metrics               metrics
+     * @param llrRequest            llr request
+     * @return future object
+     */
+    Future<QueryResult> llr(SourceType sourceType,
+                            Set<SourceType> acceptableSourceTypes,
+                            RequestMetrics metrics,
+                            LlrRequest llrRequest);
+
     /**
      * <p>execute Low Latency Reading Estimate request</p>
      *
@@ -158,6 +173,13 @@ public interface DataSourcePluginService {
      */
     Future<Void> rollback(SourceType sourceType, RequestMetrics metrics, RollbackRequest request);
 
+    /**
+     * @param sourceType Data source type
+     * @param request    Commit delta request
+     * @return future object
+     */
+    Future<Void> commitDelta(SourceType sourceType, RequestMetrics metrics, CommitDeltaRequest request);
+
     /**
      * Get plugin by source type
      *
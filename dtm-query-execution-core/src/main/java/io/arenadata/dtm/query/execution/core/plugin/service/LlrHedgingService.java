@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.service;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import io.vertx.core.Future;
+
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Sends the request to the other plugin, when the primary plugin doesn't answer in time
+ */
+public interface LlrHedgingService {
+
+    /**
+     * @param sourceType            primary plugin
+     * @param acceptableSourceTypes plugins, which are able to execute the request
+     * @param execution             execution of the request in the plugin
+     * @return the first successful result
+     */
+    <T> Future<T> execute(SourceType sourceType,
+                          Set<SourceType> acceptableSourceTypes,
+                          Function<SourceType, Future<T>> execution);
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.service;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import io.vertx.core.Future;
+
+import java.util.function.Supplier;
+
+/**
+ * Limits the count of the requests executed in every plugin, so the overloaded plugin doesn't affect the others
+ */
+public interface PluginBulkheadService {
+
+    /**
+     * Executes the request, when the plugin has a free slot,
+     * fails with {@link io.arenadata.dtm.query.execution.core.plugin.exception.PluginOverloadedException}
+     * when the queue of the plugin is full
+     * and with {@link io.arenadata.dtm.query.execution.core.plugin.exception.PluginTimeoutException}
+     * when the request isn't completed in time
+     */
+    <T> Future<T> execute(SourceType sourceType, Supplier<Future<T>> execution);
+}
@@ -21,14 +21,16 @@ import io.arenadata.dtm.common.plugin.status.StatusQueryResult;
 import io.arenadata.dtm.common.reader.QueryResult;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.common.version.VersionInfo;
-import io.arenadata.dtm.query.execution.core.base.verticle.TaskVerticleExecutor;
 import io.arenadata.dtm.query.execution.core.metrics.service.MetricsService;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.core.plugin.service.LlrHedgingService;
+import io.arenadata.dtm.query.execution.core.plugin.service.PluginBulkheadService;
 import io.arenadata.dtm.query.execution.plugin.api.DtmDataSourcePlugin;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByCountRequest;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByHashInt32Request;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckTableRequest;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckVersionRequest;
+import io.arenadata.dtm.query.execution.plugin.api.dto.CommitDeltaRequest;
 import io.arenadata.dtm.query.execution.plugin.api.dto.RollbackRequest;
 import io.arenadata.dtm.query.execution.plugin.api.dto.TruncateHistoryRequest;
 import io.arenadata.dtm.query.execution.plugin.api.mppr.MpprRequest;
@@ -36,7 +38,6 @@ import io.arenadata.dtm.query.execution.plugin.api.mppw.MppwRequest;
 import io.arenadata.dtm.query.execution.plugin.api.request.*;
 import io.arenadata.dtm.query.execution.plugin.api.synchronize.SynchronizeRequest;
 import io.vertx.core.Future;
-import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,6 +50,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -57,17 +59,19 @@ import java.util.stream.Collectors;
 public class DataSourcePluginServiceImpl implements DataSourcePluginService {
 
     private final PluginRegistry<DtmDataSourcePlugin, SourceType> pluginRegistry;
-    private final TaskVerticleExecutor taskVerticleExecutor;
+    private final PluginBulkheadService pluginBulkheadService;
     private final Set<SourceType> sourceTypes;
     private final Set<String> activeCaches;
     private final MetricsService<RequestMetrics> metricsService;
+    private final LlrHedgingService llrHedgingService;
 
     @Autowired
     public DataSourcePluginServiceImpl(
             PluginRegistry<DtmDataSourcePlugin, SourceType> pluginRegistry,
-            TaskVerticleExecutor taskVerticleExecutor,
-            @Qualifier("coreMetricsService") MetricsService<RequestMetrics> metricsService) {
-        this.taskVerticleExecutor = taskVerticleExecutor;
+            PluginBulkheadService pluginBulkheadService,
+            @Qualifier("coreMetricsService") MetricsService<RequestMetrics> metricsService,
+            LlrHedgingService llrHedgingService) {
+        this.pluginBulkheadService = pluginBulkheadService;
         this.pluginRegistry = pluginRegistry;
         this.sourceTypes = pluginRegistry.getPlugins().stream()
                 .map(DtmDataSourcePlugin::getSourceType)
@@ -76,6 +80,7 @@ public class DataSourcePluginServiceImpl implements DataSourcePluginService {
                 .flatMap(plugin -> plugin.getActiveCaches().stream())
                 .collect(Collectors.toSet());
         this.metricsService = metricsService;
+        this.llrHedgingService = llrHedgingService;
         log.info("Active Plugins: {}", sourceTypes.toString());
     }
 
@@ -105,6 +110,22 @@ public class DataSourcePluginServiceImpl implements DataSourcePluginService {
                 plugin -> plugin.llr(llrRequest));
     }
 
+    @Override
+    public Future<QueryResult> llr(SourceType sourceType,
+                                   Set<SourceType> acceptableSourceTypes,
+                                   RequestMetrics metrics,
+                                   LlrRequest llrRequest) {
+        Set<SourceType> activeSourceTypes = acceptableSourceTypes.stream()
+                .filter(sourceTypes::contains)
+                .collect(Collectors.toSet());
+        return executeWithMetrics(sourceType,
+                SqlProcessingType.LLR,
+                metrics,
+                () -> llrHedgingService.execute(sourceType,
+                        activeSourceTypes,
+                        hedgeSourceType -> execute(hedgeSourceType, plugin -> plugin.llr(llrRequest))));
+    }
+
     @Override
     public Future<QueryResult> llrEstimate(SourceType sourceType, RequestMetrics metrics, LlrRequest llrRequest) {
         return executeWithMetrics(sourceType,
@@ -177,6 +198,14 @@ public class DataSourcePluginServiceImpl implements DataSourcePluginService {
                 plugin -> plugin.rollback(request));
     }
 
+    @Override
+    public Future<Void> commitDelta(SourceType sourceType, RequestMetrics metrics, CommitDeltaRequest request) {
+        return executeWithMetrics(sourceType,
+                SqlProcessingType.DELTA,
+                metrics,
+                plugin -> plugin.commitDelta(request));
+    }
+
     @Override
     public DtmDataSourcePlugin getPlugin(SourceType sourceType) {
         return pluginRegistry.getRequiredPluginFor(sourceType);
@@ -251,22 +280,36 @@ public class DataSourcePluginServiceImpl implements DataSourcePluginService {
 
     @Override
     public Future<Void> initialize(SourceType sourceType) {
-        return taskVerticleExecutor.execute(promise -> getPlugin(sourceType).initialize().onComplete(promise));
+        return execute(sourceType, DtmDataSourcePlugin::initialize);
     }
 
     private <T> Future<T> executeWithMetrics(SourceType sourceType,
                                              SqlProcessingType sqlProcessingType,
                                              RequestMetrics requestMetrics,
                                              Function<DtmDataSourcePlugin, Future<T>> func) {
+        return executeWithMetrics(sourceType,
+                sqlProcessingType,
+                requestMetrics,
+                () -> execute(sourceType, func));
+    }
+
+    private <T> Future<T> executeWithMetrics(SourceType sourceType,
+                                             SqlProcessingType sqlProcessingType,
+                                             RequestMetrics requestMetrics,
+                                             Supplier<Future<T>> execution) {
         return Future.future((Promise<T> promise) ->
                 metricsService.sendMetrics(sourceType,
                         sqlProcessingType,
                         requestMetrics)
-                        .compose(result -> taskVerticleExecutor.execute((Handler<Promise<T>>) p -> func.apply(getPlugin(sourceType)).onComplete(p)))
+                        .compose(result -> execution.get())
                         .onComplete(metricsService.sendMetrics(sourceType,
                                 sqlProcessingType,
                                 requestMetrics,
                                 promise)));
     }
 
+    private <T> Future<T> execute(SourceType sourceType, Function<DtmDataSourcePlugin, Future<T>> func) {
+        return pluginBulkheadService.execute(sourceType, () -> func.apply(getPlugin(sourceType)));
+    }
+
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.service.impl;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.LlrHedgingProperties;
+import io.arenadata.dtm.query.execution.core.plugin.service.LlrHedgingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The request is sent to the other acceptable plugin, when the primary plugin doesn't answer
+ * within the configured percentile of its latency. The first successful result wins,
+ * the result of the other plugin is dropped, the stream of the dropped {@link StreamedQueryResult} is closed.
+ * Hedged requests are limited by the budget, which grows by {@link LlrHedgingProperties#getBudgetRatio()}
+ * with every request.
+ * <p>
+ * Latency is measured until the plugin answers, for the streamed result until its stream is opened.
+ * That's the time the hedge waits for, reading of the rows is paced by the client and doesn't depend on the plugin.
+ */
+@Slf4j
+@Service
+public class LlrHedgingServiceImpl implements LlrHedgingService {
+    public static final String LLR_HEDGING_LATENCY = "llr.hedging.latency";
+    public static final String LLR_HEDGING_REQUESTS = "llr.hedging.requests";
+    private static final String DATASOURCE = "datasource";
+    private static final String RESULT = "result";
+    private static final String SENT = "sent";
+    private static final String WON = "won";
+    private final Vertx vertx;
+    private final MeterRegistry meterRegistry;
+    private final LlrHedgingProperties properties;
+    private double budget;
+
+    @Autowired
+    public LlrHedgingServiceImpl(@Qualifier("coreVertx") Vertx vertx,
+                                 MeterRegistry meterRegistry,
+                                 LlrHedgingProperties properties) {
+        this.vertx = vertx;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public <T> Future<T> execute(SourceType sourceType,
+                                 Set<SourceType> acceptableSourceTypes,
+                                 Function<SourceType, Future<T>> execution) {
+        if (!properties.isEnabled()) {
+            return execution.apply(sourceType);
+        }
+        depositBudget();
+        SourceType hedgeSourceType = selectHedgeSourceType(sourceType, acceptableSourceTypes);
+        long delay = getDelayMs(sourceType);
+        if (hedgeSourceType == null || delay < 0) {
+            return executeMeasured(sourceType, execution);
+        }
+        Promise<T> promise = Promise.promise();
+        AtomicInteger pending = new AtomicInteger(1);
+        long timerId = vertx.setTimer(delay, id -> {
+            if (promise.future().isComplete() || !withdrawBudget()) {
+                return;
+            }
+            log.debug("Plugin [{}] didn't answer in [{}]ms, sending request to [{}]", sourceType, delay, hedgeSourceType);
+            getRequestsCounter(hedgeSourceType, SENT).increment();
+            pending.incrementAndGet();
+            executeMeasured(hedgeSourceType, execution)
+                    .onComplete(ar -> {
+                        if (complete(promise, pending, ar)) {
+                            getRequestsCounter(hedgeSourceType, WON).increment();
+                        }
+                    });
+        });
+        executeMeasured(sourceType, execution)
+                .onComplete(ar -> {
+                    vertx.cancelTimer(timerId);
+                    complete(promise, pending, ar);
+                });
+        return promise.future();
+    }
+
+    private <T> boolean complete(Promise<T> promise, AtomicInteger pending, AsyncResult<T> ar) {
+        int left = pending.decrementAndGet();
+        if (ar.succeeded()) {
+            if (promise.tryComplete(ar.result())) {
+                return true;
+            }
+            if (ar.result() instanceof StreamedQueryResult) {
+                log.debug("Closing the stream of the dropped result");
+                ((StreamedQueryResult) ar.result()).getStream().close();
+            }
+            return false;
+        }
+        if (left == 0) {
+            promise.tryFail(ar.cause());
+        } else {
+            log.debug("Request failed, waiting for the other plugin", ar.cause());
+        }
+        return false;
+    }
+
+    private <T> Future<T> executeMeasured(SourceType sourceType, Function<SourceType, Future<T>> execution) {
+        long start = System.nanoTime();
+        return execution.apply(sourceType)
+                .onSuccess(result -> getLatencyTimer(sourceType).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private SourceType selectHedgeSourceType(SourceType sourceType, Set<SourceType> acceptableSourceTypes) {
+        SourceType selected = null;
+        double selectedLatency = Double.MAX_VALUE;
+        for (SourceType candidate : SourceType.values()) {
+            if (candidate == sourceType || !acceptableSourceTypes.contains(candidate)) {
+                continue;
+            }
+            double latency = getPercentileMs(candidate);
+            if (selected == null || latency < selectedLatency) {
+                selected = candidate;
+                selectedLatency = latency;
+            }
+        }
+        return selected;
+    }
+
+    private long getDelayMs(SourceType sourceType) {
+        if (getLatencyTimer(sourceType).count() < properties.getMinSamples()) {
+            return -1;
+        }
+        double percentile = getPercentileMs(sourceType);
+        if (percentile == Double.MAX_VALUE) {
+            return -1;
+        }
+        return Math.max(properties.getMinDelayMs(), Math.round(percentile));
+    }
+
+    private double getPercentileMs(SourceType sourceType) {
+        Timer timer = getLatencyTimer(sourceType);
+        if (timer.count() == 0) {
+            return Double.MAX_VALUE;
+        }
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == properties.getPercentile()) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.MAX_VALUE;
+    }
+
+    private synchronized void depositBudget() {
+        budget = Math.min(properties.getMaxBudget(), budget + properties.getBudgetRatio());
+    }
+
+    private synchronized boolean withdrawBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget--;
+        return true;
+    }
+
+    private Timer getLatencyTimer(SourceType sourceType) {
+        return Timer.builder(LLR_HEDGING_LATENCY)
+                .tag(DATASOURCE, sourceType.name())
+                .publishPercentiles(properties.getPercentile())
+                .register(meterRegistry);
+    }
+
+    private Counter getRequestsCounter(SourceType sourceType, String result) {
+        return meterRegistry.counter(LLR_HEDGING_REQUESTS, DATASOURCE, sourceType.name(), RESULT, result);
+    }
+}
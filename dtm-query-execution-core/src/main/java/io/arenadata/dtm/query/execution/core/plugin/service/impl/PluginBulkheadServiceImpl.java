@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.service.impl;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.PluginBulkheadProperties;
+import io.arenadata.dtm.query.execution.core.plugin.exception.PluginOverloadedException;
+import io.arenadata.dtm.query.execution.core.plugin.exception.PluginTimeoutException;
+import io.arenadata.dtm.query.execution.core.plugin.service.PluginBulkheadService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Requests are started in the calling context while the plugin has a free slot,
+ * otherwise they wait in the bounded queue of the plugin. The slot is held until the plugin completes
+ * the request, for {@link StreamedQueryResult} until its rows are read to the end or closed.
+ * Timed out request is failed at once, but keeps the slot while the plugin still executes it.
+ */
+@Slf4j
+@Service
+public class PluginBulkheadServiceImpl implements PluginBulkheadService {
+    public static final String PLUGIN_BULKHEAD_REJECTED = "plugin.bulkhead.rejected";
+    public static final String PLUGIN_BULKHEAD_TIMEOUTS = "plugin.bulkhead.timeouts";
+    private static final String DATASOURCE = "datasource";
+    private final Vertx vertx;
+    private final MeterRegistry meterRegistry;
+    private final PluginBulkheadProperties properties;
+    private final Map<SourceType, Bulkhead> bulkheads = new EnumMap<>(SourceType.class);
+
+    @Autowired
+    public PluginBulkheadServiceImpl(@Qualifier("coreVertx") Vertx vertx,
+                                     MeterRegistry meterRegistry,
+                                     PluginBulkheadProperties properties) {
+        this.vertx = vertx;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        for (SourceType sourceType : SourceType.values()) {
+            bulkheads.put(sourceType, new Bulkhead(properties.getMaxConcurrentRequests(sourceType)));
+        }
+    }
+
+    @Override
+    public <T> Future<T> execute(SourceType sourceType, Supplier<Future<T>> execution) {
+        Bulkhead bulkhead = bulkheads.get(sourceType);
+        Promise<T> promise = Promise.promise();
+        Task<T> task = new Task<>(sourceType, bulkhead, execution, promise);
+        Admission admission = bulkhead.admit(task);
+        if (admission == Admission.REJECTED) {
+            meterRegistry.counter(PLUGIN_BULKHEAD_REJECTED, DATASOURCE, sourceType.name()).increment();
+            return Future.failedFuture(new PluginOverloadedException(sourceType, properties.getMaxQueuedRequests()));
+        }
+        task.startTimer();
+        if (admission == Admission.STARTED) {
+            task.run();
+        }
+        return promise.future();
+    }
+
+    private enum Admission {
+        STARTED, QUEUED, REJECTED
+    }
+
+    private final class Bulkhead {
+        private final int maxConcurrentRequests;
+        private final Queue<Task<?>> queue = new ArrayDeque<>();
+        private int active;
+
+        private Bulkhead(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        private synchronized Admission admit(Task<?> task) {
+            if (active < maxConcurrentRequests) {
+                active++;
+                return Admission.STARTED;
+            }
+            if (queue.size() < properties.getMaxQueuedRequests()) {
+                queue.add(task);
+                return Admission.QUEUED;
+            }
+            return Admission.REJECTED;
+        }
+
+        private synchronized boolean removeQueued(Task<?> task) {
+            return queue.remove(task);
+        }
+
+        private void release() {
+            Task<?> next;
+            synchronized (this) {
+                next = queue.poll();
+                if (next == null) {
+                    active--;
+                }
+            }
+            if (next != null) {
+                vertx.runOnContext(v -> next.run());
+            }
+        }
+    }
+
+    private final class Task<T> {
+        private final SourceType sourceType;
+        private final Bulkhead bulkhead;
+        private final Supplier<Future<T>> execution;
+        private final Promise<T> promise;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile long timerId = -1;
+
+        private Task(SourceType sourceType, Bulkhead bulkhead, Supplier<Future<T>> execution, Promise<T> promise) {
+            this.sourceType = sourceType;
+            this.bulkhead = bulkhead;
+            this.execution = execution;
+            this.promise = promise;
+        }
+
+        private void startTimer() {
+            long timeoutMs = properties.getTimeoutMs();
+            if (timeoutMs > 0) {
+                timerId = vertx.setTimer(timeoutMs, id -> timeout(timeoutMs));
+            }
+        }
+
+        private void run() {
+            if (promise.future().isComplete()) {
+                release();
+                return;
+            }
+            Future<T> result;
+            try {
+                result = execution.get();
+            } catch (Exception e) {
+                result = Future.failedFuture(e);
+            }
+            result.onComplete(this::complete);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(AsyncResult<T> ar) {
+            if (timerId >= 0) {
+                vertx.cancelTimer(timerId);
+            }
+            if (ar.failed()) {
+                promise.tryFail(ar.cause());
+                release();
+                return;
+            }
+            if (ar.result() instanceof StreamedQueryResult) {
+                StreamedQueryResult streamedResult = ((StreamedQueryResult) ar.result()).onFinish(this::release);
+                if (!promise.tryComplete((T) streamedResult)) {
+                    streamedResult.getStream().close();
+                }
+                return;
+            }
+            promise.tryComplete(ar.result());
+            release();
+        }
+
+        private void timeout(long timeoutMs) {
+            if (!promise.tryFail(new PluginTimeoutException(sourceType, timeoutMs))) {
+                return;
+            }
+            log.warn("Request to plugin [{}] timed out after [{}]ms", sourceType, timeoutMs);
+            meterRegistry.counter(PLUGIN_BULKHEAD_TIMEOUTS, DATASOURCE, sourceType.name()).increment();
+            bulkhead.removeQueued(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+    }
+}
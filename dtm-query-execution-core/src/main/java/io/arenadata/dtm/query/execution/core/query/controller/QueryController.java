@@ -15,41 +15,57 @@
  */
 package io.arenadata.dtm.query.execution.core.query.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.arenadata.dtm.async.AsyncUtils;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.reader.InputQueryRequest;
 import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CoreHttpProperties;
 import io.arenadata.dtm.query.execution.core.query.service.QueryAnalyzer;
+import io.arenadata.dtm.query.execution.core.query.service.QueryCursorService;
+import io.arenadata.dtm.query.execution.core.query.service.QueryResultResponseWriter;
 import io.arenadata.dtm.query.execution.core.query.utils.LoggerContextUtils;
 import io.netty.handler.codec.http.HttpResponseStatus;
-import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.Future;
+import io.vertx.ext.web.MIMEHeader;
 import io.vertx.ext.web.RoutingContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.util.MimeTypeUtils;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class QueryController {
+    private static final String CURSOR_ID_FIELD = "cursorId";
     private final QueryAnalyzer queryAnalyzer;
-    private final ObjectMapper objectMapper;
+    private final QueryCursorService cursorService;
+    private final Map<String, QueryResultResponseWriter> responseWriters;
+    private final QueryResultResponseWriter defaultResponseWriter;
+    private final CoreHttpProperties httpProperties;
 
     @Autowired
     public QueryController(QueryAnalyzer queryAnalyzer,
-                           @Qualifier("coreObjectMapper") ObjectMapper objectMapper) {
+                           QueryCursorService cursorService,
+                           List<QueryResultResponseWriter> responseWriters,
+                           CoreHttpProperties httpProperties) {
         this.queryAnalyzer = queryAnalyzer;
-        this.objectMapper = objectMapper;
+        this.cursorService = cursorService;
+        this.responseWriters = responseWriters.stream()
+                .collect(Collectors.toMap(QueryResultResponseWriter::getContentType, Function.identity()));
+        this.defaultResponseWriter = this.responseWriters.get(MimeTypeUtils.APPLICATION_JSON_VALUE);
+        this.httpProperties = httpProperties;
     }
 
     public void executeQuery(RoutingContext context) {
         InputQueryRequest inputQueryRequest = context.getBodyAsJson().mapTo(InputQueryRequest.class);
         prepareRequestId(inputQueryRequest);
+        prepareFetchSize(inputQueryRequest);
         log.info("Execution request sent: [{}]", inputQueryRequest);
         execute(context, inputQueryRequest);
     }
@@ -62,15 +78,52 @@ public class QueryController {
         execute(context, inputQueryRequest);
     }
 
+    public void executeBatch(RoutingContext context) {
+        InputQueryRequest inputQueryRequest = context.getBodyAsJson().mapTo(InputQueryRequest.class);
+        prepareRequestId(inputQueryRequest);
+        if (inputQueryRequest.getBatchParameters() == null || inputQueryRequest.getBatchParameters().isEmpty()) {
+            log.error("Batch execution request [{}] has no parameter sets", inputQueryRequest.getRequestId());
+            context.fail(HttpResponseStatus.BAD_REQUEST.code(), new DtmException("Batch parameters are missing"));
+            return;
+        }
+        inputQueryRequest.setUseCursor(false);
+        inputQueryRequest.setFetchSize(null);
+        log.info("Batch execution request sent: [{}], parameter sets: [{}]",
+                inputQueryRequest.getSql(), inputQueryRequest.getBatchParameters().size());
+        execute(context, inputQueryRequest);
+    }
+
+    public void fetchCursor(RoutingContext context) {
+        UUID cursorId = getCursorId(context);
+        log.debug("Fetch request sent for cursor [{}]", cursorId);
+        cursorService.fetch(cursorId)
+                .onSuccess(queryResult -> sendResponse(context, queryResult))
+                .onFailure(fail -> {
+                    log.error("Error while fetching cursor [{}]", cursorId, fail);
+                    context.fail(HttpResponseStatus.INTERNAL_SERVER_ERROR.code(), fail);
+                });
+    }
+
+    public void closeCursor(RoutingContext context) {
+        UUID cursorId = getCursorId(context);
+        log.debug("Close request sent for cursor [{}]", cursorId);
+        cursorService.close(cursorId)
+                .onComplete(ar -> context.response()
+                        .setStatusCode(HttpResponseStatus.OK.code())
+                        .end());
+    }
+
     private void execute(RoutingContext context, InputQueryRequest inputQueryRequest) {
         AsyncUtils.measureMs(queryAnalyzer.analyzeAndExecute(inputQueryRequest),
                 duration -> log.info("Request succeeded: [{}] in [{}]ms", inputQueryRequest.getSql(), duration))
-                .onSuccess(queryResult -> {
+                .compose(queryResult -> {
                     if (queryResult.getRequestId() == null) {
                         queryResult.setRequestId(inputQueryRequest.getRequestId());
                     }
-                    sendResponse(context, queryResult);
+                    return inputQueryRequest.isUseCursor() ? cursorService.open(queryResult)
+                            : Future.succeededFuture(queryResult);
                 })
+                .onSuccess(queryResult -> sendResponse(context, queryResult))
                 .onFailure(fail -> {
                     log.error("Error while executing request [{}]", inputQueryRequest, fail);
                     context.fail(HttpResponseStatus.INTERNAL_SERVER_ERROR.code(), fail);
@@ -79,15 +132,40 @@ public class QueryController {
     }
 
     private void sendResponse(RoutingContext context, QueryResult queryResult) {
-        try {
-            final String json = objectMapper.writeValueAsString(queryResult);
-            context.response()
-                    .putHeader(HttpHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
-                    .setStatusCode(HttpResponseStatus.OK.code())
-                    .end(json);
-        } catch (JsonProcessingException e) {
-            log.error("Error in serializing query result", e);
-            context.fail(HttpResponseStatus.INTERNAL_SERVER_ERROR.code(), new DtmException(e));
+        getResponseWriter(context).write(queryResult, context.response())
+                .onFailure(fail -> {
+                    log.error("Error in sending query result [{}]", queryResult.getRequestId(), fail);
+                    if (context.response().headWritten()) {
+                        context.response().reset();
+                    } else {
+                        context.fail(HttpResponseStatus.INTERNAL_SERVER_ERROR.code(), fail);
+                    }
+                });
+    }
+
+    private QueryResultResponseWriter getResponseWriter(RoutingContext context) {
+        for (MIMEHeader accept : context.parsedHeaders().accept()) {
+            QueryResultResponseWriter writer = responseWriters.get(accept.value());
+            if (writer != null) {
+                return writer;
+            }
+        }
+        return defaultResponseWriter;
+    }
+
+    private UUID getCursorId(RoutingContext context) {
+        return UUID.fromString(context.getBodyAsJson().getString(CURSOR_ID_FIELD));
+    }
+
+    private void prepareFetchSize(InputQueryRequest inputQueryRequest) {
+        Integer fetchSize = inputQueryRequest.getFetchSize();
+        if (fetchSize == null || fetchSize <= 0) {
+            fetchSize = httpProperties.getResponseChunkSize();
+        }
+        if (inputQueryRequest.isUseCursor() || httpProperties.isStreamingResponse()) {
+            inputQueryRequest.setFetchSize(fetchSize);
+        } else {
+            inputQueryRequest.setFetchSize(null);
         }
     }
 
@@ -13,22 +13,17 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.arenadata.dtm.query.execution.plugin.adp.db.verticle;
+package io.arenadata.dtm.query.execution.core.query.exception;
 
-public enum AdpExecutorTopic {
-    EXECUTE("adpExecute"),
-    EXECUTE_WITH_CURSOR("adpExecuteWithCursor"),
-    EXECUTE_WITH_PARAMS("adpExecuteWithParams"),
-    EXECUTE_UPDATE("adpExecuteUpdate"),
-    EXECUTE_IN_TRANSACTION("adpExecuteInTransaction");
+import io.arenadata.dtm.common.exception.DtmException;
 
-    private final String topic;
+import java.util.UUID;
 
-    AdpExecutorTopic(String topic) {
-        this.topic = topic;
-    }
+public class QueryCursorNotFoundException extends DtmException {
 
-    public String getTopic() {
-        return topic;
+    public QueryCursorNotFoundException(UUID cursorId, String node) {
+        super(String.format("Cursor [%s] not found or expired on node [%s], " +
+                "pages of the cursor must be fetched from the node which opened it", cursorId, node));
     }
+
 }
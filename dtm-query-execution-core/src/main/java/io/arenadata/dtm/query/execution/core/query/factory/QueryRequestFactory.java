@@ -28,6 +28,8 @@ public class QueryRequestFactory {
                 .datamartMnemonic(inputQueryRequest.getDatamartMnemonic())
                 .sql(inputQueryRequest.getSql())
                 .parameters(inputQueryRequest.getParameters())
+                .fetchSize(inputQueryRequest.getFetchSize())
+                .batchParameters(inputQueryRequest.getBatchParameters())
                 .isPrepare(!inputQueryRequest.isExecutable())//FIXME to more understandable init
                 .build();
     }
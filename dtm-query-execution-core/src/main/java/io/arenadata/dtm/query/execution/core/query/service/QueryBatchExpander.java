@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.service;
+
+import io.arenadata.dtm.common.reader.QueryRequest;
+import org.apache.calcite.sql.SqlNode;
+
+/**
+ * Turns the batch of parameter sets into the single query
+ */
+public interface QueryBatchExpander {
+
+    /**
+     * Repeats the VALUES rows of the insert for every parameter set of the batch and puts
+     * the parameters of all rows into the request, so the batch is written by one upsert.
+     * The query is returned as is, when the request has no batch.
+     *
+     * @param queryRequest query request with batch parameters
+     * @param sqlNode      parsed query
+     * @return query with the rows of all parameter sets
+     */
+    SqlNode expand(QueryRequest queryRequest, SqlNode sqlNode);
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.service;
+
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.vertx.core.Future;
+
+import java.util.UUID;
+
+/**
+ * Service for paging query result by server-side cursors
+ */
+public interface QueryCursorService {
+
+    /**
+     * Reads the first page of the query result and keeps the rest of it open as a cursor
+     *
+     * @param queryResult query result
+     * @return future with the first page, which has cursor id if there are more rows
+     */
+    Future<QueryResult> open(QueryResult queryResult);
+
+    /**
+     * Reads the next page of the cursor
+     *
+     * @param cursorId cursor id
+     * @return future with the page, which has no cursor id if it's the last one
+     */
+    Future<QueryResult> fetch(UUID cursorId);
+
+    /**
+     * Closes the cursor and releases resources of the data source
+     *
+     * @param cursorId cursor id
+     * @return future object
+     */
+    Future<Void> close(UUID cursorId);
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.service;
+
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Service for writing query result into http response
+ */
+public interface QueryResultResponseWriter {
+
+    /**
+     * @return content type of written result
+     */
+    String getContentType();
+
+    /**
+     * Writes query result into response and ends it
+     *
+     * @param queryResult query result
+     * @param response    http response
+     * @return future object, completed when response is ended
+     */
+    Future<Void> write(QueryResult queryResult, HttpServerResponse response);
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.service.impl;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.reader.CursorQueryResult;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CoreHttpProperties;
+import io.arenadata.dtm.query.execution.core.query.service.QueryResultResponseWriter;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStage;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Base writer of query result. Rows are serialized and sent by chunks of
+ * {@link CoreHttpProperties#getResponseChunkSize()} rows, the next chunk is serialized only when
+ * the response write queue is not full, so the whole result is never held in memory.
+ * Rows of {@link StreamedQueryResult} are read from the data source chunk by chunk as they are written.
+ * Only the time spent in the serializer is recorded as {@link QueryStage#RESPONSE_SERIALIZATION},
+ * reading of the rows and waiting for the client are excluded.
+ * The rows are closed as soon as the client disconnects, even if the writer waits for the drain of the response.
+ */
+@Slf4j
+public abstract class AbstractQueryResultResponseWriter implements QueryResultResponseWriter {
+    protected final CoreHttpProperties httpProperties;
+    protected final QueryStageMetrics queryStageMetrics;
+
+    protected AbstractQueryResultResponseWriter(CoreHttpProperties httpProperties,
+                                                QueryStageMetrics queryStageMetrics) {
+        this.httpProperties = httpProperties;
+        this.queryStageMetrics = queryStageMetrics;
+    }
+
+    @Override
+    public Future<Void> write(QueryResult queryResult, HttpServerResponse response) {
+        return Future.future(promise -> new ChunkedWriter(queryResult, response, promise).start());
+    }
+
+    /**
+     * Creates serializer of the query result, which writes into output
+     *
+     * @param queryResult query result
+     * @param output      output, which is sent to the response after each chunk
+     * @return result serializer
+     */
+    protected abstract ResultSerializer createSerializer(QueryResult queryResult, OutputStream output) throws IOException;
+
+    protected HttpServerResponse prepareResponse(HttpServerResponse response) {
+        return response
+                .putHeader(HttpHeaders.CONTENT_TYPE, getContentType())
+                .setStatusCode(HttpResponseStatus.OK.code());
+    }
+
+    protected UUID getCursorId(QueryResult queryResult) {
+        return queryResult instanceof CursorQueryResult ? ((CursorQueryResult) queryResult).getCursorId() : null;
+    }
+
+    private QueryResultStream getRows(QueryResult queryResult) {
+        if (queryResult instanceof StreamedQueryResult) {
+            return ((StreamedQueryResult) queryResult).getStream();
+        }
+        return QueryResultStream.of(queryResult.getResult(), httpProperties.getResponseChunkSize());
+    }
+
+    /**
+     * Serializer of query result parts
+     */
+    protected interface ResultSerializer {
+
+        /**
+         * Writes the chunk of rows and flushes them into output
+         *
+         * @param rows rows
+         */
+        void writeRows(List<Map<String, Object>> rows) throws IOException;
+
+        /**
+         * Writes the end of the result and flushes it into output
+         *
+         * @param rowCount count of written rows
+         */
+        void writeEnd(long rowCount) throws IOException;
+    }
+
+    private final class ChunkedWriter {
+        private final QueryResult queryResult;
+        private final HttpServerResponse response;
+        private final Promise<Void> promise;
+        private final BufferOutputStream output = new BufferOutputStream();
+        private QueryResultStream rows;
+        private ResultSerializer serializer;
+        private long rowCount;
+        private long serializationNanos;
+        private boolean finished;
+
+        private ChunkedWriter(QueryResult queryResult, HttpServerResponse response, Promise<Void> promise) {
+            this.queryResult = queryResult;
+            this.response = response;
+            this.promise = promise;
+        }
+
+        private void start() {
+            try {
+                rows = getRows(queryResult);
+                response.closeHandler(v -> fail(new DtmException("Connection was closed before query result was written")));
+                response.exceptionHandler(this::fail);
+                long start = System.nanoTime();
+                serializer = createSerializer(queryResult, output);
+                serializationNanos += System.nanoTime() - start;
+                prepareResponse(response);
+                writeChunks();
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        private void writeChunks() {
+            while (!response.closed()) {
+                Future<List<Map<String, Object>>> chunk = rows.next();
+                if (!chunk.isComplete()) {
+                    chunk.onComplete(ar -> {
+                        if (writeChunk(ar)) {
+                            writeChunks();
+                        }
+                    });
+                    return;
+                }
+                if (!writeChunk(chunk)) {
+                    return;
+                }
+            }
+            fail(new DtmException("Connection was closed before query result was written"));
+        }
+
+        /**
+         * @return true if the next chunk can be written immediately
+         */
+        private boolean writeChunk(AsyncResult<List<Map<String, Object>>> chunk) {
+            try {
+                if (chunk.failed()) {
+                    fail(chunk.cause());
+                    return false;
+                }
+                long start = System.nanoTime();
+                serializer.writeRows(chunk.result());
+                serializationNanos += System.nanoTime() - start;
+                rowCount += chunk.result().size();
+                if (!rows.hasMore()) {
+                    writeTail();
+                    return false;
+                }
+                if (!response.isChunked()) {
+                    response.setChunked(true);
+                }
+                response.write(output.takeBuffer());
+                if (response.writeQueueFull()) {
+                    response.drainHandler(v -> {
+                        response.drainHandler(null);
+                        writeChunks();
+                    });
+                    return false;
+                }
+                return true;
+            } catch (Exception e) {
+                fail(e);
+                return false;
+            }
+        }
+
+        private void writeTail() throws IOException {
+            long start = System.nanoTime();
+            serializer.writeEnd(rowCount);
+            serializationNanos += System.nanoTime() - start;
+            queryStageMetrics.record(QueryStage.RESPONSE_SERIALIZATION, null, null, serializationNanos);
+            finished = true;
+            rows.close();
+            response.end(output.takeBuffer(), promise);
+        }
+
+        private void fail(Throwable error) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            response.drainHandler(null);
+            log.error("Error in writing query result [{}]", queryResult.getRequestId(), error);
+            if (rows != null) {
+                rows.close();
+            }
+            promise.tryFail(error instanceof DtmException ? error
+                    : new DtmException("Error in serializing query result", error));
+        }
+    }
+
+    private static final class BufferOutputStream extends OutputStream {
+        private Buffer buffer = Buffer.buffer();
+
+        @Override
+        public void write(int b) {
+            buffer.appendByte((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            buffer.appendBytes(bytes, offset, length);
+        }
+
+        private Buffer takeBuffer() {
+            Buffer result = buffer;
+            buffer = Buffer.buffer();
+            return result;
+        }
+    }
+}
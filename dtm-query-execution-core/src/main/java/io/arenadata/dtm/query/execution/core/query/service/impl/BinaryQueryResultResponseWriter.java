@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.arenadata.dtm.common.reader.BinaryQueryResultEncoder;
+import io.arenadata.dtm.common.reader.BinaryQueryResultFormat;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CoreHttpProperties;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes query result in {@link BinaryQueryResultFormat}, used when the client accepts it.
+ * The result is always written by chunks, since there is no previous behaviour to keep.
+ */
+@Component
+public class BinaryQueryResultResponseWriter extends AbstractQueryResultResponseWriter {
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BinaryQueryResultResponseWriter(@Qualifier("coreObjectMapper") ObjectMapper objectMapper,
+                                           CoreHttpProperties httpProperties,
+                                           QueryStageMetrics queryStageMetrics) {
+        super(httpProperties, queryStageMetrics);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getContentType() {
+        return BinaryQueryResultFormat.CONTENT_TYPE;
+    }
+
+    @Override
+    protected ResultSerializer createSerializer(QueryResult queryResult, OutputStream output) throws IOException {
+        BinaryQueryResultEncoder encoder = new BinaryQueryResultEncoder(output, objectMapper);
+        encoder.writeHeader(queryResult.getRequestId(), getCursorId(queryResult), queryResult.getMetadata());
+        return new ResultSerializer() {
+            @Override
+            public void writeRows(List<Map<String, Object>> rows) throws IOException {
+                encoder.writeRows(rows);
+                encoder.flush();
+            }
+
+            @Override
+            public void writeEnd(long rowCount) throws IOException {
+                encoder.writeEnd();
+            }
+        };
+    }
+}
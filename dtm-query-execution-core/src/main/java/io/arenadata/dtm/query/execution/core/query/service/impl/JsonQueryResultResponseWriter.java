@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.reader.ColumnIndex;
+import io.arenadata.dtm.common.reader.IndexedRow;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CoreHttpProperties;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStage;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpServerResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes query result as json. In streaming mode rows are serialized by chunks with a json generator,
+ * otherwise the whole result is serialized at once.
+ */
+@Component
+public class JsonQueryResultResponseWriter extends AbstractQueryResultResponseWriter {
+    private static final String REQUEST_ID_FIELD = "requestId";
+    private static final String CURSOR_ID_FIELD = "cursorId";
+    private static final String METADATA_FIELD = "metadata";
+    private static final String RESULT_FIELD = "result";
+    private static final String EMPTY_FIELD = "empty";
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public JsonQueryResultResponseWriter(@Qualifier("coreObjectMapper") ObjectMapper objectMapper,
+                                         CoreHttpProperties httpProperties,
+                                         QueryStageMetrics queryStageMetrics) {
+        super(httpProperties, queryStageMetrics);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getContentType() {
+        return MimeTypeUtils.APPLICATION_JSON_VALUE;
+    }
+
+    @Override
+    public Future<Void> write(QueryResult queryResult, HttpServerResponse response) {
+        if (!httpProperties.isStreamingResponse()) {
+            return writeWhole(queryResult, response);
+        }
+        return super.write(queryResult, response);
+    }
+
+    @Override
+    protected ResultSerializer createSerializer(QueryResult queryResult, OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.writeStartObject();
+        generator.writeObjectField(REQUEST_ID_FIELD, queryResult.getRequestId());
+        UUID cursorId = getCursorId(queryResult);
+        if (cursorId != null) {
+            generator.writeObjectField(CURSOR_ID_FIELD, cursorId);
+        }
+        generator.writeObjectField(METADATA_FIELD, queryResult.getMetadata());
+        generator.writeArrayFieldStart(RESULT_FIELD);
+        return new JsonResultSerializer(generator);
+    }
+
+    private Future<Void> writeWhole(QueryResult queryResult, HttpServerResponse response) {
+        if (queryResult instanceof StreamedQueryResult) {
+            return readAll(((StreamedQueryResult) queryResult).getStream(), new ArrayList<>())
+                    .compose(rows -> writeWhole(QueryResult.builder()
+                            .requestId(queryResult.getRequestId())
+                            .metadata(queryResult.getMetadata())
+                            .result(rows)
+                            .build(), response));
+        }
+        return Future.future(promise -> {
+            try {
+                long start = System.nanoTime();
+                final String json = objectMapper.writeValueAsString(queryResult);
+                queryStageMetrics.record(QueryStage.RESPONSE_SERIALIZATION, null, null, System.nanoTime() - start);
+                prepareResponse(response)
+                        .end(json, promise);
+            } catch (IOException e) {
+                promise.fail(new DtmException("Error in serializing query result", e));
+            }
+        });
+    }
+
+    private Future<List<Map<String, Object>>> readAll(QueryResultStream stream, List<Map<String, Object>> rows) {
+        if (!stream.hasMore()) {
+            return stream.close().map(v -> rows);
+        }
+        return stream.next()
+                .compose(chunk -> {
+                    rows.addAll(chunk);
+                    return readAll(stream, rows);
+                }, error -> stream.close()
+                        .transform(ar -> Future.failedFuture(error)));
+    }
+
+    private static final class JsonResultSerializer implements ResultSerializer {
+        private final JsonGenerator generator;
+
+        private JsonResultSerializer(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void writeRows(List<Map<String, Object>> rows) throws IOException {
+            for (Map<String, Object> row : rows) {
+                if (row instanceof IndexedRow) {
+                    writeRow((IndexedRow) row);
+                } else {
+                    generator.writeObject(row);
+                }
+            }
+            generator.flush();
+        }
+
+        @Override
+        public void writeEnd(long rowCount) throws IOException {
+            generator.writeEndArray();
+            generator.writeBooleanField(EMPTY_FIELD, rowCount == 0);
+            generator.writeEndObject();
+            generator.close();
+        }
+
+        private void writeRow(IndexedRow row) throws IOException {
+            ColumnIndex columns = row.getColumns();
+            generator.writeStartObject();
+            for (int position : columns.getVisiblePositions()) {
+                generator.writeFieldName(columns.getName(position));
+                generator.writeObject(row.getValue(position));
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -32,10 +32,13 @@ import io.arenadata.dtm.query.execution.core.base.dto.request.CoreRequestContext
 import io.arenadata.dtm.query.execution.core.query.factory.QueryRequestFactory;
 import io.arenadata.dtm.query.execution.core.query.factory.RequestContextFactory;
 import io.arenadata.dtm.query.execution.core.query.service.QueryAnalyzer;
+import io.arenadata.dtm.query.execution.core.query.service.QueryBatchExpander;
 import io.arenadata.dtm.query.execution.core.query.service.QueryDispatcher;
 import io.arenadata.dtm.query.execution.core.query.service.QuerySemicolonRemover;
 import io.arenadata.dtm.query.execution.core.query.utils.DatamartMnemonicExtractor;
 import io.arenadata.dtm.query.execution.core.query.utils.DefaultDatamartSetter;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStage;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import lombok.Data;
@@ -61,6 +64,8 @@ public class QueryAnalyzerImpl implements QueryAnalyzer {
     private final DefaultDatamartSetter defaultDatamartSetter;
     private final QuerySemicolonRemover querySemicolonRemover;
     private final QueryRequestFactory queryRequestFactory;
+    private final QueryBatchExpander queryBatchExpander;
+    private final QueryStageMetrics queryStageMetrics;
 
     @Autowired
     public QueryAnalyzerImpl(QueryDispatcher queryDispatcher,
@@ -70,7 +75,9 @@ public class QueryAnalyzerImpl implements QueryAnalyzer {
                              DatamartMnemonicExtractor datamartMnemonicExtractor,
                              DefaultDatamartSetter defaultDatamartSetter,
                              QuerySemicolonRemover querySemicolonRemover,
-                             QueryRequestFactory queryRequestFactory) {
+                             QueryRequestFactory queryRequestFactory,
+                             QueryBatchExpander queryBatchExpander,
+                             QueryStageMetrics queryStageMetrics) {
         this.queryDispatcher = queryDispatcher;
         this.definitionService = definitionService;
         this.requestContextFactory = requestContextFactory;
@@ -79,11 +86,13 @@ public class QueryAnalyzerImpl implements QueryAnalyzer {
         this.defaultDatamartSetter = defaultDatamartSetter;
         this.queryRequestFactory = queryRequestFactory;
         this.querySemicolonRemover = querySemicolonRemover;
+        this.queryBatchExpander = queryBatchExpander;
+        this.queryStageMetrics = queryStageMetrics;
     }
 
     @Override
     public Future<QueryResult> analyzeAndExecute(InputQueryRequest execQueryRequest) {
-        return AsyncUtils.measureMs(getParsedQuery(execQueryRequest),
+        return AsyncUtils.measureMs(queryStageMetrics.measure(QueryStage.PARSE, () -> getParsedQuery(execQueryRequest)),
                         duration -> log.debug("Request parsed [{}] in [{}]ms", execQueryRequest.getSql(), duration))
                 .compose(parsedQuery -> AsyncUtils.measureMs(createRequestContext(parsedQuery),
                         duration -> log.debug("Created request context [{}] in [{}]ms", execQueryRequest.getSql(), duration)))
@@ -94,7 +103,7 @@ public class QueryAnalyzerImpl implements QueryAnalyzer {
         return Future.future(promise -> vertx.executeBlocking(it -> {
             try {
                 val request = querySemicolonRemover.remove(queryRequestFactory.create(inputQueryRequest));
-                SqlNode node = definitionService.processingQuery(request.getSql());
+                SqlNode node = queryBatchExpander.expand(request, definitionService.processingQuery(request.getSql()));
                 it.complete(new ParsedQueryResponse(request, node));
             } catch (Exception e) {
                 it.fail(new DtmException("Error parsing query", e));
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.service.impl;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryRequest;
+import io.arenadata.dtm.query.execution.core.query.service.QueryBatchExpander;
+import io.arenadata.dtm.query.execution.plugin.api.dml.LlwUtils;
+import lombok.val;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlDynamicParam;
+import org.apache.calcite.sql.SqlInsert;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.util.SqlShuttle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class QueryBatchExpanderImpl implements QueryBatchExpander {
+
+    @Override
+    public SqlNode expand(QueryRequest queryRequest, SqlNode sqlNode) {
+        val batchParameters = queryRequest.getBatchParameters();
+        if (batchParameters == null) {
+            return sqlNode;
+        }
+        if (batchParameters.isEmpty()) {
+            throw new DtmException("Batch has no parameter sets");
+        }
+        if (!(sqlNode instanceof SqlInsert) || !LlwUtils.isValuesSqlNode(((SqlInsert) sqlNode).getSource())) {
+            throw new DtmException("Batch is supported only for INSERT/UPSERT ... VALUES queries");
+        }
+
+        val insert = (SqlInsert) sqlNode;
+        val values = (SqlCall) insert.getSource();
+        val rowCopier = new RowCopier();
+        val rows = new ArrayList<SqlNode>(values.operandCount() * batchParameters.size());
+        val parameterValues = new ArrayList<Object>();
+        val parameterTypes = new ArrayList<ColumnType>();
+        for (int i = 0; i < batchParameters.size(); i++) {
+            val parameters = batchParameters.get(i);
+            int firstParam = rowCopier.paramIndex;
+            for (SqlNode row : values.getOperandList()) {
+                rows.add(row.accept(rowCopier));
+            }
+            int paramCount = rowCopier.paramIndex - firstParam;
+            if (parameters == null || parameters.getValues() == null || parameters.getValues().size() != paramCount) {
+                throw new DtmException(String.format("Batch parameter set [%d] does not match [%d] query parameters",
+                        i, paramCount));
+            }
+            parameterValues.addAll(parameters.getValues());
+            parameterTypes.addAll(getTypes(parameters, paramCount));
+        }
+
+        insert.setOperand(2, values.getOperator().createCall(values.getParserPosition(), rows));
+        queryRequest.setParameters(new QueryParameters(parameterValues, parameterTypes));
+        queryRequest.setBatchParameters(null);
+        return insert;
+    }
+
+    private List<ColumnType> getTypes(QueryParameters parameters, int paramCount) {
+        if (parameters.getTypes() != null) {
+            return parameters.getTypes();
+        }
+        val types = new ArrayList<ColumnType>(paramCount);
+        for (int i = 0; i < paramCount; i++) {
+            types.add(ColumnType.ANY);
+        }
+        return types;
+    }
+
+    /**
+     * Deep copy of the VALUES row, dynamic params are numbered through all copied rows
+     */
+    private static final class RowCopier extends SqlShuttle {
+        private int paramIndex;
+
+        @Override
+        public SqlNode visit(SqlDynamicParam param) {
+            return new SqlDynamicParam(paramIndex++, param.getParserPosition());
+        }
+
+        @Override
+        public SqlNode visit(SqlLiteral literal) {
+            return literal.clone(literal.getParserPosition());
+        }
+
+        @Override
+        public SqlNode visit(SqlCall call) {
+            val operands = new ArrayList<SqlNode>(call.operandCount());
+            for (SqlNode operand : call.getOperandList()) {
+                operands.add(operand == null ? null : operand.accept(this));
+            }
+            return call.getOperator().createCall(call.getFunctionQuantifier(), call.getParserPosition(),
+                    operands.toArray(new SqlNode[0]));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.service.impl;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.reader.CursorQueryResult;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CoreHttpProperties;
+import io.arenadata.dtm.query.execution.core.query.exception.QueryCursorNotFoundException;
+import io.arenadata.dtm.query.execution.core.query.service.QueryCursorService;
+import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps streams of query results open between page requests. A cursor is closed when its last page is read,
+ * when the client closes it, or when it's not accessed for {@link CoreHttpProperties#getCursorIdleTimeoutMs()}.
+ * Cursors live only in memory of the node, which opened them, so behind a load balancer the pages must be fetched
+ * from the same node (sticky sessions), otherwise the fetch fails with the error naming the node.
+ */
+@Slf4j
+@Component
+public class QueryCursorServiceImpl implements QueryCursorService {
+    private final Map<UUID, QueryCursor> cursors = new ConcurrentHashMap<>();
+    private final Vertx vertx;
+    private final CoreHttpProperties httpProperties;
+    private final String node;
+
+    @Autowired
+    public QueryCursorServiceImpl(@Qualifier("coreVertx") Vertx vertx,
+                                  CoreHttpProperties httpProperties) {
+        this.vertx = vertx;
+        this.httpProperties = httpProperties;
+        this.node = getHostName() + ":" + httpProperties.getPort();
+    }
+
+    @Override
+    public Future<QueryResult> open(QueryResult queryResult) {
+        if (!(queryResult instanceof StreamedQueryResult)) {
+            return Future.succeededFuture(queryResult);
+        }
+        QueryCursor cursor = new QueryCursor(UUID.randomUUID(), queryResult.getRequestId(), queryResult.getMetadata(),
+                ((StreamedQueryResult) queryResult).getStream());
+        cursors.put(cursor.id, cursor);
+        log.debug("Cursor [{}] opened for request [{}]", cursor.id, cursor.requestId);
+        return readPage(cursor);
+    }
+
+    @Override
+    public Future<QueryResult> fetch(UUID cursorId) {
+        QueryCursor cursor = cursors.get(cursorId);
+        if (cursor == null) {
+            return Future.failedFuture(new QueryCursorNotFoundException(cursorId, node));
+        }
+        return readPage(cursor);
+    }
+
+    @Override
+    public Future<Void> close(UUID cursorId) {
+        QueryCursor cursor = cursors.remove(cursorId);
+        if (cursor == null) {
+            return Future.succeededFuture();
+        }
+        log.debug("Cursor [{}] closed", cursorId);
+        return closeCursor(cursor);
+    }
+
+    private Future<QueryResult> readPage(QueryCursor cursor) {
+        Promise<List<Map<String, Object>>> page = Promise.promise();
+        synchronized (cursor) {
+            if (cursor.reading) {
+                return Future.failedFuture(new DtmException(
+                        String.format("Cursor [%s] is already reading the next page", cursor.id)));
+            }
+            cursor.reading = true;
+            cursor.page = page;
+            vertx.cancelTimer(cursor.timerId);
+        }
+        cursor.stream.next().onComplete(ar -> {
+            if (ar.succeeded()) {
+                page.tryComplete(ar.result());
+            } else {
+                page.tryFail(ar.cause());
+            }
+        });
+        return page.future()
+                .map(rows -> {
+                    boolean hasMore = cursor.stream.hasMore();
+                    synchronized (cursor) {
+                        cursor.reading = false;
+                        if (hasMore) {
+                            cursor.timerId = vertx.setTimer(httpProperties.getCursorIdleTimeoutMs(),
+                                    id -> expire(cursor));
+                        }
+                    }
+                    if (!hasMore) {
+                        close(cursor.id);
+                    }
+                    return (QueryResult) new CursorQueryResult(cursor.requestId, rows, cursor.metadata,
+                            hasMore ? cursor.id : null);
+                })
+                .onFailure(error -> {
+                    if (cursors.remove(cursor.id, cursor)) {
+                        closeCursor(cursor);
+                    }
+                });
+    }
+
+    private void expire(QueryCursor cursor) {
+        if (cursors.remove(cursor.id, cursor)) {
+            log.warn("Cursor [{}] of request [{}] expired", cursor.id, cursor.requestId);
+            closeCursor(cursor);
+        }
+    }
+
+    private Future<Void> closeCursor(QueryCursor cursor) {
+        synchronized (cursor) {
+            vertx.cancelTimer(cursor.timerId);
+            if (cursor.reading) {
+                // the reader must not wait for the page, which the closed stream may never return
+                cursor.page.tryFail(new DtmException(String.format("Cursor [%s] is closed", cursor.id)));
+            }
+        }
+        return cursor.stream.close()
+                .onFailure(error -> log.error("Error in closing cursor [{}]", cursor.id, error));
+    }
+
+    private static String getHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            log.warn("Could not resolve host name of the node", e);
+            return "unknown";
+        }
+    }
+
+    private static final class QueryCursor {
+        private final UUID id;
+        private final UUID requestId;
+        private final List<ColumnMetadata> metadata;
+        private final QueryResultStream stream;
+        private long timerId = -1;
+        private boolean reading;
+        private Promise<List<Map<String, Object>>> page;
+
+        private QueryCursor(UUID id, UUID requestId, List<ColumnMetadata> metadata, QueryResultStream stream) {
+            this.id = id;
+            this.requestId = requestId;
+            this.metadata = metadata;
+            this.stream = stream;
+        }
+    }
+}
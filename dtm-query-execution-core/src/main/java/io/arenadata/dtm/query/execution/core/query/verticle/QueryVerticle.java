@@ -61,6 +61,8 @@ public class QueryVerticle extends AbstractVerticle {
                                 .setTcpNoDelay(httpProperties.isTcpNoDelay())
                                 .setTcpFastOpen(httpProperties.isTcpFastOpen())
                                 .setTcpQuickAck(httpProperties.isTcpQuickAck())
+                                .setCompressionSupported(httpProperties.isCompressionSupported())
+                                .setDecompressionSupported(httpProperties.isCompressionSupported())
                 ).requestHandler(router)
                 .listen(httpProperties.getPort());
     }
@@ -78,6 +80,9 @@ public class QueryVerticle extends AbstractVerticle {
                 .handler(datamartMetaController::getEntityAttributesMeta);
         router.post("/query/execute").handler(queryController::executeQuery);
         router.post("/query/prepare").handler(queryController::prepareQuery);
+        router.post("/query/batch").handler(queryController::executeBatch);
+        router.post("/query/fetch").handler(queryController::fetchCursor);
+        router.post("/query/close").handler(queryController::closeCursor);
         router.put("/metrics/turn/on").handler(metricsController::turnOn);
         router.put("/metrics/turn/off").handler(metricsController::turnOff);
         return router;
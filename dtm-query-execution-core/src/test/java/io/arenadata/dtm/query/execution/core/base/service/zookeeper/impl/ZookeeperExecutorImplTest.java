@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.service.zookeeper.impl;
+
+import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperConnectionProvider;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.apache.zookeeper.AsyncCallback;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.ZooKeeper;
+import org.apache.zookeeper.data.Stat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(VertxExtension.class)
+class ZookeeperExecutorImplTest {
+    private static final String PATH = "/test/dtm";
+    private static final byte[] DATA = {1, 2, 3};
+    private final ZookeeperConnectionProvider connectionProvider = mock(ZookeeperConnectionProvider.class);
+    private final ZooKeeper zooKeeper = mock(ZooKeeper.class);
+    private ZookeeperExecutorImpl executor;
+
+    @BeforeEach
+    void setUp(Vertx vertx) {
+        when(connectionProvider.getIfConnected()).thenReturn(Optional.of(zooKeeper));
+        executor = new ZookeeperExecutorImpl(connectionProvider, vertx);
+    }
+
+    @Test
+    void shouldSendConcurrentIdenticalReadsOnce(VertxTestContext testContext) {
+        // act
+        Future<byte[]> first = executor.getData(PATH);
+        Future<byte[]> second = executor.getData(PATH);
+        ArgumentCaptor<AsyncCallback.DataCallback> callback = ArgumentCaptor.forClass(AsyncCallback.DataCallback.class);
+        verify(zooKeeper).getData(eq(PATH), isNull(Watcher.class), callback.capture(), isNull());
+        callback.getValue().processResult(KeeperException.Code.OK.intValue(), PATH, null, DATA, new Stat());
+
+        // assert
+        CompositeFuture.all(first, second)
+                .onComplete(ar -> testContext.verify(() -> {
+                    assertTrue(ar.succeeded());
+                    assertArrayEquals(DATA, first.result());
+                    assertArrayEquals(DATA, second.result());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldReadAgainAfterSessionLoss(VertxTestContext testContext) {
+        // arrange
+        ZooKeeper reconnected = mock(ZooKeeper.class);
+        when(connectionProvider.getIfConnected()).thenReturn(Optional.of(zooKeeper), Optional.empty());
+        when(connectionProvider.getOrConnect()).thenReturn(reconnected);
+        Future<byte[]> first = executor.getData(PATH);
+        Future<byte[]> joined = executor.getData(PATH);
+        ArgumentCaptor<AsyncCallback.DataCallback> callback = ArgumentCaptor.forClass(AsyncCallback.DataCallback.class);
+        verify(zooKeeper).getData(eq(PATH), isNull(Watcher.class), callback.capture(), isNull());
+        callback.getValue().processResult(KeeperException.Code.SESSIONEXPIRED.intValue(), PATH, null, null, null);
+
+        // act
+        Future<byte[]> afterLoss = executor.getData(PATH);
+        ArgumentCaptor<AsyncCallback.DataCallback> reconnectedCallback = ArgumentCaptor.forClass(AsyncCallback.DataCallback.class);
+        verify(reconnected, timeout(1000)).getData(eq(PATH), isNull(Watcher.class), reconnectedCallback.capture(), isNull());
+        reconnectedCallback.getValue().processResult(KeeperException.Code.OK.intValue(), PATH, null, DATA, new Stat());
+
+        // assert
+        CompositeFuture.join(first, joined, afterLoss)
+                .onComplete(ar -> testContext.verify(() -> {
+                    assertTrue(first.cause() instanceof KeeperException.SessionExpiredException);
+                    assertTrue(joined.cause() instanceof KeeperException.SessionExpiredException);
+                    assertArrayEquals(DATA, afterLoss.result());
+                    verify(zooKeeper).getData(eq(PATH), isNull(Watcher.class), any(AsyncCallback.DataCallback.class), isNull());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldRegisterWatchAgainAfterReadCompleted(VertxTestContext testContext) {
+        // arrange
+        Watcher watcher = mock(Watcher.class);
+        ArgumentCaptor<AsyncCallback.DataCallback> callback = ArgumentCaptor.forClass(AsyncCallback.DataCallback.class);
+        Future<byte[]> first = executor.getData(PATH, watcher, null);
+        verify(zooKeeper).getData(eq(PATH), same(watcher), callback.capture(), isNull());
+        callback.getValue().processResult(KeeperException.Code.OK.intValue(), PATH, null, DATA, new Stat());
+
+        // act
+        first.compose(data -> {
+            Future<byte[]> second = executor.getData(PATH, watcher, null);
+            verify(zooKeeper, times(2)).getData(eq(PATH), same(watcher), callback.capture(), isNull());
+            callback.getValue().processResult(KeeperException.Code.OK.intValue(), PATH, null, DATA, new Stat());
+            return second;
+        })
+                // assert
+                .onComplete(ar -> testContext.verify(() -> {
+                    assertTrue(ar.succeeded());
+                    assertArrayEquals(DATA, ar.result());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldNotShareReadsWithDifferentWatchers(VertxTestContext testContext) {
+        // arrange
+        Watcher firstWatcher = mock(Watcher.class);
+        Watcher secondWatcher = mock(Watcher.class);
+
+        // act
+        Future<byte[]> first = executor.getData(PATH, firstWatcher, null);
+        Future<byte[]> second = executor.getData(PATH, secondWatcher, null);
+        ArgumentCaptor<AsyncCallback.DataCallback> firstCallback = ArgumentCaptor.forClass(AsyncCallback.DataCallback.class);
+        ArgumentCaptor<AsyncCallback.DataCallback> secondCallback = ArgumentCaptor.forClass(AsyncCallback.DataCallback.class);
+        verify(zooKeeper).getData(eq(PATH), same(firstWatcher), firstCallback.capture(), isNull());
+        verify(zooKeeper).getData(eq(PATH), same(secondWatcher), secondCallback.capture(), isNull());
+        firstCallback.getValue().processResult(KeeperException.Code.OK.intValue(), PATH, null, DATA, new Stat());
+        secondCallback.getValue().processResult(KeeperException.Code.NONODE.intValue(), PATH, null, null, null);
+
+        // assert
+        CompositeFuture.join(first, second)
+                .onComplete(ar -> testContext.verify(() -> {
+                    assertArrayEquals(DATA, first.result());
+                    assertTrue(second.cause() instanceof KeeperException.NoNodeException);
+                }).completeNow());
+    }
+
+    @Test
+    void shouldNotJoinReadSentBeforeBlockingWrite(VertxTestContext testContext) throws Exception {
+        // arrange
+        when(connectionProvider.getOrConnect()).thenReturn(zooKeeper);
+        when(zooKeeper.multi(any())).thenReturn(Collections.emptyList());
+        ArgumentCaptor<AsyncCallback.DataCallback> callback = ArgumentCaptor.forClass(AsyncCallback.DataCallback.class);
+        Future<byte[]> beforeWrite = executor.getData(PATH);
+        verify(zooKeeper).getData(eq(PATH), isNull(Watcher.class), callback.capture(), isNull());
+
+        // act
+        executor.multi(Collections.emptyList())
+                .compose(results -> {
+                    Future<byte[]> afterWrite = executor.getData(PATH);
+                    verify(zooKeeper, times(2)).getData(eq(PATH), isNull(Watcher.class), callback.capture(), isNull());
+                    callback.getAllValues().get(0).processResult(KeeperException.Code.OK.intValue(), PATH, null, new byte[0], new Stat());
+                    callback.getAllValues().get(2).processResult(KeeperException.Code.OK.intValue(), PATH, null, DATA, new Stat());
+                    return CompositeFuture.all(beforeWrite, afterWrite);
+                })
+                // assert
+                .onComplete(ar -> testContext.verify(() -> {
+                    assertTrue(ar.succeeded());
+                    assertArrayEquals(new byte[0], ar.result().resultAt(0));
+                    assertArrayEquals(DATA, ar.result().resultAt(1));
+                }).completeNow());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.calcite.service;
+
+import io.arenadata.dtm.common.calcite.CalciteContext;
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.common.model.ddl.Entity;
+import io.arenadata.dtm.common.model.ddl.EntityField;
+import io.arenadata.dtm.query.calcite.core.schema.QueryableSchema;
+import io.arenadata.dtm.query.execution.core.calcite.configuration.CalciteConfiguration;
+import io.arenadata.dtm.query.execution.core.calcite.factory.CoreCalciteSchemaFactory;
+import io.arenadata.dtm.query.execution.core.calcite.factory.CoreSchemaFactory;
+import io.arenadata.dtm.query.execution.model.metadata.Datamart;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoreCalciteContextProviderTest {
+    private final CalciteConfiguration calciteConfiguration = new CalciteConfiguration();
+    private final SqlParser.Config configParser = calciteConfiguration.configEddlParser(calciteConfiguration.getSqlParserFactory());
+    private final CoreCalciteContextProvider contextProvider =
+            new CoreCalciteContextProvider(configParser, new CoreCalciteSchemaFactory(new CoreSchemaFactory()));
+
+    @Test
+    void shouldShareSchemaWhenDatamartNotChanged() {
+        // act
+        CalciteContext context1 = contextProvider.context(Collections.singletonList(createDatamart("id")));
+        CalciteContext context2 = contextProvider.context(Collections.singletonList(createDatamart("id")));
+
+        // assert
+        assertNotSame(context1.getSchema(), context2.getSchema());
+        assertSame(getSchema(context1), getSchema(context2));
+        assertNotNull(context2.getSchema().getSubSchema("dtm").getTable("tbl"));
+    }
+
+    @Test
+    void shouldRebuildSchemaWhenDatamartChanged() {
+        // act
+        CalciteContext context1 = contextProvider.context(Collections.singletonList(createDatamart("id")));
+        CalciteContext context2 = contextProvider.context(Collections.singletonList(createDatamart("id", "name")));
+
+        // assert
+        assertNotSame(getSchema(context1), getSchema(context2));
+    }
+
+    private QueryableSchema getSchema(CalciteContext context) {
+        return context.getSchema().getSubSchema("dtm").unwrap(QueryableSchema.class);
+    }
+
+    private Datamart createDatamart(String... columns) {
+        Entity entity = Entity.builder()
+                .name("tbl")
+                .schema("dtm")
+                .fields(new ArrayList<>())
+                .build();
+        Arrays.stream(columns).forEach(column -> entity.getFields().add(EntityField.builder()
+                .ordinalPosition(entity.getFields().size())
+                .name(column)
+                .type(ColumnType.BIGINT)
+                .nullable(true)
+                .build()));
+        return new Datamart("dtm", true, Collections.singletonList(entity));
+    }
+}
@@ -25,12 +25,14 @@ import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.common.request.DatamartRequest;
 import io.arenadata.dtm.query.calcite.core.extension.check.CheckType;
 import io.arenadata.dtm.query.calcite.core.extension.check.SqlCheckData;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CheckDataProperties;
 import io.arenadata.dtm.query.execution.core.base.exception.table.ColumnsNotExistsException;
 import io.arenadata.dtm.query.execution.core.base.exception.table.ValidationDtmException;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DatamartDao;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
 import io.arenadata.dtm.query.execution.core.check.dto.CheckContext;
 import io.arenadata.dtm.query.execution.core.check.factory.CheckQueryResultFactory;
+import io.arenadata.dtm.query.execution.core.check.service.impl.CheckDataChecksumCacheServiceImpl;
 import io.arenadata.dtm.query.execution.core.check.service.impl.CheckDataExecutor;
 import io.arenadata.dtm.query.execution.core.delta.dto.OkDelta;
 import io.arenadata.dtm.query.execution.core.delta.exception.DeltaNotExistException;
@@ -68,7 +70,9 @@ class CheckDataExecutorTest {
     private final DatamartDao datamartDao = mock(DatamartDao.class);
     private final CheckQueryResultFactory queryResultFactory = mock(CheckQueryResultFactory.class);
     private final OkDelta okDelta = mock(OkDelta.class);
-    private final CheckDataExecutor checkDataExecutor = new CheckDataExecutor(dataSourcePluginService, deltaServiceDao, entityDao, queryResultFactory);
+    private final CheckDataProperties checkDataProperties = new CheckDataProperties();
+    private final CheckDataExecutor checkDataExecutor = new CheckDataExecutor(dataSourcePluginService, deltaServiceDao, entityDao, queryResultFactory,
+            new CheckDataChecksumCacheServiceImpl(checkDataProperties), checkDataProperties);
     private Entity entity;
 
     @BeforeEach
@@ -126,6 +130,57 @@ class CheckDataExecutorTest {
 
     }
 
+    @Test
+    void testCheckByCountUsesCachedChecksums() {
+        when(deltaServiceDao.getDeltaOk(DATAMART_MNEMONIC)).thenReturn(Future.succeededFuture(okDelta));
+        QueryRequest queryRequest = new QueryRequest();
+        queryRequest.setDatamartMnemonic(DATAMART_MNEMONIC);
+        SqlCheckData sqlCheckData = mock(SqlCheckData.class);
+        when(sqlCheckData.getDeltaNum()).thenReturn(0L);
+        when(sqlCheckData.getTable()).thenReturn(entity.getName());
+        CheckContext checkContext = new CheckContext(new RequestMetrics(), "env",
+                new DatamartRequest(queryRequest), CheckType.DATA, sqlCheckData);
+        checkDataExecutor.execute(checkContext)
+                .compose(result -> checkDataExecutor.execute(checkContext))
+                .onComplete(ar -> {
+                    assertTrue(ar.succeeded());
+                    SOURCE_TYPES.forEach(sourceType ->
+                            verify(dataSourcePluginService, times(1))
+                                    .checkDataByCount(eq(sourceType), any(), any()));
+                });
+
+    }
+
+    @Test
+    void testCheckDataStopsAtFirstMismatch() {
+        when(deltaServiceDao.getDeltaOk(DATAMART_MNEMONIC)).thenReturn(Future.succeededFuture(okDelta));
+        when(okDelta.getDeltaNum()).thenReturn(10L);
+        OkDelta mismatchedDelta = mock(OkDelta.class);
+        when(mismatchedDelta.getDeltaNum()).thenReturn(9L);
+        when(mismatchedDelta.getCnFrom()).thenReturn(2L);
+        when(mismatchedDelta.getCnTo()).thenReturn(3L);
+        when(deltaServiceDao.getDeltaByNum(DATAMART_MNEMONIC, 10L)).thenReturn(Future.succeededFuture(okDelta));
+        when(deltaServiceDao.getDeltaByNum(DATAMART_MNEMONIC, 9L)).thenReturn(Future.succeededFuture(mismatchedDelta));
+        when(dataSourcePluginService.checkDataByCount(eq(SourceType.ADB), any(),
+                argThat(request -> request != null && request.getCnFrom() == 2L)))
+                .thenReturn(Future.succeededFuture(2L));
+        QueryRequest queryRequest = new QueryRequest();
+        queryRequest.setDatamartMnemonic(DATAMART_MNEMONIC);
+        SqlCheckData sqlCheckData = mock(SqlCheckData.class);
+        when(sqlCheckData.getDeltaNum()).thenReturn(0L);
+        when(sqlCheckData.getTable()).thenReturn(entity.getName());
+        CheckContext checkContext = new CheckContext(new RequestMetrics(), "env",
+                new DatamartRequest(queryRequest), CheckType.DATA, sqlCheckData);
+        checkDataExecutor.execute(checkContext)
+                .onComplete(ar -> {
+                    assertTrue(ar.succeeded());
+                    verify(queryResultFactory).create(argThat(result -> result.contains("checksum for delta 10 is Ok")
+                            && result.contains("checksum mismatch")));
+                    verify(deltaServiceDao, never()).getDeltaByNum(DATAMART_MNEMONIC, 0L);
+                });
+
+    }
+
     @Test
     void testCheckDataNullDeltaOkFail() {
         when(deltaServiceDao.getDeltaOk(DATAMART_MNEMONIC)).thenReturn(Future.succeededFuture(null));
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.check.service.impl;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CheckDataProperties;
+import io.arenadata.dtm.query.execution.core.check.dto.CheckDataChecksumKey;
+import io.vertx.core.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CheckDataChecksumCacheServiceImplTest {
+    private static final String DATAMART = "shares";
+    private static final CheckDataChecksumKey ACCOUNTS_KEY = createKey(DATAMART, "accounts");
+    private static final CheckDataChecksumKey TRANSACTIONS_KEY = createKey(DATAMART, "transactions");
+    private static final CheckDataChecksumKey OTHER_DATAMART_KEY = createKey("other", "accounts");
+    private final AtomicInteger calculations = new AtomicInteger();
+    private final Supplier<Future<Long>> calculator = () -> Future.succeededFuture((long) calculations.incrementAndGet());
+    private CheckDataChecksumCacheServiceImpl cacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheService = new CheckDataChecksumCacheServiceImpl(new CheckDataProperties());
+        cacheService.getOrCalculate(ACCOUNTS_KEY, calculator);
+        cacheService.getOrCalculate(TRANSACTIONS_KEY, calculator);
+        cacheService.getOrCalculate(OTHER_DATAMART_KEY, calculator);
+    }
+
+    @Test
+    void shouldReturnMemoizedChecksum() {
+        // act
+        Long checksum = cacheService.getOrCalculate(ACCOUNTS_KEY, calculator).result();
+
+        // assert
+        assertEquals(1L, checksum);
+        assertEquals(3, calculations.get());
+    }
+
+    @Test
+    void shouldEvictOnlyChecksumsOfEntity() {
+        // act
+        cacheService.evictByEntityName(DATAMART.toUpperCase(), "ACCOUNTS");
+        cacheService.getOrCalculate(ACCOUNTS_KEY, calculator);
+        cacheService.getOrCalculate(TRANSACTIONS_KEY, calculator);
+        cacheService.getOrCalculate(OTHER_DATAMART_KEY, calculator);
+
+        // assert
+        assertEquals(4, calculations.get());
+        assertEquals(3, cacheService.getIndexSize());
+    }
+
+    @Test
+    void shouldEvictOnlyChecksumsOfDatamart() {
+        // act
+        cacheService.evictByDatamartName(DATAMART);
+        cacheService.getOrCalculate(OTHER_DATAMART_KEY, calculator);
+
+        // assert
+        assertEquals(3, calculations.get());
+        assertEquals(1, cacheService.getIndexSize());
+    }
+
+    private static CheckDataChecksumKey createKey(String datamart, String entity) {
+        return CheckDataChecksumKey.builder()
+                .datamartMnemonic(datamart)
+                .entityName(entity)
+                .fields(Collections.emptyList())
+                .sourceType(SourceType.ADB)
+                .deltaNum(1)
+                .cnFrom(0)
+                .cnTo(1)
+                .build();
+    }
+}
@@ -38,6 +38,7 @@ import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.impl.Serv
 import io.arenadata.dtm.query.execution.core.base.service.metadata.MetadataExecutor;
 import io.arenadata.dtm.query.execution.core.base.service.metadata.impl.MetadataExecutorImpl;
 import io.arenadata.dtm.query.execution.core.calcite.configuration.CalciteConfiguration;
+import io.arenadata.dtm.query.execution.core.check.service.CheckDataChecksumCacheService;
 import io.arenadata.dtm.query.execution.core.ddl.dto.DdlRequestContext;
 import io.arenadata.dtm.query.execution.core.ddl.service.impl.DropSchemaExecutor;
 import io.arenadata.dtm.query.execution.core.delta.dto.HotDelta;
@@ -75,6 +76,7 @@ class DropSchemaExecutorTest {
     private final EvictQueryTemplateCacheService evictQueryTemplateCacheService =
             mock(EvictQueryTemplateCacheServiceImpl.class);
     private final CacheService<EntityKey, MaterializedViewCacheValue> materializedViewCacheService = mock(CaffeineCacheService.class);
+    private final CheckDataChecksumCacheService checksumCacheService = mock(CheckDataChecksumCacheService.class);
     private final DropDatabase mockDropNode = mock(DropDatabase.class);
     private final SqlIdentifier mockIdentifier = mock(SqlIdentifier.class);private DropSchemaExecutor dropSchemaExecutor;
     private DdlRequestContext context;
@@ -91,7 +93,8 @@ class DropSchemaExecutorTest {
                 entityCacheService,
                 materializedViewCacheService,
                 serviceDbFacade,
-                evictQueryTemplateCacheService);
+                evictQueryTemplateCacheService,
+                checksumCacheService);
         doNothing().when(evictQueryTemplateCacheService).evictByDatamartName(anyString());
         prepareContext(false);
     }
@@ -143,6 +146,7 @@ class DropSchemaExecutorTest {
         verify(entityCacheService).removeIf(any());
         verify(hotDeltaCacheService).remove(anyString());
         verify(okDeltaCacheService).remove(anyString());
+        verify(checksumCacheService).evictByDatamartName(schema);
         verify(metadataExecutor).execute(context);
     }
 
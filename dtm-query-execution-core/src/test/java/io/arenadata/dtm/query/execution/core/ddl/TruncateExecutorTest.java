@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.ddl;
+
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.common.model.ddl.Entity;
+import io.arenadata.dtm.common.model.ddl.EntityField;
+import io.arenadata.dtm.common.model.ddl.EntityType;
+import io.arenadata.dtm.common.reader.QueryRequest;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.request.DatamartRequest;
+import io.arenadata.dtm.query.calcite.core.extension.ddl.truncate.SqlTruncateHistory;
+import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.ServiceDbDao;
+import io.arenadata.dtm.query.execution.core.base.service.metadata.MetadataExecutor;
+import io.arenadata.dtm.query.execution.core.check.service.CheckDataChecksumCacheService;
+import io.arenadata.dtm.query.execution.core.ddl.dto.DdlRequestContext;
+import io.arenadata.dtm.query.execution.core.ddl.service.QueryResultDdlExecutor;
+import io.arenadata.dtm.query.execution.core.ddl.service.impl.TruncateExecutor;
+import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
+import io.arenadata.dtm.query.execution.core.dml.service.LlrResultCacheService;
+import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.plugin.api.exception.DataSourceException;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TruncateExecutorTest {
+    private static final String SCHEMA = "shares";
+    private static final String TABLE = "accounts";
+
+    @Mock
+    private DataSourcePluginService pluginService;
+    @Mock
+    private DeltaServiceDao deltaServiceDao;
+    @Mock
+    private MetadataExecutor<DdlRequestContext> metadataExecutor;
+    @Mock
+    private ServiceDbFacade serviceDbFacade;
+    @Mock
+    private ServiceDbDao serviceDbDao;
+    @Mock
+    private EntityDao entityDao;
+    @Mock
+    private CheckDataChecksumCacheService checksumCacheService;
+    @Mock
+    private LlrResultCacheService llrResultCacheService;
+
+    private QueryResultDdlExecutor truncateExecutor;
+    private DdlRequestContext context;
+
+    @BeforeEach
+    void setUp() {
+        when(serviceDbFacade.getServiceDbDao()).thenReturn(serviceDbDao);
+        when(serviceDbDao.getEntityDao()).thenReturn(entityDao);
+        truncateExecutor = new TruncateExecutor(pluginService, deltaServiceDao, metadataExecutor, serviceDbFacade,
+                checksumCacheService, llrResultCacheService);
+        prepareContext();
+    }
+
+    @Test
+    void executeSuccessEvictsCachedResults() {
+        // arrange
+        Promise<QueryResult> promise = Promise.promise();
+        when(entityDao.getEntity(SCHEMA, TABLE)).thenReturn(Future.succeededFuture(context.getEntity()));
+        when(pluginService.truncateHistory(eq(SourceType.ADB), any(), any())).thenReturn(Future.succeededFuture());
+
+        // act
+        truncateExecutor.execute(context, TABLE)
+                .onComplete(promise);
+
+        // assert
+        assertTrue(promise.future().succeeded());
+        verify(checksumCacheService).evictByEntityName(SCHEMA, TABLE);
+        verify(llrResultCacheService).evictByEntityName(SCHEMA, TABLE);
+    }
+
+    @Test
+    void executeWithPluginErrorEvictsCachedResults() {
+        // arrange
+        Promise<QueryResult> promise = Promise.promise();
+        when(entityDao.getEntity(SCHEMA, TABLE)).thenReturn(Future.succeededFuture(context.getEntity()));
+        when(pluginService.truncateHistory(eq(SourceType.ADB), any(), any()))
+                .thenReturn(Future.failedFuture(new DataSourceException("Error truncate history in plugin")));
+
+        // act
+        truncateExecutor.execute(context, TABLE)
+                .onComplete(promise);
+
+        // assert
+        assertTrue(promise.future().failed());
+        verify(checksumCacheService).evictByEntityName(SCHEMA, TABLE);
+        verify(llrResultCacheService).evictByEntityName(SCHEMA, TABLE);
+    }
+
+    private void prepareContext() {
+        QueryRequest queryRequest = new QueryRequest();
+        queryRequest.setRequestId(UUID.randomUUID());
+        queryRequest.setDatamartMnemonic(SCHEMA);
+        queryRequest.setSql("TRUNCATE HISTORY accounts FOR SYSTEM_TIME AS OF 'infinite'");
+        SqlTruncateHistory sqlTruncateHistory = new SqlTruncateHistory(SqlParserPos.ZERO,
+                new SqlIdentifier(TABLE, SqlParserPos.ZERO),
+                SqlLiteral.createCharString("infinite", SqlParserPos.ZERO),
+                null);
+        context = new DdlRequestContext(null, new DatamartRequest(queryRequest), sqlTruncateHistory, null, null);
+        context.setSqlCall(sqlTruncateHistory);
+        context.setDatamartName(SCHEMA);
+        EntityField field = new EntityField(0, "id", ColumnType.INT, false);
+        field.setPrimaryOrder(1);
+        Entity entity = new Entity(TABLE, SCHEMA, Collections.singletonList(field));
+        entity.setEntityType(EntityType.TABLE);
+        entity.setDestination(Collections.singleton(SourceType.ADB));
+        context.setEntity(entity);
+    }
+}
@@ -18,6 +18,7 @@ package io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.impl;
 import io.arenadata.dtm.cache.configuration.CacheProperties;
 import io.arenadata.dtm.cache.factory.CaffeineCacheManagerFactory;
 import io.arenadata.dtm.cache.factory.CaffeineCacheServiceFactory;
+import io.arenadata.dtm.cache.service.CacheService;
 import io.arenadata.dtm.common.configuration.core.CoreConstants;
 import io.arenadata.dtm.query.execution.core.base.configuration.AppConfiguration;
 import io.arenadata.dtm.query.execution.core.base.configuration.properties.ServiceDbZookeeperProperties;
@@ -61,6 +62,7 @@ public class DeltaServiceDaoImplTest {
     public static final String BAD_DTM = "bad_dtm";
     private TestingServer testingServer;
     private DeltaServiceDaoImpl dao;
+    private CacheService<String, HotDelta> hotDeltaCacheService;
 
     public DeltaServiceDaoImplTest() {
         new AppConfiguration(null).objectMapper();
@@ -74,8 +76,9 @@ public class DeltaServiceDaoImplTest {
         cacheProperties.setInitialCapacity(100);
         cacheProperties.setMaximumSize(100);
         cacheProperties.setExpireAfterAccessMinutes(5);
-        dao = new DeltaServiceDaoImpl(new CaffeineCacheServiceFactory<String, HotDelta>(caffeineCacheManagerFactory.create(cacheProperties))
-                .create(HOT_DELTA_CACHE), new CaffeineCacheServiceFactory<String, OkDelta>(caffeineCacheManagerFactory.create(cacheProperties))
+        hotDeltaCacheService = new CaffeineCacheServiceFactory<String, HotDelta>(caffeineCacheManagerFactory.create(cacheProperties))
+                .create(HOT_DELTA_CACHE);
+        dao = new DeltaServiceDaoImpl(hotDeltaCacheService, new CaffeineCacheServiceFactory<String, OkDelta>(caffeineCacheManagerFactory.create(cacheProperties))
                 .create(OK_DELTA_CACHE));
         initExecutors(dao);
     }
@@ -97,10 +100,9 @@ public class DeltaServiceDaoImplTest {
         DatamartDao datamartDao = new DatamartDaoImpl(executor, ENV_NAME);
         dao.addExecutor(new DeleteDeltaHotExecutor(executor, ENV_NAME));
         dao.addExecutor(new DeleteWriteOperationExecutor(executor, ENV_NAME));
-        dao.addExecutor(new GetDeltaByDateTimeExecutor(executor, ENV_NAME));
-        dao.addExecutor(new GetDeltaByNumExecutor(executor, ENV_NAME));
         dao.addExecutor(new GetDeltaHotExecutor(executor, ENV_NAME));
         dao.addExecutor(new GetDeltaOkExecutor(executor, ENV_NAME));
+        dao.addExecutor(new GetDeltaTimelineExecutor(executor, ENV_NAME));
         dao.addExecutor(new WriteDeltaErrorExecutor(executor, ENV_NAME));
         dao.addExecutor(new WriteDeltaHotSuccessExecutor(executor, ENV_NAME));
         dao.addExecutor(new WriteNewDeltaHotExecutor(executor, ENV_NAME));
@@ -480,6 +482,51 @@ public class DeltaServiceDaoImplTest {
         assertTrue(result.get(0).isEmpty());
     }
 
+    @Test
+    void getPreviousDeltasByTimeline() throws InterruptedException {
+        val testContext = new VertxTestContext();
+        val firstDate = LocalDateTime.now(CoreConstants.CORE_ZONE_ID).minusHours(3).withNano(0);
+        OkDelta[] actualDeltas = new OkDelta[4];
+        dao.writeNewDeltaHot(DATAMART)
+                .compose(r -> dao.writeDeltaHotSuccess(DATAMART, firstDate))
+                .compose(r -> dao.writeNewDeltaHot(DATAMART))
+                .compose(r -> dao.writeDeltaHotSuccess(DATAMART, firstDate.plusHours(1)))
+                .compose(r -> dao.getDeltaByNum(DATAMART, 0))
+                .map(r -> actualDeltas[0] = r)
+                .compose(r -> dao.writeNewDeltaHot(DATAMART))
+                .compose(r -> dao.writeDeltaHotSuccess(DATAMART, firstDate.plusHours(2)))
+                .compose(r -> dao.getDeltaByNum(DATAMART, 1))
+                .map(r -> actualDeltas[1] = r)
+                .compose(r -> dao.getDeltaByDateTime(DATAMART, firstDate.plusMinutes(90)))
+                .map(r -> actualDeltas[2] = r)
+                .compose(r -> dao.getDeltaByDateTime(DATAMART, firstDate.plusHours(5)))
+                .map(r -> actualDeltas[3] = r)
+                .onSuccess(r -> testContext.completeNow())
+                .onFailure(testContext::failNow);
+        assertThat(testContext.awaitCompletion(10, TimeUnit.SECONDS)).isTrue();
+        assertEquals(0, actualDeltas[0].getDeltaNum());
+        assertEquals(firstDate, actualDeltas[0].getDeltaDate());
+        assertEquals(1, actualDeltas[1].getDeltaNum());
+        assertEquals(1, actualDeltas[2].getDeltaNum());
+        assertEquals(2, actualDeltas[3].getDeltaNum());
+    }
+
+    @Test
+    void evictCachedDeltaHotWhenDeltaChangedOutside() throws InterruptedException {
+        val testContext = new VertxTestContext();
+        dao.writeNewDeltaHot(DATAMART)
+                .compose(r -> dao.getDeltaHot(DATAMART))
+                .compose(hotDelta -> hotDeltaCacheService.put(DATAMART, hotDelta))
+                .compose(r -> dao.getExecutor(WriteDeltaHotSuccessExecutor.class).execute(DATAMART, null))
+                .onSuccess(r -> testContext.completeNow())
+                .onFailure(testContext::failNow);
+        assertThat(testContext.awaitCompletion(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 50 && hotDeltaCacheService.get(DATAMART) != null; i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        assertNull(hotDeltaCacheService.get(DATAMART));
+    }
+
     private DeltaWriteOpRequest getOpRequest(String tableName) {
         return DeltaWriteOpRequest.builder()
                 .tableNameExt(tableName + "_ext")
@@ -19,6 +19,7 @@ import io.arenadata.dtm.cache.service.EvictQueryTemplateCacheServiceImpl;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.reader.QueryRequest;
 import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
 import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacadeImpl;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
@@ -29,18 +30,18 @@ import io.arenadata.dtm.query.execution.core.delta.factory.DeltaQueryResultFacto
 import io.arenadata.dtm.query.execution.core.delta.factory.impl.CommitDeltaQueryResultFactory;
 import io.arenadata.dtm.query.execution.core.delta.service.CommitDeltaService;
 import io.arenadata.dtm.query.execution.core.delta.utils.DeltaQueryUtil;
+import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
 import io.arenadata.dtm.query.execution.core.utils.QueryResultUtils;
+import io.arenadata.dtm.query.execution.plugin.api.dto.CommitDeltaRequest;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -57,6 +58,7 @@ class CommitDeltaExecutorTest {
     private final DeltaQueryResultFactory deltaQueryResultFactory = mock(CommitDeltaQueryResultFactory.class);
     private final EvictQueryTemplateCacheServiceImpl evictQueryTemplateCacheService =
             mock(EvictQueryTemplateCacheServiceImpl.class);
+    private final DataSourcePluginService dataSourcePluginService = mock(DataSourcePluginService.class);
     private CommitDeltaService commitDeltaService;
     private final QueryRequest req = new QueryRequest();
     private final DeltaRecord delta = new DeltaRecord();
@@ -68,8 +70,10 @@ class CommitDeltaExecutorTest {
         req.setRequestId(UUID.fromString("6efad624-b9da-4ba1-9fed-f2da478b08e8"));
         delta.setDatamart(req.getDatamartMnemonic());
         when(serviceDbFacade.getDeltaServiceDao()).thenReturn(deltaServiceDao);
+        when(dataSourcePluginService.getSourceTypes()).thenReturn(new HashSet<>(Arrays.asList(SourceType.ADB, SourceType.ADQM)));
+        when(dataSourcePluginService.commitDelta(any(), any(), any())).thenReturn(Future.succeededFuture());
         commitDeltaService = new CommitDeltaService(serviceDbFacade, deltaQueryResultFactory, Vertx.vertx(),
-                evictQueryTemplateCacheService);
+                evictQueryTemplateCacheService, dataSourcePluginService, "test");
         doNothing().when(evictQueryTemplateCacheService).evictByDatamartName(anyString());
     }
 
@@ -99,6 +103,33 @@ class CommitDeltaExecutorTest {
         assertEquals(deltaDate, ((QueryResult) promise.future().result()).getResult()
                 .get(0).get(DeltaQueryUtil.DATE_TIME_FIELD));
         verifyEvictCacheExecuted();
+        ArgumentCaptor<CommitDeltaRequest> requestCaptor = ArgumentCaptor.forClass(CommitDeltaRequest.class);
+        verify(dataSourcePluginService).commitDelta(eq(SourceType.ADB), any(), requestCaptor.capture());
+        verify(dataSourcePluginService).commitDelta(eq(SourceType.ADQM), any(), requestCaptor.capture());
+        CommitDeltaRequest request = requestCaptor.getValue();
+        assertEquals(req.getRequestId(), request.getRequestId());
+        assertEquals("test", request.getEnvName());
+        assertEquals(datamart, request.getDatamartMnemonic());
+    }
+
+    @Test
+    void executePluginCommitDeltaError() {
+        req.setSql("COMMIT DELTA");
+        Promise promise = Promise.promise();
+
+        CommitDeltaQuery deltaQuery = CommitDeltaQuery.builder()
+                .request(req)
+                .datamart(datamart)
+                .build();
+
+        when(dataSourcePluginService.commitDelta(eq(SourceType.ADQM), any(), any()))
+                .thenReturn(Future.failedFuture(new DtmException("flush failed")));
+
+        commitDeltaService.execute(deltaQuery)
+                .onComplete(promise);
+        assertTrue(promise.future().failed());
+        assertEquals("flush failed", promise.future().cause().getMessage());
+        verify(deltaServiceDao, never()).writeDeltaHotSuccess(anyString());
     }
 
     @Test
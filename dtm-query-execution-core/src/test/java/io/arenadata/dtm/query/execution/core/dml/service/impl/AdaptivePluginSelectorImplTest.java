@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service.impl;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.AdaptivePluginSelectionProperties;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptivePluginSelectorImplTest {
+    private static final String TEMPLATE = "SELECT * FROM dtm.accounts WHERE id = ?";
+    private final Set<SourceType> acceptablePlugins = EnumSet.of(SourceType.ADB, SourceType.ADG);
+    private AdaptivePluginSelectionProperties properties;
+    private AdaptivePluginSelectorImpl selector;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdaptivePluginSelectionProperties();
+        properties.setEnabled(true);
+        properties.setExplorationInterval(0);
+        selector = new AdaptivePluginSelectorImpl(properties);
+    }
+
+    @Test
+    void shouldSelectMostSuitablePluginWithoutLatency() {
+        // act
+        SourceType sourceType = selector.select(TEMPLATE, SourceType.ADB, acceptablePlugins);
+
+        // assert
+        assertEquals(SourceType.ADB, sourceType);
+    }
+
+    @Test
+    void shouldSelectFasterPlugin() throws InterruptedException {
+        // arrange
+        executeSlow(SourceType.ADB);
+        selector.track(TEMPLATE, SourceType.ADG, () -> Future.succeededFuture());
+
+        // act
+        SourceType sourceType = selector.select(TEMPLATE, SourceType.ADB, acceptablePlugins);
+
+        // assert
+        assertEquals(SourceType.ADG, sourceType);
+    }
+
+    @Test
+    void shouldNotSelectFastFailingPlugin() throws InterruptedException {
+        // arrange
+        executeSlow(SourceType.ADB);
+        selector.track(TEMPLATE, SourceType.ADG, () -> Future.failedFuture(new DtmException("Connection refused")));
+
+        // act
+        SourceType sourceType = selector.select(TEMPLATE, SourceType.ADB, acceptablePlugins);
+
+        // assert
+        assertEquals(SourceType.ADB, sourceType);
+    }
+
+    @Test
+    void shouldSelectOtherPluginWhenMostSuitableFails() throws InterruptedException {
+        // arrange
+        selector.track(TEMPLATE, SourceType.ADB, () -> Future.failedFuture(new DtmException("Connection refused")));
+        executeSlow(SourceType.ADG);
+
+        // act
+        SourceType sourceType = selector.select(TEMPLATE, SourceType.ADB, acceptablePlugins);
+
+        // assert
+        assertEquals(SourceType.ADG, sourceType);
+    }
+
+    @Test
+    void shouldSelectMostSuitablePluginWhenDisabled() throws InterruptedException {
+        // arrange
+        properties.setEnabled(false);
+        executeSlow(SourceType.ADB);
+        selector.track(TEMPLATE, SourceType.ADG, () -> Future.succeededFuture());
+
+        // act
+        SourceType sourceType = selector.select(TEMPLATE, SourceType.ADB, acceptablePlugins);
+
+        // assert
+        assertEquals(SourceType.ADB, sourceType);
+    }
+
+    @Test
+    void shouldSelectMostSuitablePluginWhenOthersAreNotAcceptable() throws InterruptedException {
+        // arrange
+        executeSlow(SourceType.ADB);
+        selector.track(TEMPLATE, SourceType.ADG, () -> Future.succeededFuture());
+
+        // act
+        SourceType sourceType = selector.select(TEMPLATE, SourceType.ADB, EnumSet.of(SourceType.ADB));
+
+        // assert
+        assertEquals(SourceType.ADB, sourceType);
+    }
+
+    @Test
+    void shouldCountStreamedQueryInFlightUntilStreamClosed() throws InterruptedException {
+        // arrange
+        executeSlow(SourceType.ADB, 200);
+        Promise<QueryResult> promise = Promise.promise();
+        Future<QueryResult> result = selector.track(TEMPLATE, SourceType.ADG, promise::future);
+        TimeUnit.MILLISECONDS.sleep(80);
+        promise.complete(new StreamedQueryResult(UUID.randomUUID(), Collections.emptyList(),
+                QueryResultStream.of(Collections.emptyList(), 1)));
+
+        // act
+        SourceType whileStreaming = selector.select(TEMPLATE, SourceType.ADB, acceptablePlugins);
+        ((StreamedQueryResult) result.result()).getStream().close();
+        SourceType afterClose = selector.select(TEMPLATE, SourceType.ADB, acceptablePlugins);
+
+        // assert
+        assertEquals(SourceType.ADB, whileStreaming);
+        assertEquals(SourceType.ADG, afterClose);
+    }
+
+    @Test
+    void shouldExploreOtherPlugin() {
+        // arrange
+        properties.setExplorationInterval(2);
+
+        // act
+        SourceType first = selector.select(TEMPLATE, SourceType.ADB, acceptablePlugins);
+        SourceType second = selector.select(TEMPLATE, SourceType.ADB, acceptablePlugins);
+
+        // assert
+        assertEquals(SourceType.ADB, first);
+        assertEquals(SourceType.ADG, second);
+    }
+
+    private void executeSlow(SourceType sourceType) throws InterruptedException {
+        executeSlow(sourceType, 50);
+    }
+
+    private void executeSlow(SourceType sourceType, long millis) throws InterruptedException {
+        Promise<Void> promise = Promise.promise();
+        selector.track(TEMPLATE, sourceType, promise::future);
+        TimeUnit.MILLISECONDS.sleep(millis);
+        promise.complete();
+    }
+}
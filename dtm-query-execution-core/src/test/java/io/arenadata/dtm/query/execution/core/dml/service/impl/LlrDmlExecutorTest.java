@@ -25,6 +25,7 @@ import io.arenadata.dtm.common.metrics.RequestMetrics;
 import io.arenadata.dtm.common.reader.*;
 import io.arenadata.dtm.query.calcite.core.dto.delta.DeltaQueryPreprocessorResponse;
 import io.arenadata.dtm.query.calcite.core.service.QueryTemplateExtractor;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.LlrResultCacheProperties;
 import io.arenadata.dtm.query.execution.core.base.service.delta.DeltaQueryPreprocessor;
 import io.arenadata.dtm.query.execution.core.dml.dto.DmlRequest;
 import io.arenadata.dtm.query.execution.core.dml.dto.DmlRequestContext;
@@ -33,8 +34,11 @@ import io.arenadata.dtm.query.execution.core.dml.factory.LlrRequestContextFactor
 import io.arenadata.dtm.query.execution.core.dml.service.*;
 import io.arenadata.dtm.query.execution.core.dml.service.view.ViewReplacerService;
 import io.arenadata.dtm.query.execution.core.metrics.service.MetricsService;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.AdaptivePluginSelectionProperties;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
 import io.arenadata.dtm.query.execution.core.utils.TestUtils;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -98,7 +102,9 @@ class LlrDmlExecutorTest {
     void setUp() {
         dmlExecutor = new LlrDmlExecutor(dataSourcePluginService, acceptableSourceTypesService, deltaQueryPreprocessor, viewReplacerService,
                 infoSchemaExecutor, infoSchemaDefService, metricsService, templateExtractor, queryCacheService, preparedQueryCacheService,
-                llrRequestContextFactory, selectCategoryQualifier, shardingCategoryQualifier, suitablePluginSelector, SQL_DIALECT, parametersTypeExtractor);
+                llrRequestContextFactory, selectCategoryQualifier, shardingCategoryQualifier, suitablePluginSelector, SQL_DIALECT, parametersTypeExtractor,
+                new LlrResultCacheServiceImpl(new LlrResultCacheProperties()), new QueryStageMetrics(new SimpleMeterRegistry()),
+                new AdaptivePluginSelectorImpl(new AdaptivePluginSelectionProperties()));
 
         lenient().when(viewReplacerService.replace(any(), any())).thenAnswer(invocation -> Future.succeededFuture(invocation.getArgument(0)));
         lenient().when(deltaQueryPreprocessor.process(any())).thenAnswer(invocation -> Future.succeededFuture(new DeltaQueryPreprocessorResponse(Collections.emptyList(), invocation.getArgument(0))));
@@ -150,7 +156,7 @@ class LlrDmlExecutorTest {
                 .sqlNode(sqlNode)
                 .build();
 
-        when(dataSourcePluginService.llr(any(), any(), any())).thenReturn(Future.succeededFuture(QueryResult.emptyResult()));
+        when(dataSourcePluginService.llr(any(), any(), any(), any())).thenReturn(Future.succeededFuture(QueryResult.emptyResult()));
 
         // act
         Future<QueryResult> result = dmlExecutor.execute(dmlRequest);
@@ -161,7 +167,7 @@ class LlrDmlExecutorTest {
                 fail(ar.cause());
             }
 
-            verify(dataSourcePluginService).llr(any(), any(), any());
+            verify(dataSourcePluginService).llr(any(), any(), any(), any());
         }).completeNow());
     }
 
@@ -183,7 +189,7 @@ class LlrDmlExecutorTest {
                 .sqlNode(sqlNode)
                 .build();
 
-        when(dataSourcePluginService.llr(any(), any(), any())).thenReturn(Future.succeededFuture(QueryResult.emptyResult()));
+        when(dataSourcePluginService.llr(any(), any(), any(), any())).thenReturn(Future.succeededFuture(QueryResult.emptyResult()));
 
         // act
         Future<QueryResult> result = dmlExecutor.execute(dmlRequest);
@@ -194,7 +200,7 @@ class LlrDmlExecutorTest {
                 fail(ar.cause());
             }
 
-            verify(dataSourcePluginService).llr(any(), any(), any());
+            verify(dataSourcePluginService).llr(any(), any(), any(), any());
         }).completeNow());
     }
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service.impl;
+
+import io.arenadata.dtm.common.delta.DeltaInformation;
+import io.arenadata.dtm.common.delta.DeltaType;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.QueryTemplateResult;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.LlrResultCacheProperties;
+import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
+import io.vertx.core.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlrResultCacheServiceImplTest {
+    private final AtomicInteger executions = new AtomicInteger();
+    private final Supplier<Future<QueryResult>> executor = () -> {
+        executions.incrementAndGet();
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1L);
+        return Future.succeededFuture(QueryResult.builder()
+                .result(Collections.singletonList(row))
+                .build());
+    };
+    private LlrResultCacheServiceImpl cacheService;
+
+    @BeforeEach
+    void setUp() {
+        LlrResultCacheProperties properties = new LlrResultCacheProperties();
+        properties.setEnabled(true);
+        cacheService = new LlrResultCacheServiceImpl(properties);
+    }
+
+    @Test
+    void shouldReturnCachedResultWhenDeltaNumPinned() {
+        // arrange
+        UUID requestId = UUID.randomUUID();
+
+        // act
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor);
+        QueryResult result = cacheService.getOrExecute(SourceType.ADB, createRequest(requestId, DeltaType.NUM, false), executor).result();
+
+        // assert
+        assertEquals(1, executions.get());
+        assertEquals(requestId, result.getRequestId());
+        assertEquals(1L, result.getResult().get(0).get("id"));
+    }
+
+    @Test
+    void shouldReturnCachedResultWhenFetchSizeSet() {
+        // act
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false, 1000), executor);
+        QueryResult result = cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false, 1000), executor).result();
+
+        // assert
+        assertEquals(1, executions.get());
+        assertEquals(1L, result.getResult().get(0).get("id"));
+    }
+
+    @Test
+    void shouldCacheStreamedResultWhenReadToEnd() {
+        // arrange
+        Supplier<Future<QueryResult>> streamExecutor = () -> {
+            executions.incrementAndGet();
+            return Future.succeededFuture(new StreamedQueryResult(null, Collections.emptyList(),
+                    QueryResultStream.of(Arrays.asList(createRow(1L), createRow(2L)), 1)));
+        };
+
+        // act
+        QueryResultStream stream = ((StreamedQueryResult) cacheService.getOrExecute(SourceType.ADB,
+                createRequest(UUID.randomUUID(), DeltaType.NUM, false, 1), streamExecutor).result()).getStream();
+        stream.next();
+        QueryResult partlyReadResult = cacheService.getOrExecute(SourceType.ADB,
+                createRequest(UUID.randomUUID(), DeltaType.NUM, false, 1), streamExecutor).result();
+        ((StreamedQueryResult) partlyReadResult).getStream().close();
+        stream.next();
+        QueryResult result = cacheService.getOrExecute(SourceType.ADB,
+                createRequest(UUID.randomUUID(), DeltaType.NUM, false, 1), streamExecutor).result();
+
+        // assert
+        assertEquals(2, executions.get());
+        assertFalse(result instanceof StreamedQueryResult);
+        assertEquals(Arrays.asList(createRow(1L), createRow(2L)), result.getResult());
+    }
+
+    @Test
+    void shouldNotShareCachedRows() {
+        // act
+        QueryResult executedResult = cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor).result();
+        executedResult.getResult().get(0).put("id", 2L);
+        QueryResult cachedResult = cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor).result();
+        cachedResult.getResult().get(0).put("id", 3L);
+        cachedResult.getResult().clear();
+        QueryResult result = cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor).result();
+
+        // assert
+        assertEquals(1, executions.get());
+        assertEquals(1L, result.getResult().get(0).get("id"));
+    }
+
+    @Test
+    void shouldExecuteWhenDeltaNotPinned() {
+        // act
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.WITHOUT_SNAPSHOT, false), executor);
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.WITHOUT_SNAPSHOT, false), executor);
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, true), executor);
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, true), executor);
+
+        // assert
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    void shouldExecuteAfterEntityEvicted() {
+        // act
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor);
+        cacheService.evictByEntityName("other_dtm", "tbl");
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor);
+        cacheService.evictByEntityName("DTM", "TBL");
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor);
+
+        // assert
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldExecuteAfterDatamartEvicted() {
+        // act
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor);
+        cacheService.evictByDatamartName("other_dtm");
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor);
+        cacheService.evictByDatamartName("DTM");
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor);
+        cacheService.getOrExecute(SourceType.ADB, createRequest(UUID.randomUUID(), DeltaType.NUM, false), executor);
+
+        // assert
+        assertEquals(2, executions.get());
+    }
+
+    private Map<String, Object> createRow(long id) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        return row;
+    }
+
+    private LlrRequest createRequest(UUID requestId, DeltaType deltaType, boolean latestUncommittedDelta) {
+        return createRequest(requestId, deltaType, latestUncommittedDelta, null);
+    }
+
+    private LlrRequest createRequest(UUID requestId, DeltaType deltaType, boolean latestUncommittedDelta, Integer fetchSize) {
+        DeltaInformation deltaInformation = DeltaInformation.builder()
+                .type(deltaType)
+                .isLatestUncommittedDelta(latestUncommittedDelta)
+                .selectOnNum(5L)
+                .schemaName("dtm")
+                .tableName("tbl")
+                .build();
+        return LlrRequest.builder()
+                .requestId(requestId)
+                .fetchSize(fetchSize)
+                .datamartMnemonic("dtm")
+                .sourceQueryTemplateResult(new QueryTemplateResult("SELECT * FROM dtm.tbl WHERE id = ?", null, Collections.emptyList()))
+                .deltaInformations(Collections.singletonList(deltaInformation))
+                .build();
+    }
+}
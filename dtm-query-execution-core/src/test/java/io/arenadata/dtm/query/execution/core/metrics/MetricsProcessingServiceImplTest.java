@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.metrics;
+
+import io.arenadata.dtm.common.metrics.RequestMetrics;
+import io.arenadata.dtm.common.model.SqlProcessingType;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.metrics.configuration.MetricsProperties;
+import io.arenadata.dtm.query.execution.core.metrics.dto.AllStats;
+import io.arenadata.dtm.query.execution.core.metrics.dto.RequestStats;
+import io.arenadata.dtm.query.execution.core.metrics.dto.ResultMetrics;
+import io.arenadata.dtm.query.execution.core.metrics.repository.MapActiveRequestsRepository;
+import io.arenadata.dtm.query.execution.core.metrics.service.impl.MetricsProcessingServiceImpl;
+import io.arenadata.dtm.query.execution.core.metrics.service.impl.MetricsProviderImpl;
+import io.arenadata.dtm.query.execution.core.metrics.service.impl.RequestMeters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.arenadata.dtm.query.execution.core.metrics.utils.MetricsUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsProcessingServiceImplTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestMeters requestMeters = new RequestMeters(meterRegistry);
+    private final MapActiveRequestsRepository activeRequestsRepository = new MapActiveRequestsRepository();
+    private final MetricsProcessingServiceImpl processingService =
+            new MetricsProcessingServiceImpl(requestMeters, activeRequestsRepository);
+    private final MetricsProviderImpl metricsProvider =
+            new MetricsProviderImpl(meterRegistry, activeRequestsRepository, new MetricsProperties(), requestMeters);
+
+    @Test
+    void shouldTrackActiveAndRecordFinishedRequest() {
+        LocalDateTime startTime = LocalDateTime.now();
+        RequestMetrics requestMetrics = RequestMetrics.builder()
+                .requestId(UUID.randomUUID())
+                .startTime(startTime)
+                .actionType(SqlProcessingType.LLR)
+                .sourceType(SourceType.ADB)
+                .isActive(true)
+                .build();
+
+        processingService.process(requestMetrics);
+        assertSame(requestMetrics, activeRequestsRepository.get(requestMetrics.getRequestId()));
+
+        requestMetrics.setActive(false);
+        requestMetrics.setEndTime(startTime.plusNanos(5_000_000));
+        processingService.process(requestMetrics);
+
+        assertNull(activeRequestsRepository.get(requestMetrics.getRequestId()));
+        assertEquals(1, meterRegistry.find(REQUESTS_AMOUNT)
+                .tags(ACTION_TYPE, SqlProcessingType.LLR.name(), SOURCE_TYPE, SourceType.ADB.name())
+                .functionCounter().count());
+        assertEquals(5, meterRegistry.find(REQUESTS_TIME)
+                .tags(ACTION_TYPE, SqlProcessingType.LLR.name(), SOURCE_TYPE, SourceType.ADB.name())
+                .timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+        RequestStats llrStats = getStats(metricsProvider.get(), SqlProcessingType.LLR);
+        assertEquals(1L, llrStats.getAllStats().getTotal());
+        AllStats adbStats = llrStats.getAllStats().getPerPlugin().stream()
+                .filter(stats -> stats.getSourceType() == SourceType.ADB)
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertEquals(1L, adbStats.getCountMetrics().getCount());
+        assertEquals(1L, adbStats.getTimeMetrics().getCount());
+    }
+
+    @Test
+    void shouldRecordAfterClear() {
+        RequestMetrics requestMetrics = RequestMetrics.builder()
+                .requestId(UUID.randomUUID())
+                .startTime(LocalDateTime.now())
+                .endTime(LocalDateTime.now())
+                .actionType(SqlProcessingType.DDL)
+                .sourceType(SourceType.ADG)
+                .build();
+        processingService.process(requestMetrics);
+
+        metricsProvider.clear();
+        processingService.process(requestMetrics);
+
+        assertEquals(1, meterRegistry.find(REQUESTS_AMOUNT)
+                .tags(ACTION_TYPE, SqlProcessingType.DDL.name(), SOURCE_TYPE, SourceType.ADG.name())
+                .functionCounter().count());
+    }
+
+    private RequestStats getStats(ResultMetrics resultMetrics, SqlProcessingType actionType) {
+        return resultMetrics.getStatistics().stream()
+                .filter(stats -> stats.getActionType() == actionType)
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+}
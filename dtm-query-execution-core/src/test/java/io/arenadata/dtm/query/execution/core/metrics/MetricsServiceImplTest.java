@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.metrics;
+
+import io.arenadata.dtm.common.metrics.RequestMetrics;
+import io.arenadata.dtm.common.model.SqlProcessingType;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.metrics.configuration.MetricsProperties;
+import io.arenadata.dtm.query.execution.core.metrics.service.MetricsProcessingService;
+import io.arenadata.dtm.query.execution.core.metrics.service.MetricsProducer;
+import io.arenadata.dtm.query.execution.core.metrics.service.impl.MetricsServiceImpl;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MetricsServiceImplTest {
+    @SuppressWarnings("unchecked")
+    private final MetricsProcessingService<RequestMetrics> metricsProcessingService = mock(MetricsProcessingService.class);
+    private final MetricsProducer metricsProducer = mock(MetricsProducer.class);
+    private final RequestMetrics requestMetrics = RequestMetrics.builder()
+            .requestId(UUID.randomUUID())
+            .startTime(LocalDateTime.now())
+            .isActive(true)
+            .build();
+    private MetricsServiceImpl metricsService;
+
+    @BeforeEach
+    void setUp() {
+        MetricsProperties metricsProperties = new MetricsProperties();
+        metricsProperties.setEnabled(true);
+        metricsService = new MetricsServiceImpl(metricsProcessingService, metricsProducer, metricsProperties);
+        doThrow(new NullPointerException("No request meters")).when(metricsProcessingService).process(any());
+    }
+
+    @Test
+    void shouldHandleResultWhenMetricsProcessingFailed() {
+        // arrange
+        AtomicReference<AsyncResult<String>> handled = new AtomicReference<>();
+
+        // act
+        metricsService.<String>sendMetrics(SourceType.ADB, SqlProcessingType.LLR, requestMetrics, handled::set)
+                .handle(Future.succeededFuture("result"));
+
+        // assert
+        assertTrue(handled.get().succeeded());
+        assertEquals("result", handled.get().result());
+    }
+
+    @Test
+    void shouldHandleErrorWhenMetricsProcessingFailed() {
+        // arrange
+        AtomicReference<AsyncResult<String>> handled = new AtomicReference<>();
+        IllegalStateException error = new IllegalStateException("Request failed");
+
+        // act
+        metricsService.<String>sendMetrics(SourceType.ADB, SqlProcessingType.LLR, requestMetrics, handled::set)
+                .handle(Future.failedFuture(error));
+
+        // assert
+        assertTrue(handled.get().failed());
+        assertSame(error, handled.get().cause());
+    }
+
+    @Test
+    void shouldCompleteWhenMetricsProcessingFailed() {
+        // act
+        Future<Void> result = metricsService.sendMetrics(SourceType.ADB, SqlProcessingType.LLR, requestMetrics);
+
+        // assert
+        assertTrue(result.succeeded());
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.service.impl;
+
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.LlrHedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(VertxExtension.class)
+class LlrHedgingServiceImplTest {
+    private final Set<SourceType> acceptableSourceTypes = EnumSet.of(SourceType.ADB, SourceType.ADG);
+    private final List<SourceType> executions = new CopyOnWriteArrayList<>();
+    private LlrHedgingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LlrHedgingProperties();
+        properties.setEnabled(true);
+        properties.setMinSamples(3);
+        properties.setBudgetRatio(1);
+    }
+
+    @Test
+    void shouldHedgeWhenPrimaryIsSlow(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        LlrHedgingServiceImpl hedgingService = new LlrHedgingServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+        warmUp(hedgingService);
+        Promise<SourceType> primary = Promise.promise();
+
+        // act
+        hedgingService.execute(SourceType.ADB, acceptableSourceTypes, sourceType -> {
+                    executions.add(sourceType);
+                    return sourceType == SourceType.ADB ? primary.future() : Future.succeededFuture(sourceType);
+                })
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    assertEquals(SourceType.ADG, ar.result());
+                    assertEquals(EnumSet.of(SourceType.ADB, SourceType.ADG), EnumSet.copyOf(executions));
+                }).completeNow());
+    }
+
+    @Test
+    void shouldNotHedgeWhenDisabled(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        properties.setEnabled(false);
+        LlrHedgingServiceImpl hedgingService = new LlrHedgingServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+        warmUp(hedgingService);
+        executions.clear();
+
+        // act
+        hedgingService.execute(SourceType.ADB, acceptableSourceTypes, sourceType -> {
+                    executions.add(sourceType);
+                    return Future.future(promise -> vertx.setTimer(50, id -> promise.complete(sourceType)));
+                })
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    assertEquals(SourceType.ADB, ar.result());
+                    assertEquals(1, executions.size());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldNotHedgeWithoutBudget(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        properties.setBudgetRatio(0);
+        LlrHedgingServiceImpl hedgingService = new LlrHedgingServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+        warmUp(hedgingService);
+        executions.clear();
+
+        // act
+        hedgingService.execute(SourceType.ADB, acceptableSourceTypes, sourceType -> {
+                    executions.add(sourceType);
+                    return Future.future(promise -> vertx.setTimer(50, id -> promise.complete(sourceType)));
+                })
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    assertEquals(SourceType.ADB, ar.result());
+                    assertEquals(1, executions.size());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldFailWhenPrimaryFailsBeforeHedging(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        LlrHedgingServiceImpl hedgingService = new LlrHedgingServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+        warmUp(hedgingService);
+        executions.clear();
+
+        // act
+        hedgingService.execute(SourceType.ADB, acceptableSourceTypes, sourceType -> {
+                    executions.add(sourceType);
+                    return Future.<SourceType>failedFuture(new IllegalStateException("Plugin is unavailable"));
+                })
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    assertEquals("Plugin is unavailable", ar.cause().getMessage());
+                    assertEquals(1, executions.size());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldCloseStreamOfDroppedResult(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        LlrHedgingServiceImpl hedgingService = new LlrHedgingServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+        warmUp(hedgingService);
+        Promise<QueryResult> primary = Promise.promise();
+        QueryResultStream primaryStream = mock(QueryResultStream.class);
+        when(primaryStream.close()).thenReturn(Future.succeededFuture());
+        QueryResultStream hedgeStream = mock(QueryResultStream.class);
+        StreamedQueryResult hedgeResult = new StreamedQueryResult(null, Collections.emptyList(), hedgeStream);
+
+        // act
+        hedgingService.execute(SourceType.ADB, acceptableSourceTypes,
+                        sourceType -> sourceType == SourceType.ADB ? primary.future() : Future.<QueryResult>succeededFuture(hedgeResult))
+                .onComplete(ar -> {
+                    primary.complete(new StreamedQueryResult(null, Collections.emptyList(), primaryStream));
+                    testContext.verify(() -> {
+                        // assert
+                        assertSame(hedgeResult, ar.result());
+                        verify(primaryStream).close();
+                        verify(hedgeStream, never()).close();
+                    }).completeNow();
+                });
+    }
+
+    private void warmUp(LlrHedgingServiceImpl hedgingService) {
+        for (int i = 0; i < properties.getMinSamples(); i++) {
+            hedgingService.execute(SourceType.ADB, acceptableSourceTypes, Future::succeededFuture);
+        }
+    }
+}
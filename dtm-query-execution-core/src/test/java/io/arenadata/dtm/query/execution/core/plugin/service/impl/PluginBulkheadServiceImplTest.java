@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.service.impl;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.PluginBulkheadProperties;
+import io.arenadata.dtm.query.execution.core.plugin.exception.PluginOverloadedException;
+import io.arenadata.dtm.query.execution.core.plugin.exception.PluginTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+class PluginBulkheadServiceImplTest {
+    private final PluginBulkheadProperties properties = new PluginBulkheadProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxConcurrentRequests(1);
+        properties.setMaxQueuedRequests(1);
+        properties.setTimeoutMs(100L);
+    }
+
+    @Test
+    void shouldSuccessWhenFutureSucceed(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        PluginBulkheadServiceImpl bulkheadService = new PluginBulkheadServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+
+        // act
+        bulkheadService.execute(SourceType.ADB, () -> Future.succeededFuture("RESULT"))
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    assertTrue(ar.succeeded());
+                    assertEquals("RESULT", ar.result());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldErrorWhenFutureEndedUpWithError(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        PluginBulkheadServiceImpl bulkheadService = new PluginBulkheadServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+        DtmException exception = new DtmException("Exception");
+
+        // act
+        bulkheadService.execute(SourceType.ADB, () -> Future.failedFuture(exception))
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    assertTrue(ar.failed());
+                    assertSame(exception, ar.cause());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldTimeoutWhenExecuteTimeout(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        PluginBulkheadServiceImpl bulkheadService = new PluginBulkheadServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+
+        // act
+        bulkheadService.execute(SourceType.ADB, () -> Promise.promise().future())
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    assertTrue(ar.failed());
+                    assertSame(PluginTimeoutException.class, ar.cause().getClass());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldQueueAndRejectWhenPluginIsBusy(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        properties.setTimeoutMs(0);
+        PluginBulkheadServiceImpl bulkheadService = new PluginBulkheadServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+        AtomicInteger executions = new AtomicInteger();
+        Promise<Object> running = Promise.promise();
+        bulkheadService.execute(SourceType.ADB, () -> {
+            executions.incrementAndGet();
+            return running.future();
+        });
+        Future<Object> queued = bulkheadService.execute(SourceType.ADB, () -> {
+            executions.incrementAndGet();
+            return Future.succeededFuture("QUEUED");
+        });
+
+        // act
+        bulkheadService.execute(SourceType.ADB, () -> Future.succeededFuture("REJECTED"))
+                .onComplete(rejected -> {
+                    testContext.verify(() -> {
+                        // assert
+                        assertSame(PluginOverloadedException.class, rejected.cause().getClass());
+                        assertEquals(1, executions.get());
+                    });
+                    running.complete();
+                    queued.onComplete(ar -> testContext.verify(() -> {
+                        assertEquals("QUEUED", ar.result());
+                        assertEquals(2, executions.get());
+                    }).completeNow());
+                });
+    }
+
+    @Test
+    void shouldNotLimitOtherPlugin(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        properties.setTimeoutMs(0);
+        PluginBulkheadServiceImpl bulkheadService = new PluginBulkheadServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+        bulkheadService.execute(SourceType.ADB, () -> Promise.promise().future());
+        bulkheadService.execute(SourceType.ADB, () -> Promise.promise().future());
+
+        // act
+        bulkheadService.execute(SourceType.ADG, () -> Future.succeededFuture("RESULT"))
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    assertEquals("RESULT", ar.result());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldHoldSlotUntilTimedOutExecutionCompleted(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        properties.setMaxQueuedRequests(0);
+        PluginBulkheadServiceImpl bulkheadService = new PluginBulkheadServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+        Promise<Object> running = Promise.promise();
+
+        // act
+        bulkheadService.execute(SourceType.ADB, running::future)
+                .onComplete(timedOut -> {
+                    Future<Object> whileRunning = bulkheadService.execute(SourceType.ADB, () -> Future.succeededFuture("RESULT"));
+                    running.complete();
+                    Future<Object> afterCompletion = bulkheadService.execute(SourceType.ADB, () -> Future.succeededFuture("RESULT"));
+                    testContext.verify(() -> {
+                        // assert
+                        assertSame(PluginTimeoutException.class, timedOut.cause().getClass());
+                        assertSame(PluginOverloadedException.class, whileRunning.cause().getClass());
+                        assertEquals("RESULT", afterCompletion.result());
+                    }).completeNow();
+                });
+    }
+
+    @Test
+    void shouldHoldSlotUntilStreamClosed(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        properties.setMaxQueuedRequests(0);
+        PluginBulkheadServiceImpl bulkheadService = new PluginBulkheadServiceImpl(vertx, new SimpleMeterRegistry(), properties);
+        QueryResultStream stream = QueryResultStream.of(Collections.singletonList(Collections.singletonMap("id", 1)), 1);
+
+        // act
+        bulkheadService.execute(SourceType.ADB, () -> Future.succeededFuture(new StreamedQueryResult(UUID.randomUUID(), Collections.emptyList(), stream)))
+                .onComplete(streamed -> {
+                    Future<Object> whileStreaming = bulkheadService.execute(SourceType.ADB, () -> Future.succeededFuture("RESULT"));
+                    streamed.result().getStream().close();
+                    Future<Object> afterClose = bulkheadService.execute(SourceType.ADB, () -> Future.succeededFuture("RESULT"));
+                    testContext.verify(() -> {
+                        // assert
+                        assertSame(PluginOverloadedException.class, whileStreaming.cause().getClass());
+                        assertEquals("RESULT", afterClose.result());
+                    }).completeNow();
+                });
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.common.reader.BinaryQueryResultDecoder;
+import io.arenadata.dtm.common.reader.ColumnIndex;
+import io.arenadata.dtm.common.reader.IndexedRow;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CoreHttpProperties;
+import io.arenadata.dtm.query.execution.core.query.service.impl.BinaryQueryResultResponseWriter;
+import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.jackson.DatabindCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BinaryQueryResultResponseWriterTest {
+    private final ObjectMapper objectMapper = DatabindCodec.mapper();
+    private final CoreHttpProperties httpProperties = new CoreHttpProperties();
+    private final BinaryQueryResultResponseWriter writer = new BinaryQueryResultResponseWriter(objectMapper, httpProperties,
+            new QueryStageMetrics(new SimpleMeterRegistry()));
+    private final Buffer written = Buffer.buffer();
+    private HttpServerResponse response;
+
+    @BeforeEach
+    void setUp() {
+        httpProperties.setResponseChunkSize(2);
+        response = mock(HttpServerResponse.class, RETURNS_SELF);
+        when(response.write(any(Buffer.class))).thenAnswer(invocation -> {
+            written.appendBuffer(invocation.getArgument(0));
+            return Future.succeededFuture();
+        });
+        doAnswer(invocation -> {
+            written.appendBuffer(invocation.getArgument(0));
+            Handler<AsyncResult<Void>> handler = invocation.getArgument(1);
+            handler.handle(Future.succeededFuture());
+            return null;
+        }).when(response).end(any(Buffer.class), any());
+    }
+
+    @Test
+    void shouldDecodeSameValuesAsJson() throws Exception {
+        QueryResult queryResult = createQueryResult(5);
+
+        Future<Void> result = writer.write(queryResult, response);
+
+        assertTrue(result.succeeded());
+        verify(response, times(2)).write(any(Buffer.class));
+        BinaryQueryResultDecoder decoder = new BinaryQueryResultDecoder(new ByteArrayInputStream(written.getBytes()),
+                objectMapper);
+        assertEquals(queryResult.getRequestId().toString(), decoder.getRequestId());
+        assertEquals(queryResult.getMetadata(), decoder.getMetadata());
+        Map<String, Object> jsonResult = objectMapper.readValue(objectMapper.writeValueAsString(queryResult), Map.class);
+        for (Map<String, Object> jsonRow : (List<Map<String, Object>>) jsonResult.get("result")) {
+            Object[] row = decoder.readRow();
+            assertNotNull(row);
+            for (int i = 0; i < row.length; i++) {
+                assertEquals(jsonRow.get(queryResult.getMetadata().get(i).getName()), row[i]);
+            }
+        }
+        assertNull(decoder.readRow());
+    }
+
+    @Test
+    void shouldDecodeEmptyResult() throws Exception {
+        QueryResult queryResult = createQueryResult(0);
+
+        Future<Void> result = writer.write(queryResult, response);
+
+        assertTrue(result.succeeded());
+        verify(response, never()).write(any(Buffer.class));
+        BinaryQueryResultDecoder decoder = new BinaryQueryResultDecoder(new ByteArrayInputStream(written.getBytes()),
+                objectMapper);
+        assertEquals(queryResult.getMetadata(), decoder.getMetadata());
+        assertNull(decoder.readRow());
+    }
+
+    private QueryResult createQueryResult(int rowCount) {
+        List<ColumnMetadata> metadata = Arrays.asList(new ColumnMetadata("id", ColumnType.BIGINT),
+                new ColumnMetadata("name", ColumnType.VARCHAR),
+                new ColumnMetadata("amount", ColumnType.DOUBLE),
+                new ColumnMetadata("big", ColumnType.BIGINT),
+                new ColumnMetadata("flag", ColumnType.BOOLEAN));
+        ColumnIndex columnIndex = ColumnIndex.of(metadata);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            IndexedRow row = columnIndex.newRow();
+            row.setValue(0, (long) i);
+            row.setValue(1, i == 1 ? null : "name_" + i);
+            row.setValue(2, i + 0.5f);
+            row.setValue(3, BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(i + 1)));
+            row.setValue(4, i % 2 == 0);
+            rows.add(row);
+        }
+        return QueryResult.builder()
+                .requestId(UUID.randomUUID())
+                .metadata(metadata)
+                .result(rows)
+                .build();
+    }
+}
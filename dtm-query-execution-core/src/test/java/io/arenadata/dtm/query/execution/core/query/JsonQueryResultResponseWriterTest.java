@@ -0,0 +1,254 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.common.reader.ColumnIndex;
+import io.arenadata.dtm.common.reader.IndexedRow;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CoreHttpProperties;
+import io.arenadata.dtm.query.execution.core.query.service.impl.JsonQueryResultResponseWriter;
+import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.jackson.DatabindCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JsonQueryResultResponseWriterTest {
+    private final ObjectMapper objectMapper = DatabindCodec.mapper();
+    private final CoreHttpProperties httpProperties = new CoreHttpProperties();
+    private final JsonQueryResultResponseWriter writer = new JsonQueryResultResponseWriter(objectMapper, httpProperties,
+            new QueryStageMetrics(new SimpleMeterRegistry()));
+    private final Buffer written = Buffer.buffer();
+    private HttpServerResponse response;
+
+    @BeforeEach
+    void setUp() {
+        httpProperties.setResponseChunkSize(2);
+        response = mock(HttpServerResponse.class, RETURNS_SELF);
+        when(response.write(any(Buffer.class))).thenAnswer(invocation -> {
+            written.appendBuffer(invocation.getArgument(0));
+            return Future.succeededFuture();
+        });
+        doAnswer(invocation -> {
+            written.appendBuffer(invocation.getArgument(0));
+            Handler<AsyncResult<Void>> handler = invocation.getArgument(1);
+            handler.handle(Future.succeededFuture());
+            return null;
+        }).when(response).end(any(Buffer.class), any());
+    }
+
+    @Test
+    void shouldWriteChunkedJsonEqualToSerializedResult() throws Exception {
+        QueryResult queryResult = createQueryResult(5);
+
+        Future<Void> result = writer.write(queryResult, response);
+
+        assertTrue(result.succeeded());
+        verify(response, times(2)).write(any(Buffer.class));
+        verify(response, atLeastOnce()).setChunked(true);
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(queryResult)),
+                objectMapper.readTree(written.getBytes()));
+    }
+
+    @Test
+    void shouldEndWithoutChunkingWhenResultFitsOneChunk() throws Exception {
+        QueryResult queryResult = createQueryResult(1);
+
+        Future<Void> result = writer.write(queryResult, response);
+
+        assertTrue(result.succeeded());
+        verify(response, never()).write(any(Buffer.class));
+        verify(response, never()).setChunked(anyBoolean());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(queryResult)),
+                objectMapper.readTree(written.getBytes()));
+    }
+
+    @Test
+    void shouldWaitForDrainWhenWriteQueueFull() throws Exception {
+        QueryResult queryResult = createQueryResult(5);
+        when(response.writeQueueFull()).thenReturn(true, false);
+        ArgumentCaptor<Handler<Void>> drainCaptor = ArgumentCaptor.forClass(Handler.class);
+
+        Future<Void> result = writer.write(queryResult, response);
+
+        assertFalse(result.isComplete());
+        verify(response, times(1)).write(any(Buffer.class));
+        verify(response).drainHandler(drainCaptor.capture());
+
+        drainCaptor.getValue().handle(null);
+
+        assertTrue(result.succeeded());
+        verify(response, times(2)).write(any(Buffer.class));
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(queryResult)),
+                objectMapper.readTree(written.getBytes()));
+    }
+
+    @Test
+    void shouldFailWhenConnectionClosed() {
+        when(response.closed()).thenReturn(true);
+
+        Future<Void> result = writer.write(createQueryResult(5), response);
+
+        assertTrue(result.failed());
+        verify(response, never()).end(any(Buffer.class), any());
+    }
+
+    @Test
+    void shouldWriteStreamedResultByChunks() throws Exception {
+        QueryResult queryResult = createQueryResult(5);
+        QueryResultStream stream = spy(QueryResultStream.of(queryResult.getResult(), 2));
+
+        Future<Void> result = writer.write(new StreamedQueryResult(queryResult.getRequestId(), queryResult.getMetadata(), stream),
+                response);
+
+        assertTrue(result.succeeded());
+        verify(stream, times(3)).next();
+        verify(stream).close();
+        verify(response, times(2)).write(any(Buffer.class));
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(queryResult)),
+                objectMapper.readTree(written.getBytes()));
+    }
+
+    @Test
+    void shouldCloseStreamWhenConnectionClosed() {
+        when(response.closed()).thenReturn(true);
+        QueryResult queryResult = createQueryResult(5);
+        QueryResultStream stream = spy(QueryResultStream.of(queryResult.getResult(), 2));
+
+        Future<Void> result = writer.write(new StreamedQueryResult(queryResult.getRequestId(), queryResult.getMetadata(), stream),
+                response);
+
+        assertTrue(result.failed());
+        verify(stream).close();
+        verify(stream, never()).next();
+    }
+
+    @Test
+    void shouldCloseStreamWhenClientDisconnectsWhileWaitingForDrain() {
+        when(response.writeQueueFull()).thenReturn(true);
+        ArgumentCaptor<Handler<Void>> closeCaptor = ArgumentCaptor.forClass(Handler.class);
+        QueryResult queryResult = createQueryResult(5);
+        QueryResultStream stream = spy(QueryResultStream.of(queryResult.getResult(), 2));
+
+        Future<Void> result = writer.write(new StreamedQueryResult(queryResult.getRequestId(), queryResult.getMetadata(), stream),
+                response);
+
+        assertFalse(result.isComplete());
+        verify(stream, never()).close();
+        verify(response).closeHandler(closeCaptor.capture());
+
+        closeCaptor.getValue().handle(null);
+
+        assertTrue(result.failed());
+        verify(stream).close();
+        verify(response, never()).end(any(Buffer.class), any());
+    }
+
+    @Test
+    void shouldCloseStreamOnResponseError() {
+        when(response.writeQueueFull()).thenReturn(true);
+        ArgumentCaptor<Handler<Throwable>> exceptionCaptor = ArgumentCaptor.forClass(Handler.class);
+        QueryResult queryResult = createQueryResult(5);
+        QueryResultStream stream = spy(QueryResultStream.of(queryResult.getResult(), 2));
+
+        Future<Void> result = writer.write(new StreamedQueryResult(queryResult.getRequestId(), queryResult.getMetadata(), stream),
+                response);
+        verify(response).exceptionHandler(exceptionCaptor.capture());
+        exceptionCaptor.getValue().handle(new RuntimeException("connection reset"));
+
+        assertTrue(result.failed());
+        verify(stream).close();
+    }
+
+    @Test
+    void shouldReadStreamedResultWhenStreamingDisabled() throws Exception {
+        httpProperties.setStreamingResponse(false);
+        QueryResult queryResult = createQueryResult(5);
+        QueryResultStream stream = QueryResultStream.of(queryResult.getResult(), 2);
+        doAnswer(invocation -> {
+            written.appendString(invocation.getArgument(0));
+            Handler<AsyncResult<Void>> handler = invocation.getArgument(1);
+            handler.handle(Future.succeededFuture());
+            return null;
+        }).when(response).end(any(String.class), any(Handler.class));
+
+        Future<Void> result = writer.write(new StreamedQueryResult(queryResult.getRequestId(), queryResult.getMetadata(), stream),
+                response);
+
+        assertTrue(result.succeeded());
+        assertFalse(stream.hasMore());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(queryResult)),
+                objectMapper.readTree(written.getBytes()));
+    }
+
+    @Test
+    void shouldWriteIndexedRowsEqualToSerializedResult() throws Exception {
+        List<ColumnMetadata> metadata = Arrays.asList(new ColumnMetadata("id", ColumnType.BIGINT),
+                new ColumnMetadata("name", ColumnType.VARCHAR));
+        ColumnIndex columnIndex = ColumnIndex.of(metadata);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            IndexedRow row = columnIndex.newRow();
+            row.setValue(0, (long) i);
+            row.setValue(1, i == 1 ? null : "name_" + i);
+            rows.add(row);
+        }
+        QueryResult queryResult = QueryResult.builder()
+                .requestId(UUID.randomUUID())
+                .metadata(metadata)
+                .result(rows)
+                .build();
+
+        Future<Void> result = writer.write(queryResult, response);
+
+        assertTrue(result.succeeded());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(queryResult)),
+                objectMapper.readTree(written.getBytes()));
+    }
+
+    private QueryResult createQueryResult(int rowCount) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", (long) i);
+            row.put("name", "name_" + i);
+            rows.add(row);
+        }
+        return QueryResult.builder()
+                .requestId(UUID.randomUUID())
+                .metadata(Arrays.asList(new ColumnMetadata("id", ColumnType.BIGINT),
+                        new ColumnMetadata("name", ColumnType.VARCHAR)))
+                .result(rows)
+                .build();
+    }
+}
@@ -26,10 +26,13 @@ import io.arenadata.dtm.query.execution.core.query.factory.RequestContextFactory
 import io.arenadata.dtm.query.execution.core.query.service.QueryAnalyzer;
 import io.arenadata.dtm.query.execution.core.query.service.QueryDispatcher;
 import io.arenadata.dtm.query.execution.core.query.service.impl.QueryAnalyzerImpl;
+import io.arenadata.dtm.query.execution.core.query.service.impl.QueryBatchExpanderImpl;
 import io.arenadata.dtm.query.execution.core.query.service.impl.QuerySemicolonRemoverImpl;
 import io.arenadata.dtm.query.execution.core.query.utils.DatamartMnemonicExtractor;
 import io.arenadata.dtm.query.execution.core.query.utils.DefaultDatamartSetter;
 import io.arenadata.dtm.query.execution.core.utils.TestUtils;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.ext.unit.Async;
@@ -62,7 +65,9 @@ class QueryAnalyzerImplTest {
                 new DatamartMnemonicExtractor(new DeltaInformationExtractorImpl()),
                 new DefaultDatamartSetter(),
                 new QuerySemicolonRemoverImpl(),
-                new QueryRequestFactory());
+                new QueryRequestFactory(),
+                new QueryBatchExpanderImpl(),
+                new QueryStageMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryRequest;
+import io.arenadata.dtm.query.execution.core.query.service.impl.QueryBatchExpanderImpl;
+import io.arenadata.dtm.query.execution.core.utils.TestUtils;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlDynamicParam;
+import org.apache.calcite.sql.SqlInsert;
+import org.apache.calcite.sql.SqlNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBatchExpanderImplTest {
+    private final QueryBatchExpanderImpl expander = new QueryBatchExpanderImpl();
+
+    @Test
+    void expandValuesForEveryParameterSet() {
+        QueryRequest queryRequest = new QueryRequest();
+        queryRequest.setBatchParameters(Arrays.asList(
+                new QueryParameters(Arrays.asList(1, "a"), Arrays.asList(ColumnType.INT, ColumnType.VARCHAR)),
+                new QueryParameters(Arrays.asList(2, "b"), Arrays.asList(ColumnType.INT, ColumnType.VARCHAR)),
+                new QueryParameters(Arrays.asList(3, "c"), Arrays.asList(ColumnType.INT, ColumnType.VARCHAR))));
+        SqlNode sqlNode = TestUtils.DEFINITION_SERVICE.processingQuery("INSERT INTO dtm.t (id, name) VALUES (?, ?)");
+
+        SqlInsert result = (SqlInsert) expander.expand(queryRequest, sqlNode);
+
+        SqlCall values = (SqlCall) result.getSource();
+        assertEquals(3, values.operandCount());
+        SqlCall lastRow = (SqlCall) values.getOperandList().get(2);
+        assertEquals(4, ((SqlDynamicParam) lastRow.getOperandList().get(0)).getIndex());
+        assertEquals(5, ((SqlDynamicParam) lastRow.getOperandList().get(1)).getIndex());
+        assertEquals(Arrays.asList(1, "a", 2, "b", 3, "c"), queryRequest.getParameters().getValues());
+        assertEquals(6, queryRequest.getParameters().getTypes().size());
+        assertNull(queryRequest.getBatchParameters());
+    }
+
+    @Test
+    void keepQueryWithoutBatch() {
+        QueryRequest queryRequest = new QueryRequest();
+        SqlNode sqlNode = TestUtils.DEFINITION_SERVICE.processingQuery("INSERT INTO dtm.t (id) VALUES (1)");
+
+        assertSame(sqlNode, expander.expand(queryRequest, sqlNode));
+        assertNull(queryRequest.getParameters());
+    }
+
+    @Test
+    void failOnNotValuesQuery() {
+        QueryRequest queryRequest = new QueryRequest();
+        queryRequest.setBatchParameters(Collections.singletonList(
+                new QueryParameters(Collections.singletonList(1), Collections.singletonList(ColumnType.INT))));
+        SqlNode sqlNode = TestUtils.DEFINITION_SERVICE.processingQuery("SELECT * FROM dtm.t WHERE id = ?");
+
+        assertThrows(DtmException.class, () -> expander.expand(queryRequest, sqlNode));
+    }
+
+    @Test
+    void failOnParameterCountMismatch() {
+        QueryRequest queryRequest = new QueryRequest();
+        queryRequest.setBatchParameters(Collections.singletonList(
+                new QueryParameters(Collections.singletonList(1), Collections.singletonList(ColumnType.INT))));
+        SqlNode sqlNode = TestUtils.DEFINITION_SERVICE.processingQuery("INSERT INTO dtm.t (id, name) VALUES (?, ?)");
+
+        assertThrows(DtmException.class, () -> expander.expand(queryRequest, sqlNode));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query;
+
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.common.reader.CursorQueryResult;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CoreHttpProperties;
+import io.arenadata.dtm.query.execution.core.query.exception.QueryCursorNotFoundException;
+import io.arenadata.dtm.query.execution.core.query.service.impl.QueryCursorServiceImpl;
+import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QueryCursorServiceImplTest {
+    private final Vertx vertx = mock(Vertx.class);
+    private final CoreHttpProperties httpProperties = new CoreHttpProperties();
+    private final QueryCursorServiceImpl cursorService = new QueryCursorServiceImpl(vertx, httpProperties);
+
+    @Test
+    void shouldReadPagesUntilLastOne() {
+        QueryResultStream stream = spy(QueryResultStream.of(createRows(5), 2));
+
+        Future<QueryResult> first = cursorService.open(createStreamedResult(stream));
+
+        assertTrue(first.succeeded());
+        assertEquals(2, first.result().getResult().size());
+        UUID cursorId = ((CursorQueryResult) first.result()).getCursorId();
+        assertNotNull(cursorId);
+        verify(vertx).setTimer(eq(httpProperties.getCursorIdleTimeoutMs()), any());
+
+        Future<QueryResult> second = cursorService.fetch(cursorId);
+        Future<QueryResult> last = cursorService.fetch(cursorId);
+
+        assertEquals(2, second.result().getResult().size());
+        assertEquals(cursorId, ((CursorQueryResult) second.result()).getCursorId());
+        assertEquals(1, last.result().getResult().size());
+        assertNull(((CursorQueryResult) last.result()).getCursorId());
+        verify(stream).close();
+        assertTrue(cursorService.fetch(cursorId).cause() instanceof QueryCursorNotFoundException);
+    }
+
+    @Test
+    void shouldCloseStreamWhenCursorClosed() {
+        QueryResultStream stream = spy(QueryResultStream.of(createRows(5), 2));
+        UUID cursorId = ((CursorQueryResult) cursorService.open(createStreamedResult(stream)).result()).getCursorId();
+
+        assertTrue(cursorService.close(cursorId).succeeded());
+
+        verify(stream).close();
+        assertTrue(cursorService.fetch(cursorId).failed());
+    }
+
+    @Test
+    void shouldFailPageReadWhenCursorClosed() {
+        QueryResultStream stream = mock(QueryResultStream.class);
+        Promise<List<Map<String, Object>>> pendingPage = Promise.promise();
+        when(stream.next()).thenReturn(Future.succeededFuture(createRows(2)), pendingPage.future());
+        when(stream.hasMore()).thenReturn(true);
+        when(stream.close()).thenReturn(Future.succeededFuture());
+        UUID cursorId = ((CursorQueryResult) cursorService.open(createStreamedResult(stream)).result()).getCursorId();
+
+        Future<QueryResult> page = cursorService.fetch(cursorId);
+        assertFalse(page.isComplete());
+        cursorService.close(cursorId);
+        pendingPage.complete(createRows(2));
+
+        assertTrue(page.failed());
+        verify(stream).close();
+    }
+
+    @Test
+    void shouldNameNodeWhenCursorNotFound() {
+        Throwable error = cursorService.fetch(UUID.randomUUID()).cause();
+
+        assertTrue(error instanceof QueryCursorNotFoundException);
+        assertTrue(error.getMessage().contains(":" + httpProperties.getPort() + "]"));
+    }
+
+    @Test
+    void shouldReturnNotStreamedResultAsIs() {
+        QueryResult queryResult = QueryResult.builder()
+                .requestId(UUID.randomUUID())
+                .result(createRows(5))
+                .build();
+
+        assertSame(queryResult, cursorService.open(queryResult).result());
+    }
+
+    private StreamedQueryResult createStreamedResult(QueryResultStream stream) {
+        return new StreamedQueryResult(UUID.randomUUID(),
+                Collections.singletonList(new ColumnMetadata("id", ColumnType.BIGINT)), stream);
+    }
+
+    private List<Map<String, Object>> createRows(int rowCount) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(Collections.singletonMap("id", (long) i));
+        }
+        return rows;
+    }
+}
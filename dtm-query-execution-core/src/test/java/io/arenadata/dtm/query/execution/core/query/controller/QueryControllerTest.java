@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.controller;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.reader.InputQueryRequest;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CoreHttpProperties;
+import io.arenadata.dtm.query.execution.core.query.service.QueryAnalyzer;
+import io.arenadata.dtm.query.execution.core.query.service.QueryCursorService;
+import io.arenadata.dtm.query.execution.core.query.service.QueryResultResponseWriter;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryControllerTest {
+    private static final String SQL = "SELECT * FROM dtm.accounts";
+
+    @Mock
+    private QueryAnalyzer queryAnalyzer;
+
+    @Mock
+    private QueryCursorService cursorService;
+
+    @Mock
+    private QueryResultResponseWriter responseWriter;
+
+    @Mock
+    private RoutingContext context;
+
+    private CoreHttpProperties httpProperties;
+    private QueryController queryController;
+
+    @BeforeEach
+    void setUp() {
+        httpProperties = new CoreHttpProperties();
+        when(responseWriter.getContentType()).thenReturn(MimeTypeUtils.APPLICATION_JSON_VALUE);
+        lenient().when(queryAnalyzer.analyzeAndExecute(any())).thenReturn(Promise.<QueryResult>promise().future());
+        queryController = new QueryController(queryAnalyzer, cursorService, Collections.singletonList(responseWriter), httpProperties);
+    }
+
+    @Test
+    void shouldReplaceNonPositiveFetchSizeWhenStreaming() {
+        // arrange
+        when(context.getBodyAsJson()).thenReturn(new JsonObject()
+                .put("sql", SQL)
+                .put("fetchSize", -1));
+
+        // act
+        queryController.executeQuery(context);
+
+        // assert
+        InputQueryRequest request = captureRequest();
+        assertFalse(request.isUseCursor());
+        assertEquals(httpProperties.getResponseChunkSize(), request.getFetchSize());
+    }
+
+    @Test
+    void shouldReplaceNonPositiveFetchSizeWhenUsingCursor() {
+        // arrange
+        httpProperties.setStreamingResponse(false);
+        when(context.getBodyAsJson()).thenReturn(new JsonObject()
+                .put("sql", SQL)
+                .put("fetchSize", 0)
+                .put("useCursor", true));
+
+        // act
+        queryController.executeQuery(context);
+
+        // assert
+        InputQueryRequest request = captureRequest();
+        assertTrue(request.isUseCursor());
+        assertEquals(httpProperties.getResponseChunkSize(), request.getFetchSize());
+    }
+
+    @Test
+    void shouldKeepPositiveFetchSize() {
+        // arrange
+        when(context.getBodyAsJson()).thenReturn(new JsonObject()
+                .put("sql", SQL)
+                .put("fetchSize", 10));
+
+        // act
+        queryController.executeQuery(context);
+
+        // assert
+        assertEquals(10, captureRequest().getFetchSize());
+    }
+
+    @Test
+    void shouldNotStreamWhenStreamingDisabled() {
+        // arrange
+        httpProperties.setStreamingResponse(false);
+        when(context.getBodyAsJson()).thenReturn(new JsonObject()
+                .put("sql", SQL)
+                .put("fetchSize", -1));
+
+        // act
+        queryController.executeQuery(context);
+
+        // assert
+        assertNull(captureRequest().getFetchSize());
+    }
+
+    @Test
+    void shouldFailWithBadRequestWhenBatchParametersMissing() {
+        // arrange
+        when(context.getBodyAsJson()).thenReturn(new JsonObject()
+                .put("sql", SQL));
+
+        // act
+        queryController.executeBatch(context);
+
+        // assert
+        verify(context).fail(eq(HttpResponseStatus.BAD_REQUEST.code()), any(DtmException.class));
+        verify(queryAnalyzer, never()).analyzeAndExecute(any());
+    }
+
+    @Test
+    void shouldFailWithBadRequestWhenBatchParametersEmpty() {
+        // arrange
+        when(context.getBodyAsJson()).thenReturn(new JsonObject()
+                .put("sql", SQL)
+                .put("batchParameters", new JsonArray()));
+
+        // act
+        queryController.executeBatch(context);
+
+        // assert
+        verify(context).fail(eq(HttpResponseStatus.BAD_REQUEST.code()), any(DtmException.class));
+        verify(queryAnalyzer, never()).analyzeAndExecute(any());
+    }
+
+    private InputQueryRequest captureRequest() {
+        ArgumentCaptor<InputQueryRequest> requestCaptor = ArgumentCaptor.forClass(InputQueryRequest.class);
+        verify(queryAnalyzer).analyzeAndExecute(requestCaptor.capture());
+        return requestCaptor.getValue();
+    }
+}
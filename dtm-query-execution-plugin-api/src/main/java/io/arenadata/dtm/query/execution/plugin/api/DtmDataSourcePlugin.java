@@ -23,6 +23,7 @@ import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByCountRequest
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByHashInt32Request;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckTableRequest;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckVersionRequest;
+import io.arenadata.dtm.query.execution.plugin.api.dto.CommitDeltaRequest;
 import io.arenadata.dtm.query.execution.plugin.api.dto.RollbackRequest;
 import io.arenadata.dtm.query.execution.plugin.api.dto.TruncateHistoryRequest;
 import io.arenadata.dtm.query.execution.plugin.api.mppr.MpprRequest;
@@ -143,6 +144,16 @@ public interface DtmDataSourcePlugin extends Plugin<SourceType> {
      */
     Future<Void> rollback(RollbackRequest request);
 
+    /**
+     * <p>Complete the writes of the datamart the plugin has deferred, is called before the delta is committed</p>
+     *
+     * @param request commit delta request
+     * @return void
+     */
+    default Future<Void> commitDelta(CommitDeltaRequest request) {
+        return Future.succeededFuture();
+    }
+
     /**
      * <p>Get name set of active caches</p>
      *
@@ -13,14 +13,18 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.arenadata.dtm.query.execution.plugin.adg.db.verticle;
+package io.arenadata.dtm.query.execution.plugin.api.dto;
 
 import lombok.Builder;
-import lombok.Getter;
 
-@Builder
-@Getter
-public class AdgExecutorTask {
-    private final String function;
-    private final Object[] args;
+import java.util.UUID;
+
+public class CommitDeltaRequest extends PluginRequest {
+
+    @Builder
+    public CommitDeltaRequest(UUID requestId,
+                              String envName,
+                              String datamartMnemonic) {
+        super(requestId, envName, datamartMnemonic);
+    }
 }
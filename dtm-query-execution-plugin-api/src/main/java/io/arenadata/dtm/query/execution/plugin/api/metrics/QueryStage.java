@@ -13,12 +13,18 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.arenadata.dtm.query.execution.core.base.verticle;
+package io.arenadata.dtm.query.execution.plugin.api.metrics;
 
-import io.vertx.core.Future;
-import io.vertx.core.Handler;
-import io.vertx.core.Promise;
-
-public interface TaskVerticleExecutor {
-    <T> Future<T> execute(Handler<Promise<T>> codeHandler);
+/**
+ * Stages of the query execution, which latency is measured separately
+ */
+public enum QueryStage {
+    PARSE,
+    VIEW_REPLACEMENT,
+    DELTA_PREPROCESSING,
+    TEMPLATE_CACHE_LOOKUP,
+    ENRICHMENT,
+    PLUGIN_EXECUTION,
+    ROW_CONVERSION,
+    RESPONSE_SERIALIZATION
 }
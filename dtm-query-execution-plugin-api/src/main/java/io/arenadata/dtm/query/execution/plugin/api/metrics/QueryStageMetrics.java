@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.api.metrics;
+
+import io.arenadata.dtm.common.dml.SelectCategory;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency histograms of query execution stages, tagged by stage, data source and query category.
+ * Tags, which are not known yet at the stage, are reported as {@code UNDEFINED}.
+ * Meters are cached by their tags and dropped from the cache when they are removed from the registry,
+ * so they are registered again after the metrics reset.
+ */
+@Component
+public class QueryStageMetrics {
+    public static final String QUERY_STAGE_TIME = "query.stage.time";
+    public static final String QUERY_TEMPLATE_CACHE = "query.template.cache";
+    public static final String STAGE = "stage";
+    public static final String DATASOURCE = "datasource";
+    public static final String CATEGORY = "category";
+    public static final String RESULT = "result";
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String UNDEFINED = "UNDEFINED";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QueryStageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.config().onMeterRemoved(meter -> {
+            timers.values().remove(meter);
+            counters.values().remove(meter);
+        });
+    }
+
+    public <T> Future<T> measure(QueryStage stage, Supplier<Future<T>> action) {
+        return measure(stage, null, null, action);
+    }
+
+    public <T> Future<T> measure(QueryStage stage,
+                                 SourceType sourceType,
+                                 SelectCategory category,
+                                 Supplier<Future<T>> action) {
+        long start = System.nanoTime();
+        return action.get()
+                .onComplete(ar -> record(stage, sourceType, category, System.nanoTime() - start));
+    }
+
+    public void record(QueryStage stage, SourceType sourceType, SelectCategory category, long durationNanos) {
+        String datasource = sourceType == null ? UNDEFINED : sourceType.name();
+        String categoryName = category == null ? UNDEFINED : category.name();
+        timers.computeIfAbsent(stage.name() + '/' + datasource + '/' + categoryName,
+                key -> Timer.builder(QUERY_STAGE_TIME)
+                        .tag(STAGE, stage.name())
+                        .tag(DATASOURCE, datasource)
+                        .tag(CATEGORY, categoryName)
+                        .publishPercentiles(PERCENTILES)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the lookup of query template cache as {@link QueryStage#TEMPLATE_CACHE_LOOKUP} stage
+     * and counts its hit or miss
+     */
+    public void recordTemplateCacheLookup(SourceType sourceType, SelectCategory category, boolean hit, long durationNanos) {
+        record(QueryStage.TEMPLATE_CACHE_LOOKUP, sourceType, category, durationNanos);
+        String datasource = sourceType == null ? UNDEFINED : sourceType.name();
+        String result = hit ? HIT : MISS;
+        counters.computeIfAbsent(datasource + '/' + result,
+                key -> Counter.builder(QUERY_TEMPLATE_CACHE)
+                        .tag(DATASOURCE, datasource)
+                        .tag(RESULT, result)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
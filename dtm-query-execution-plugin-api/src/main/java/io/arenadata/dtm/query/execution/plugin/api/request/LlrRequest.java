@@ -16,6 +16,7 @@
 package io.arenadata.dtm.query.execution.plugin.api.request;
 
 import io.arenadata.dtm.common.delta.DeltaInformation;
+import io.arenadata.dtm.common.dml.SelectCategory;
 import io.arenadata.dtm.common.reader.QueryParameters;
 import io.arenadata.dtm.common.reader.QueryTemplateResult;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
@@ -45,6 +46,8 @@ public class LlrRequest extends PluginRequest {
     private final SqlNode withoutViewsQuery;
     private final RelRoot relRoot;
     private final boolean estimate;
+    private final Integer fetchSize;
+    private final SelectCategory selectCategory;
 
     @Builder(toBuilder = true)
     public LlrRequest(UUID requestId,
@@ -59,7 +62,9 @@ public class LlrRequest extends PluginRequest {
                       SqlNode withoutViewsQuery,
                       String envName,
                       RelRoot relRoot,
-                      boolean estimate) {
+                      boolean estimate,
+                      Integer fetchSize,
+                      SelectCategory selectCategory) {
         super(requestId, envName, datamartMnemonic);
         this.sourceQueryTemplateResult = sourceQueryTemplateResult;
         this.deltaInformations = deltaInformations;
@@ -71,5 +76,7 @@ public class LlrRequest extends PluginRequest {
         this.relRoot = relRoot;
         this.schema = schema;
         this.estimate = estimate;
+        this.fetchSize = fetchSize;
+        this.selectCategory = selectCategory;
     }
 }
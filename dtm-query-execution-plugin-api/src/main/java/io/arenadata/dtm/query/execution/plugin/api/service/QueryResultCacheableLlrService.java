@@ -24,11 +24,16 @@ import io.arenadata.dtm.common.dto.QueryParserResponse;
 import io.arenadata.dtm.common.model.ddl.ColumnType;
 import io.arenadata.dtm.common.reader.QueryParameters;
 import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.reader.StreamedQueryResult;
 import io.arenadata.dtm.query.calcite.core.service.QueryParserService;
 import io.arenadata.dtm.query.calcite.core.service.QueryTemplateExtractor;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrEstimateUtils;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrPlanResult;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStage;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
 import io.vertx.core.Future;
 import lombok.extern.slf4j.Slf4j;
@@ -50,20 +55,27 @@ public abstract class QueryResultCacheableLlrService implements LlrService<Query
     protected final QueryTemplateExtractor templateExtractor;
     protected final SqlDialect sqlDialect;
     private final QueryParserService queryParserService;
+    private final SourceType sourceType;
+    private final QueryStageMetrics queryStageMetrics;
 
     protected QueryResultCacheableLlrService(CacheService<QueryTemplateKey, QueryTemplateValue> queryCacheService,
                                              QueryTemplateExtractor templateExtractor,
                                              SqlDialect sqlDialect,
-                                             QueryParserService queryParserService) {
+                                             QueryParserService queryParserService,
+                                             SourceType sourceType,
+                                             QueryStageMetrics queryStageMetrics) {
         this.queryCacheService = queryCacheService;
         this.templateExtractor = templateExtractor;
         this.sqlDialect = sqlDialect;
         this.queryParserService = queryParserService;
+        this.sourceType = sourceType;
+        this.queryStageMetrics = queryStageMetrics;
     }
 
     @Override
     public Future<QueryResult> execute(LlrRequest request) {
-        return AsyncUtils.measureMs(getQueryFromCacheOrInit(request),
+        return AsyncUtils.measureMs(queryStageMetrics.measure(QueryStage.ENRICHMENT, sourceType, request.getSelectCategory(),
+                () -> getQueryFromCacheOrInit(request)),
                 duration -> log.debug("Got query from cache and enriched template for query [{}] in [{}]ms",
                         request.getRequestId(), duration))
                 .compose(enrichedQuery -> executeRealOrEstimate(enrichedQuery, request));
@@ -80,6 +92,11 @@ public abstract class QueryResultCacheableLlrService implements LlrService<Query
                             .build());
         }
 
+        if (request.getFetchSize() != null && request.getFetchSize() > 0) {
+            return queryExecuteStream(enrichedQuery, getExtendedQueryParameters(request), request.getMetadata(), request.getFetchSize())
+                    .map(stream -> new StreamedQueryResult(request.getRequestId(), request.getMetadata(), stream));
+        }
+
         return queryExecute(enrichedQuery, getExtendedQueryParameters(request), request.getMetadata())
                 .map(result -> QueryResult.builder()
                         .requestId(request.getRequestId())
@@ -104,6 +121,18 @@ public abstract class QueryResultCacheableLlrService implements LlrService<Query
                                                                       QueryParameters queryParameters,
                                                                       List<ColumnMetadata> metadata);
 
+    /**
+     * Executes query and returns its rows by batches of fetchSize.
+     * By default rows are read entirely and then split, data sources with cursor support should override it.
+     */
+    protected Future<QueryResultStream> queryExecuteStream(String enrichedQuery,
+                                                           QueryParameters queryParameters,
+                                                           List<ColumnMetadata> metadata,
+                                                           int fetchSize) {
+        return queryExecute(enrichedQuery, queryParameters, metadata)
+                .map(rows -> QueryResultStream.of(rows, fetchSize));
+    }
+
     protected abstract Future<LlrPlanResult> estimateQueryExecute(String enrichedQuery,
                                                                   QueryParameters queryParameters);
 
@@ -113,7 +142,11 @@ public abstract class QueryResultCacheableLlrService implements LlrService<Query
 
     private Future<String> getQueryFromCacheOrInit(LlrRequest llrRq) {
         return Future.future(promise -> {
-            val queryTemplateValue = getQueryTemplateValueFromCache(llrRq);
+            val queryTemplateKey = getQueryTemplateKey(llrRq);
+            long lookupStart = System.nanoTime();
+            val queryTemplateValue = queryCacheService.get(queryTemplateKey);
+            queryStageMetrics.recordTemplateCacheLookup(sourceType, llrRq.getSelectCategory(),
+                    queryTemplateValue != null, System.nanoTime() - lookupStart);
             if (queryTemplateValue != null) {
                 promise.complete(getEnrichedSqlFromTemplate(llrRq, queryTemplateValue));
             } else {
@@ -124,7 +157,7 @@ public abstract class QueryResultCacheableLlrService implements LlrService<Query
                         })
                         .compose(parserResponse -> enrichQuery(llrRq, parserResponse))
                         .map(QueryTemplateValue::new)
-                        .compose(templateValue -> queryCacheService.put(getQueryTemplateKey(llrRq), templateValue)
+                        .compose(templateValue -> queryCacheService.put(queryTemplateKey, templateValue)
                                 .map(r -> getEnrichedSqlFromTemplate(llrRq, templateValue)))
                         .onComplete(promise);
             }
@@ -136,10 +169,10 @@ public abstract class QueryResultCacheableLlrService implements LlrService<Query
     protected void validateQuery(QueryParserResponse parserResponse) {
     }
 
-    private QueryTemplateValue getQueryTemplateValueFromCache(LlrRequest llrRq) {
-        return queryCacheService.get(getQueryTemplateKey(llrRq));
-    }
-
+    /**
+     * Extracts the template of the original query, the key is built once per request:
+     * the extraction copies and prints the whole query
+     */
     private QueryTemplateKey getQueryTemplateKey(LlrRequest llrRq) {
         String template = templateExtractor.extract(llrRq.getOriginalQuery()).getTemplate();
         return QueryTemplateKey.builder()
@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.api.metrics;
+
+import io.arenadata.dtm.common.dml.SelectCategory;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStageMetricsTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryStageMetrics queryStageMetrics = new QueryStageMetrics(meterRegistry);
+
+    @Test
+    void shouldRecordStageWithTags() {
+        // act
+        queryStageMetrics.record(QueryStage.ENRICHMENT, SourceType.ADB, SelectCategory.RELATIONAL,
+                TimeUnit.MILLISECONDS.toNanos(5));
+
+        // assert
+        Timer timer = meterRegistry.find(QueryStageMetrics.QUERY_STAGE_TIME)
+                .tags(QueryStageMetrics.STAGE, QueryStage.ENRICHMENT.name(),
+                        QueryStageMetrics.DATASOURCE, SourceType.ADB.name(),
+                        QueryStageMetrics.CATEGORY, SelectCategory.RELATIONAL.name())
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertEquals(5, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(3, timer.takeSnapshot().percentileValues().length);
+    }
+
+    @Test
+    void shouldReuseTimerOfSameTags() {
+        // act
+        queryStageMetrics.record(QueryStage.ENRICHMENT, SourceType.ADB, null, 1);
+        queryStageMetrics.record(QueryStage.ENRICHMENT, SourceType.ADB, null, 1);
+
+        // assert
+        assertEquals(1, meterRegistry.find(QueryStageMetrics.QUERY_STAGE_TIME).timers().size());
+        assertEquals(2, meterRegistry.find(QueryStageMetrics.QUERY_STAGE_TIME).timer().count());
+    }
+
+    @Test
+    void shouldRegisterTimerAgainAfterRegistryCleared() {
+        // arrange
+        queryStageMetrics.record(QueryStage.ENRICHMENT, SourceType.ADB, null, 1);
+        meterRegistry.clear();
+
+        // act
+        queryStageMetrics.record(QueryStage.ENRICHMENT, SourceType.ADB, null, 1);
+
+        // assert
+        Timer timer = meterRegistry.find(QueryStageMetrics.QUERY_STAGE_TIME).timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void shouldRecordUnknownTagsAsUndefined() {
+        // act
+        queryStageMetrics.record(QueryStage.PARSE, null, null, 1);
+
+        // assert
+        assertNotNull(meterRegistry.find(QueryStageMetrics.QUERY_STAGE_TIME)
+                .tags(QueryStageMetrics.STAGE, QueryStage.PARSE.name(),
+                        QueryStageMetrics.DATASOURCE, QueryStageMetrics.UNDEFINED,
+                        QueryStageMetrics.CATEGORY, QueryStageMetrics.UNDEFINED)
+                .timer());
+    }
+
+    @Test
+    void shouldMeasureFailedFuture() {
+        // act
+        Future<Object> result = queryStageMetrics.measure(QueryStage.PLUGIN_EXECUTION, SourceType.ADG, null,
+                () -> Future.failedFuture(new RuntimeException("error")));
+
+        // assert
+        assertTrue(result.failed());
+        assertEquals(1, meterRegistry.find(QueryStageMetrics.QUERY_STAGE_TIME)
+                .tags(QueryStageMetrics.STAGE, QueryStage.PLUGIN_EXECUTION.name(),
+                        QueryStageMetrics.DATASOURCE, SourceType.ADG.name())
+                .timer().count());
+    }
+
+    @Test
+    void shouldCountTemplateCacheHitsAndMisses() {
+        // act
+        queryStageMetrics.recordTemplateCacheLookup(SourceType.ADQM, null, true, 1);
+        queryStageMetrics.recordTemplateCacheLookup(SourceType.ADQM, null, true, 1);
+        queryStageMetrics.recordTemplateCacheLookup(SourceType.ADQM, null, false, 1);
+
+        // assert
+        Counter hits = meterRegistry.find(QueryStageMetrics.QUERY_TEMPLATE_CACHE)
+                .tags(QueryStageMetrics.DATASOURCE, SourceType.ADQM.name(),
+                        QueryStageMetrics.RESULT, QueryStageMetrics.HIT)
+                .counter();
+        Counter misses = meterRegistry.find(QueryStageMetrics.QUERY_TEMPLATE_CACHE)
+                .tags(QueryStageMetrics.DATASOURCE, SourceType.ADQM.name(),
+                        QueryStageMetrics.RESULT, QueryStageMetrics.MISS)
+                .counter();
+        assertEquals(2, hits.count());
+        assertEquals(1, misses.count());
+        assertEquals(3, meterRegistry.find(QueryStageMetrics.QUERY_STAGE_TIME)
+                .tags(QueryStageMetrics.STAGE, QueryStage.TEMPLATE_CACHE_LOOKUP.name())
+                .timer().count());
+    }
+}
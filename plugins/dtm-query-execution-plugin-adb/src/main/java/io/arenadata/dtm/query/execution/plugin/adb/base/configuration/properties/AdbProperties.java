@@ -26,12 +26,14 @@ public class AdbProperties {
   private static final int DEFAULT_FETCH_SIZE = 1_000;
   private static final int DEFAULT_PREPARED_CACHE_MAX_SIZE = 256;
   private static final int DEFAULT_PREPARED_CACHE_SQL_LIMIT = 2048;
+  private static final int DEFAULT_POOL_QUEUE_SIZE = 10_000;
 
   private String user;
   private String password;
   private String host;
   private int port;
   private int poolSize;
+  private int poolQueueSize = DEFAULT_POOL_QUEUE_SIZE;
   private int executorsCount;
   private int fetchSize = DEFAULT_FETCH_SIZE;
   private int preparedStatementsCacheMaxSize = DEFAULT_PREPARED_CACHE_MAX_SIZE;
@@ -20,6 +20,7 @@ import io.arenadata.dtm.common.cache.QueryTemplateKey;
 import io.arenadata.dtm.common.cache.QueryTemplateValue;
 import io.arenadata.dtm.common.dto.QueryParserResponse;
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.calcite.core.service.QueryParserService;
 import io.arenadata.dtm.query.calcite.core.service.QueryTemplateExtractor;
@@ -27,6 +28,7 @@ import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrEstimateUtils;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrPlanResult;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
 import io.arenadata.dtm.query.execution.plugin.api.service.QueryResultCacheableLlrService;
 import io.arenadata.dtm.query.execution.plugin.api.service.enrichment.dto.EnrichQueryRequest;
@@ -57,8 +59,9 @@ public class AdbLlrService extends QueryResultCacheableLlrService {
                                  CacheService<QueryTemplateKey, QueryTemplateValue> queryCacheService,
                          @Qualifier("adbQueryTemplateExtractor") QueryTemplateExtractor templateExtractor,
                          @Qualifier("adbSqlDialect") SqlDialect sqlDialect,
-                         @Qualifier("adbCalciteDMLQueryParserService") QueryParserService queryParserService) {
-        super(queryCacheService, templateExtractor, sqlDialect, queryParserService);
+                         @Qualifier("adbCalciteDMLQueryParserService") QueryParserService queryParserService,
+                         QueryStageMetrics queryStageMetrics) {
+        super(queryCacheService, templateExtractor, sqlDialect, queryParserService, SourceType.ADB, queryStageMetrics);
         this.queryEnrichmentService = adbQueryEnrichmentService;
         this.queryExecutor = adbDatabaseExecutor;
     }
@@ -70,6 +73,14 @@ public class AdbLlrService extends QueryResultCacheableLlrService {
         return queryExecutor.executeWithParams(enrichedQuery, queryParameters, metadata);
     }
 
+    @Override
+    protected Future<QueryResultStream> queryExecuteStream(String enrichedQuery,
+                                                           QueryParameters queryParameters,
+                                                           List<ColumnMetadata> metadata,
+                                                           int fetchSize) {
+        return queryExecutor.executeStream(enrichedQuery, queryParameters, metadata, fetchSize);
+    }
+
     @Override
     protected Future<LlrPlanResult> estimateQueryExecute(String enrichedQuery, QueryParameters queryParameters) {
         return queryExecutor.executeWithParams("EXPLAIN (FORMAT JSON) " + enrichedQuery, queryParameters,
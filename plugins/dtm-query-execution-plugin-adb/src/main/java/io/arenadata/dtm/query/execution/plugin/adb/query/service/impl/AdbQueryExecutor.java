@@ -19,43 +19,57 @@ import io.arenadata.dtm.async.AsyncUtils;
 import io.arenadata.dtm.common.converter.SqlTypeConverter;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.plugin.sql.PreparedStatementRequest;
+import io.arenadata.dtm.common.reader.ColumnIndex;
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.ReadStreamQueryResultStream;
+import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.pool.AdbConnectionPool;
+import io.arenadata.dtm.query.execution.plugin.adb.query.service.pool.QueryPriority;
 import io.arenadata.dtm.query.execution.plugin.api.exception.LlrDatasourceException;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStage;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.sqlclient.*;
 import io.vertx.sqlclient.impl.ArrayTuple;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @Slf4j
 public class AdbQueryExecutor implements DatabaseExecutor {
+    private static final Pattern DDL_PATTERN = Pattern.compile("\\s*(CREATE|DROP|ALTER|TRUNCATE)\\s", Pattern.CASE_INSENSITIVE);
 
     private final AdbConnectionPool pool;
     private final int fetchSize;
     private final SqlTypeConverter adbTypeConverter;
     private final SqlTypeConverter sqlTypeConverter;
+    private final QueryStageMetrics queryStageMetrics;
 
     public AdbQueryExecutor(AdbConnectionPool pool,
                             int fetchSize,
                             SqlTypeConverter adbTypeConverter,
-                            SqlTypeConverter sqlTypeConverter) {
+                            SqlTypeConverter sqlTypeConverter,
+                            QueryStageMetrics queryStageMetrics) {
         this.pool = pool;
         this.fetchSize = fetchSize;
         this.adbTypeConverter = adbTypeConverter;
         this.sqlTypeConverter = sqlTypeConverter;
+        this.queryStageMetrics = queryStageMetrics;
     }
 
     @Override
@@ -95,6 +109,42 @@ public class AdbQueryExecutor implements DatabaseExecutor {
         });
     }
 
+    @Override
+    public Future<QueryResultStream> executeStream(String sql,
+                                                   QueryParameters params,
+                                                   List<ColumnMetadata> metadata,
+                                                   int fetchSize) {
+        return Future.future(promise -> {
+            log.debug("ADB. Execute stream: [{}] with params: [{}]", sql, params);
+            // portal of the stream lives only inside the transaction, otherwise it's dropped after the first fetch
+            pool.withTransaction(conn -> prepareQuery(conn, sql)
+                    .compose(preparedQuery -> {
+                        Promise<Void> streamClosed = Promise.promise();
+                        val rowStream = preparedQuery.createStream(fetchSize, createStreamParams(params));
+                        val conversionNanos = new AtomicLong();
+                        promise.complete(new ReadStreamQueryResultStream<>(rowStream,
+                                fetchSize,
+                                createTimedRowMapper(metadata, conversionNanos),
+                                () -> {
+                                    queryStageMetrics.record(QueryStage.ROW_CONVERSION, SourceType.ADB, null, conversionNanos.get());
+                                    return rowStream.close()
+                                            .eventually(v -> preparedQuery.close())
+                                            .onComplete(streamClosed);
+                                }));
+                        return streamClosed.future();
+                    }))
+                    .onFailure(fail -> {
+                        log.error("ADB. Execute stream failed: [{}]", sql, fail);
+                        promise.tryFail(fail);
+                    });
+        });
+    }
+
+    private Tuple createStreamParams(QueryParameters params) {
+        val paramsArray = createParamsArray(params);
+        return paramsArray == null ? Tuple.tuple() : paramsArray;
+    }
+
     private ArrayTuple createParamsArray(QueryParameters params) {
         if (params == null || params.getValues().isEmpty()) {
             return null;
@@ -110,7 +160,7 @@ public class AdbQueryExecutor implements DatabaseExecutor {
     public Future<Void> executeUpdate(String sql) {
         return Future.future(promise -> {
             log.debug("ADB. Execute update: [{}]", sql);
-            pool.withConnection(conn -> AsyncUtils.measureMs(executeQueryUpdate(conn, sql),
+            pool.withConnection(getPriority(sql), conn -> AsyncUtils.measureMs(executeQueryUpdate(conn, sql),
                     duration -> log.debug("ADB. Execute update succeeded: [{}] in [{}]ms", sql, duration)))
                     .onSuccess(result -> promise.complete())
                     .onFailure(fail -> {
@@ -120,6 +170,10 @@ public class AdbQueryExecutor implements DatabaseExecutor {
         });
     }
 
+    private QueryPriority getPriority(String sql) {
+        return DDL_PATTERN.matcher(sql).lookingAt() ? QueryPriority.HIGH : QueryPriority.NORMAL;
+    }
+
     private Future<List<Map<String, Object>>> readDataWithCursor(PreparedStatement preparedQuery,
                                                                  List<ColumnMetadata> metadata,
                                                                  Integer fetchSize) {
@@ -212,34 +266,57 @@ public class AdbQueryExecutor implements DatabaseExecutor {
 
     private List<Map<String, Object>> createResult(List<ColumnMetadata> metadata,
                                                    RowSet<Row> pgRowSet) {
+        long start = System.nanoTime();
         List<Map<String, Object>> result = new ArrayList<>();
-        Function<Row, Map<String, Object>> func = metadata.isEmpty()
-                ? row -> createRowMap(row, pgRowSet.columnsNames().size())
-                : row -> createRowMap(metadata, row);
+        Function<Row, Map<String, Object>> func = createRowMapper(metadata);
         for (Row row : pgRowSet) {
             result.add(func.apply(row));
         }
+        queryStageMetrics.record(QueryStage.ROW_CONVERSION, SourceType.ADB, null, System.nanoTime() - start);
         return result;
     }
 
-    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, Row row) {
-        Map<String, Object> rowMap = new HashMap<>();
+    private Function<Row, Map<String, Object>> createTimedRowMapper(List<ColumnMetadata> metadata, AtomicLong conversionNanos) {
+        Function<Row, Map<String, Object>> rowMapper = createRowMapper(metadata);
+        return row -> {
+            long start = System.nanoTime();
+            Map<String, Object> rowMap = rowMapper.apply(row);
+            conversionNanos.addAndGet(System.nanoTime() - start);
+            return rowMap;
+        };
+    }
+
+    private Function<Row, Map<String, Object>> createRowMapper(List<ColumnMetadata> metadata) {
+        if (metadata.isEmpty()) {
+            val columnIndex = new AtomicReference<ColumnIndex>();
+            return row -> createRowMap(columnIndex.updateAndGet(index -> index != null ? index : createColumnIndex(row)), row);
+        }
+        val columnIndex = ColumnIndex.of(metadata);
+        return row -> createRowMap(metadata, columnIndex, row);
+    }
+
+    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, ColumnIndex columnIndex, Row row) {
+        val rowMap = columnIndex.newRow();
         for (int i = 0; i < metadata.size(); i++) {
-            ColumnMetadata columnMetadata = metadata.get(i);
-            rowMap.put(columnMetadata.getName(),
-                    adbTypeConverter.convert(columnMetadata.getType(), row.getValue(i)));
+            rowMap.setValue(i, adbTypeConverter.convert(metadata.get(i).getType(), row.getValue(i)));
         }
         return rowMap;
     }
 
-    private Map<String, Object> createRowMap(Row row, int size) {
-        Map<String, Object> rowMap = new HashMap<>();
-        for (int i = 0; i < size; i++) {
-            rowMap.put(row.getColumnName(i), row.getValue(i));
+    private Map<String, Object> createRowMap(ColumnIndex columnIndex, Row row) {
+        val rowMap = columnIndex.newRow();
+        for (int i = 0; i < columnIndex.size(); i++) {
+            rowMap.setValue(i, row.getValue(i));
         }
         return rowMap;
     }
 
+    private ColumnIndex createColumnIndex(Row row) {
+        return ColumnIndex.ofNames(IntStream.range(0, row.size())
+                .mapToObj(row::getColumnName)
+                .collect(Collectors.toList()));
+    }
+
     private Future<Void> execute(PreparedStatementRequest request, SqlConnection connection) {
         return Future.future(promise -> connection.query(request.getSql())
                 .execute(rs -> {
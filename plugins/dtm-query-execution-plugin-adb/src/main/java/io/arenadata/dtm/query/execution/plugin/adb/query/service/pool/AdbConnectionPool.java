@@ -15,37 +15,99 @@
  */
 package io.arenadata.dtm.query.execution.plugin.adb.query.service.pool;
 
+import io.arenadata.dtm.common.exception.DtmException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.sqlclient.SqlConnection;
 import io.vertx.sqlclient.TransactionRollbackException;
-import lombok.val;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
+/**
+ * Pool of ADB connections. A task gets the free connection first, when all connections are busy
+ * the task waits in the shared queue and is taken by the first released connection, so a long query
+ * does not hold up the tasks behind it. Tasks of {@link QueryPriority#HIGH} lane are taken before the others,
+ * a task fails fast when the queue already has {@code maxQueueSize} waiting tasks.
+ */
+@Slf4j
 public class AdbConnectionPool {
-    private final AdbConnection[] connections;
-    private final int poolSize;
-    private final AtomicInteger roundRobin = new AtomicInteger(0);
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger(0);
+    private final Slot[] slots;
+    private final Deque<Task> highPriorityQueue = new ArrayDeque<>();
+    private final Deque<Task> normalPriorityQueue = new ArrayDeque<>();
+    private final int maxQueueSize;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+    private int nextSlot;
 
     public AdbConnectionPool(AdbConnectionFactory connectionFactory, Vertx vertx, int poolSize) {
-        this.poolSize = poolSize;
-        this.connections = new AdbConnection[poolSize];
+        this(connectionFactory, vertx, poolSize, 0, new SimpleMeterRegistry());
+    }
+
+    /**
+     * @param maxQueueSize  limit of waiting tasks, not limited if not positive
+     * @param meterRegistry registry of queue depth, wait time and connection busy time metrics
+     */
+    public AdbConnectionPool(AdbConnectionFactory connectionFactory,
+                             Vertx vertx,
+                             int poolSize,
+                             int maxQueueSize,
+                             MeterRegistry meterRegistry) {
+        this.maxQueueSize = maxQueueSize;
+        this.slots = new Slot[poolSize];
+        Tags poolTags = Tags.of("pool", String.valueOf(POOL_COUNTER.incrementAndGet()));
         for (int i = 0; i < poolSize; i++) {
-            connections[i] = connectionFactory.createAdbConnection(vertx);
+            slots[i] = new Slot(connectionFactory.createAdbConnection(vertx));
+            FunctionCounter.builder("adb.pool.connection.busy", slots[i], Slot::getBusyMs)
+                    .baseUnit("milliseconds")
+                    .tags(poolTags)
+                    .tag("connection", String.valueOf(i))
+                    .register(meterRegistry);
         }
+        for (QueryPriority priority : QueryPriority.values()) {
+            Gauge.builder("adb.pool.queue.depth", this, pool -> pool.getQueueDepth(priority))
+                    .tags(poolTags)
+                    .tag("priority", priority.name())
+                    .register(meterRegistry);
+        }
+        this.waitTimer = Timer.builder("adb.pool.wait")
+                .tags(poolTags)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("adb.pool.rejected")
+                .tags(poolTags)
+                .register(meterRegistry);
     }
 
     public <T> Future<T> withConnection(Function<SqlConnection, Future<T>> function) {
-        val connection = getConnection();
-        return connection.acquire().compose(sqlConnection -> function.apply(sqlConnection)
-                .onComplete(event -> connection.release()));
+        return withConnection(QueryPriority.NORMAL, function);
+    }
+
+    public <T> Future<T> withConnection(QueryPriority priority, Function<SqlConnection, Future<T>> function) {
+        return withSlot(priority, connection -> connection.acquire()
+                .compose(sqlConnection -> function.apply(sqlConnection)
+                        .onComplete(event -> connection.release())));
     }
 
     public <T> Future<T> withTransaction(Function<SqlConnection, Future<T>> function) {
-        val connection = getConnection();
-        return connection
+        return withTransaction(QueryPriority.NORMAL, function);
+    }
+
+    public <T> Future<T> withTransaction(QueryPriority priority, Function<SqlConnection, Future<T>> function) {
+        return withSlot(priority, connection -> connection
                 .acquire()
                 .flatMap(conn -> conn
                         .begin()
@@ -64,16 +126,100 @@ public class AdbConnectionPool {
                                                         .compose(v -> Future.failedFuture(err), failure -> Future.failedFuture(err));
                                             }
                                         }))
-                        .onComplete(ar -> connection.release()));
+                        .onComplete(ar -> connection.release())));
+    }
+
+    private <T> Future<T> withSlot(QueryPriority priority, Function<AdbConnection, Future<T>> action) {
+        return schedule(priority).compose(slot -> {
+            Future<T> result;
+            try {
+                result = action.apply(slot.connection);
+            } catch (Exception e) {
+                result = Future.failedFuture(e);
+            }
+            return result.onComplete(ar -> free(slot));
+        });
+    }
+
+    private synchronized Future<Slot> schedule(QueryPriority priority) {
+        Slot slot = takeFreeSlot();
+        if (slot != null) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return Future.succeededFuture(slot);
+        }
+
+        int queueDepth = highPriorityQueue.size() + normalPriorityQueue.size();
+        if (maxQueueSize > 0 && queueDepth >= maxQueueSize) {
+            rejectedCounter.increment();
+            return Future.failedFuture(new DtmException(
+                    String.format("ADB connection pool queue is full, [%d] tasks are waiting", queueDepth)));
+        }
+
+        Promise<Slot> promise = Promise.promise();
+        getQueue(priority).add(new Task(promise, System.nanoTime()));
+        log.trace("All ADB connections are busy, task is queued with priority [{}]", priority);
+        return promise.future();
     }
 
-    private AdbConnection getConnection() {
-        while (true) {
-            int i = roundRobin.get();
-            int next = (i + 1) % poolSize;
-            if (roundRobin.compareAndSet(i, next)) {
-                return connections[i];
+    private Slot takeFreeSlot() {
+        for (int i = 0; i < slots.length; i++) {
+            int index = (nextSlot + i) % slots.length;
+            Slot slot = slots[index];
+            if (!slot.busy) {
+                nextSlot = (index + 1) % slots.length;
+                slot.busy = true;
+                slot.busyFrom = System.nanoTime();
+                return slot;
             }
         }
+        return null;
+    }
+
+    private void free(Slot slot) {
+        Task task;
+        long now = System.nanoTime();
+        synchronized (this) {
+            slot.busyNanos += now - slot.busyFrom;
+            task = highPriorityQueue.poll();
+            if (task == null) {
+                task = normalPriorityQueue.poll();
+            }
+            if (task == null) {
+                slot.busy = false;
+                return;
+            }
+            slot.busyFrom = now;
+        }
+        waitTimer.record(now - task.queuedAt, TimeUnit.NANOSECONDS);
+        task.promise.complete(slot);
+    }
+
+    private Deque<Task> getQueue(QueryPriority priority) {
+        return priority == QueryPriority.HIGH ? highPriorityQueue : normalPriorityQueue;
+    }
+
+    private synchronized int getQueueDepth(QueryPriority priority) {
+        return getQueue(priority).size();
+    }
+
+    private static final class Slot {
+        private final AdbConnection connection;
+        private boolean busy;
+        private long busyFrom;
+        private volatile long busyNanos;
+
+        private Slot(AdbConnection connection) {
+            this.connection = connection;
+        }
+
+        private double getBusyMs() {
+            return TimeUnit.NANOSECONDS.toMillis(busyNanos);
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class Task {
+        private final Promise<Slot> promise;
+        private final long queuedAt;
     }
 }
@@ -13,9 +13,12 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.arenadata.dtm.query.execution.core.metrics.factory;
+package io.arenadata.dtm.query.execution.plugin.adb.query.service.pool;
 
-public interface MetricsEventFactory<T> {
-
-    T create(String eventData);
+/**
+ * Lane of the connection pool wait queue, tasks of the high priority lane are taken first
+ */
+public enum QueryPriority {
+    HIGH,
+    NORMAL
 }
@@ -1,34 +0,0 @@
-/*
- * Copyright © 2021 ProStore
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package io.arenadata.dtm.query.execution.plugin.adb.query.service.verticle;
-
-public enum AdbExecutorTopic {
-    EXECUTE("adbExecute"),
-    EXECUTE_WITH_CURSOR("adbExecuteWithCursor"),
-    EXECUTE_WITH_PARAMS("adbExecuteWithParams"),
-    EXECUTE_UPDATE("adbExecuteUpdate"),
-    EXECUTE_IN_TRANSACTION("adbExecuteInTransaction");
-
-    private final String topic;
-
-    AdbExecutorTopic(String topic) {
-        this.topic = topic;
-    }
-
-    public String getTopic() {
-        return topic;
-    }
-}
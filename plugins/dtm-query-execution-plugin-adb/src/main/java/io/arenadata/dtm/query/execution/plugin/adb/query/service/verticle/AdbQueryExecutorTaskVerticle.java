@@ -20,99 +20,65 @@ import io.arenadata.dtm.query.execution.plugin.adb.base.configuration.properties
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.impl.AdbQueryExecutor;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.pool.AdbConnectionFactory;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.pool.AdbConnectionPool;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.AbstractVerticle;
-import io.vertx.core.AsyncResult;
-import io.vertx.core.eventbus.Message;
+import io.vertx.core.Future;
 import lombok.val;
 
-import java.util.Map;
+import java.util.List;
+import java.util.function.Function;
 
 public class AdbQueryExecutorTaskVerticle extends AbstractVerticle {
     private final AdbProperties adbProperties;
     private final SqlTypeConverter typeConverter;
     private final SqlTypeConverter sqlTypeConverter;
-    private final Map<String, AdbExecutorTask> taskMap;
-    private final Map<String, AsyncResult<?>> resultMap;
+    private final List<AdbQueryExecutorTaskVerticle> executors;
     private final AdbConnectionFactory connectionFactory;
+    private final MeterRegistry meterRegistry;
+    private final QueryStageMetrics queryStageMetrics;
     private AdbQueryExecutor adbQueryExecutor;
 
     public AdbQueryExecutorTaskVerticle(AdbProperties adbProperties,
                                         SqlTypeConverter typeConverter,
                                         SqlTypeConverter sqlTypeConverter,
-                                        Map<String, AdbExecutorTask> taskMap,
-                                        Map<String, AsyncResult<?>> resultMap,
-                                        AdbConnectionFactory connectionFactory) {
+                                        List<AdbQueryExecutorTaskVerticle> executors,
+                                        AdbConnectionFactory connectionFactory,
+                                        MeterRegistry meterRegistry,
+                                        QueryStageMetrics queryStageMetrics) {
         this.adbProperties = adbProperties;
         this.typeConverter = typeConverter;
         this.sqlTypeConverter = sqlTypeConverter;
-        this.taskMap = taskMap;
-        this.resultMap = resultMap;
+        this.executors = executors;
         this.connectionFactory = connectionFactory;
+        this.meterRegistry = meterRegistry;
+        this.queryStageMetrics = queryStageMetrics;
     }
 
     @Override
     public void start() throws Exception {
-        val pool = new AdbConnectionPool(connectionFactory, vertx, adbProperties.getPoolSize());
-        adbQueryExecutor = new AdbQueryExecutor(pool, adbProperties.getFetchSize(), typeConverter, sqlTypeConverter);
-
-        vertx.eventBus().consumer(AdbExecutorTopic.EXECUTE.getTopic(), this::executeHandler);
-        vertx.eventBus().consumer(AdbExecutorTopic.EXECUTE_WITH_CURSOR.getTopic(), this::executeWithCursorHandler);
-        vertx.eventBus().consumer(AdbExecutorTopic.EXECUTE_WITH_PARAMS.getTopic(), this::executeWithParamsHandler);
-        vertx.eventBus().consumer(AdbExecutorTopic.EXECUTE_UPDATE.getTopic(), this::executeUpdateHandler);
-        vertx.eventBus().consumer(AdbExecutorTopic.EXECUTE_IN_TRANSACTION.getTopic(), this::executeInTransactionHandler);
-    }
-
-    private void executeHandler(Message<String> message) {
-        String key = message.body();
-        AdbExecutorTask adbExecutorTask = taskMap.get(key);
-        adbQueryExecutor.execute(adbExecutorTask.getSql(), adbExecutorTask.getMetadata())
-                .onComplete(ar -> {
-                    resultMap.put(key, ar);
-                    message.reply(key);
-                });
-    }
-
-    private void executeWithCursorHandler(Message<String> message) {
-        String key = message.body();
-        AdbExecutorTask adbExecutorTask = taskMap.get(key);
-        adbQueryExecutor.executeWithCursor(adbExecutorTask.getSql(), adbExecutorTask.getMetadata())
-                .onComplete(ar -> {
-                    resultMap.put(key, ar);
-                    message.reply(key);
-                });
-
+        val pool = new AdbConnectionPool(connectionFactory, vertx, adbProperties.getPoolSize(),
+                adbProperties.getPoolQueueSize(), meterRegistry);
+        adbQueryExecutor = new AdbQueryExecutor(pool, adbProperties.getFetchSize(), typeConverter, sqlTypeConverter,
+                queryStageMetrics);
+        executors.add(this);
     }
 
-    private void executeWithParamsHandler(Message<String> message) {
-        String key = message.body();
-        AdbExecutorTask adbExecutorTask = taskMap.get(key);
-        adbQueryExecutor.executeWithParams(adbExecutorTask.getSql(), adbExecutorTask.getParams(), adbExecutorTask.getMetadata())
-                .onComplete(ar -> {
-                    resultMap.put(key, ar);
-                    message.reply(key);
-                });
-
-    }
-
-    private void executeUpdateHandler(Message<String> message) {
-        String key = message.body();
-        AdbExecutorTask adbExecutorTask = taskMap.get(key);
-        adbQueryExecutor.executeUpdate(adbExecutorTask.getSql())
-                .onComplete(ar -> {
-                    resultMap.put(key, ar);
-                    message.reply(key);
-                });
-
+    @Override
+    public void stop() throws Exception {
+        executors.remove(this);
     }
 
-    private void executeInTransactionHandler(Message<String> message) {
-        String key = message.body();
-        AdbExecutorTask adbExecutorTask = taskMap.get(key);
-        adbQueryExecutor.executeInTransaction(adbExecutorTask.getPreparedStatementRequests())
-                .onComplete(ar -> {
-                    resultMap.put(key, ar);
-                    message.reply(key);
-                });
-
+    /**
+     * Runs the call on the context of this verticle, which owns the connection pool
+     */
+    <T> Future<T> execute(Function<AdbQueryExecutor, Future<T>> call) {
+        return Future.future(promise -> context.runOnContext(v -> {
+            try {
+                call.apply(adbQueryExecutor).onComplete(promise);
+            } catch (Exception e) {
+                promise.fail(e);
+            }
+        }));
     }
 }
@@ -18,48 +18,59 @@ package io.arenadata.dtm.query.execution.plugin.adb.query.service.verticle;
 import io.arenadata.dtm.common.converter.SqlTypeConverter;
 import io.arenadata.dtm.common.plugin.sql.PreparedStatementRequest;
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adb.base.configuration.properties.AdbProperties;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
+import io.arenadata.dtm.query.execution.plugin.adb.query.service.impl.AdbQueryExecutor;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.pool.AdbConnectionFactory;
-import io.vertx.core.*;
-import io.vertx.core.eventbus.DeliveryOptions;
+import io.arenadata.dtm.query.execution.plugin.api.exception.DataSourceException;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 @Service("adbQueryExecutor")
 public class AdbQueryExecutorVerticle extends AbstractVerticle implements DatabaseExecutor {
-    private static final DeliveryOptions DEFAULT_DELIVERY_OPTIONS = new DeliveryOptions()
-            .setSendTimeout(86400000L);
-
     private final AdbProperties adbProperties;
     private final SqlTypeConverter typeConverter;
     private final SqlTypeConverter sqlTypeConverter;
     private final AdbConnectionFactory connectionFactory;
+    private final MeterRegistry meterRegistry;
+    private final QueryStageMetrics queryStageMetrics;
 
-    private final Map<String, AdbExecutorTask> taskMap = new ConcurrentHashMap<>();
-    private final Map<String, AsyncResult<?>> resultMap = new ConcurrentHashMap<>();
+    private final List<AdbQueryExecutorTaskVerticle> executors = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextExecutor = new AtomicInteger();
 
     public AdbQueryExecutorVerticle(AdbProperties adbProperties,
                                     @Qualifier("adbTypeToSqlTypeConverter") SqlTypeConverter typeConverter,
                                     @Qualifier("adbTypeFromSqlTypeConverter") SqlTypeConverter sqlTypeConverter,
-                                    AdbConnectionFactory connectionFactory) {
+                                    AdbConnectionFactory connectionFactory,
+                                    MeterRegistry meterRegistry,
+                                    QueryStageMetrics queryStageMetrics) {
         this.adbProperties = adbProperties;
         this.typeConverter = typeConverter;
         this.sqlTypeConverter = sqlTypeConverter;
         this.connectionFactory = connectionFactory;
+        this.meterRegistry = meterRegistry;
+        this.queryStageMetrics = queryStageMetrics;
     }
 
     @Override
     public void start(Promise<Void> startPromise) throws Exception {
         DeploymentOptions deploymentOptions = new DeploymentOptions();
         deploymentOptions.setInstances(adbProperties.getExecutorsCount());
-        vertx.deployVerticle(() -> new AdbQueryExecutorTaskVerticle(adbProperties, typeConverter, sqlTypeConverter, taskMap, resultMap, connectionFactory),
+        vertx.deployVerticle(() -> new AdbQueryExecutorTaskVerticle(adbProperties, typeConverter, sqlTypeConverter, executors, connectionFactory, meterRegistry, queryStageMetrics),
                 deploymentOptions, ar -> {
                     if (ar.succeeded()) {
                         startPromise.complete();
@@ -71,81 +82,39 @@ public class AdbQueryExecutorVerticle extends AbstractVerticle implements Databa
 
     @Override
     public Future<List<Map<String, Object>>> execute(String sql, List<ColumnMetadata> metadata) {
-        return Future.future(promise -> {
-            AdbExecutorTask request = AdbExecutorTask.builder()
-                    .sql(sql)
-                    .metadata(metadata)
-                    .build();
-            sendRequestWithResult(promise, AdbExecutorTopic.EXECUTE, request);
-        });
+        return dispatch(executor -> executor.execute(sql, metadata));
     }
 
     @Override
     public Future<List<Map<String, Object>>> executeWithCursor(String sql, List<ColumnMetadata> metadata) {
-        return Future.future(promise -> {
-            AdbExecutorTask request = AdbExecutorTask.builder()
-                    .sql(sql)
-                    .metadata(metadata)
-                    .build();
-            sendRequestWithResult(promise, AdbExecutorTopic.EXECUTE_WITH_CURSOR, request);
-        });
+        return dispatch(executor -> executor.executeWithCursor(sql, metadata));
     }
 
     @Override
     public Future<List<Map<String, Object>>> executeWithParams(String sql, QueryParameters params, List<ColumnMetadata> metadata) {
-        return Future.future(promise -> {
-            AdbExecutorTask request = AdbExecutorTask.builder()
-                    .sql(sql)
-                    .params(params)
-                    .metadata(metadata)
-                    .build();
-            sendRequestWithResult(promise, AdbExecutorTopic.EXECUTE_WITH_PARAMS, request);
-        });
+        return dispatch(executor -> executor.executeWithParams(sql, params, metadata));
     }
 
     @Override
-    public Future<Void> executeUpdate(String sql) {
-        return Future.future(promise -> {
-            AdbExecutorTask request = AdbExecutorTask.builder()
-                    .sql(sql)
-                    .build();
-            sendRequestWithoutResult(promise, AdbExecutorTopic.EXECUTE_UPDATE, request);
-        });
+    public Future<QueryResultStream> executeStream(String sql, QueryParameters params, List<ColumnMetadata> metadata, int fetchSize) {
+        return dispatch(executor -> executor.executeStream(sql, params, metadata, fetchSize));
     }
 
     @Override
-    public Future<Void> executeInTransaction(List<PreparedStatementRequest> requests) {
-        return Future.future(promise -> {
-            AdbExecutorTask request = AdbExecutorTask.builder()
-                    .preparedStatementRequests(requests)
-                    .build();
-            sendRequestWithoutResult(promise, AdbExecutorTopic.EXECUTE_IN_TRANSACTION, request);
-        });
+    public Future<Void> executeUpdate(String sql) {
+        return dispatch(executor -> executor.executeUpdate(sql));
     }
 
-    private void sendRequestWithResult(Promise<List<Map<String, Object>>> promise, AdbExecutorTopic topic, AdbExecutorTask request) {
-        String key = UUID.randomUUID().toString();
-        taskMap.put(key, request);
-        vertx.eventBus().request(topic.getTopic(), key, DEFAULT_DELIVERY_OPTIONS, ar -> {
-            taskMap.remove(key);
-            if (ar.succeeded()) {
-                promise.handle((AsyncResult<List<Map<String, Object>>>) resultMap.remove(key));
-            } else {
-                promise.fail(ar.cause());
-            }
-        });
+    @Override
+    public Future<Void> executeInTransaction(List<PreparedStatementRequest> requests) {
+        return dispatch(executor -> executor.executeInTransaction(requests));
     }
 
-    private void sendRequestWithoutResult(Promise<Void> promise, AdbExecutorTopic topic, AdbExecutorTask request) {
-        String key = UUID.randomUUID().toString();
-        taskMap.put(key, request);
-        vertx.eventBus().request(topic.getTopic(), key, DEFAULT_DELIVERY_OPTIONS, ar -> {
-            taskMap.remove(key);
-            if (ar.succeeded()) {
-                promise.handle((AsyncResult<Void>) resultMap.remove(key));
-            } else {
-                promise.fail(ar.cause());
-            }
-        });
+    private <T> Future<T> dispatch(Function<AdbQueryExecutor, Future<T>> call) {
+        int size = executors.size();
+        if (size == 0) {
+            return Future.failedFuture(new DataSourceException("ADB query executors are not started"));
+        }
+        return executors.get(Math.floorMod(nextExecutor.getAndIncrement(), size)).execute(call);
     }
 }
@@ -30,9 +30,11 @@ import io.arenadata.dtm.query.execution.plugin.adb.dml.service.AdbLlrService;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
 import io.arenadata.dtm.query.execution.plugin.adb.utils.TestUtils;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrEstimateUtils;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
 import io.arenadata.dtm.query.execution.plugin.api.service.LlrService;
 import io.arenadata.dtm.query.execution.plugin.api.service.enrichment.service.QueryEnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonArray;
 import io.vertx.junit5.VertxExtension;
@@ -100,7 +102,8 @@ class AdbLlrServiceTest {
                         .withUnquotedCasing(Casing.TO_LOWER)
                         .withCaseSensitive(false)
                         .withQuotedCasing(Casing.UNCHANGED)),
-                queryParserService);
+                queryParserService,
+                new QueryStageMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
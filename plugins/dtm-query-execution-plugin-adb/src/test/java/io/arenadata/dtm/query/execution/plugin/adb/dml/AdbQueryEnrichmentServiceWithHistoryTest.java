@@ -54,6 +54,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static io.arenadata.dtm.query.execution.plugin.adb.utils.TestUtils.assertNormalizedEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @Slf4j
 @ExtendWith(VertxExtension.class)
@@ -84,6 +85,27 @@ class AdbQueryEnrichmentServiceWithHistoryTest {
         enrichAndAssert(testContext, enrichQueryRequest, "SELECT account_id, account_type FROM shares.accounts_history WHERE sys_from <= 1 AND sys_to >= 1 UNION ALL SELECT account_id, account_type FROM shares.accounts_actual WHERE sys_from <= 1");
     }
 
+    @Test
+    void enrichWithoutChangingParsedQuery(VertxTestContext testContext) {
+        // arrange
+        EnrichQueryRequest enrichQueryRequest =
+                prepareRequestDeltaNum("select * from shares.accounts");
+        String parsedQuery = enrichQueryRequest.getQuery().toString();
+
+        // act
+        queryParserService.parse(new QueryParserRequest(enrichQueryRequest.getQuery(), enrichQueryRequest.getSchema()))
+                .compose(parserResponse -> adbQueryEnrichmentService.enrich(enrichQueryRequest, parserResponse))
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    if (ar.failed()) {
+                        Assertions.fail(ar.cause());
+                    }
+
+                    assertNormalizedEquals(ar.result(), "SELECT account_id, account_type FROM shares.accounts_history WHERE sys_from <= 1 AND sys_to >= 1 UNION ALL SELECT account_id, account_type FROM shares.accounts_actual WHERE sys_from <= 1");
+                    assertEquals(parsedQuery, enrichQueryRequest.getQuery().toString());
+                }).completeNow());
+    }
+
     @Test
     void testEnrichWithCountAndLimit(VertxTestContext testContext) {
         // arrange
@@ -15,8 +15,11 @@
  */
 package io.arenadata.dtm.query.execution.plugin.adb.query.service.pool;
 
+import io.arenadata.dtm.common.exception.DtmException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -35,6 +38,7 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.*;
 
@@ -259,6 +263,68 @@ class AdbConnectionPoolTest {
                 }).completeNow());
     }
 
+    @Test
+    void shouldGiveReleasedConnectionToHighPriorityTaskFirst(VertxTestContext testContext) {
+        // arrange
+        adbConnectionPool = new AdbConnectionPool(connectionFactory, vertx, 1);
+        Promise<Integer> longQuery = Promise.promise();
+        List<String> executionOrder = new ArrayList<>();
+
+        // act
+        Future<Integer> first = adbConnectionPool.withConnection(sqlConnection -> longQuery.future());
+        Future<String> normal = adbConnectionPool.withConnection(QueryPriority.NORMAL, sqlConnection -> {
+            executionOrder.add("normal");
+            return Future.succeededFuture("normal");
+        });
+        Future<String> high = adbConnectionPool.withConnection(QueryPriority.HIGH, sqlConnection -> {
+            executionOrder.add("high");
+            return Future.succeededFuture("high");
+        });
+        assertTrue(executionOrder.isEmpty());
+        longQuery.complete(0);
+
+        // assert
+        CompositeFuture.join(first, normal, high)
+                .onComplete(ar -> testContext.verify(() -> {
+                    if (ar.failed()) {
+                        fail(ar.cause());
+                    }
+
+                    assertThat(executionOrder, Matchers.contains("high", "normal"));
+                    verify(poolMocks.get(0), times(3)).acquire();
+                    verify(poolMocks.get(0), times(3)).release();
+                }).completeNow());
+    }
+
+    @Test
+    void shouldFailFastWhenQueueIsFull(VertxTestContext testContext) {
+        // arrange
+        val meterRegistry = new SimpleMeterRegistry();
+        adbConnectionPool = new AdbConnectionPool(connectionFactory, vertx, 1, 1, meterRegistry);
+        Promise<Integer> longQuery = Promise.promise();
+
+        // act
+        Future<Integer> first = adbConnectionPool.withConnection(sqlConnection -> longQuery.future());
+        Future<Integer> queued = adbConnectionPool.withConnection(sqlConnection -> Future.succeededFuture(1));
+        Future<Integer> rejected = adbConnectionPool.withConnection(sqlConnection -> Future.succeededFuture(2));
+
+        // assert
+        assertTrue(rejected.failed());
+        assertThat(rejected.cause(), Matchers.instanceOf(DtmException.class));
+        assertEquals(1.0, meterRegistry.get("adb.pool.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("adb.pool.queue.depth").tag("priority", "NORMAL").gauge().value());
+        longQuery.complete(0);
+        CompositeFuture.join(first, queued)
+                .onComplete(ar -> testContext.verify(() -> {
+                    if (ar.failed()) {
+                        fail(ar.cause());
+                    }
+
+                    assertEquals(0.0, meterRegistry.get("adb.pool.queue.depth").tag("priority", "NORMAL").gauge().value());
+                    assertEquals(2L, meterRegistry.get("adb.pool.wait").timer().count());
+                }).completeNow());
+    }
+
     private AdbConnection getMock() {
         val adbConnection = mock(AdbConnection.class);
         when(adbConnection.acquire()).thenReturn(Future.succeededFuture(sqlConnection));
@@ -25,6 +25,11 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class TarantoolDatabaseProperties {
     String host = "localhost";
     Integer port = 3511;
+    /**
+     * Comma separated router instances as host[:port], host and port are used when empty
+     */
+    String hosts;
+    int connectionsPerHost = 1;
     String user = "admin";
     String password = "123";
     Integer operationTimeout = 10000;
@@ -18,6 +18,10 @@ package io.arenadata.dtm.query.execution.plugin.adg.db.service;
 import com.google.common.collect.Maps.EntryTransformer;
 import io.arenadata.dtm.query.execution.plugin.adg.base.configuration.properties.TarantoolDatabaseProperties;
 import io.arenadata.dtm.query.execution.plugin.api.exception.DataSourceException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,50 +34,202 @@ import org.tarantool.TarantoolClientImpl;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Pool of tarantool clients over the router instances. Each client pipelines its requests
+ * over a single connection, a call is sent through the alive client with the least requests in flight.
+ * Clients are connected and dead clients are reconnected on the separate thread, because the connection
+ * is awaited synchronously, so neither the startup nor calls from the event loop block on it
+ * and a router instance being down doesn't fail the startup.
+ */
 @Slf4j
 @Service
 public class AdgClientProvider {
     private final TarantoolDatabaseProperties tarantoolDatabaseProperties;
-    private final AtomicReference<TarantoolClient> clientReference;
     private final EntryTransformer<TarantoolClientConfig, SocketChannelProvider, TarantoolClient> clientProvider;
+    private final List<ClientSlot> slots = new ArrayList<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final ExecutorService reconnectExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "adg-client-reconnect");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Autowired
-    public AdgClientProvider(TarantoolDatabaseProperties tarantoolDatabaseProperties) {
+    public AdgClientProvider(TarantoolDatabaseProperties tarantoolDatabaseProperties, MeterRegistry meterRegistry) {
         this.tarantoolDatabaseProperties = tarantoolDatabaseProperties;
         this.clientProvider = this::getTarantoolClient;
-        this.clientReference = new AtomicReference<>(createNewClient());
+        int connectionsPerHost = Math.max(1, tarantoolDatabaseProperties.getConnectionsPerHost());
+        for (String address : getAddresses()) {
+            int portIndex = address.lastIndexOf(':');
+            String host = portIndex < 0 ? address : address.substring(0, portIndex);
+            Integer port = portIndex < 0 ? tarantoolDatabaseProperties.getPort() : Integer.valueOf(address.substring(portIndex + 1));
+            for (int i = 0; i < connectionsPerHost; i++) {
+                addSlot(host, port, null, meterRegistry);
+            }
+        }
+        connectInBackground();
     }
 
     protected AdgClientProvider(TarantoolDatabaseProperties tarantoolDatabaseProperties,
                                 TarantoolClient tarantoolClient,
                                 EntryTransformer<TarantoolClientConfig, SocketChannelProvider, TarantoolClient> clientProvider) {
+        this(tarantoolDatabaseProperties, Collections.singletonList(tarantoolClient), clientProvider, new SimpleMeterRegistry());
+    }
+
+    /**
+     * @param tarantoolClients clients of the slots, null for the slot to be connected in background
+     */
+    protected AdgClientProvider(TarantoolDatabaseProperties tarantoolDatabaseProperties,
+                                List<TarantoolClient> tarantoolClients,
+                                EntryTransformer<TarantoolClientConfig, SocketChannelProvider, TarantoolClient> clientProvider,
+                                MeterRegistry meterRegistry) {
         this.tarantoolDatabaseProperties = tarantoolDatabaseProperties;
         this.clientProvider = clientProvider;
-        this.clientReference = new AtomicReference<>(tarantoolClient);
+        tarantoolClients.forEach(tarantoolClient -> addSlot(null, null, tarantoolClient, meterRegistry));
+        connectInBackground();
+    }
+
+    /**
+     * Calls the stored function through the alive client with the least requests in flight
+     *
+     * @param function function name
+     * @param args     function arguments
+     * @return result of the call
+     */
+    public CompletionStage<List<?>> call(String function, Object... args) {
+        val slot = selectSlot();
+        if (slot == null) {
+            return restoreAsync(nextDeadSlot())
+                    .thenCompose(restoredSlot -> call(restoredSlot, function, args));
+        }
+        return call(slot, function, args);
+    }
+
+    private CompletionStage<List<?>> call(ClientSlot slot, String function, Object... args) {
+        val startTime = slot.acquire();
+        try {
+            return slot.client.get().composableAsyncOps().call(function, args)
+                    .whenComplete((result, error) -> slot.release(startTime));
+        } catch (RuntimeException e) {
+            slot.release(startTime);
+            throw e;
+        }
+    }
+
+    private ClientSlot selectSlot() {
+        int size = slots.size();
+        int start = Math.floorMod(nextSlot.getAndIncrement(), size);
+        ClientSlot selected = null;
+        for (int i = 0; i < size; i++) {
+            val slot = slots.get((start + i) % size);
+            if (!slot.isAlive()) {
+                restoreInBackground(slot);
+            } else if (selected == null || slot.inFlight.get() < selected.inFlight.get()) {
+                selected = slot;
+            }
+        }
+        return selected;
+    }
+
+    private ClientSlot nextDeadSlot() {
+        return slots.get(Math.floorMod(nextSlot.getAndIncrement(), slots.size()));
+    }
+
+    private void connectInBackground() {
+        for (ClientSlot slot : slots) {
+            if (slot.client.get() == null) {
+                restoreAsync(slot);
+            }
+        }
+    }
+
+    private void restoreInBackground(ClientSlot slot) {
+        if (slots.size() > 1) {
+            restoreAsync(slot);
+        }
     }
 
-    public TarantoolClient getClient() {
-        if (!clientReference.get().isAlive()) {
-            synchronized (this) {
-                val deadClient = clientReference.get();
-                if (!deadClient.isAlive()) {
+    /**
+     * Restores the client of the slot on the reconnect thread, concurrent calls share the same restoring
+     */
+    private CompletableFuture<ClientSlot> restoreAsync(ClientSlot slot) {
+        while (true) {
+            val restoring = slot.restoring.get();
+            if (restoring != null) {
+                return restoring;
+            }
+            val future = new CompletableFuture<ClientSlot>();
+            if (slot.restoring.compareAndSet(null, future)) {
+                reconnectExecutor.execute(() -> {
+                    try {
+                        val restoredSlot = restore(slot);
+                        slot.restoring.set(null);
+                        future.complete(restoredSlot);
+                    } catch (Exception e) {
+                        log.error("Could not restore tarantool client [{}]", slot.name, e);
+                        slot.restoring.set(null);
+                        future.completeExceptionally(e);
+                    }
+                });
+                return future;
+            }
+        }
+    }
+
+    private ClientSlot restore(ClientSlot slot) {
+        synchronized (slot) {
+            if (!slot.isAlive()) {
+                val deadClient = slot.client.get();
+                if (deadClient != null) {
                     try {
                         deadClient.close();
                     } catch (Exception e) {
                         log.error("Could not stop previous client", e);
                     }
-                    clientReference.set(createNewClient());
                 }
+                slot.client.set(createNewClient(slot.host, slot.port));
             }
         }
+        return slot;
+    }
 
-        return clientReference.get();
+    /**
+     * @param host host of the router instance, host from the properties is used when null
+     * @param port port of the router instance, port from the properties is used when null
+     */
+    private void addSlot(String host, Integer port, TarantoolClient tarantoolClient, MeterRegistry meterRegistry) {
+        String address = host == null ? "default" : host + ":" + port;
+        slots.add(new ClientSlot(host, port, address + "#" + slots.size(), tarantoolClient, meterRegistry));
     }
 
-    private TarantoolClient createNewClient() {
+    private List<String> getAddresses() {
+        val addresses = new ArrayList<String>();
+        val hosts = tarantoolDatabaseProperties.getHosts();
+        if (hosts != null) {
+            for (String address : hosts.split(",")) {
+                if (!address.trim().isEmpty()) {
+                    addresses.add(address.trim());
+                }
+            }
+        }
+        if (addresses.isEmpty()) {
+            addresses.add(tarantoolDatabaseProperties.getHost() + ":" + tarantoolDatabaseProperties.getPort());
+        }
+        return addresses;
+    }
+
+    private TarantoolClient createNewClient(String host, Integer port) {
         TarantoolClientConfig config = new TarantoolClientConfig();
         config.username = tarantoolDatabaseProperties.getUser();
         config.password = tarantoolDatabaseProperties.getPassword();
@@ -84,7 +240,9 @@ public class AdgClientProvider {
             SocketChannel channel;
             try {
                 channel = SocketChannel.open();
-                channel.socket().connect(new InetSocketAddress(tarantoolDatabaseProperties.getHost(), tarantoolDatabaseProperties.getPort()));
+                channel.socket().connect(host == null
+                        ? new InetSocketAddress(tarantoolDatabaseProperties.getHost(), tarantoolDatabaseProperties.getPort())
+                        : new InetSocketAddress(host, port));
                 return channel;
             } catch (IOException e) {
                 throw new DataSourceException("Error in socket provider", e);
@@ -107,4 +265,42 @@ public class AdgClientProvider {
     private TarantoolClient getTarantoolClient(TarantoolClientConfig config, SocketChannelProvider socketChannelProvider) {
         return new TarantoolClientImpl(socketChannelProvider, config);
     }
+
+    private static final class ClientSlot {
+        private final String host;
+        private final Integer port;
+        private final String name;
+        private final AtomicReference<TarantoolClient> client;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicReference<CompletableFuture<ClientSlot>> restoring = new AtomicReference<>();
+        private final Timer latency;
+
+        private ClientSlot(String host, Integer port, String name, TarantoolClient client, MeterRegistry meterRegistry) {
+            this.host = host;
+            this.port = port;
+            this.name = name;
+            this.client = new AtomicReference<>(client);
+            Gauge.builder("adg.client.in.flight", inFlight, AtomicInteger::get)
+                    .tag("connection", name)
+                    .register(meterRegistry);
+            this.latency = Timer.builder("adg.client.latency")
+                    .tag("connection", name)
+                    .register(meterRegistry);
+        }
+
+        private boolean isAlive() {
+            val tarantoolClient = client.get();
+            return tarantoolClient != null && tarantoolClient.isAlive();
+        }
+
+        private long acquire() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        private void release(long startTime) {
+            inFlight.decrementAndGet();
+            latency.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
 }
@@ -19,44 +19,47 @@ import io.arenadata.dtm.query.execution.plugin.adg.db.service.AdgClientProvider;
 import io.arenadata.dtm.query.execution.plugin.adg.db.service.AdgResultTranslator;
 import io.arenadata.dtm.query.execution.plugin.api.exception.DataSourceException;
 import io.vertx.core.AbstractVerticle;
-import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
-import io.vertx.core.eventbus.Message;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 public class AdgQueryExecutorTaskVerticle extends AbstractVerticle {
     private final AdgClientProvider clientProvider;
     private final AdgResultTranslator resultTranslator;
-    private final Map<String, AdgExecutorTask> taskMap;
-    private final Map<String, AsyncResult<List<Object>>> resultMap;
+    private final List<AdgQueryExecutorTaskVerticle> executors;
 
     public AdgQueryExecutorTaskVerticle(AdgClientProvider clientProvider,
                                         AdgResultTranslator resultTranslator,
-                                        Map<String, AdgExecutorTask> taskMap,
-                                        Map<String, AsyncResult<List<Object>>> resultMap) {
+                                        List<AdgQueryExecutorTaskVerticle> executors) {
         this.clientProvider = clientProvider;
         this.resultTranslator = resultTranslator;
-        this.taskMap = taskMap;
-        this.resultMap = resultMap;
+        this.executors = executors;
     }
 
     @Override
     public void start() throws Exception {
-        vertx.eventBus().consumer(AdgExecutorTopic.CALL_QUERY.getTopic(), this::executeCallQueryHandler);
+        executors.add(this);
     }
 
-    private void executeCallQueryHandler(Message<String> message) {
-        String key = message.body();
-        AdgExecutorTask adgExecutorTask = taskMap.get(key);
-        callQuery(adgExecutorTask.getFunction(), adgExecutorTask.getArgs())
-                .onComplete(ar -> {
-                    resultMap.put(key, ar);
-                    message.reply(key);
-                });
+    @Override
+    public void stop() throws Exception {
+        executors.remove(this);
+    }
+
+    /**
+     * Runs the query on the context of this verticle
+     */
+    Future<List<Object>> execute(String sql, Object[] params) {
+        return Future.future(promise -> context.runOnContext(v -> {
+            try {
+                callQuery(sql, params).onComplete(promise);
+            } catch (Exception e) {
+                promise.fail(e);
+            }
+        }));
     }
 
     private Future<List<Object>> callQuery(String sql, Object[] params) {
@@ -68,13 +71,15 @@ public class AdgQueryExecutorTaskVerticle extends AbstractVerticle {
     }
 
     private Future<List<Object>> call(String function, Object... args) {
-        return vertx.executeBlocking(event ->
-                clientProvider.getClient().composableAsyncOps().call(function, args)
-                        .thenAccept(event::complete)
-                        .exceptionally(e -> {
-                            event.fail(new DataSourceException(e));
-                            return null;
-                        }), false)
+        Context callContext = context;
+        return Future.<List<?>>future(promise -> clientProvider.call(function, args)
+                .whenComplete((result, e) -> callContext.runOnContext(v -> {
+                    if (e != null) {
+                        promise.fail(new DataSourceException(e));
+                    } else {
+                        promise.complete(result);
+                    }
+                })))
                 .map(resultTranslator::translate);
     }
 }
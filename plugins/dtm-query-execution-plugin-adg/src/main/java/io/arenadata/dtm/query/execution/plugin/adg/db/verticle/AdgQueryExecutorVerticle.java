@@ -18,23 +18,21 @@ package io.arenadata.dtm.query.execution.plugin.adg.db.verticle;
 import io.arenadata.dtm.query.execution.plugin.adg.base.configuration.properties.TarantoolDatabaseProperties;
 import io.arenadata.dtm.query.execution.plugin.adg.db.service.AdgClientProvider;
 import io.arenadata.dtm.query.execution.plugin.adg.db.service.AdgResultTranslator;
-import io.vertx.core.*;
-import io.vertx.core.eventbus.DeliveryOptions;
-import lombok.val;
+import io.arenadata.dtm.query.execution.plugin.api.exception.DataSourceException;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class AdgQueryExecutorVerticle extends AbstractVerticle {
-    private static final DeliveryOptions DEFAULT_DELIVERY_OPTIONS = new DeliveryOptions()
-            .setSendTimeout(86400000L);
-
-    private final Map<String, AdgExecutorTask> taskMap = new ConcurrentHashMap<>();
-    private final Map<String, AsyncResult<List<Object>>> resultMap = new ConcurrentHashMap<>();
+    private final List<AdgQueryExecutorTaskVerticle> executors = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextExecutor = new AtomicInteger();
     private final TarantoolDatabaseProperties tarantoolDatabaseProperties;
     private final AdgClientProvider adgClientProvider;
     private final AdgResultTranslator resultTranslator;
@@ -52,10 +50,8 @@ public class AdgQueryExecutorVerticle extends AbstractVerticle {
         DeploymentOptions deploymentOptions = new DeploymentOptions();
         deploymentOptions.setInstances(tarantoolDatabaseProperties.getVertxWorkers());
         deploymentOptions.setWorker(false);
-        deploymentOptions.setWorkerPoolName("adgClientWorkerPool");
-        deploymentOptions.setWorkerPoolSize(tarantoolDatabaseProperties.getVertxWorkers());
 
-        vertx.deployVerticle(() -> new AdgQueryExecutorTaskVerticle(adgClientProvider, resultTranslator, taskMap, resultMap),
+        vertx.deployVerticle(() -> new AdgQueryExecutorTaskVerticle(adgClientProvider, resultTranslator, executors),
                 deploymentOptions, ar -> {
                     if (ar.succeeded()) {
                         startPromise.complete();
@@ -66,26 +62,10 @@ public class AdgQueryExecutorVerticle extends AbstractVerticle {
     }
 
     public Future<List<Object>> callQuery(String sql, Object[] args) {
-        return Future.future(promise -> {
-            AdgExecutorTask request = AdgExecutorTask.builder()
-                    .function(sql)
-                    .args(args)
-                    .build();
-            sendRequestWithResult(promise, AdgExecutorTopic.CALL_QUERY, request);
-        });
-    }
-
-    private void sendRequestWithResult(Promise<List<Object>> promise, AdgExecutorTopic topic, AdgExecutorTask request) {
-        String key = UUID.randomUUID().toString();
-        taskMap.put(key, request);
-        vertx.eventBus().request(topic.getTopic(), key, DEFAULT_DELIVERY_OPTIONS, ar -> {
-            taskMap.remove(key);
-            val result = resultMap.remove(key);
-            if (ar.succeeded()) {
-                promise.handle(result);
-            } else {
-                promise.fail(ar.cause());
-            }
-        });
+        int size = executors.size();
+        if (size == 0) {
+            return Future.failedFuture(new DataSourceException("ADG query executors are not started"));
+        }
+        return executors.get(Math.floorMod(nextExecutor.getAndIncrement(), size)).execute(sql, args);
     }
 }
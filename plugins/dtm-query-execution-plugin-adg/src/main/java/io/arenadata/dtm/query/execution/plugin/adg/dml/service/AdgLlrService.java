@@ -26,6 +26,7 @@ import io.arenadata.dtm.query.calcite.core.service.QueryTemplateExtractor;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adg.query.service.QueryExecutorService;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrPlanResult;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
 import io.arenadata.dtm.query.execution.plugin.api.service.LlrValidationService;
 import io.arenadata.dtm.query.execution.plugin.api.service.PluginSpecificLiteralConverter;
@@ -62,8 +63,9 @@ public class AdgLlrService extends QueryResultCacheableLlrService {
                          @Qualifier("adgSqlDialect") SqlDialect sqlDialect,
                          @Qualifier("adgCalciteDMLQueryParserService") QueryParserService queryParserService,
                          @Qualifier("adgTemplateParameterConverter") PluginSpecificLiteralConverter pluginSpecificLiteralConverter,
-                         @Qualifier("adgValidationService") LlrValidationService adgValidationService) {
-        super(queryCacheService, templateExtractor, sqlDialect, queryParserService);
+                         @Qualifier("adgValidationService") LlrValidationService adgValidationService,
+                         QueryStageMetrics queryStageMetrics) {
+        super(queryCacheService, templateExtractor, sqlDialect, queryParserService, SourceType.ADG, queryStageMetrics);
         this.queryEnrichmentService = adgQueryEnrichmentService;
         this.executorService = executorService;
         this.pluginSpecificLiteralConverter = pluginSpecificLiteralConverter;
@@ -17,6 +17,7 @@ package io.arenadata.dtm.query.execution.plugin.adg.query.service;
 
 import io.arenadata.dtm.async.AsyncUtils;
 import io.arenadata.dtm.common.converter.SqlTypeConverter;
+import io.arenadata.dtm.common.reader.ColumnIndex;
 import io.arenadata.dtm.common.reader.QueryParameters;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adg.db.verticle.AdgQueryExecutorVerticle;
@@ -62,10 +63,11 @@ public class AdgQueryExecutorService implements QueryExecutorService {
                         if (ar.succeeded() && ar.result() != null && !ar.result().isEmpty()) {
                             val map = (Map<?, ?>) ar.result().get(0);
                             val dataSet = (List<List<?>>) map.get("rows");
-                            final List<Map<String, Object>> result = new ArrayList<>();
+                            final List<Map<String, Object>> result = new ArrayList<>(dataSet.size());
+                            val columnIndex = ColumnIndex.of(queryMetadata);
                             try {
                                 dataSet.forEach(row -> {
-                                    val rowMap = createRowMap(queryMetadata, row);
+                                    val rowMap = createRowMap(queryMetadata, columnIndex, row);
                                     result.add(rowMap);
                                 });
                             } catch (Exception e) {
@@ -101,11 +103,10 @@ public class AdgQueryExecutorService implements QueryExecutorService {
         }
     }
 
-    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, List<?> row) {
-        Map<String, Object> rowMap = new HashMap<>();
+    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, ColumnIndex columnIndex, List<?> row) {
+        val rowMap = columnIndex.newRow();
         for (int i = 0; i < row.size(); i++) {
-            final ColumnMetadata columnMetadata = metadata.get(i);
-            rowMap.put(columnMetadata.getName(), adgTypeConverter.convert(columnMetadata.getType(), row.get(i)));
+            rowMap.setValue(i, adgTypeConverter.convert(metadata.get(i).getType(), row.get(i)));
         }
         return rowMap;
     }
@@ -16,15 +16,25 @@
 package io.arenadata.dtm.query.execution.plugin.adg.db.service;
 
 import io.arenadata.dtm.query.execution.plugin.adg.base.configuration.properties.TarantoolDatabaseProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.tarantool.TarantoolClient;
-
+import org.tarantool.TarantoolClientOps;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -41,6 +51,12 @@ class AdgClientProviderTest {
     @Mock
     private TarantoolClient tarantoolClient2;
 
+    @Mock
+    private TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> asyncOps1;
+
+    @Mock
+    private TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> asyncOps2;
+
     private AdgClientProvider adgClientProvider;
 
     @BeforeEach
@@ -58,82 +74,172 @@ class AdgClientProviderTest {
     }
 
     @Test
-    void shouldReturnSameClientWhenAlive() {
+    void shouldCallThroughSameClientWhenAlive() {
         // arrange
         when(tarantoolClient1.isAlive()).thenReturn(true);
+        when(tarantoolClient1.composableAsyncOps()).thenReturn(asyncOps1);
+        when(asyncOps1.call(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(Arrays.asList()));
 
         // act
-        TarantoolClient client = adgClientProvider.getClient();
+        adgClientProvider.call("query", "select 1").toCompletableFuture().join();
 
         // assert
-        assertSame(tarantoolClient1, client);
+        verify(asyncOps1).call(eq("query"), eq("select 1"));
+        verify(tarantoolClient1, never()).close();
     }
 
     @Test
-    void shouldReturnSameClientWhenWasDeadButBeingOk() {
+    void shouldCallThroughSameClientWhenWasDeadButBeingOk() {
         // arrange
         when(tarantoolClient1.isAlive()).thenReturn(false).thenReturn(true);
+        when(tarantoolClient1.composableAsyncOps()).thenReturn(asyncOps1);
+        when(asyncOps1.call(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(Arrays.asList()));
 
         // act
-        TarantoolClient client = adgClientProvider.getClient();
+        adgClientProvider.call("query", "select 1").toCompletableFuture().join();
 
         // assert
-        assertSame(tarantoolClient1, client);
+        verify(asyncOps1).call(eq("query"), eq("select 1"));
+        verify(tarantoolClient1, never()).close();
     }
 
     @Test
-    void shouldReturnCloseAndCreateNewClientWhenClientDead() throws InterruptedException {
+    void shouldCloseAndCreateNewClientWhenClientDead() throws InterruptedException {
         // arrange
         when(tarantoolClient1.isAlive()).thenReturn(false);
         when(tarantoolClient2.isAlive()).thenReturn(true);
+        when(tarantoolClient2.composableAsyncOps()).thenReturn(asyncOps2);
+        when(asyncOps2.call(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(Arrays.asList()));
 
         // act
-        TarantoolClient client = adgClientProvider.getClient();
+        adgClientProvider.call("query", "select 1").toCompletableFuture().join();
 
         // assert
         verify(tarantoolClient1).close();
         verify(tarantoolClient2).waitAlive(eq(tarantoolDatabaseProperties.getInitTimeoutMillis()), eq(TimeUnit.MILLISECONDS));
-        verify(tarantoolClient2).isAlive();
-        assertSame(tarantoolClient2, client);
+        verify(asyncOps2).call(eq("query"), eq("select 1"));
     }
 
     @Test
-    void shouldThrowWhenWaitInterrupted() throws InterruptedException {
+    void shouldFailWhenWaitInterrupted() throws InterruptedException {
         // arrange
         when(tarantoolClient1.isAlive()).thenReturn(false);
         when(tarantoolClient2.waitAlive(anyLong(), any())).thenThrow(new InterruptedException("Interrupted"));
 
         // act
-        assertThrows(IllegalStateException.class, () -> adgClientProvider.getClient());
+        CompletableFuture<List<?>> result = adgClientProvider.call("query", "select 1").toCompletableFuture();
+
+        // assert
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertSame(IllegalStateException.class, exception.getCause().getClass());
         verify(tarantoolClient1).close();
     }
 
     @Test
-    void shouldThrowWhenNotAliveAfterCreate() {
+    void shouldFailWhenNotAliveAfterCreate() {
         // arrange
         when(tarantoolClient1.isAlive()).thenReturn(false);
         when(tarantoolClient2.isAlive()).thenReturn(false);
 
         // act
-        assertThrows(IllegalStateException.class, () -> adgClientProvider.getClient());
+        CompletableFuture<List<?>> result = adgClientProvider.call("query", "select 1").toCompletableFuture();
+
+        // assert
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertSame(IllegalStateException.class, exception.getCause().getClass());
         verify(tarantoolClient1).close();
     }
 
     @Test
-    void shouldNotThrowWhenExceptionOnClose() throws InterruptedException {
+    void shouldNotFailWhenExceptionOnClose() throws InterruptedException {
         // arrange
         when(tarantoolClient1.isAlive()).thenReturn(false);
         when(tarantoolClient2.isAlive()).thenReturn(true);
+        when(tarantoolClient2.composableAsyncOps()).thenReturn(asyncOps2);
+        when(asyncOps2.call(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(Arrays.asList()));
         doThrow(new IllegalStateException("Exception")).when(tarantoolClient1).close();
 
         // act
-        TarantoolClient client = adgClientProvider.getClient();
+        adgClientProvider.call("query", "select 1").toCompletableFuture().join();
 
         // assert
         verify(tarantoolClient1).close();
         verify(tarantoolClient2).waitAlive(eq(tarantoolDatabaseProperties.getInitTimeoutMillis()), eq(TimeUnit.MILLISECONDS));
-        verify(tarantoolClient2).isAlive();
-        assertSame(tarantoolClient2, client);
+        verify(asyncOps2).call(eq("query"), eq("select 1"));
+    }
+
+    @Test
+    void shouldNotFailOnStartWhenRouterIsDown() {
+        // arrange
+        adgClientProvider = new AdgClientProvider(tarantoolDatabaseProperties, Collections.singletonList(null),
+                (tarantoolClientConfig, socketChannelProvider) -> {
+                    throw new IllegalStateException("Router is down");
+                }, new SimpleMeterRegistry());
+
+        // act
+        CompletableFuture<List<?>> result = adgClientProvider.call("query", "select 1").toCompletableFuture();
+
+        // assert
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertEquals("Router is down", exception.getCause().getMessage());
+    }
+
+    @Test
+    void shouldConnectInBackgroundOnStart() {
+        // arrange
+        when(tarantoolClient2.isAlive()).thenReturn(true);
+        when(tarantoolClient2.composableAsyncOps()).thenReturn(asyncOps2);
+        when(asyncOps2.call(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(Arrays.asList()));
+        adgClientProvider = new AdgClientProvider(tarantoolDatabaseProperties, Collections.singletonList(null),
+                (tarantoolClientConfig, socketChannelProvider) -> tarantoolClient2, new SimpleMeterRegistry());
+
+        // act
+        adgClientProvider.call("query", "select 1").toCompletableFuture().join();
+
+        // assert
+        verify(asyncOps2).call(eq("query"), eq("select 1"));
+    }
+
+    @Test
+    void shouldCallThroughClientWithLeastInFlight() {
+        // arrange
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        adgClientProvider = new AdgClientProvider(tarantoolDatabaseProperties, Arrays.asList(tarantoolClient1, tarantoolClient2),
+                (tarantoolClientConfig, socketChannelProvider) -> tarantoolClient2, meterRegistry);
+        when(tarantoolClient1.isAlive()).thenReturn(true);
+        when(tarantoolClient2.isAlive()).thenReturn(true);
+        when(tarantoolClient1.composableAsyncOps()).thenReturn(asyncOps1);
+        when(tarantoolClient2.composableAsyncOps()).thenReturn(asyncOps2);
+        when(asyncOps1.call(any(), any())).thenReturn(new CompletableFuture<>());
+        when(asyncOps2.call(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(Arrays.asList()));
+
+        // act
+        adgClientProvider.call("query", "select 1");
+        adgClientProvider.call("query", "select 2");
+        adgClientProvider.call("query", "select 3");
+
+        // assert
+        verify(asyncOps1).call(eq("query"), eq("select 1"));
+        verify(asyncOps2).call(eq("query"), eq("select 2"));
+        verify(asyncOps2).call(eq("query"), eq("select 3"));
+        assertEquals(1, meterRegistry.get("adg.client.in.flight").tag("connection", "default#0").gauge().value());
+        assertEquals(0, meterRegistry.get("adg.client.in.flight").tag("connection", "default#1").gauge().value());
+        assertEquals(2, meterRegistry.get("adg.client.latency").tag("connection", "default#1").timer().count());
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReleaseInFlightWhenCallFailed() {
+        // arrange
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        adgClientProvider = new AdgClientProvider(tarantoolDatabaseProperties, Arrays.asList(tarantoolClient1),
+                (tarantoolClientConfig, socketChannelProvider) -> tarantoolClient2, meterRegistry);
+        when(tarantoolClient1.isAlive()).thenReturn(true);
+        when(tarantoolClient1.composableAsyncOps()).thenThrow(new IllegalStateException("Can't get async ops"));
+
+        // act
+        assertThrows(IllegalStateException.class, () -> adgClientProvider.call("query", "select 1"));
+
+        // assert
+        assertEquals(0, meterRegistry.get("adg.client.in.flight").tag("connection", "default#0").gauge().value());
+    }
+}
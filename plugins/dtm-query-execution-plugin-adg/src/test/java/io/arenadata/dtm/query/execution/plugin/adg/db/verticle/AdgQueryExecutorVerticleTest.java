@@ -19,6 +19,7 @@ import io.arenadata.dtm.query.execution.plugin.adg.base.configuration.properties
 import io.arenadata.dtm.query.execution.plugin.adg.db.service.AdgClientProvider;
 import io.arenadata.dtm.query.execution.plugin.adg.db.service.AdgResultTranslator;
 import io.arenadata.dtm.query.execution.plugin.api.exception.DataSourceException;
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -29,15 +30,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.NestedExceptionUtils;
 import org.tarantool.TarantoolClient;
-import org.tarantool.TarantoolClientOps;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith({MockitoExtension.class, VertxExtension.class})
@@ -55,17 +56,13 @@ class AdgQueryExecutorVerticleTest {
     private AdgResultTranslator resultTranslator;
     @Mock
     private TarantoolClient adgClient;
-    @Mock
-    private TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> adgAsyncOps;
     @InjectMocks
     private AdgQueryExecutorVerticle adgQueryExecutorVerticle;
 
     @BeforeEach
     void setUp(Vertx vertx, VertxTestContext testContext) {
         lenient().when(tarantoolDatabaseProperties.getVertxWorkers()).thenReturn(10);
-        lenient().when(adgClientProvider.getClient()).thenReturn(adgClient);
-        lenient().when(adgClient.composableAsyncOps()).thenReturn(adgAsyncOps);
-        lenient().when(adgAsyncOps.call(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(NOT_TRANSLATED_RESULT));
+        lenient().when(adgClientProvider.call(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(NOT_TRANSLATED_RESULT));
         lenient().when(resultTranslator.translate(Mockito.any())).thenReturn(TRANSLATED_RESULT);
 
         vertx.deployVerticle(adgQueryExecutorVerticle, event -> {
@@ -91,9 +88,7 @@ class AdgQueryExecutorVerticleTest {
                     testContext.verify(() -> {
                         assertSame(TRANSLATED_RESULT, ar.result());
 
-                        verify(adgClientProvider).getClient();
-                        verify(adgClient).composableAsyncOps();
-                        verify(adgAsyncOps).call(Mockito.eq(QUERY_CALL), Mockito.eq(SQL));
+                        verify(adgClientProvider).call(Mockito.eq(QUERY_CALL), Mockito.eq(SQL));
                         verify(resultTranslator).translate(Mockito.same(NOT_TRANSLATED_RESULT));
                     }).completeNow();
                 });
@@ -116,22 +111,27 @@ class AdgQueryExecutorVerticleTest {
                     testContext.verify(() -> {
                         assertSame(TRANSLATED_RESULT, ar.result());
 
-                        verify(adgClientProvider).getClient();
-                        verify(adgClient).composableAsyncOps();
-                        verify(adgAsyncOps).call(Mockito.eq(QUERY_CALL), Mockito.eq(SQL), Mockito.same(params));
+                        verify(adgClientProvider).call(Mockito.eq(QUERY_CALL), Mockito.eq(SQL), Mockito.same(params));
                         verify(resultTranslator).translate(Mockito.same(NOT_TRANSLATED_RESULT));
                     }).completeNow();
                 });
     }
 
     @Test
-    void shouldFailWhenGettingClientFailed(VertxTestContext testContext) {
+    void shouldFailWhenGettingClientFailed(Vertx vertx, VertxTestContext testContext) {
         // arrange
-        reset(adgClientProvider);
-        when(adgClientProvider.getClient()).thenThrow(new IllegalStateException("Can't get client"));
+        AtomicBoolean reconnectedOnEventLoop = new AtomicBoolean();
+        when(adgClient.isAlive()).thenReturn(false);
+        AdgClientProvider clientProvider = new AdgClientProvider(tarantoolDatabaseProperties, adgClient, (config, socketChannelProvider) -> {
+            reconnectedOnEventLoop.set(Context.isOnEventLoopThread());
+            throw new IllegalStateException("Can't get client");
+        }) {
+        };
+        AdgQueryExecutorVerticle executorVerticle = new AdgQueryExecutorVerticle(tarantoolDatabaseProperties, clientProvider, resultTranslator);
 
         // act
-        adgQueryExecutorVerticle.callQuery(SQL, null)
+        vertx.deployVerticle(executorVerticle)
+                .compose(id -> executorVerticle.callQuery(SQL, null))
                 .onComplete(ar -> {
                     // assert
                     if (ar.succeeded()) {
@@ -140,19 +140,25 @@ class AdgQueryExecutorVerticleTest {
                     }
 
                     testContext.verify(() -> {
-                        assertSame(IllegalStateException.class, ar.cause().getClass());
+                        assertSame(DataSourceException.class, ar.cause().getClass());
+                        assertEquals("Can't get client", NestedExceptionUtils.getMostSpecificCause(ar.cause()).getMessage());
+                        assertFalse(reconnectedOnEventLoop.get());
                     }).completeNow();
                 });
     }
 
     @Test
-    void shouldFailWhenAsyncOpsFailed(VertxTestContext testContext) {
+    void shouldFailWhenAsyncOpsFailed(Vertx vertx, VertxTestContext testContext) {
         // arrange
-        reset(adgClient);
+        when(adgClient.isAlive()).thenReturn(true);
         when(adgClient.composableAsyncOps()).thenThrow(new IllegalStateException("Can't get async ops"));
+        AdgClientProvider clientProvider = new AdgClientProvider(tarantoolDatabaseProperties, adgClient, (config, socketChannelProvider) -> adgClient) {
+        };
+        AdgQueryExecutorVerticle executorVerticle = new AdgQueryExecutorVerticle(tarantoolDatabaseProperties, clientProvider, resultTranslator);
 
         // act
-        adgQueryExecutorVerticle.callQuery(SQL, null)
+        vertx.deployVerticle(executorVerticle)
+                .compose(id -> executorVerticle.callQuery(SQL, null))
                 .onComplete(ar -> {
                     // assert
                     if (ar.succeeded()) {
@@ -169,8 +175,8 @@ class AdgQueryExecutorVerticleTest {
     @Test
     void shouldFailWhenCallFailed(VertxTestContext testContext) {
         // arrange
-        reset(adgAsyncOps);
-        when(adgAsyncOps.call(Mockito.any(), Mockito.any())).thenThrow(new IllegalStateException("Can't call"));
+        reset(adgClientProvider);
+        when(adgClientProvider.call(Mockito.any(), Mockito.any())).thenThrow(new IllegalStateException("Can't call"));
 
         // act
         adgQueryExecutorVerticle.callQuery(SQL, null)
@@ -190,10 +196,10 @@ class AdgQueryExecutorVerticleTest {
     @Test
     void shouldFailWhenCallFutureFailed(VertxTestContext testContext) {
         // arrange
-        reset(adgAsyncOps);
+        reset(adgClientProvider);
         CompletableFuture<List<?>> exceptionFuture = new CompletableFuture<>();
         exceptionFuture.completeExceptionally(new IllegalStateException("Failed future"));
-        when(adgAsyncOps.call(Mockito.any(), Mockito.any())).thenReturn(exceptionFuture);
+        when(adgClientProvider.call(Mockito.any(), Mockito.any())).thenReturn(exceptionFuture);
 
         // act
         adgQueryExecutorVerticle.callQuery(SQL, null)
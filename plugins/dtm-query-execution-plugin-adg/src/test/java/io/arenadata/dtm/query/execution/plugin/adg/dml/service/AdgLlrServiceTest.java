@@ -30,10 +30,12 @@ import io.arenadata.dtm.query.execution.plugin.adg.base.service.converter.AdgPlu
 import io.arenadata.dtm.query.execution.plugin.adg.query.service.QueryExecutorService;
 import io.arenadata.dtm.query.execution.plugin.adg.utils.TestUtils;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrEstimateUtils;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
 import io.arenadata.dtm.query.execution.plugin.api.service.LlrService;
 import io.arenadata.dtm.query.execution.plugin.api.service.LlrValidationService;
 import io.arenadata.dtm.query.execution.plugin.api.service.enrichment.service.QueryEnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonArray;
 import io.vertx.junit5.VertxExtension;
@@ -101,7 +103,8 @@ class AdgLlrServiceTest {
                         .withQuotedCasing(Casing.UNCHANGED)),
                 queryParserService,
                 new AdgPluginSpecificLiteralConverter(),
-                validationService);
+                validationService,
+                new QueryStageMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
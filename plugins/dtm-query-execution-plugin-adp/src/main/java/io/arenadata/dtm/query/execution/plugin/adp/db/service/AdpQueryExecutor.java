@@ -19,12 +19,16 @@ import io.arenadata.dtm.async.AsyncUtils;
 import io.arenadata.dtm.common.converter.SqlTypeConverter;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.plugin.sql.PreparedStatementRequest;
+import io.arenadata.dtm.common.reader.ColumnIndex;
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.ReadStreamQueryResultStream;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.api.exception.LlrDatasourceException;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.*;
 import io.vertx.sqlclient.impl.ArrayTuple;
@@ -32,9 +36,9 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -94,6 +98,38 @@ public class AdpQueryExecutor implements DatabaseExecutor {
         });
     }
 
+    @Override
+    public Future<QueryResultStream> executeStream(String sql,
+                                                   QueryParameters params,
+                                                   List<ColumnMetadata> metadata,
+                                                   int fetchSize) {
+        return Future.future(promise -> {
+            log.debug("ADP. Execute stream: [{}] with params: [{}]", sql, params);
+            // portal of the stream lives only inside the transaction, otherwise it's dropped after the first fetch
+            pool.withTransaction(conn -> prepareQuery(conn, sql)
+                    .compose(preparedQuery -> {
+                        Promise<Void> streamClosed = Promise.promise();
+                        val rowStream = preparedQuery.createStream(fetchSize, createStreamParams(params));
+                        promise.complete(new ReadStreamQueryResultStream<>(rowStream,
+                                fetchSize,
+                                createRowMapper(metadata),
+                                () -> rowStream.close()
+                                        .eventually(v -> preparedQuery.close())
+                                        .onComplete(streamClosed)));
+                        return streamClosed.future();
+                    }))
+                    .onFailure(fail -> {
+                        log.error("ADP. Execute stream failed: [{}]", sql, fail);
+                        promise.tryFail(fail);
+                    });
+        });
+    }
+
+    private Tuple createStreamParams(QueryParameters params) {
+        val paramsArray = createParamsArray(params);
+        return paramsArray == null ? Tuple.tuple() : paramsArray;
+    }
+
     private ArrayTuple createParamsArray(QueryParameters params) {
         if (params == null || params.getValues().isEmpty()) {
             return null;
@@ -212,33 +248,44 @@ public class AdpQueryExecutor implements DatabaseExecutor {
     private List<Map<String, Object>> createResult(List<ColumnMetadata> metadata,
                                                    RowSet<Row> pgRowSet) {
         List<Map<String, Object>> result = new ArrayList<>();
-        Function<Row, Map<String, Object>> func = metadata.isEmpty()
-                ? row -> createRowMap(row, pgRowSet.columnsNames().size())
-                : row -> createRowMap(metadata, row);
+        Function<Row, Map<String, Object>> func = createRowMapper(metadata);
         for (Row row : pgRowSet) {
             result.add(func.apply(row));
         }
         return result;
     }
 
-    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, Row row) {
-        Map<String, Object> rowMap = new HashMap<>();
+    private Function<Row, Map<String, Object>> createRowMapper(List<ColumnMetadata> metadata) {
+        if (metadata.isEmpty()) {
+            val columnIndex = new AtomicReference<ColumnIndex>();
+            return row -> createRowMap(columnIndex.updateAndGet(index -> index != null ? index : createColumnIndex(row)), row);
+        }
+        val columnIndex = ColumnIndex.of(metadata);
+        return row -> createRowMap(metadata, columnIndex, row);
+    }
+
+    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, ColumnIndex columnIndex, Row row) {
+        val rowMap = columnIndex.newRow();
         for (int i = 0; i < metadata.size(); i++) {
-            ColumnMetadata columnMetadata = metadata.get(i);
-            rowMap.put(columnMetadata.getName(),
-                    fromSqlConverter.convert(columnMetadata.getType(), row.getValue(i)));
+            rowMap.setValue(i, fromSqlConverter.convert(metadata.get(i).getType(), row.getValue(i)));
         }
         return rowMap;
     }
 
-    private Map<String, Object> createRowMap(Row row, int size) {
-        Map<String, Object> rowMap = new HashMap<>();
-        for (int i = 0; i < size; i++) {
-            rowMap.put(row.getColumnName(i), row.getValue(i));
+    private Map<String, Object> createRowMap(ColumnIndex columnIndex, Row row) {
+        val rowMap = columnIndex.newRow();
+        for (int i = 0; i < columnIndex.size(); i++) {
+            rowMap.setValue(i, row.getValue(i));
         }
         return rowMap;
     }
 
+    private ColumnIndex createColumnIndex(Row row) {
+        return ColumnIndex.ofNames(IntStream.range(0, row.size())
+                .mapToObj(row::getColumnName)
+                .collect(Collectors.toList()));
+    }
+
     private Future<Void> execute(PreparedStatementRequest request, SqlConnection connection) {
         return Future.future(promise -> connection.query(request.getSql())
                 .execute(rs -> {
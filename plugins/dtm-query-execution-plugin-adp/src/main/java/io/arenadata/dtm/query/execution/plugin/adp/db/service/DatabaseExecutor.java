@@ -17,6 +17,7 @@ package io.arenadata.dtm.query.execution.plugin.adp.db.service;
 
 import io.arenadata.dtm.common.plugin.sql.PreparedStatementRequest;
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.vertx.core.Future;
 
@@ -32,6 +33,11 @@ public interface DatabaseExecutor {
 
     Future<List<Map<String, Object>>> executeWithParams(String sql, QueryParameters params, List<ColumnMetadata> metadata);
 
+    /**
+     * Executes query and returns stream of its rows, the connection is held until the stream is closed or read to the end
+     */
+    Future<QueryResultStream> executeStream(String sql, QueryParameters params, List<ColumnMetadata> metadata, int fetchSize);
+
     Future<Void> executeUpdate(String sql);
 
     Future<Void> executeInTransaction(List<PreparedStatementRequest> requests);
@@ -18,32 +18,35 @@ package io.arenadata.dtm.query.execution.plugin.adp.db.verticle;
 import io.arenadata.dtm.common.converter.SqlTypeConverter;
 import io.arenadata.dtm.common.plugin.sql.PreparedStatementRequest;
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adp.base.properties.AdpProperties;
+import io.arenadata.dtm.query.execution.plugin.adp.db.service.AdpQueryExecutor;
 import io.arenadata.dtm.query.execution.plugin.adp.db.service.DatabaseExecutor;
-import io.vertx.core.*;
-import io.vertx.core.eventbus.DeliveryOptions;
+import io.arenadata.dtm.query.execution.plugin.api.exception.DataSourceException;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 @Service("adpQueryExecutor")
 public class AdpQueryExecutorVerticle extends AbstractVerticle implements DatabaseExecutor {
-    private static final DeliveryOptions DEFAULT_DELIVERY_OPTIONS = new DeliveryOptions()
-            .setSendTimeout(86400000L);
-
     private final String database;
     private final AdpProperties adpProperties;
     private final SqlTypeConverter typeConverter;
     private final SqlTypeConverter sqlTypeConverter;
 
-    private final Map<String, AdpExecutorTask> taskMap = new ConcurrentHashMap<>();
-    private final Map<String, AsyncResult<?>> resultMap = new ConcurrentHashMap<>();
+    private final List<AdpQueryExecutorTaskVerticle> executors = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextExecutor = new AtomicInteger();
 
     public AdpQueryExecutorVerticle(@Value("${core.env.name}") String database,
                                     AdpProperties adpProperties,
@@ -59,7 +62,7 @@ public class AdpQueryExecutorVerticle extends AbstractVerticle implements Databa
     public void start(Promise<Void> startPromise) throws Exception {
         DeploymentOptions deploymentOptions = new DeploymentOptions();
         deploymentOptions.setInstances(adpProperties.getExecutorsCount());
-        vertx.deployVerticle(() -> new AdpQueryExecutorTaskVerticle(database, adpProperties, typeConverter, sqlTypeConverter, taskMap, resultMap),
+        vertx.deployVerticle(() -> new AdpQueryExecutorTaskVerticle(database, adpProperties, typeConverter, sqlTypeConverter, executors),
                 deploymentOptions, ar -> {
                     if (ar.succeeded()) {
                         startPromise.complete();
@@ -71,81 +74,39 @@ public class AdpQueryExecutorVerticle extends AbstractVerticle implements Databa
 
     @Override
     public Future<List<Map<String, Object>>> execute(String sql, List<ColumnMetadata> metadata) {
-        return Future.future(promise -> {
-            AdpExecutorTask request = AdpExecutorTask.builder()
-                    .sql(sql)
-                    .metadata(metadata)
-                    .build();
-            sendRequestWithResult(promise, AdpExecutorTopic.EXECUTE, request);
-        });
+        return dispatch(executor -> executor.execute(sql, metadata));
     }
 
     @Override
     public Future<List<Map<String, Object>>> executeWithCursor(String sql, List<ColumnMetadata> metadata) {
-        return Future.future(promise -> {
-            AdpExecutorTask request = AdpExecutorTask.builder()
-                    .sql(sql)
-                    .metadata(metadata)
-                    .build();
-            sendRequestWithResult(promise, AdpExecutorTopic.EXECUTE_WITH_CURSOR, request);
-        });
+        return dispatch(executor -> executor.executeWithCursor(sql, metadata));
     }
 
     @Override
     public Future<List<Map<String, Object>>> executeWithParams(String sql, QueryParameters params, List<ColumnMetadata> metadata) {
-        return Future.future(promise -> {
-            AdpExecutorTask request = AdpExecutorTask.builder()
-                    .sql(sql)
-                    .params(params)
-                    .metadata(metadata)
-                    .build();
-            sendRequestWithResult(promise, AdpExecutorTopic.EXECUTE_WITH_PARAMS, request);
-        });
+        return dispatch(executor -> executor.executeWithParams(sql, params, metadata));
     }
 
     @Override
-    public Future<Void> executeUpdate(String sql) {
-        return Future.future(promise -> {
-            AdpExecutorTask request = AdpExecutorTask.builder()
-                    .sql(sql)
-                    .build();
-            sendRequestWithoutResult(promise, AdpExecutorTopic.EXECUTE_UPDATE, request);
-        });
+    public Future<QueryResultStream> executeStream(String sql, QueryParameters params, List<ColumnMetadata> metadata, int fetchSize) {
+        return dispatch(executor -> executor.executeStream(sql, params, metadata, fetchSize));
     }
 
     @Override
-    public Future<Void> executeInTransaction(List<PreparedStatementRequest> requests) {
-        return Future.future(promise -> {
-            AdpExecutorTask request = AdpExecutorTask.builder()
-                    .preparedStatementRequests(requests)
-                    .build();
-            sendRequestWithoutResult(promise, AdpExecutorTopic.EXECUTE_IN_TRANSACTION, request);
-        });
+    public Future<Void> executeUpdate(String sql) {
+        return dispatch(executor -> executor.executeUpdate(sql));
     }
 
-    private void sendRequestWithResult(Promise<List<Map<String, Object>>> promise, AdpExecutorTopic topic, AdpExecutorTask request) {
-        String key = UUID.randomUUID().toString();
-        taskMap.put(key, request);
-        vertx.eventBus().request(topic.getTopic(), key, DEFAULT_DELIVERY_OPTIONS, ar -> {
-            taskMap.remove(key);
-            if (ar.succeeded()) {
-                promise.handle((AsyncResult<List<Map<String, Object>>>) resultMap.remove(key));
-            } else {
-                promise.fail(ar.cause());
-            }
-        });
+    @Override
+    public Future<Void> executeInTransaction(List<PreparedStatementRequest> requests) {
+        return dispatch(executor -> executor.executeInTransaction(requests));
     }
 
-    private void sendRequestWithoutResult(Promise<Void> promise, AdpExecutorTopic topic, AdpExecutorTask request) {
-        String key = UUID.randomUUID().toString();
-        taskMap.put(key, request);
-        vertx.eventBus().request(topic.getTopic(), key, DEFAULT_DELIVERY_OPTIONS, ar -> {
-            taskMap.remove(key);
-            if (ar.succeeded()) {
-                promise.handle((AsyncResult<Void>) resultMap.remove(key));
-            } else {
-                promise.fail(ar.cause());
-            }
-        });
+    private <T> Future<T> dispatch(Function<AdpQueryExecutor, Future<T>> call) {
+        int size = executors.size();
+        if (size == 0) {
+            return Future.failedFuture(new DataSourceException("ADP query executors are not started"));
+        }
+        return executors.get(Math.floorMod(nextExecutor.getAndIncrement(), size)).execute(call);
     }
 }
@@ -20,6 +20,7 @@ import io.arenadata.dtm.common.cache.QueryTemplateKey;
 import io.arenadata.dtm.common.cache.QueryTemplateValue;
 import io.arenadata.dtm.common.dto.QueryParserResponse;
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.calcite.core.service.QueryParserService;
 import io.arenadata.dtm.query.calcite.core.service.QueryTemplateExtractor;
@@ -27,6 +28,7 @@ import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adp.db.service.DatabaseExecutor;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrEstimateUtils;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrPlanResult;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
 import io.arenadata.dtm.query.execution.plugin.api.service.QueryResultCacheableLlrService;
 import io.arenadata.dtm.query.execution.plugin.api.service.enrichment.dto.EnrichQueryRequest;
@@ -56,8 +58,9 @@ public class AdpLlrService extends QueryResultCacheableLlrService {
                                  CacheService<QueryTemplateKey, QueryTemplateValue> queryCacheService,
                          @Qualifier("adpQueryTemplateExtractor") QueryTemplateExtractor templateExtractor,
                          @Qualifier("adpSqlDialect") SqlDialect sqlDialect,
-                         @Qualifier("adpCalciteDMLQueryParserService") QueryParserService queryParserService) {
-        super(queryCacheService, templateExtractor, sqlDialect, queryParserService);
+                         @Qualifier("adpCalciteDMLQueryParserService") QueryParserService queryParserService,
+                         QueryStageMetrics queryStageMetrics) {
+        super(queryCacheService, templateExtractor, sqlDialect, queryParserService, SourceType.ADP, queryStageMetrics);
         this.queryEnrichmentService = adpQueryEnrichmentService;
         this.queryExecutor = adpDatabaseExecutor;
     }
@@ -69,6 +72,14 @@ public class AdpLlrService extends QueryResultCacheableLlrService {
         return queryExecutor.executeWithParams(enrichedQuery, queryParameters, metadata);
     }
 
+    @Override
+    protected Future<QueryResultStream> queryExecuteStream(String enrichedQuery,
+                                                           QueryParameters queryParameters,
+                                                           List<ColumnMetadata> metadata,
+                                                           int fetchSize) {
+        return queryExecutor.executeStream(enrichedQuery, queryParameters, metadata, fetchSize);
+    }
+
     @Override
     protected Future<LlrPlanResult> estimateQueryExecute(String enrichedQuery, QueryParameters queryParameters) {
         return queryExecutor.executeWithParams("EXPLAIN (FORMAT JSON) " + enrichedQuery, queryParameters,
@@ -41,7 +41,9 @@ import io.arenadata.dtm.query.execution.plugin.adp.enrichment.service.AdpQueryEn
 import io.arenadata.dtm.query.execution.plugin.adp.enrichment.service.AdpQueryGenerator;
 import io.arenadata.dtm.query.execution.plugin.adp.enrichment.service.AdpSchemaExtender;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrEstimateUtils;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
@@ -102,7 +104,8 @@ class AdpLlrServiceTest {
                 cacheService,
                 templateExtractor,
                 sqlDialect,
-                queryParserService
+                queryParserService,
+                new QueryStageMetrics(new SimpleMeterRegistry())
         );
 
         when(cacheService.put(any(), any())).thenAnswer(invocation -> Future.succeededFuture(invocation.getArgument(1)));
@@ -17,6 +17,7 @@ package io.arenadata.dtm.query.execution.plugin.adqm.base.configuration;
 
 import io.arenadata.dtm.common.reader.QueryResult;
 import io.arenadata.dtm.query.execution.plugin.adqm.base.service.AdqmDtmDataSourcePlugin;
+import io.arenadata.dtm.query.execution.plugin.adqm.dml.service.AdqmDeferredFlushService;
 import io.arenadata.dtm.query.execution.plugin.api.service.*;
 import io.arenadata.dtm.query.execution.plugin.api.service.check.CheckDataService;
 import io.arenadata.dtm.query.execution.plugin.api.service.check.CheckTableService;
@@ -47,7 +48,8 @@ public class AdqmDataSourcePluginConfig {
             @Qualifier("adqmTruncateHistoryService") TruncateHistoryService truncateHistoryService,
             @Qualifier("adqmCheckVersionService") CheckVersionService checkVersionService,
             @Qualifier("adqmInitializationService") PluginInitializationService initializationService,
-            @Qualifier("adqmSynchronizeService") SynchronizeService synchronizeService) {
+            @Qualifier("adqmSynchronizeService") SynchronizeService synchronizeService,
+            AdqmDeferredFlushService deferredFlushService) {
         return new AdqmDtmDataSourcePlugin(
                 ddlService,
                 llrService,
@@ -63,6 +65,7 @@ public class AdqmDataSourcePluginConfig {
                 truncateHistoryService,
                 checkVersionService,
                 initializationService,
-                synchronizeService);
+                synchronizeService,
+                deferredFlushService);
     }
 }
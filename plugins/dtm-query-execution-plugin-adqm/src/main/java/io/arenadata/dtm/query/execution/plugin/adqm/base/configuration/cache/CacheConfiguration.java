@@ -15,9 +15,11 @@
  */
 package io.arenadata.dtm.query.execution.plugin.adqm.base.configuration.cache;
 
+import io.arenadata.dtm.cache.configuration.CacheProperties;
 import io.arenadata.dtm.cache.factory.CaffeineCacheServiceFactory;
+import io.arenadata.dtm.cache.factory.CaffeineQueryTemplateCacheServiceFactory;
 import io.arenadata.dtm.cache.service.CacheService;
-import io.arenadata.dtm.common.cache.QueryTemplateKey;
+import io.arenadata.dtm.cache.service.QueryTemplateCacheService;
 import io.arenadata.dtm.common.cache.QueryTemplateValue;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
@@ -31,9 +33,8 @@ import static io.arenadata.dtm.query.execution.plugin.adqm.base.service.AdqmDtmD
 public class CacheConfiguration {
 
     @Bean("adqmQueryTemplateCacheService")
-    public CacheService<QueryTemplateKey, QueryTemplateValue> queryCacheService(@Qualifier("caffeineCacheManager")
-                                                                                        CacheManager cacheManager) {
-        return new CaffeineCacheServiceFactory<QueryTemplateKey, QueryTemplateValue>(cacheManager)
+    public QueryTemplateCacheService<QueryTemplateValue> queryCacheService(@Qualifier("cacheProperties") CacheProperties cacheProperties) {
+        return new CaffeineQueryTemplateCacheServiceFactory<QueryTemplateValue>(cacheProperties)
                 .create(ADQM_QUERY_TEMPLATE_CACHE);
     }
 
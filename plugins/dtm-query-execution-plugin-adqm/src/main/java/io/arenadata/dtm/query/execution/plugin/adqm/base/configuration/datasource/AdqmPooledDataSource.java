@@ -0,0 +1,194 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.adqm.base.configuration.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of connections to ADQM. Connections are created by the balanced data source, which sends
+ * them to the hosts passed the health check, closing of the pooled connection returns it to the pool.
+ * Idle connections are validated and evicted, so connections to the failed host are not reused.
+ */
+@Slf4j
+public class AdqmPooledDataSource implements DataSource, AutoCloseable {
+    private static final int VALIDATION_TIMEOUT_SEC = 5;
+    private final DataSource dataSource;
+    private final GenericObjectPool<Connection> pool;
+
+    public AdqmPooledDataSource(DataSource dataSource, int maxPoolSize, long maxWaitMs, long idleCheckIntervalMs) {
+        this.dataSource = dataSource;
+        GenericObjectPoolConfig<Connection> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(maxPoolSize);
+        config.setMaxIdle(maxPoolSize);
+        config.setMaxWaitMillis(maxWaitMs);
+        config.setTestWhileIdle(true);
+        config.setTimeBetweenEvictionRunsMillis(idleCheckIntervalMs);
+        config.setJmxEnabled(false);
+        this.pool = new GenericObjectPool<>(new ConnectionFactory(dataSource), config);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            Connection connection = pool.borrowObject();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new PooledConnectionHandler(connection));
+        } catch (SQLException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SQLException("Could not get ADQM connection from the pool", e);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections are created with the configured credentials");
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    private final class PooledConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private boolean closed;
+        private boolean broken;
+
+        private PooledConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    release();
+                    return null;
+                case "isClosed":
+                    return closed || connection.isClosed();
+                default:
+                    if (closed) {
+                        throw new SQLException("Connection is returned to the pool");
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        broken = e.getCause() instanceof SQLException
+                                && !(e.getCause() instanceof SQLFeatureNotSupportedException);
+                        throw e.getCause();
+                    }
+            }
+        }
+
+        private void release() throws Exception {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (broken || connection.isClosed()) {
+                pool.invalidateObject(connection);
+            } else {
+                pool.returnObject(connection);
+            }
+        }
+    }
+
+    private static final class ConnectionFactory extends BasePooledObjectFactory<Connection> {
+        private final DataSource dataSource;
+
+        private ConnectionFactory(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public Connection create() throws Exception {
+            return dataSource.getConnection();
+        }
+
+        @Override
+        public PooledObject<Connection> wrap(Connection connection) {
+            return new DefaultPooledObject<>(connection);
+        }
+
+        @Override
+        public boolean validateObject(PooledObject<Connection> pooledObject) {
+            try {
+                return pooledObject.getObject().isValid(VALIDATION_TIMEOUT_SEC);
+            } catch (SQLException e) {
+                log.warn("ADQM connection is not valid", e);
+                return false;
+            }
+        }
+
+        @Override
+        public void destroyObject(PooledObject<Connection> pooledObject) throws Exception {
+            pooledObject.getObject().close();
+        }
+    }
+}
@@ -27,4 +27,7 @@ public class ClickhouseProperties {
     private String password;
     private int socketTimeout = 30_000;
     private int dataTransferTimeout = 10_000;
+    private int maxPoolSize = 16;
+    private long maxWaitMs = 30_000;
+    private int hostsCheckIntervalMs = 10_000;
 }
@@ -17,7 +17,14 @@ package io.arenadata.dtm.query.execution.plugin.adqm.base.service;
 
 import io.arenadata.dtm.common.reader.QueryResult;
 import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.plugin.adqm.dml.service.AdqmDeferredFlushService;
 import io.arenadata.dtm.query.execution.plugin.api.AbstractDtmDataSourcePlugin;
+import io.arenadata.dtm.query.execution.plugin.api.dto.CommitDeltaRequest;
+import io.arenadata.dtm.query.execution.plugin.api.dto.RollbackRequest;
+import io.arenadata.dtm.query.execution.plugin.api.dto.TruncateHistoryRequest;
+import io.arenadata.dtm.query.execution.plugin.api.mppw.MppwRequest;
+import io.arenadata.dtm.query.execution.plugin.api.request.DeleteRequest;
+import io.arenadata.dtm.query.execution.plugin.api.request.UpsertSelectRequest;
 import io.arenadata.dtm.query.execution.plugin.api.service.*;
 import io.arenadata.dtm.query.execution.plugin.api.service.check.CheckDataService;
 import io.arenadata.dtm.query.execution.plugin.api.service.check.CheckTableService;
@@ -25,6 +32,7 @@ import io.arenadata.dtm.query.execution.plugin.api.service.check.CheckVersionSer
 import io.arenadata.dtm.query.execution.plugin.api.service.ddl.TruncateHistoryService;
 import io.arenadata.dtm.query.execution.plugin.api.service.mppr.MpprService;
 import io.arenadata.dtm.query.execution.plugin.api.service.mppw.MppwService;
+import io.vertx.core.Future;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -34,6 +42,7 @@ public class AdqmDtmDataSourcePlugin extends AbstractDtmDataSourcePlugin {
 
     public static final String ADQM_DATAMART_CACHE = "adqm_datamart";
     public static final String ADQM_QUERY_TEMPLATE_CACHE = "adqmQueryTemplateCache";
+    private final AdqmDeferredFlushService deferredFlushService;
 
     public AdqmDtmDataSourcePlugin(
             DdlService<Void> ddlService,
@@ -50,7 +59,8 @@ public class AdqmDtmDataSourcePlugin extends AbstractDtmDataSourcePlugin {
             TruncateHistoryService truncateHistoryService,
             CheckVersionService checkVersionService,
             PluginInitializationService initializationService,
-            SynchronizeService synchronizeService) {
+            SynchronizeService synchronizeService,
+            AdqmDeferredFlushService deferredFlushService) {
         super(ddlService,
                 adqmLlrService,
                 upsertValuesService,
@@ -66,6 +76,42 @@ public class AdqmDtmDataSourcePlugin extends AbstractDtmDataSourcePlugin {
                 truncateHistoryService,
                 initializationService,
                 synchronizeService);
+        this.deferredFlushService = deferredFlushService;
+    }
+
+    @Override
+    public Future<Void> upsert(UpsertSelectRequest request) {
+        return deferredFlushService.flushEntity(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity().getName())
+                .compose(ignored -> super.upsert(request));
+    }
+
+    @Override
+    public Future<Void> delete(DeleteRequest request) {
+        return deferredFlushService.flushEntity(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity().getName())
+                .compose(ignored -> super.delete(request));
+    }
+
+    @Override
+    public Future<QueryResult> mppw(MppwRequest request) {
+        return deferredFlushService.flushEntity(request.getEnvName(), request.getDatamartMnemonic(), request.getDestinationEntity().getName())
+                .compose(ignored -> super.mppw(request));
+    }
+
+    @Override
+    public Future<Void> rollback(RollbackRequest request) {
+        return deferredFlushService.flushEntity(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity().getName())
+                .compose(ignored -> super.rollback(request));
+    }
+
+    @Override
+    public Future<Void> truncateHistory(TruncateHistoryRequest request) {
+        return deferredFlushService.flushEntity(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity().getName())
+                .compose(ignored -> super.truncateHistory(request));
+    }
+
+    @Override
+    public Future<Void> commitDelta(CommitDeltaRequest request) {
+        return deferredFlushService.flushDatamart(request.getEnvName(), request.getDatamartMnemonic());
     }
 
     @Override
@@ -41,6 +41,11 @@ public class AdqmCalciteDMLQueryParserService extends CalciteDMLQueryParserServi
         super(contextProvider, vertx);
     }
 
+    @Override
+    protected boolean isCoreGrammar() {
+        return false;
+    }
+
     @Override
     protected List<Datamart> extendSchemes(List<Datamart> datamarts) {
         return super.extendSchemes(datamarts.stream()
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.adqm.dml.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("adqm.llw")
+public class AdqmLlwProperties {
+    /**
+     * Defer OPTIMIZE of the actual table after LL-W writes
+     */
+    private boolean deferOptimize = true;
+    /**
+     * Number of LL-W writes into the table after which deferred OPTIMIZE is run by the write itself
+     */
+    private int optimizeMaxDeferredWrites = 100;
+    /**
+     * Max delay of deferred OPTIMIZE since the first deferred write into the table
+     */
+    private long optimizeMaxDelayMs = 5_000;
+    /**
+     * Defer closing of the previous versions and FLUSH of the actual table after LL-W writes
+     * until the delta is committed, the entity is written other than by UPSERT VALUES or a limit is reached.
+     * Pending writes are kept in memory of the instance, so it's only safe with a single core instance
+     */
+    private boolean deferFlush = false;
+    /**
+     * Number of LL-W writes into the table after which deferred closing and FLUSH is run by the write itself
+     */
+    private int flushMaxDeferredWrites = 100;
+    /**
+     * Max delay of deferred closing and FLUSH since the first deferred write into the table
+     */
+    private long flushMaxDelayMs = 5_000;
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.adqm.dml.service;
+
+import io.arenadata.dtm.query.execution.plugin.adqm.dml.configuration.properties.AdqmLlwProperties;
+import io.arenadata.dtm.query.execution.plugin.adqm.factory.AdqmProcessingSqlFactory;
+import io.arenadata.dtm.query.execution.plugin.adqm.query.service.DatabaseExecutor;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Closes the previous versions of the rows written by LL-W and flushes the actual table. When
+ * {@link AdqmLlwProperties#isDeferFlush()} is set, the close queries are buffered per entity and sys_cn
+ * and run in ascending sys_cn order on {@link #flushDatamart}/{@link #flushEntity}, once per
+ * {@link AdqmLlwProperties#getFlushMaxDeferredWrites()} writes into the table
+ * or {@link AdqmLlwProperties#getFlushMaxDelayMs()} after the first deferred one, whichever comes first
+ */
+@Slf4j
+@Service
+public class AdqmDeferredFlushService {
+    private final Vertx vertx;
+    private final DatabaseExecutor databaseExecutor;
+    private final AdqmProcessingSqlFactory adqmProcessingSqlFactory;
+    private final AdqmDeferredOptimizeService deferredOptimizeService;
+    private final AdqmLlwProperties llwProperties;
+    private final Map<String, PendingFlush> pendingFlushes = new HashMap<>();
+
+    public AdqmDeferredFlushService(@Qualifier("coreVertx") Vertx vertx,
+                                    @Qualifier("adqmQueryExecutor") DatabaseExecutor databaseExecutor,
+                                    AdqmProcessingSqlFactory adqmProcessingSqlFactory,
+                                    AdqmDeferredOptimizeService deferredOptimizeService,
+                                    AdqmLlwProperties llwProperties) {
+        this.vertx = vertx;
+        this.databaseExecutor = databaseExecutor;
+        this.adqmProcessingSqlFactory = adqmProcessingSqlFactory;
+        this.deferredOptimizeService = deferredOptimizeService;
+        this.llwProperties = llwProperties;
+    }
+
+    public Future<Void> closeVersions(String env, String datamart, String entityName, long sysCn, String closeVersionsSql) {
+        if (!llwProperties.isDeferFlush()) {
+            return closeVersionsAndFlush(env, datamart, entityName, Collections.singletonList(closeVersionsSql));
+        }
+
+        val table = getTableKey(env, datamart, entityName);
+        synchronized (pendingFlushes) {
+            val pending = pendingFlushes.computeIfAbsent(table, key -> new PendingFlush(env, datamart, entityName));
+            pending.closeVersionsSqls.put(sysCn, closeVersionsSql);
+            if (pending.closeVersionsSqls.size() < llwProperties.getFlushMaxDeferredWrites()) {
+                if (pending.timerId == null) {
+                    pending.timerId = vertx.setTimer(llwProperties.getFlushMaxDelayMs(), timerId -> flushByTimer(table, timerId));
+                }
+                return Future.succeededFuture();
+            }
+        }
+
+        log.debug("Flushing [{}] after deferred LL-W writes", table);
+        return flush(table);
+    }
+
+    public Future<Void> flushEntity(String env, String datamart, String entityName) {
+        return flush(getTableKey(env, datamart, entityName));
+    }
+
+    public Future<Void> flushDatamart(String env, String datamart) {
+        val tables = new ArrayList<String>();
+        synchronized (pendingFlushes) {
+            pendingFlushes.forEach((table, pending) -> {
+                if (pending.env.equals(env) && pending.datamart.equals(datamart)) {
+                    tables.add(table);
+                }
+            });
+        }
+
+        List<Future> futures = new ArrayList<>();
+        tables.forEach(table -> futures.add(flush(table)));
+        return CompositeFuture.join(futures).mapEmpty();
+    }
+
+    private void flushByTimer(String table, long timerId) {
+        synchronized (pendingFlushes) {
+            val pending = pendingFlushes.get(table);
+            if (pending == null || pending.timerId == null || pending.timerId != timerId) {
+                return;
+            }
+            pending.timerId = null;
+        }
+
+        log.debug("Flushing [{}] after deferred LL-W writes by timer", table);
+        flush(table)
+                .onFailure(e -> log.error("Deferred flush [{}] failed", table, e));
+    }
+
+    private Future<Void> flush(String table) {
+        final PendingFlush pending;
+        final Future<Void> previousFlush;
+        final Promise<Void> promise = Promise.promise();
+        synchronized (pendingFlushes) {
+            pending = pendingFlushes.get(table);
+            if (pending == null) {
+                return Future.succeededFuture();
+            }
+            if (pending.timerId != null) {
+                vertx.cancelTimer(pending.timerId);
+                pending.timerId = null;
+            }
+
+            // flushes of the same table are chained, so close queries are never run out of sys_cn order
+            previousFlush = pending.lastFlush;
+            pending.lastFlush = promise.future();
+        }
+
+        previousFlush.onComplete(ignored -> flushPending(pending).onComplete(promise));
+        return promise.future()
+                .onComplete(ignored -> {
+                    synchronized (pendingFlushes) {
+                        if (pending.lastFlush == promise.future() && pending.closeVersionsSqls.isEmpty() && pending.timerId == null) {
+                            pendingFlushes.remove(table);
+                        }
+                    }
+                });
+    }
+
+    private Future<Void> flushPending(PendingFlush pending) {
+        final SortedMap<Long, String> closeVersionsSqls;
+        synchronized (pendingFlushes) {
+            closeVersionsSqls = new TreeMap<>(pending.closeVersionsSqls);
+            pending.closeVersionsSqls.clear();
+        }
+        if (closeVersionsSqls.isEmpty()) {
+            return Future.succeededFuture();
+        }
+
+        return closeVersionsAndFlush(pending.env, pending.datamart, pending.entityName, closeVersionsSqls.values())
+                .recover(e -> {
+                    synchronized (pendingFlushes) {
+                        closeVersionsSqls.forEach(pending.closeVersionsSqls::putIfAbsent);
+                    }
+                    return Future.failedFuture(e);
+                });
+    }
+
+    private Future<Void> closeVersionsAndFlush(String env, String datamart, String entityName, Collection<String> closeVersionsSqls) {
+        val flushSql = adqmProcessingSqlFactory.getFlushActualSql(env, datamart, entityName);
+        Future<Void> result = Future.succeededFuture();
+        for (String closeVersionsSql : closeVersionsSqls) {
+            result = result
+                    .compose(ignored -> databaseExecutor.executeUpdate(closeVersionsSql))
+                    .compose(ignored -> databaseExecutor.executeUpdate(flushSql));
+        }
+        return result.compose(ignored -> deferredOptimizeService.optimizeActual(env, datamart, entityName));
+    }
+
+    private static String getTableKey(String env, String datamart, String entityName) {
+        return env + "__" + datamart + "." + entityName;
+    }
+
+    private static class PendingFlush {
+        private final String env;
+        private final String datamart;
+        private final String entityName;
+        private final SortedMap<Long, String> closeVersionsSqls = new TreeMap<>();
+        private Future<Void> lastFlush = Future.succeededFuture();
+        private Long timerId;
+
+        private PendingFlush(String env, String datamart, String entityName) {
+            this.env = env;
+            this.datamart = datamart;
+            this.entityName = entityName;
+        }
+    }
+}
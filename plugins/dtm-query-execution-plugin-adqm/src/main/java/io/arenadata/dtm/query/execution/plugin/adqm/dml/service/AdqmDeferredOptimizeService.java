@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.adqm.dml.service;
+
+import io.arenadata.dtm.query.execution.plugin.adqm.dml.configuration.properties.AdqmLlwProperties;
+import io.arenadata.dtm.query.execution.plugin.adqm.factory.AdqmProcessingSqlFactory;
+import io.arenadata.dtm.query.execution.plugin.adqm.query.service.DatabaseExecutor;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Coalesces OPTIMIZE of the actual table after LL-W writes: it's run once per
+ * {@link AdqmLlwProperties#getOptimizeMaxDeferredWrites()} writes into the table
+ * or {@link AdqmLlwProperties#getOptimizeMaxDelayMs()} after the first deferred one, whichever comes first
+ */
+@Slf4j
+@Service
+public class AdqmDeferredOptimizeService {
+    private final Vertx vertx;
+    private final DatabaseExecutor databaseExecutor;
+    private final AdqmProcessingSqlFactory adqmProcessingSqlFactory;
+    private final AdqmLlwProperties llwProperties;
+    private final Map<String, PendingOptimize> pendingOptimizes = new HashMap<>();
+
+    public AdqmDeferredOptimizeService(@Qualifier("coreVertx") Vertx vertx,
+                                       @Qualifier("adqmQueryExecutor") DatabaseExecutor databaseExecutor,
+                                       AdqmProcessingSqlFactory adqmProcessingSqlFactory,
+                                       AdqmLlwProperties llwProperties) {
+        this.vertx = vertx;
+        this.databaseExecutor = databaseExecutor;
+        this.adqmProcessingSqlFactory = adqmProcessingSqlFactory;
+        this.llwProperties = llwProperties;
+    }
+
+    public Future<Void> optimizeActual(String env, String datamart, String entityName) {
+        val optimizeSql = adqmProcessingSqlFactory.getOptimizeActualSql(env, datamart, entityName);
+        if (!llwProperties.isDeferOptimize()) {
+            return databaseExecutor.executeUpdate(optimizeSql);
+        }
+
+        synchronized (pendingOptimizes) {
+            val pending = pendingOptimizes.computeIfAbsent(optimizeSql, sql -> new PendingOptimize());
+            pending.writes++;
+            if (pending.writes < llwProperties.getOptimizeMaxDeferredWrites()) {
+                if (pending.timerId == null) {
+                    pending.timerId = vertx.setTimer(llwProperties.getOptimizeMaxDelayMs(), timerId -> optimizeByTimer(optimizeSql, timerId));
+                }
+                return Future.succeededFuture();
+            }
+
+            pendingOptimizes.remove(optimizeSql);
+            if (pending.timerId != null) {
+                vertx.cancelTimer(pending.timerId);
+            }
+        }
+
+        log.debug("Optimizing [{}] after deferred LL-W writes", optimizeSql);
+        return databaseExecutor.executeUpdate(optimizeSql);
+    }
+
+    private void optimizeByTimer(String optimizeSql, long timerId) {
+        synchronized (pendingOptimizes) {
+            val pending = pendingOptimizes.get(optimizeSql);
+            if (pending == null || pending.timerId == null || pending.timerId != timerId) {
+                return;
+            }
+            pendingOptimizes.remove(optimizeSql);
+        }
+
+        log.debug("Optimizing [{}] after deferred LL-W writes by timer", optimizeSql);
+        databaseExecutor.executeUpdate(optimizeSql)
+                .onFailure(e -> log.error("Deferred optimize [{}] failed", optimizeSql, e));
+    }
+
+    private static class PendingOptimize {
+        private int writes;
+        private Long timerId;
+    }
+}
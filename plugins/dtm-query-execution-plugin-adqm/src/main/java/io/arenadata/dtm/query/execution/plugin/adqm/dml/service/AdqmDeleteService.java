@@ -57,15 +57,18 @@ public class AdqmDeleteService implements DeleteService {
     private final AdqmProcessingSqlFactory adqmProcessingSqlFactory;
     private final DatabaseExecutor databaseExecutor;
     private final AdqmQueryTemplateExtractor queryTemplateExtractor;
+    private final AdqmDeferredOptimizeService deferredOptimizeService;
 
     public AdqmDeleteService(@Qualifier("adqmTemplateParameterConverter") PluginSpecificLiteralConverter pluginSpecificLiteralConverter,
                              AdqmProcessingSqlFactory adqmProcessingSqlFactory,
                              @Qualifier("adqmQueryExecutor") DatabaseExecutor databaseExecutor,
-                             @Qualifier("adqmQueryTemplateExtractor") AdqmQueryTemplateExtractor queryTemplateExtractor) {
+                             @Qualifier("adqmQueryTemplateExtractor") AdqmQueryTemplateExtractor queryTemplateExtractor,
+                             AdqmDeferredOptimizeService deferredOptimizeService) {
         this.pluginSpecificLiteralConverter = pluginSpecificLiteralConverter;
         this.adqmProcessingSqlFactory = adqmProcessingSqlFactory;
         this.databaseExecutor = databaseExecutor;
         this.queryTemplateExtractor = queryTemplateExtractor;
+        this.deferredOptimizeService = deferredOptimizeService;
     }
 
     @Override
@@ -77,7 +80,7 @@ public class AdqmDeleteService implements DeleteService {
         val insertSql = adqmProcessingSqlFactory.getSqlFromNodes(resultInsert, source).replace(ARRAY_JOIN_PLACEHOLDER, ARRAY_JOIN_REPLACE);
         return databaseExecutor.executeWithParams(insertSql, request.getParameters(), Collections.emptyList())
                 .compose(ignored -> databaseExecutor.executeUpdate(adqmProcessingSqlFactory.getFlushActualSql(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity().getName())))
-                .compose(ignored -> databaseExecutor.executeUpdate(adqmProcessingSqlFactory.getOptimizeActualSql(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity().getName())));
+                .compose(ignored -> deferredOptimizeService.optimizeActual(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity().getName()));
     }
 
     private SqlSelect prepareCloseSelect(DeleteRequest request, SqlNode deleteCondition) {
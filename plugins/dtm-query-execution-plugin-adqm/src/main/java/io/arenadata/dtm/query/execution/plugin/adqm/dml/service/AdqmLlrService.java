@@ -20,12 +20,14 @@ import io.arenadata.dtm.common.cache.QueryTemplateKey;
 import io.arenadata.dtm.common.cache.QueryTemplateValue;
 import io.arenadata.dtm.common.dto.QueryParserResponse;
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.calcite.core.service.QueryParserService;
 import io.arenadata.dtm.query.calcite.core.service.QueryTemplateExtractor;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adqm.query.service.DatabaseExecutor;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlrPlanResult;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
 import io.arenadata.dtm.query.execution.plugin.api.service.LlrValidationService;
 import io.arenadata.dtm.query.execution.plugin.api.service.PluginSpecificLiteralConverter;
@@ -64,8 +66,9 @@ public class AdqmLlrService extends QueryResultCacheableLlrService {
                           @Qualifier("adqmSqlDialect") SqlDialect sqlDialect,
                           @Qualifier("adqmCalciteDMLQueryParserService") QueryParserService queryParserService,
                           @Qualifier("adqmTemplateParameterConverter") PluginSpecificLiteralConverter pluginSpecificLiteralConverter,
-                          @Qualifier("adqmValidationService") LlrValidationService adqmValidationService) {
-        super(queryCacheService, templateExtractor, sqlDialect, queryParserService);
+                          @Qualifier("adqmValidationService") LlrValidationService adqmValidationService,
+                          QueryStageMetrics queryStageMetrics) {
+        super(queryCacheService, templateExtractor, sqlDialect, queryParserService, SourceType.ADQM, queryStageMetrics);
         this.queryEnrichmentService = queryEnrichmentService;
         this.executorService = adqmQueryExecutor;
         this.pluginSpecificLiteralConverter = pluginSpecificLiteralConverter;
@@ -79,6 +82,14 @@ public class AdqmLlrService extends QueryResultCacheableLlrService {
         return executorService.executeWithParams(enrichedQuery, queryParameters, metadata);
     }
 
+    @Override
+    protected Future<QueryResultStream> queryExecuteStream(String enrichedQuery,
+                                                           QueryParameters queryParameters,
+                                                           List<ColumnMetadata> metadata,
+                                                           int fetchSize) {
+        return executorService.executeStream(enrichedQuery, queryParameters, metadata, fetchSize);
+    }
+
     @Override
     protected Future<LlrPlanResult> estimateQueryExecute(String enrichedQuery, QueryParameters queryParameters) {
         return Future.succeededFuture(LLR_EMPTY_ESTIMATE_RESULT);
@@ -46,13 +46,16 @@ public class AdqmUpsertValuesService implements UpsertValuesService {
     private final PluginSpecificLiteralConverter pluginSpecificLiteralConverter;
     private final AdqmProcessingSqlFactory adqmProcessingSqlFactory;
     private final DatabaseExecutor databaseExecutor;
+    private final AdqmDeferredFlushService deferredFlushService;
 
     public AdqmUpsertValuesService(@Qualifier("adqmTemplateParameterConverter") PluginSpecificLiteralConverter pluginSpecificLiteralConverter,
                                    AdqmProcessingSqlFactory adqmProcessingSqlFactory,
-                                   @Qualifier("adqmQueryExecutor") DatabaseExecutor databaseExecutor) {
+                                   @Qualifier("adqmQueryExecutor") DatabaseExecutor databaseExecutor,
+                                   AdqmDeferredFlushService deferredFlushService) {
         this.pluginSpecificLiteralConverter = pluginSpecificLiteralConverter;
         this.adqmProcessingSqlFactory = adqmProcessingSqlFactory;
         this.databaseExecutor = databaseExecutor;
+        this.deferredFlushService = deferredFlushService;
     }
 
     @Override
@@ -72,9 +75,7 @@ public class AdqmUpsertValuesService implements UpsertValuesService {
             val closeInsertSql = adqmProcessingSqlFactory.getCloseVersionSqlByTableActual(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity(), request.getSysCn());
 
             databaseExecutor.executeWithParams(actualInsertSql, request.getParameters(), Collections.emptyList())
-                    .compose(ignored -> databaseExecutor.executeUpdate(closeInsertSql))
-                    .compose(ignored -> databaseExecutor.executeUpdate(adqmProcessingSqlFactory.getFlushActualSql(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity().getName())))
-                    .compose(ignored -> databaseExecutor.executeUpdate(adqmProcessingSqlFactory.getOptimizeActualSql(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity().getName())))
+                    .compose(ignored -> deferredFlushService.closeVersions(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity().getName(), request.getSysCn(), closeInsertSql))
                     .onComplete(promise);
         });
     }
@@ -35,21 +35,32 @@ public class AdqmProcessingSqlFactory {
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final String FLUSH_SQL_TEMPLATE = "SYSTEM FLUSH DISTRIBUTED %s";
     private static final String OPTIMIZE_SQL_TEMPLATE = "OPTIMIZE TABLE %s ON CLUSTER %s FINAL";
+    // versions still open among the rows of the not yet collapsed sign pairs, so re-running the close doesn't close them again
     private static final String CLOSE_VERSIONS_BY_TABLE_ACTUAL_TEMPLATE = "INSERT INTO ${table_name}_actual (${logical_columns}, sys_from, sys_to, sys_op, sys_close_date, sign)\n" +
             "  SELECT ${logical_columns}, sys_from, ${prev_sys_cn}, 0, '${now}', arrayJoin([-1, 1])\n" +
-            "  FROM ${table_name}_actual\n" +
-            "  WHERE sys_from < ${sys_cn} AND sys_to > ${sys_cn} AND ${pk_keys_for_in} IN (\n" +
-            "    SELECT ${pk_keys}\n" +
-            "    FROM ${table_name}_actual_shard\n" +
-            "    WHERE sys_from = ${sys_cn}\n" +
+            "  FROM (\n" +
+            "    SELECT ${logical_columns}, sys_from\n" +
+            "    FROM ${table_name}_actual\n" +
+            "    WHERE sys_from < ${sys_cn} AND ${pk_keys_for_in} IN (\n" +
+            "      SELECT ${pk_keys}\n" +
+            "      FROM ${table_name}_actual_shard\n" +
+            "      WHERE sys_from = ${sys_cn}\n" +
+            "    )\n" +
+            "    GROUP BY ${logical_columns}, sys_from\n" +
+            "    HAVING min(sys_to) > ${sys_cn}\n" +
             "  )";
 
     private static final String CLOSE_VERSIONS_BY_TABLE_BUFFER_TEMPLATE = "INSERT INTO ${table_name}_actual\n" +
             "  SELECT ${logical_columns}, sys_from, ${prev_sys_cn}, 1, '${now}', arrayJoin([-1, 1])\n" +
-            "  FROM ${table_name}_actual\n" +
-            "  WHERE sys_from < ${sys_cn} AND sys_to > ${sys_cn} AND ${pk_keys_for_in} IN (\n" +
-            "    SELECT ${pk_keys}\n" +
-            "    FROM ${table_name}_buffer_shard\n" +
+            "  FROM (\n" +
+            "    SELECT ${logical_columns}, sys_from\n" +
+            "    FROM ${table_name}_actual\n" +
+            "    WHERE sys_from < ${sys_cn} AND ${pk_keys_for_in} IN (\n" +
+            "      SELECT ${pk_keys}\n" +
+            "      FROM ${table_name}_buffer_shard\n" +
+            "    )\n" +
+            "    GROUP BY ${logical_columns}, sys_from\n" +
+            "    HAVING min(sys_to) > ${sys_cn}\n" +
             "  )";
 
     private final DdlProperties ddlProperties;
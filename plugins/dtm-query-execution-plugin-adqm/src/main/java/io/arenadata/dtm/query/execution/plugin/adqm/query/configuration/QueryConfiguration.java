@@ -18,6 +18,7 @@ package io.arenadata.dtm.query.execution.plugin.adqm.query.configuration;
 import io.arenadata.dtm.common.converter.SqlTypeConverter;
 import io.arenadata.dtm.query.execution.plugin.adqm.base.configuration.properties.ClickhouseProperties;
 import io.arenadata.dtm.query.execution.plugin.adqm.base.configuration.datasource.AdqmBalancedClickhouseDataSource;
+import io.arenadata.dtm.query.execution.plugin.adqm.base.configuration.datasource.AdqmPooledDataSource;
 import io.arenadata.dtm.query.execution.plugin.adqm.query.service.AdqmQueryExecutor;
 import io.vertx.core.Vertx;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -26,6 +27,7 @@ import org.springframework.context.annotation.Configuration;
 import ru.yandex.clickhouse.settings.ClickHouseProperties;
 
 import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class QueryConfiguration {
@@ -42,7 +44,12 @@ public class QueryConfiguration {
         properties.setPassword(clickhouseProperties.getPassword());
         properties.setSocketTimeout(clickhouseProperties.getSocketTimeout());
         properties.setDataTransferTimeout(clickhouseProperties.getDataTransferTimeout());
-        DataSource dataSource = new AdqmBalancedClickhouseDataSource(url, properties);
+        DataSource balancedDataSource = new AdqmBalancedClickhouseDataSource(url, properties)
+                .scheduleActualization(clickhouseProperties.getHostsCheckIntervalMs(), TimeUnit.MILLISECONDS);
+        DataSource dataSource = new AdqmPooledDataSource(balancedDataSource,
+                clickhouseProperties.getMaxPoolSize(),
+                clickhouseProperties.getMaxWaitMs(),
+                clickhouseProperties.getHostsCheckIntervalMs());
         return new AdqmQueryExecutor(vertx, dataSource, adqmTypeConverter, sqlTypeConverter);
     }
 }
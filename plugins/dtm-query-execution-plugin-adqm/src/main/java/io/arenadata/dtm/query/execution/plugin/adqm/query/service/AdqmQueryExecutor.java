@@ -17,18 +17,22 @@ package io.arenadata.dtm.query.execution.plugin.adqm.query.service;
 
 import io.arenadata.dtm.async.AsyncUtils;
 import io.arenadata.dtm.common.converter.SqlTypeConverter;
+import io.arenadata.dtm.common.reader.ColumnIndex;
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
+import io.arenadata.dtm.common.reader.ReadStreamQueryResultStream;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.api.exception.DataSourceException;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
-import io.vertx.core.json.JsonObject;
 import io.vertx.ext.jdbc.JDBCClient;
-import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.SQLClient;
 import io.vertx.ext.sql.SQLConnection;
+import io.vertx.ext.sql.SQLOptions;
+import io.vertx.ext.sql.SQLRowStream;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
 import javax.sql.DataSource;
 import java.util.*;
@@ -41,6 +45,7 @@ public class AdqmQueryExecutor implements DatabaseExecutor {
     private final SQLClient sqlClient;
     private final SqlTypeConverter adqmTypeConverter;
     private final SqlTypeConverter sqlTypeConverter;
+    private final DataSource adqmDataSource;
 
     public AdqmQueryExecutor(Vertx vertx,
                              DataSource adqmDataSource,
@@ -48,30 +53,22 @@ public class AdqmQueryExecutor implements DatabaseExecutor {
                              SqlTypeConverter sqlTypeConverter) {
         this.adqmTypeConverter = adqmTypeConverter;
         this.sqlTypeConverter = sqlTypeConverter;
+        this.adqmDataSource = adqmDataSource;
         this.sqlClient = JDBCClient.create(vertx, adqmDataSource);
     }
 
     @Override
     public Future<List<Map<String, Object>>> execute(String sql, List<ColumnMetadata> metadata) {
         log.debug("ADQM. Execute query: [{}] ", sql);
-        //TODO perhaps it's better to use RowStream interface for getting rows one by one and create chunks here
-        return AsyncUtils.measureMs(getSqlConnection()
-                        .compose(conn -> executeQuery(conn, sql)),
-                duration -> log.debug("ADQM. Query completed successfully: [{}] in [{}]ms", sql, duration))
-                .map(resultSet -> {
-                    try {
-                        return createResult(metadata, resultSet);
-                    } catch (Exception e) {
-                        throw new DataSourceException("Error converting value to jdbc type", e);
-                    }
-                });
+        return AsyncUtils.measureMs(withConnection(conn -> executeQueryStream(conn, sql)
+                        .compose(rowStream -> readRows(rowStream, metadata))),
+                duration -> log.debug("ADQM. Query completed successfully: [{}] in [{}]ms", sql, duration));
     }
 
     @Override
     public Future<Void> executeUpdate(String sql) {
         log.debug("ADQM. Execute update: [{}] ", sql);
-        return AsyncUtils.measureMs(getSqlConnection()
-                        .compose(conn -> executeQueryUpdate(conn, sql)),
+        return AsyncUtils.measureMs(withConnection(conn -> executeQueryUpdate(conn, sql)),
                 duration -> log.debug("ADQM. Update completed successfully: [{}] in [{}]ms", sql, duration))
                 .onFailure(err -> log.error(err.getMessage()));
     }
@@ -81,17 +78,25 @@ public class AdqmQueryExecutor implements DatabaseExecutor {
                                                                QueryParameters params,
                                                                List<ColumnMetadata> metadata) {
         log.debug("ADQM. Execute query: [{}] with params: [{}]", sql, params);
-        //TODO perhaps it's better to use RowStream interface for getting rows one by one and create chunks here
-        return AsyncUtils.measureMs(getSqlConnection()
-                        .compose(conn -> executeQueryWithParams(conn, sql, createParamsArray(params))),
-                duration -> log.debug("ADQM. Query completed successfully: [{}] in [{}]ms", sql, duration))
-                .map(resultSet -> {
-                    try {
-                        return createResult(metadata, resultSet);
-                    } catch (Exception e) {
-                        throw new DataSourceException("Error converting value to jdbc type", e);
-                    }
-                });
+        return AsyncUtils.measureMs(withConnection(conn -> executeQueryStream(conn, sql, createParamsArray(params))
+                        .compose(rowStream -> readRows(rowStream, metadata))),
+                duration -> log.debug("ADQM. Query completed successfully: [{}] in [{}]ms", sql, duration));
+    }
+
+    @Override
+    public Future<QueryResultStream> executeStream(String sql,
+                                                   QueryParameters params,
+                                                   List<ColumnMetadata> metadata,
+                                                   int fetchSize) {
+        log.debug("ADQM. Execute stream: [{}] with params: [{}]", sql, params);
+        return getSqlConnection()
+                .compose(conn -> executeQueryStream(conn.setOptions(new SQLOptions().setFetchSize(fetchSize)), sql, createParamsArray(params))
+                        .<QueryResultStream>map(rowStream -> new ReadStreamQueryResultStream<>(rowStream,
+                                fetchSize,
+                                createRowMapper(metadata, createColumnIndex(metadata, rowStream.columns())),
+                                () -> closeStream(rowStream).eventually(v -> closeConnection(conn))))
+                        .onFailure(fail -> closeConnection(conn)))
+                .onFailure(fail -> log.error("ADQM. Execute stream failed: [{}]", sql, fail));
     }
 
     private JsonArray createParamsArray(QueryParameters params) {
@@ -106,51 +111,90 @@ public class AdqmQueryExecutor implements DatabaseExecutor {
         }
     }
 
+    /**
+     * Closes the pool of ADQM connections
+     */
+    public void close() throws Exception {
+        sqlClient.close();
+        if (adqmDataSource instanceof AutoCloseable) {
+            ((AutoCloseable) adqmDataSource).close();
+        }
+    }
+
     private Future<SQLConnection> getSqlConnection() {
         return Future.future(sqlClient::getConnection);
     }
 
-    private Future<ResultSet> executeQuery(SQLConnection conn, String sql) {
-        return Future.future(promise -> conn.query(sql, promise));
+    private <T> Future<T> withConnection(Function<SQLConnection, Future<T>> action) {
+        return getSqlConnection()
+                .compose(conn -> action.apply(conn)
+                        .eventually(v -> closeConnection(conn)));
+    }
+
+    private Future<List<Map<String, Object>>> readRows(SQLRowStream rowStream, List<ColumnMetadata> metadata) {
+        return Future.<List<Map<String, Object>>>future(promise -> {
+            val rowMapper = createRowMapper(metadata, createColumnIndex(metadata, rowStream.columns()));
+            val rows = new ArrayList<Map<String, Object>>();
+            rowStream.exceptionHandler(promise::tryFail)
+                    .endHandler(v -> promise.tryComplete(rows))
+                    .handler(row -> {
+                        try {
+                            rows.add(rowMapper.apply(row));
+                        } catch (Exception e) {
+                            rowStream.pause();
+                            promise.tryFail(e);
+                        }
+                    });
+        }).eventually(v -> closeStream(rowStream));
+    }
+
+    private Future<SQLRowStream> executeQueryStream(SQLConnection conn, String sql) {
+        return Future.future(promise -> conn.queryStream(sql, promise));
+    }
+
+    private Future<SQLRowStream> executeQueryStream(SQLConnection conn, String sql, JsonArray params) {
+        return Future.future(promise -> conn.queryStreamWithParams(sql, params, promise));
+    }
+
+    private Future<Void> closeStream(SQLRowStream rowStream) {
+        return Future.future(rowStream::close);
     }
 
-    private Future<ResultSet> executeQueryWithParams(SQLConnection conn, String sql, JsonArray params) {
-        return Future.future(promise -> conn.queryWithParams(sql, params, promise));
+    private Future<Void> closeConnection(SQLConnection conn) {
+        return Future.future(conn::close);
     }
 
     private Future<Void> executeQueryUpdate(SQLConnection conn, String sql) {
         return Future.future(promise -> conn.execute(sql, promise));
     }
 
-    private List<Map<String, Object>> createResult(List<ColumnMetadata> metadata, ResultSet rs) {
-        Map<String, Integer> columnIndexMap = new HashMap<>();
-        Function<JsonObject, Map<String, Object>> func = metadata.isEmpty()
-                ? JsonObject::getMap
-                : row -> createRowMap(metadata, columnIndexMap, row);
-        return Optional.ofNullable(rs)
-                .map(resultSet -> resultSet.getRows().stream()
-                        .map(func)
-                        .collect(Collectors.toList()))
-                .orElse(Collections.emptyList());
+    private ColumnIndex createColumnIndex(List<ColumnMetadata> metadata, List<String> columns) {
+        return metadata.isEmpty() ? ColumnIndex.ofNames(columns) : ColumnIndex.of(metadata);
     }
 
-    private void initColumnIndexMap(Map<String, Integer> columnIndexMap, JsonObject row) {
-        final List<String> fields = new ArrayList<>(row.fieldNames());
-        columnIndexMap.putAll(IntStream.range(0, fields.size())
-                .boxed()
-                .collect(Collectors.toMap(fields::get, i -> i)));
+    private Function<JsonArray, Map<String, Object>> createRowMapper(List<ColumnMetadata> metadata, ColumnIndex columnIndex) {
+        return metadata.isEmpty()
+                ? row -> createRowMap(columnIndex, row)
+                : row -> createRowMap(metadata, columnIndex, row);
+    }
+
+    private Map<String, Object> createRowMap(ColumnIndex columnIndex, JsonArray row) {
+        val rowMap = columnIndex.newRow();
+        for (int i = 0; i < columnIndex.size(); i++) {
+            rowMap.setValue(i, row.getValue(i));
+        }
+        return rowMap;
     }
 
-    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, Map<String, Integer> columnIndexMap,
-                                             JsonObject row) {
-        if (columnIndexMap.isEmpty()) {
-            initColumnIndexMap(columnIndexMap, row);
+    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, ColumnIndex columnIndex, JsonArray row) {
+        val rowMap = columnIndex.newRow();
+        try {
+            for (int i = 0; i < metadata.size(); i++) {
+                rowMap.setValue(i, adqmTypeConverter.convert(metadata.get(i).getType(), row.getValue(i)));
+            }
+        } catch (Exception e) {
+            throw new DataSourceException("Error converting value to jdbc type", e);
         }
-        Map<String, Object> rowMap = new HashMap<>();
-        row.stream().forEach(column -> {
-            final ColumnMetadata columnMetadata = metadata.get(columnIndexMap.get(column.getKey()));
-            rowMap.put(columnMetadata.getName(), adqmTypeConverter.convert(columnMetadata.getType(), column.getValue()));
-        });
         return rowMap;
     }
 }
@@ -16,6 +16,7 @@
 package io.arenadata.dtm.query.execution.plugin.adqm.query.service;
 
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.vertx.core.Future;
 
@@ -34,6 +35,11 @@ public interface DatabaseExecutor {
 
     Future<List<Map<String, Object>>> executeWithParams(String sql, QueryParameters queryParameters, List<ColumnMetadata> metadata);
 
+    /**
+     * Executes query and returns stream of its rows, the connection is held until the stream is closed or read to the end
+     */
+    Future<QueryResultStream> executeStream(String sql, QueryParameters queryParameters, List<ColumnMetadata> metadata, int fetchSize);
+
     default Future<List<Map<String, Object>>> execute(String sql) {
         return execute(sql, Collections.emptyList());
     }
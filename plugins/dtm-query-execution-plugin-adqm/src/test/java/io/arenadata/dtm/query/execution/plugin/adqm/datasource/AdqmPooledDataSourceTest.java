@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.adqm.datasource;
+
+import io.arenadata.dtm.query.execution.plugin.adqm.base.configuration.datasource.AdqmPooledDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdqmPooledDataSourceTest {
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private AdqmPooledDataSource pooledDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        pooledDataSource = new AdqmPooledDataSource(dataSource, 1, 100, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pooledDataSource.close();
+    }
+
+    @Test
+    void shouldReuseReturnedConnection() throws SQLException {
+        Connection first = pooledDataSource.getConnection();
+        first.close();
+        Connection second = pooledDataSource.getConnection();
+        second.close();
+
+        assertTrue(first.isClosed());
+        verify(dataSource, times(1)).getConnection();
+        verify(connection, never()).close();
+    }
+
+    @Test
+    void shouldFailWhenPoolIsExhausted() throws SQLException {
+        Connection first = pooledDataSource.getConnection();
+
+        assertThrows(SQLException.class, () -> pooledDataSource.getConnection());
+        first.close();
+        pooledDataSource.getConnection().close();
+    }
+
+    @Test
+    void shouldInvalidateBrokenConnection() throws SQLException {
+        doThrow(new SQLException("Connection reset")).when(connection).setSchema(any());
+        Connection first = pooledDataSource.getConnection();
+        assertThrows(SQLException.class, () -> first.setSchema("test"));
+        first.close();
+
+        pooledDataSource.getConnection().close();
+
+        verify(connection).close();
+        verify(dataSource, times(2)).getConnection();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.adqm.dml.service;
+
+import io.arenadata.dtm.query.execution.plugin.adqm.calcite.configuration.CalciteConfiguration;
+import io.arenadata.dtm.query.execution.plugin.adqm.ddl.configuration.properties.DdlProperties;
+import io.arenadata.dtm.query.execution.plugin.adqm.dml.configuration.properties.AdqmLlwProperties;
+import io.arenadata.dtm.query.execution.plugin.adqm.factory.AdqmProcessingSqlFactory;
+import io.arenadata.dtm.query.execution.plugin.adqm.query.service.DatabaseExecutor;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({MockitoExtension.class, VertxExtension.class})
+class AdqmDeferredFlushServiceTest {
+    private static final String FLUSH_SQL = "SYSTEM FLUSH DISTRIBUTED dev__datamart.abc_actual";
+    private static final String OPTIMIZE_SQL = "OPTIMIZE TABLE dev__datamart.abc_actual_shard ON CLUSTER cluster FINAL";
+
+    @Mock
+    private DdlProperties ddlProperties;
+
+    @Mock
+    private DatabaseExecutor databaseExecutor;
+
+    private AdqmProcessingSqlFactory adqmProcessingSqlFactory;
+    private AdqmLlwProperties llwProperties;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(ddlProperties.getCluster()).thenReturn("cluster");
+        lenient().when(databaseExecutor.executeUpdate(anyString())).thenReturn(Future.succeededFuture());
+        adqmProcessingSqlFactory = new AdqmProcessingSqlFactory(ddlProperties, new CalciteConfiguration().adqmSqlDialect());
+        llwProperties = new AdqmLlwProperties();
+        llwProperties.setDeferOptimize(false);
+        llwProperties.setFlushMaxDelayMs(60_000);
+    }
+
+    @Test
+    void shouldCloseVersionsImmediatelyWhenNotDeferred(Vertx vertx) {
+        // arrange
+        val service = createService(vertx);
+
+        // act
+        val result = service.closeVersions("dev", "datamart", "abc", 1L, "close 1");
+
+        // assert
+        assertTrue(result.succeeded());
+        InOrder inOrder = inOrder(databaseExecutor);
+        inOrder.verify(databaseExecutor).executeUpdate("close 1");
+        inOrder.verify(databaseExecutor).executeUpdate(FLUSH_SQL);
+        inOrder.verify(databaseExecutor).executeUpdate(OPTIMIZE_SQL);
+    }
+
+    @Test
+    void shouldCloseVersionsInSysCnOrderWhenDatamartFlushed(Vertx vertx) {
+        // arrange
+        llwProperties.setDeferFlush(true);
+        val service = createService(vertx);
+        service.closeVersions("dev", "datamart", "abc", 3L, "close 3");
+        service.closeVersions("dev", "datamart", "abc", 2L, "close 2");
+        service.closeVersions("dev", "other", "abc", 4L, "close other 4");
+
+        // act
+        val result = service.flushDatamart("dev", "datamart");
+
+        // assert
+        assertTrue(result.succeeded());
+        InOrder inOrder = inOrder(databaseExecutor);
+        inOrder.verify(databaseExecutor).executeUpdate("close 2");
+        inOrder.verify(databaseExecutor).executeUpdate(FLUSH_SQL);
+        inOrder.verify(databaseExecutor).executeUpdate("close 3");
+        inOrder.verify(databaseExecutor).executeUpdate(FLUSH_SQL);
+        inOrder.verify(databaseExecutor).executeUpdate(OPTIMIZE_SQL);
+        verify(databaseExecutor, never()).executeUpdate("close other 4");
+
+        // act
+        val repeated = service.flushDatamart("dev", "datamart");
+
+        // assert
+        assertTrue(repeated.succeeded());
+        verify(databaseExecutor, times(1)).executeUpdate("close 2");
+        verify(databaseExecutor, times(1)).executeUpdate("close 3");
+    }
+
+    @Test
+    void shouldFlushWhenMaxDeferredWritesReached(Vertx vertx) {
+        // arrange
+        llwProperties.setDeferFlush(true);
+        llwProperties.setFlushMaxDeferredWrites(2);
+        val service = createService(vertx);
+
+        // act
+        service.closeVersions("dev", "datamart", "abc", 1L, "close 1");
+
+        // assert
+        verify(databaseExecutor, never()).executeUpdate(anyString());
+
+        // act
+        val result = service.closeVersions("dev", "datamart", "abc", 2L, "close 2");
+
+        // assert
+        assertTrue(result.succeeded());
+        InOrder inOrder = inOrder(databaseExecutor);
+        inOrder.verify(databaseExecutor).executeUpdate("close 1");
+        inOrder.verify(databaseExecutor).executeUpdate("close 2");
+    }
+
+    @Test
+    void shouldFlushByTimer(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        llwProperties.setDeferFlush(true);
+        llwProperties.setFlushMaxDelayMs(50);
+        val service = createService(vertx);
+
+        // act
+        service.closeVersions("dev", "datamart", "abc", 1L, "close 1");
+
+        // assert
+        vertx.setTimer(300, timerId -> testContext.verify(() -> {
+            verify(databaseExecutor, times(1)).executeUpdate("close 1");
+            verify(databaseExecutor, times(1)).executeUpdate(FLUSH_SQL);
+            testContext.completeNow();
+        }));
+    }
+
+    @Test
+    void shouldKeepPendingWritesWhenFlushFailed(Vertx vertx) {
+        // arrange
+        llwProperties.setDeferFlush(true);
+        val service = createService(vertx);
+        service.closeVersions("dev", "datamart", "abc", 1L, "close 1");
+        when(databaseExecutor.executeUpdate("close 1"))
+                .thenReturn(Future.failedFuture(new RuntimeException("Exception")))
+                .thenReturn(Future.succeededFuture());
+
+        // act
+        val failed = service.flushEntity("dev", "datamart", "abc");
+
+        // assert
+        assertTrue(failed.failed());
+        verify(databaseExecutor, never()).executeUpdate(FLUSH_SQL);
+
+        // act
+        val result = service.flushEntity("dev", "datamart", "abc");
+
+        // assert
+        assertTrue(result.succeeded());
+        verify(databaseExecutor, times(2)).executeUpdate("close 1");
+        verify(databaseExecutor, times(1)).executeUpdate(FLUSH_SQL);
+    }
+
+    private AdqmDeferredFlushService createService(Vertx vertx) {
+        val deferredOptimizeService = new AdqmDeferredOptimizeService(vertx, databaseExecutor, adqmProcessingSqlFactory, llwProperties);
+        return new AdqmDeferredFlushService(vertx, databaseExecutor, adqmProcessingSqlFactory, deferredOptimizeService, llwProperties);
+    }
+}
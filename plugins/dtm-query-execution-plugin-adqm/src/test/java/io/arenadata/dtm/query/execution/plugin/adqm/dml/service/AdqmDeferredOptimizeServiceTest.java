@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.adqm.dml.service;
+
+import io.arenadata.dtm.query.execution.plugin.adqm.calcite.configuration.CalciteConfiguration;
+import io.arenadata.dtm.query.execution.plugin.adqm.ddl.configuration.properties.DdlProperties;
+import io.arenadata.dtm.query.execution.plugin.adqm.dml.configuration.properties.AdqmLlwProperties;
+import io.arenadata.dtm.query.execution.plugin.adqm.factory.AdqmProcessingSqlFactory;
+import io.arenadata.dtm.query.execution.plugin.adqm.query.service.DatabaseExecutor;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({MockitoExtension.class, VertxExtension.class})
+class AdqmDeferredOptimizeServiceTest {
+    private static final String OPTIMIZE_SQL = "OPTIMIZE TABLE dev__datamart.abc_actual_shard ON CLUSTER cluster FINAL";
+
+    @Mock
+    private DdlProperties ddlProperties;
+
+    @Mock
+    private DatabaseExecutor databaseExecutor;
+
+    private AdqmProcessingSqlFactory adqmProcessingSqlFactory;
+    private AdqmLlwProperties llwProperties;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(ddlProperties.getCluster()).thenReturn("cluster");
+        lenient().when(databaseExecutor.executeUpdate(anyString())).thenReturn(Future.succeededFuture());
+        adqmProcessingSqlFactory = new AdqmProcessingSqlFactory(ddlProperties, new CalciteConfiguration().adqmSqlDialect());
+        llwProperties = new AdqmLlwProperties();
+    }
+
+    @Test
+    void shouldOptimizeImmediatelyWhenNotDeferred(Vertx vertx) {
+        // arrange
+        llwProperties.setDeferOptimize(false);
+        val service = new AdqmDeferredOptimizeService(vertx, databaseExecutor, adqmProcessingSqlFactory, llwProperties);
+
+        // act
+        val result = service.optimizeActual("dev", "datamart", "abc");
+
+        // assert
+        assertTrue(result.succeeded());
+        verify(databaseExecutor).executeUpdate(OPTIMIZE_SQL);
+    }
+
+    @Test
+    void shouldOptimizeOnceWhenMaxDeferredWritesReached(Vertx vertx) {
+        // arrange
+        llwProperties.setOptimizeMaxDeferredWrites(3);
+        llwProperties.setOptimizeMaxDelayMs(60_000);
+        val service = new AdqmDeferredOptimizeService(vertx, databaseExecutor, adqmProcessingSqlFactory, llwProperties);
+
+        // act
+        service.optimizeActual("dev", "datamart", "abc");
+        service.optimizeActual("dev", "datamart", "abc");
+
+        // assert
+        verify(databaseExecutor, never()).executeUpdate(anyString());
+
+        // act
+        val result = service.optimizeActual("dev", "datamart", "abc");
+
+        // assert
+        assertTrue(result.succeeded());
+        verify(databaseExecutor, times(1)).executeUpdate(OPTIMIZE_SQL);
+    }
+
+    @Test
+    void shouldOptimizeOnceByTimer(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        llwProperties.setOptimizeMaxDeferredWrites(100);
+        llwProperties.setOptimizeMaxDelayMs(50);
+        val service = new AdqmDeferredOptimizeService(vertx, databaseExecutor, adqmProcessingSqlFactory, llwProperties);
+
+        // act
+        service.optimizeActual("dev", "datamart", "abc");
+        service.optimizeActual("dev", "datamart", "abc");
+
+        // assert
+        vertx.setTimer(300, timerId -> testContext.verify(() -> {
+            verify(databaseExecutor, times(1)).executeUpdate(OPTIMIZE_SQL);
+            testContext.completeNow();
+        }));
+    }
+}
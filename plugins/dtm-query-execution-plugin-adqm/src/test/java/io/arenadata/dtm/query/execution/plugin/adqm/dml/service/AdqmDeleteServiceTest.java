@@ -22,11 +22,13 @@ import io.arenadata.dtm.query.execution.model.metadata.Datamart;
 import io.arenadata.dtm.query.execution.plugin.adqm.base.service.converter.AdqmPluginSpecificLiteralConverter;
 import io.arenadata.dtm.query.execution.plugin.adqm.calcite.configuration.CalciteConfiguration;
 import io.arenadata.dtm.query.execution.plugin.adqm.ddl.configuration.properties.DdlProperties;
+import io.arenadata.dtm.query.execution.plugin.adqm.dml.configuration.properties.AdqmLlwProperties;
 import io.arenadata.dtm.query.execution.plugin.adqm.factory.AdqmProcessingSqlFactory;
 import io.arenadata.dtm.query.execution.plugin.adqm.query.service.AdqmQueryTemplateExtractor;
 import io.arenadata.dtm.query.execution.plugin.adqm.query.service.DatabaseExecutor;
 import io.arenadata.dtm.query.execution.plugin.api.request.DeleteRequest;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import lombok.val;
 import org.apache.calcite.sql.SqlDelete;
 import org.apache.calcite.sql.SqlLiteral;
@@ -60,6 +62,8 @@ class AdqmDeleteServiceTest {
     private DatabaseExecutor databaseExecutor;
     @Mock
     private DdlProperties ddlProperties;
+    @Mock
+    private Vertx vertx;
     @Captor
     private ArgumentCaptor<String> sqlCaptor;
 
@@ -70,7 +74,10 @@ class AdqmDeleteServiceTest {
         val calciteConfiguration = new CalciteConfiguration();
         val queryTemplateExtractor = new AdqmQueryTemplateExtractor(DEFINITION_SERVICE, calciteConfiguration.adqmSqlDialect());
         val adqmCommonSqlFactory = new AdqmProcessingSqlFactory(ddlProperties, calciteConfiguration.adqmSqlDialect());
-        adqmDeleteService = new AdqmDeleteService(new AdqmPluginSpecificLiteralConverter(), adqmCommonSqlFactory, databaseExecutor, queryTemplateExtractor);
+        val llwProperties = new AdqmLlwProperties();
+        llwProperties.setDeferOptimize(false);
+        val deferredOptimizeService = new AdqmDeferredOptimizeService(vertx, databaseExecutor, adqmCommonSqlFactory, llwProperties);
+        adqmDeleteService = new AdqmDeleteService(new AdqmPluginSpecificLiteralConverter(), adqmCommonSqlFactory, databaseExecutor, queryTemplateExtractor, deferredOptimizeService);
 
         lenient().when(ddlProperties.getCluster()).thenReturn(CLUSTER_NAME);
         lenient().when(databaseExecutor.executeWithParams(anyString(), any(), any())).thenReturn(Future.succeededFuture());
@@ -26,8 +26,10 @@ import io.arenadata.dtm.query.calcite.core.service.QueryTemplateExtractor;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adqm.base.service.converter.AdqmPluginSpecificLiteralConverter;
 import io.arenadata.dtm.query.execution.plugin.adqm.query.service.DatabaseExecutor;
+import io.arenadata.dtm.query.execution.plugin.api.metrics.QueryStageMetrics;
 import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
 import io.arenadata.dtm.query.execution.plugin.api.service.enrichment.service.QueryEnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Future;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -76,7 +78,8 @@ class AdqmLlrServiceTest {
     @BeforeEach
     void setUp() {
         adqmLlrService = new AdqmLlrService(queryEnrichmentService, executorService,
-                queryCacheService, templateExtractor, sqlDialect, queryParserService, new AdqmPluginSpecificLiteralConverter(), adqmValidationService);
+                queryCacheService, templateExtractor, sqlDialect, queryParserService, new AdqmPluginSpecificLiteralConverter(), adqmValidationService,
+                new QueryStageMetrics(new SimpleMeterRegistry()));
 
         lenient().when(queryCacheService.get(any())).thenReturn(null);
         lenient().when(queryParserService.parse(any())).thenReturn(Future.succeededFuture(parserResponse));
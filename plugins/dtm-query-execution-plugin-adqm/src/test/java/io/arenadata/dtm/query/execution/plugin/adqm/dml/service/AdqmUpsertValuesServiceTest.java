@@ -21,11 +21,13 @@ import io.arenadata.dtm.common.model.ddl.EntityField;
 import io.arenadata.dtm.query.execution.plugin.adqm.base.service.converter.AdqmPluginSpecificLiteralConverter;
 import io.arenadata.dtm.query.execution.plugin.adqm.calcite.configuration.CalciteConfiguration;
 import io.arenadata.dtm.query.execution.plugin.adqm.ddl.configuration.properties.DdlProperties;
+import io.arenadata.dtm.query.execution.plugin.adqm.dml.configuration.properties.AdqmLlwProperties;
 import io.arenadata.dtm.query.execution.plugin.adqm.factory.AdqmProcessingSqlFactory;
 import io.arenadata.dtm.query.execution.plugin.adqm.query.service.DatabaseExecutor;
 import io.arenadata.dtm.query.execution.plugin.adqm.utils.TestUtils;
 import io.arenadata.dtm.query.execution.plugin.api.request.UpsertValuesRequest;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import lombok.val;
 import org.apache.calcite.sql.SqlInsert;
 import org.hamcrest.Matchers;
@@ -50,11 +52,13 @@ import static org.mockito.Mockito.*;
 class AdqmUpsertValuesServiceTest {
     private static final String CLOSE_VERSIONS_PATTERN = "(?s)INSERT INTO dev__datamart.abc_actual \\(id, col1, col2, col3, col4, sys_from, sys_to, sys_op, sys_close_date, sign\\).*" +
             "SELECT id, col1, col2, col3, col4, sys_from, 0, 0, '\\d+-\\d+-\\d+ \\d+:\\d+:\\d+', arrayJoin\\(\\[-1, 1]\\).*" +
-            "ROM dev__datamart.abc_actual.*" +
-            "WHERE sys_from < 1 AND sys_to > 1 AND id IN \\(.*" +
+            "FROM dev__datamart.abc_actual\\s+" +
+            "WHERE sys_from < 1 AND id IN \\(.*" +
             "SELECT id.*" +
             "FROM dev__datamart.abc_actual_shard.*" +
             "WHERE sys_from = 1.*" +
+            "GROUP BY id, col1, col2, col3, col4, sys_from.*" +
+            "HAVING min\\(sys_to\\) > 1.*" +
             "\\)";
 
     private static final String CLUSTER_NAME = "cluster";
@@ -65,6 +69,9 @@ class AdqmUpsertValuesServiceTest {
     @Mock
     private DatabaseExecutor databaseExecutor;
 
+    @Mock
+    private Vertx vertx;
+
     private AdqmUpsertValuesService adqmUpsertService;
 
     @Captor
@@ -74,7 +81,11 @@ class AdqmUpsertValuesServiceTest {
     void setUp() {
         val calciteConfiguration = new CalciteConfiguration();
         val adqmDmlSqlFactory = new AdqmProcessingSqlFactory(ddlProperties, calciteConfiguration.adqmSqlDialect());
-        adqmUpsertService = new AdqmUpsertValuesService(new AdqmPluginSpecificLiteralConverter(), adqmDmlSqlFactory, databaseExecutor);
+        val llwProperties = new AdqmLlwProperties();
+        llwProperties.setDeferOptimize(false);
+        val deferredOptimizeService = new AdqmDeferredOptimizeService(vertx, databaseExecutor, adqmDmlSqlFactory, llwProperties);
+        val deferredFlushService = new AdqmDeferredFlushService(vertx, databaseExecutor, adqmDmlSqlFactory, deferredOptimizeService, llwProperties);
+        adqmUpsertService = new AdqmUpsertValuesService(new AdqmPluginSpecificLiteralConverter(), adqmDmlSqlFactory, databaseExecutor, deferredFlushService);
 
         lenient().when(ddlProperties.getCluster()).thenReturn(CLUSTER_NAME);
         lenient().when(databaseExecutor.executeWithParams(anyString(), any(), any())).thenReturn(Future.succeededFuture());
@@ -131,6 +142,71 @@ class AdqmUpsertValuesServiceTest {
         assertTrue(result.succeeded());
     }
 
+    @Test
+    void shouldCloseOnlyOpenVersionsWhenSameKeyWrittenTwiceWithoutOptimize() {
+        // arrange
+        val llwProperties = new AdqmLlwProperties();
+        val adqmDmlSqlFactory = new AdqmProcessingSqlFactory(ddlProperties, new CalciteConfiguration().adqmSqlDialect());
+        val deferredOptimizeService = new AdqmDeferredOptimizeService(vertx, databaseExecutor, adqmDmlSqlFactory, llwProperties);
+        val deferredFlushService = new AdqmDeferredFlushService(vertx, databaseExecutor, adqmDmlSqlFactory, deferredOptimizeService, llwProperties);
+        val deferringUpsertService = new AdqmUpsertValuesService(new AdqmPluginSpecificLiteralConverter(), adqmDmlSqlFactory, databaseExecutor, deferredFlushService);
+        when(vertx.setTimer(anyLong(), any())).thenReturn(1L);
+
+        // act
+        val first = deferringUpsertService.execute(getUpsertRequest("UPSERT INTO datamart.abc (id, col1) VALUES (1,'2001-01-01')", 1L));
+        val second = deferringUpsertService.execute(getUpsertRequest("UPSERT INTO datamart.abc (id, col1) VALUES (1,'2002-02-02')", 2L));
+
+        // assert
+        assertTrue(first.succeeded());
+        assertTrue(second.succeeded());
+        verify(databaseExecutor, times(4)).executeUpdate(sqlCaptor.capture());
+        List<String> sqlCalls = sqlCaptor.getAllValues();
+        assertThat(sqlCalls, Matchers.contains(
+                Matchers.matchesPattern("(?s).*FROM dev__datamart.abc_actual\\s+WHERE sys_from < 1 AND id IN .*HAVING min\\(sys_to\\) > 1\\s+\\)"),
+                Matchers.is("SYSTEM FLUSH DISTRIBUTED dev__datamart.abc_actual"),
+                Matchers.matchesPattern("(?s).*FROM dev__datamart.abc_actual\\s+WHERE sys_from < 2 AND id IN .*HAVING min\\(sys_to\\) > 2\\s+\\)"),
+                Matchers.is("SYSTEM FLUSH DISTRIBUTED dev__datamart.abc_actual")
+        ));
+        assertTrue(sqlCalls.stream().noneMatch(sql -> sql.contains("FINAL")));
+    }
+
+    @Test
+    void shouldDeferClosingVersionsUntilDatamartFlushed() {
+        // arrange
+        val llwProperties = new AdqmLlwProperties();
+        llwProperties.setDeferFlush(true);
+        val adqmDmlSqlFactory = new AdqmProcessingSqlFactory(ddlProperties, new CalciteConfiguration().adqmSqlDialect());
+        val deferredOptimizeService = new AdqmDeferredOptimizeService(vertx, databaseExecutor, adqmDmlSqlFactory, llwProperties);
+        val deferredFlushService = new AdqmDeferredFlushService(vertx, databaseExecutor, adqmDmlSqlFactory, deferredOptimizeService, llwProperties);
+        val deferringUpsertService = new AdqmUpsertValuesService(new AdqmPluginSpecificLiteralConverter(), adqmDmlSqlFactory, databaseExecutor, deferredFlushService);
+        when(vertx.setTimer(anyLong(), any())).thenReturn(1L, 2L);
+
+        // act
+        val first = deferringUpsertService.execute(getUpsertRequest("UPSERT INTO datamart.abc (id, col1) VALUES (1,'2001-01-01')", 1L));
+        val second = deferringUpsertService.execute(getUpsertRequest("UPSERT INTO datamart.abc (id, col1) VALUES (1,'2002-02-02')", 2L));
+
+        // assert
+        assertTrue(first.succeeded());
+        assertTrue(second.succeeded());
+        verify(databaseExecutor, times(2)).executeWithParams(anyString(), any(), any());
+        verify(databaseExecutor, never()).executeUpdate(anyString());
+
+        // act
+        val flushed = deferredFlushService.flushDatamart("dev", "datamart");
+
+        // assert
+        assertTrue(flushed.succeeded());
+        verify(databaseExecutor, times(4)).executeUpdate(sqlCaptor.capture());
+        List<String> sqlCalls = sqlCaptor.getAllValues();
+        assertThat(sqlCalls, Matchers.contains(
+                Matchers.matchesPattern("(?s).*HAVING min\\(sys_to\\) > 1\\s+\\)"),
+                Matchers.is("SYSTEM FLUSH DISTRIBUTED dev__datamart.abc_actual"),
+                Matchers.matchesPattern("(?s).*HAVING min\\(sys_to\\) > 2\\s+\\)"),
+                Matchers.is("SYSTEM FLUSH DISTRIBUTED dev__datamart.abc_actual")
+        ));
+        verify(vertx).cancelTimer(1L);
+    }
+
     @Test
     void shouldFailWhenValuesSizeNotEqualToColumnsSize() {
         // arrange
@@ -440,6 +516,11 @@ class AdqmUpsertValuesServiceTest {
         return new UpsertValuesRequest(UUID.randomUUID(), "dev", "datamart", 1L, entity, sqlNode, null);
     }
 
+    private UpsertValuesRequest getUpsertRequest(String sql, long sysCn) {
+        SqlInsert sqlNode = (SqlInsert) TestUtils.DEFINITION_SERVICE.processingQuery(sql);
+        return new UpsertValuesRequest(UUID.randomUUID(), "dev", "datamart", sysCn, prepareEntity(), sqlNode, null);
+    }
+
     private Entity prepareEntity() {
         return Entity.builder()
                 .name("abc")
@@ -79,11 +79,13 @@ import static org.mockito.Mockito.*;
 class UpsertSelectToAdqmHandlerTest {
     private static final String CLOSE_VERSIONS_PATTERN = "(?s)INSERT INTO dev__datamart.abc_actual \\(id, col1, col2, col3, col4, sys_from, sys_to, sys_op, sys_close_date, sign\\).*" +
             "SELECT id, col1, col2, col3, col4, sys_from, 0, 0, '\\d+-\\d+-\\d+ \\d+:\\d+:\\d+', arrayJoin\\(\\[-1, 1]\\).*" +
-            "ROM dev__datamart.abc_actual.*" +
-            "WHERE sys_from < 1 AND sys_to > 1 AND id IN \\(.*" +
+            "FROM dev__datamart.abc_actual.*" +
+            "WHERE sys_from < 1 AND id IN \\(.*" +
             "SELECT id.*" +
             "FROM dev__datamart.abc_actual_shard.*" +
             "WHERE sys_from = 1.*" +
+            "GROUP BY id, col1, col2, col3, col4, sys_from.*" +
+            "HAVING min\\(sys_to\\) > 1.*" +
             "\\)";
 
     @Mock
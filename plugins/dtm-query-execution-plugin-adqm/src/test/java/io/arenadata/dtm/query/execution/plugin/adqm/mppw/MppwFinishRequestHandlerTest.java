@@ -78,14 +78,16 @@ class MppwFinishRequestHandlerTest {
                 t -> t.equalsIgnoreCase("SYSTEM FLUSH DISTRIBUTED dev__shares.accounts_buffer"),
                 t -> t.equalsIgnoreCase("SYSTEM FLUSH DISTRIBUTED dev__shares.accounts_actual"),
                 t -> t.contains("column1, column2, column3, sys_from, 100, 1") && t.contains("dev__shares.accounts_actual") &&
-                        t.contains("WHERE sys_from < 101 AND sys_to > 101 AND (column1, column2) IN (") &&
+                        t.contains("WHERE sys_from < 101 AND (column1, column2) IN (") &&
                         t.contains("SELECT column1, column2") &&
-                        t.contains("FROM dev__shares.accounts_buffer_shard"),
+                        t.contains("FROM dev__shares.accounts_buffer_shard") &&
+                        t.contains("HAVING min(sys_to) > 101"),
                 t -> t.contains("column1, column2, column3, sys_from, 100, 0") && t.contains("dev__shares.accounts_actual") &&
-                        t.contains("WHERE sys_from < 101 AND sys_to > 101 AND (column1, column2) IN (") &&
+                        t.contains("WHERE sys_from < 101 AND (column1, column2) IN (") &&
                         t.contains("SELECT column1, column2") &&
                         t.contains("FROM dev__shares.accounts_actual_shard") &&
-                        t.contains("WHERE sys_from = 101"),
+                        t.contains("WHERE sys_from = 101") &&
+                        t.contains("HAVING min(sys_to) > 101"),
                 t -> t.contains("SYSTEM FLUSH DISTRIBUTED dev__shares.accounts_actual"),
                 t -> t.equalsIgnoreCase("DROP TABLE IF EXISTS dev__shares.accounts_buffer ON CLUSTER test_arenadata"),
                 t -> t.equalsIgnoreCase("DROP TABLE IF EXISTS dev__shares.accounts_buffer_shard ON CLUSTER test_arenadata"),
@@ -16,6 +16,7 @@
 package io.arenadata.dtm.query.execution.plugin.adqm.service.mock;
 
 import io.arenadata.dtm.common.reader.QueryParameters;
+import io.arenadata.dtm.common.reader.QueryResultStream;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adqm.query.service.DatabaseExecutor;
 import io.arenadata.dtm.query.execution.plugin.api.exception.DataSourceException;
@@ -98,6 +99,15 @@ public class MockDatabaseExecutor implements DatabaseExecutor {
         });
     }
 
+    @Override
+    public Future<QueryResultStream> executeStream(String sql,
+                                                   QueryParameters params,
+                                                   List<ColumnMetadata> metadata,
+                                                   int fetchSize) {
+        return execute(sql, metadata)
+                .map(result -> QueryResultStream.of(result == null ? Collections.emptyList() : result, fetchSize));
+    }
+
     public List<Predicate<String>> getExpectedCalls() {
         return Collections.unmodifiableList(expectedCalls);
     }